@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.compat.cte13;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.appengine.libraries.LibraryClasspathContainer;
+import com.google.cloud.tools.eclipse.appengine.libraries.model.CloudLibraries;
+import com.google.cloud.tools.eclipse.test.util.project.ProjectUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Detects and updates a synthetic workspace of projects using per-library containers. */
+public class CloudToolsEclipseProjectUpdaterTest {
+  private static final String PREFIX = LibraryClasspathContainer.CONTAINER_PATH_PREFIX;
+
+  // utility definitions that are dropped on update, so no library resolution is required
+  private static final List<String> UTILITY_LIBRARY_IDS =
+      Arrays.asList("googlecloudcore", "googleapiclient");
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final IProgressMonitor monitor = new NullProgressMonitor();
+  private final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+  private final List<IProject> projects = new ArrayList<>();
+
+  @After
+  public void tearDown() throws CoreException {
+    ProjectUtils.waitForProjects(projects);
+    for (IProject project : projects) {
+      project.delete(true /* force */, monitor);
+    }
+  }
+
+  @Test
+  public void testMayHaveOldContainers() throws CoreException, IOException {
+    IProject plain = generateProject("plain", Collections.emptyList());
+    IProject master = generateProject("master",
+        Collections.singletonList(CloudLibraries.MASTER_CONTAINER_ID));
+    IProject old = generateProject("old", UTILITY_LIBRARY_IDS);
+
+    assertFalse(CloudToolsEclipseProjectUpdater.mayHaveOldContainers(classpathFile(plain)));
+    assertFalse(CloudToolsEclipseProjectUpdater.mayHaveOldContainers(classpathFile(master)));
+    assertTrue(CloudToolsEclipseProjectUpdater.mayHaveOldContainers(classpathFile(old)));
+    assertFalse(CloudToolsEclipseProjectUpdater.mayHaveOldContainers(
+        plain.getFile("nonexistent.classpath")));
+  }
+
+  @Test
+  public void testHasOldContainers() throws CoreException, IOException {
+    IProject plain = generateProject("plain", Collections.emptyList());
+    IProject master = generateProject("master",
+        Collections.singletonList(CloudLibraries.MASTER_CONTAINER_ID));
+    IProject old = generateProject("old", UTILITY_LIBRARY_IDS);
+
+    assertFalse(CloudToolsEclipseProjectUpdater.hasOldContainers(plain));
+    assertFalse(CloudToolsEclipseProjectUpdater.hasOldContainers(master));
+    assertTrue(CloudToolsEclipseProjectUpdater.hasOldContainers(old));
+  }
+
+  @Test
+  public void testHasOldContainers_classpathChanged() throws CoreException, IOException {
+    IProject project = generateProject("changed", UTILITY_LIBRARY_IDS);
+    assertTrue(CloudToolsEclipseProjectUpdater.hasOldContainers(project));
+
+    IJavaProject javaProject = JavaCore.create(project);
+    List<IClasspathEntry> entries = new ArrayList<>();
+    for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+      if (!LibraryClasspathContainer.isEntry(entry)) {
+        entries.add(entry);
+      }
+    }
+    javaProject.setRawClasspath(entries.toArray(new IClasspathEntry[0]), monitor);
+    assertFalse(CloudToolsEclipseProjectUpdater.hasOldContainers(project));
+  }
+
+  @Test
+  public void testHasOldContainers_closedProject() throws CoreException, IOException {
+    IProject project = generateProject("closed", UTILITY_LIBRARY_IDS);
+    assertTrue(CloudToolsEclipseProjectUpdater.hasOldContainers(project));
+    project.close(monitor);
+    assertFalse(CloudToolsEclipseProjectUpdater.hasOldContainers(project));
+  }
+
+  @Test
+  public void testUpdateProjects_nothingToDo() {
+    IStatus status =
+        CloudToolsEclipseProjectUpdater.updateProjects(Collections.emptyList(), monitor);
+    assertTrue(status.isOK());
+  }
+
+  @Test
+  public void testUpdateProjects() throws CoreException, IOException {
+    generateProjects(20, 1);
+
+    IStatus status = CloudToolsEclipseProjectUpdater.updateProjects(projects, monitor);
+    assertTrue(status.toString(), status.isOK());
+    for (IProject project : projects) {
+      assertFalse(CloudToolsEclipseProjectUpdater.hasOldContainers(project));
+      assertFalse(project.getFolder(".settings").getFolder(PREFIX).getFile(
+          UTILITY_LIBRARY_IDS.get(0) + ".container").exists());
+      // unrelated entries are preserved
+      assertEquals(2, JavaCore.create(project).getRawClasspath().length);
+    }
+  }
+
+  /**
+   * Runs the startup detection over a workspace of 300 projects, of which one in ten uses the
+   * per-library containers, both from cold and once the results are indexed.
+   */
+  @Test
+  public void testFindProjectsWithOldContainers_300Projects() throws CoreException, IOException {
+    List<IProject> expected = generateProjects(300, 10);
+
+    long scans = CloudToolsEclipseProjectUpdater.getScans();
+    List<IProject> found =
+        CloudToolsEclipseProjectUpdater.findProjectsWithOldContainers(projects, monitor);
+    assertEquals(expected, found);
+    assertEquals("every project is scanned once",
+        300, CloudToolsEclipseProjectUpdater.getScans() - scans);
+
+    scans = CloudToolsEclipseProjectUpdater.getScans();
+    List<IProject> foundAgain =
+        CloudToolsEclipseProjectUpdater.findProjectsWithOldContainers(projects, monitor);
+    assertEquals(expected, foundAgain);
+    assertEquals("unchanged projects are not rescanned",
+        0, CloudToolsEclipseProjectUpdater.getScans() - scans);
+  }
+
+  /**
+   * Generate {@code count} projects, where every {@code interval}th project uses the per-library
+   * containers and the others use the master container.
+   *
+   * @return the projects using the per-library containers
+   */
+  private List<IProject> generateProjects(int count, int interval)
+      throws CoreException, IOException {
+    List<IProject> old = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      if (i % interval == 0) {
+        old.add(generateProject("cte" + i, UTILITY_LIBRARY_IDS));
+      } else {
+        generateProject("cte" + i, Collections.singletonList(CloudLibraries.MASTER_CONTAINER_ID));
+      }
+    }
+    return old;
+  }
+
+  /** Create a Java project with containers for the given library IDs. */
+  private IProject generateProject(String name, List<String> libraryIds)
+      throws CoreException, IOException {
+    Path location = tempFolder.newFolder(name).toPath();
+    Files.createDirectories(location.resolve("src"));
+    Path definitions = Files.createDirectories(location.resolve(".settings").resolve(PREFIX));
+    write(location.resolve(".project"), "<?xml version='1.0' encoding='UTF-8'?>"
+        + "<projectDescription><name>" + name + "</name><comment></comment><projects/>"
+        + "<buildSpec/><natures><nature>org.eclipse.jdt.core.javanature</nature></natures>"
+        + "</projectDescription>");
+    StringBuilder classpath = new StringBuilder("<?xml version='1.0' encoding='UTF-8'?>")
+        .append("<classpath>")
+        .append("<classpathentry kind='src' path='src'/>")
+        .append("<classpathentry kind='con' path='org.eclipse.jdt.launching.JRE_CONTAINER'/>");
+    for (String libraryId : libraryIds) {
+      classpath.append("<classpathentry kind='con' path='")
+          .append(PREFIX).append('/').append(libraryId).append("'/>");
+      if (!CloudLibraries.MASTER_CONTAINER_ID.equals(libraryId)) {
+        write(definitions.resolve(libraryId + ".container"), "{}");
+      }
+    }
+    classpath.append("<classpathentry kind='output' path='bin'/>").append("</classpath>");
+    write(location.resolve(".classpath"), classpath.toString());
+
+    IProject project = workspace.getRoot().getProject(name);
+    IProjectDescription description = workspace.loadProjectDescription(
+        new org.eclipse.core.runtime.Path(location.resolve(".project").toString()));
+    project.create(description, monitor);
+    project.open(monitor);
+    projects.add(project);
+    return project;
+  }
+
+  private static IFile classpathFile(IProject project) {
+    return project.getFile(".classpath");
+  }
+
+  private static void write(Path path, String content) throws IOException {
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+  }
+}
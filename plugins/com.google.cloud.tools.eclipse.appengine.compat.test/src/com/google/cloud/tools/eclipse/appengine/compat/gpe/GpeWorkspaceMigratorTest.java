@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.compat.gpe;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.test.util.project.ProjectUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Migrates a synthetic workspace of GPE-era projects. */
+public class GpeWorkspaceMigratorTest {
+  private static final String GAE_CONTAINER = "com.google.appengine.eclipse.core.GAE_CONTAINER";
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final IProgressMonitor monitor = new NullProgressMonitor();
+  private final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+  private final List<IProject> projects = new ArrayList<>();
+
+  @After
+  public void tearDown() throws CoreException {
+    ProjectUtils.waitForProjects(projects);
+    for (IProject project : projects) {
+      project.delete(true /* force */, monitor);
+    }
+  }
+
+  @Test
+  public void testPlan_isDryRun() throws CoreException, IOException {
+    generateProjects(10);
+
+    List<GpeMigrationPlan> plans = GpeWorkspaceMigrator.plan(projects, monitor);
+    assertEquals(10, plans.size());
+    for (GpeMigrationPlan plan : plans) {
+      assertEquals(1, plan.getClasspathEntries().size());
+      assertEquals(GAE_CONTAINER, plan.getClasspathEntries().get(0).toString());
+      assertTrue(plan.isRemoveNature());
+    }
+
+    // nothing changed
+    for (IProject project : projects) {
+      assertTrue(project.hasNature(GpeMigrator.GPE_GAE_NATURE_ID));
+      assertTrue(hasGaeContainer(project));
+    }
+  }
+
+  @Test
+  public void testPlan_facetMetadata() throws CoreException, IOException {
+    IProject faceted = generateProject("faceted", true /* faceted */);
+    IProject classic = generateProject("classic", false /* faceted */);
+
+    GpeMigrationPlan facetedPlan = GpeWorkspaceMigrator.planProject(faceted);
+    assertEquals(2, facetedPlan.getFacetMetadataEntries().size());
+    assertEquals("runtime \"Google App Engine\"", facetedPlan.getFacetMetadataEntries().get(0));
+    assertEquals("facet com.google.appengine.facet 1",
+        facetedPlan.getFacetMetadataEntries().get(1));
+
+    GpeMigrationPlan classicPlan = GpeWorkspaceMigrator.planProject(classic);
+    assertTrue(classicPlan.getFacetMetadataEntries().isEmpty());
+  }
+
+  @Test
+  public void testPlan_omitsMigratedProjects() throws CoreException, IOException {
+    generateProjects(2);
+    GpeWorkspaceMigrator.migrate(
+        GpeWorkspaceMigrator.plan(projects.subList(0, 1), monitor), monitor);
+
+    List<GpeMigrationPlan> plans = GpeWorkspaceMigrator.plan(projects, monitor);
+    assertEquals(1, plans.size());
+    assertEquals(projects.get(1), plans.get(0).getProject());
+  }
+
+  @Test
+  public void testFormatReport() throws CoreException, IOException {
+    IProject project = generateProject("report", true /* faceted */);
+
+    String report =
+        GpeWorkspaceMigrator.formatReport(GpeWorkspaceMigrator.plan(projects, monitor));
+    assertThat(report, containsString("1 project(s) to migrate"));
+    assertThat(report, containsString(project.getName() + ":"));
+    assertThat(report, containsString("remove classpath entry " + GAE_CONTAINER));
+    assertThat(report, containsString("remove nature " + GpeMigrator.GPE_GAE_NATURE_ID));
+    assertThat(report, containsString("remove facet com.google.appengine.facet 1"));
+  }
+
+  @Test
+  public void testGroupIndependentPlans_nestedLocationsGrouped()
+      throws CoreException, IOException {
+    Path outer = tempFolder.newFolder("outer").toPath();
+    IProject outerProject = generateProject("outer", outer, false /* faceted */);
+    IProject innerProject = generateProject("inner", outer.resolve("inner"), false);
+    // shares a name prefix with "outer", but is not nested in it
+    IProject siblingProject =
+        generateProject("sibling", tempFolder.newFolder("outer-sibling").toPath(), false);
+
+    List<List<GpeMigrationPlan>> groups = GpeWorkspaceMigrator.groupIndependentPlans(
+        GpeWorkspaceMigrator.plan(projects, monitor));
+    assertEquals(2, groups.size());
+    assertEquals(2, groups.get(0).size());
+    assertEquals(outerProject, groups.get(0).get(0).getProject());
+    assertEquals(innerProject, groups.get(0).get(1).getProject());
+    assertEquals(1, groups.get(1).size());
+    assertEquals(siblingProject, groups.get(1).get(0).getProject());
+  }
+
+  @Test
+  public void testMigrate_nothingToDo() {
+    IStatus status = GpeWorkspaceMigrator.migrate(Collections.emptyList(), monitor);
+    assertTrue(status.isOK());
+  }
+
+  /** Migrates a synthetic workspace of 200 projects, half of them faceted. */
+  @Test
+  public void testMigrate_200Projects() throws CoreException, IOException {
+    generateProjects(200);
+
+    List<GpeMigrationPlan> plans = GpeWorkspaceMigrator.plan(projects, monitor);
+    assertEquals(200, plans.size());
+    int facetedPlans = 0;
+    for (GpeMigrationPlan plan : plans) {
+      assertTrue(plan.isRemoveNature());
+      assertEquals(1, plan.getClasspathEntries().size());
+      if (!plan.getFacetMetadataEntries().isEmpty()) {
+        facetedPlans++;
+      }
+    }
+    assertEquals(100, facetedPlans);
+
+    IStatus status = GpeWorkspaceMigrator.migrate(plans, monitor);
+    assertTrue(status.toString(), status.isOK());
+    assertTrue(GpeWorkspaceMigrator.plan(projects, monitor).isEmpty());
+    for (IProject project : projects) {
+      assertFalse(project.hasNature(GpeMigrator.GPE_GAE_NATURE_ID));
+      assertFalse(hasGaeContainer(project));
+    }
+  }
+
+  private void generateProjects(int count) throws CoreException, IOException {
+    for (int i = 0; i < count; i++) {
+      generateProject("gpe" + i, i % 2 == 0 /* faceted */);
+    }
+  }
+
+  private IProject generateProject(String name, boolean faceted)
+      throws CoreException, IOException {
+    return generateProject(name, tempFolder.newFolder(name).toPath(), faceted);
+  }
+
+  /** Create a project resembling one created by GPE. */
+  private IProject generateProject(String name, Path location, boolean faceted)
+      throws CoreException, IOException {
+    Files.createDirectories(location.resolve("src"));
+    Files.createDirectories(location.resolve(".settings"));
+    String natures = "<nature>org.eclipse.jdt.core.javanature</nature>"
+        + "<nature>" + GpeMigrator.GPE_GAE_NATURE_ID + "</nature>"
+        + (faceted ? "<nature>org.eclipse.wst.common.project.facet.core.nature</nature>" : "");
+    write(location.resolve(".project"), "<?xml version='1.0' encoding='UTF-8'?>"
+        + "<projectDescription><name>" + name + "</name><comment></comment><projects/>"
+        + "<buildSpec/><natures>" + natures + "</natures></projectDescription>");
+    write(location.resolve(".classpath"), "<?xml version='1.0' encoding='UTF-8'?>"
+        + "<classpath>"
+        + "<classpathentry kind='src' path='src'/>"
+        + "<classpathentry kind='con' path='org.eclipse.jdt.launching.JRE_CONTAINER'/>"
+        + "<classpathentry kind='con' path='" + GAE_CONTAINER + "'/>"
+        + "<classpathentry kind='output' path='war/WEB-INF/classes'/>"
+        + "</classpath>");
+    if (faceted) {
+      write(location.resolve(GpeMigrator.FACETS_METADATA_FILE),
+          "<?xml version='1.0' encoding='UTF-8'?>"
+          + "<faceted-project>"
+          + "<runtime name='Google App Engine'/>"
+          + "<installed facet='java' version='1.7'/>"
+          + "<installed facet='com.google.appengine.facet' version='1'/>"
+          + "</faceted-project>");
+    }
+
+    IProject project = workspace.getRoot().getProject(name);
+    IProjectDescription description = workspace.loadProjectDescription(
+        new org.eclipse.core.runtime.Path(location.resolve(".project").toString()));
+    project.create(description, monitor);
+    project.open(monitor);
+    projects.add(project);
+    return project;
+  }
+
+  private static void write(Path path, String content) throws IOException {
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static boolean hasGaeContainer(IProject project) throws CoreException {
+    for (IClasspathEntry entry : JavaCore.create(project).getRawClasspath()) {
+      if (GAE_CONTAINER.equals(entry.getPath().toString())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -20,7 +20,7 @@ import com.google.cloud.tools.eclipse.appengine.compat.Messages;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Ordering;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -31,7 +31,6 @@ import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
@@ -71,7 +70,7 @@ public class CloudToolsEclipseProjectNotifier implements IStartup {
         return upgradeProjects(projects, progress.newChild(25));
       }
     };
-    projectUpdater.setRule(workspace.getRoot());
+    // no rule: the updater schedules the project rewrites with their own rules
     projectUpdater.setUser(true);
     projectUpdater.schedule(500);
   }
@@ -80,16 +79,8 @@ public class CloudToolsEclipseProjectNotifier implements IStartup {
    * Scan the current projects to identify those requiring upgrading.
    */
   private Collection<IProject> findCandidates(SubMonitor progress) {
-    List<IProject> projects = new ArrayList<>();
-
-    IProject[] allProjects = workspace.getRoot().getProjects();
-    progress.setWorkRemaining(allProjects.length);
-    for (IProject project : allProjects) {
-      if (CloudToolsEclipseProjectUpdater.hasOldContainers(project)) {
-        projects.add(project);
-      }
-      progress.worked(1);
-    }
+    List<IProject> projects = CloudToolsEclipseProjectUpdater.findProjectsWithOldContainers(
+        Arrays.asList(workspace.getRoot().getProjects()), progress);
     Collections.sort(projects, Ordering.usingToString());
     return projects;
   }
@@ -134,13 +125,7 @@ public class CloudToolsEclipseProjectNotifier implements IStartup {
    * Perform the upgrade.
    */
   private IStatus upgradeProjects(Collection<IProject> projects, SubMonitor progress) {
-    progress.setWorkRemaining(projects.size());
-    MultiStatus status = StatusUtil.multi(this, Messages.getString("updating.projects.jobname")); //$NON-NLS-1$
-    for (IProject project : projects) {
-      progress.subTask(Messages.getString("updating.project", project.getName())); //$NON-NLS-1$
-      IStatus result = CloudToolsEclipseProjectUpdater.updateProject(project, progress.newChild(1));
-      status.merge(result);
-    }
+    IStatus status = CloudToolsEclipseProjectUpdater.updateProjects(projects, progress);
     // rewrite if OK as otherwise Progress View shows the "Updating projects for..." message
     return StatusUtil.filter(status);
   }
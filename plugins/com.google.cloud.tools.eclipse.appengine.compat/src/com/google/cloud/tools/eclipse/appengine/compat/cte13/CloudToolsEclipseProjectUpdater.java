@@ -21,78 +21,335 @@ import com.google.cloud.tools.eclipse.appengine.libraries.BuildPath;
 import com.google.cloud.tools.eclipse.appengine.libraries.LibraryClasspathContainer;
 import com.google.cloud.tools.eclipse.appengine.libraries.model.CloudLibraries;
 import com.google.cloud.tools.eclipse.appengine.libraries.model.Library;
+import com.google.cloud.tools.eclipse.util.MavenUtils;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 
 /**
  * Fix older projects that have a per-library classpath container.
+ *
+ * <p>Detection is backed by an index of the results per project, keyed by the {@code .classpath}
+ * file's modification stamps, and a textual scan of the {@code .classpath} file rules out most
+ * projects without consulting the Java model. {@link #updateProjects(Collection,
+ * IProgressMonitor)} resolves the libraries required by all of the projects in one pass under the
+ * Maven resolving rule, and then rewrites the projects concurrently, each holding only its own
+ * project's rule.
  */
 public class CloudToolsEclipseProjectUpdater {
   private static final Logger logger =
       Logger.getLogger(CloudToolsEclipseProjectUpdater.class.getName());
 
+  private static final int MAXIMUM_CONCURRENT_UPDATES =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  /** Matches the last segment of our container paths in a {@code .classpath} file. */
+  private static final Pattern CONTAINER_PATH_PATTERN = Pattern.compile(
+      Pattern.quote(LibraryClasspathContainer.CONTAINER_PATH_PREFIX + "/") //$NON-NLS-1$
+          + "([^\"'/<>\\s]+)"); //$NON-NLS-1$
+
+  /**
+   * Utility definitions that are now pulled in through library dependencies, and so are dropped
+   * rather than added to the master container.
+   */
+  private static final ImmutableSet<String> UTILITY_LIBRARY_IDS =
+      ImmutableSet.of("googlecloudcore", "googleapiclient"); //$NON-NLS-1$ //$NON-NLS-2$
+
+  private static final ConcurrentMap<IProject, IndexEntry> index = new ConcurrentHashMap<>();
+  private static final AtomicLong scans = new AtomicLong();
+
   /**
    * Return true if this projects uses the old-style per-library container.
    */
   public static boolean hasOldContainers(IProject project) {
+    if (!project.isAccessible()) {
+      index.remove(project);
+      return false;
+    }
     try {
-      if (!project.isAccessible() || !project.hasNature(JavaCore.NATURE_ID)) {
+      if (!project.hasNature(JavaCore.NATURE_ID)) {
         return false;
       }
-      IJavaProject javaProject = JavaCore.create(project);
-      for (IClasspathEntry entry : javaProject.getRawClasspath()) {
-        IPath containerPath = entry.getPath();
-        if (LibraryClasspathContainer.isEntry(entry)
-            && !CloudLibraries.MASTER_CONTAINER_ID.equals(containerPath.segment(1))) {
-          return true;
-        }
+      IFile classpathFile = project.getFile(".classpath"); //$NON-NLS-1$
+      long modificationStamp = classpathFile.getModificationStamp();
+      long localTimeStamp = classpathFile.getLocalTimeStamp();
+      IndexEntry entry = index.get(project);
+      if (entry != null && entry.matches(modificationStamp, localTimeStamp)) {
+        return entry.hasOldContainers;
       }
+      scans.incrementAndGet();
+      boolean result = mayHaveOldContainers(classpathFile)
+          && !findOldLibraryIds(JavaCore.create(project), new ArrayList<>()).isEmpty();
+      index.put(project, new IndexEntry(modificationStamp, localTimeStamp, result));
+      return result;
     } catch (CoreException ex) {
       logger.log(Level.WARNING, "Skipping project: " + project.getName(), ex); //$NON-NLS-1$
     }
     return false;
   }
 
+  /** Return the number of {@code .classpath} files scanned because they were not indexed. */
+  @VisibleForTesting
+  static long getScans() {
+    return scans.get();
+  }
+
+  /**
+   * Return the projects that use the old-style per-library container.
+   */
+  public static List<IProject> findProjectsWithOldContainers(Collection<IProject> projects,
+      IProgressMonitor monitor) {
+    SubMonitor progress = SubMonitor.convert(monitor, projects.size());
+    List<IProject> found = new ArrayList<>();
+    for (IProject project : projects) {
+      if (progress.isCanceled()) {
+        throw new OperationCanceledException();
+      }
+      if (hasOldContainers(project)) {
+        found.add(project);
+      }
+      progress.worked(1);
+    }
+    return found;
+  }
+
+  /**
+   * Return false if the {@code .classpath} file cannot possibly reference an old-style container.
+   * This is a cheap textual check that avoids loading the project's classpath through the Java
+   * model; a {@code true} result must be confirmed against the raw classpath.
+   */
+  @VisibleForTesting
+  static boolean mayHaveOldContainers(IFile classpathFile) {
+    IPath location = classpathFile.getLocation();
+    if (location == null) {
+      return true;
+    }
+    String contents;
+    try {
+      contents = new String(Files.readAllBytes(location.toFile().toPath()),
+          StandardCharsets.UTF_8);
+    } catch (NoSuchFileException ex) {
+      // the default classpath has no containers
+      return false;
+    } catch (IOException ex) {
+      return true;
+    }
+    Matcher matcher = CONTAINER_PATH_PATTERN.matcher(contents);
+    while (matcher.find()) {
+      if (!CloudLibraries.MASTER_CONTAINER_ID.equals(matcher.group(1))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Return the IDs of the libraries referenced by old-style containers, adding the classpath
+   * entries to be preserved to {@code remainingEntries}.
+   */
+  private static Set<String> findOldLibraryIds(IJavaProject javaProject,
+      List<IClasspathEntry> remainingEntries) throws CoreException {
+    Set<String> libraryIds = new LinkedHashSet<>();
+    for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+      IPath containerPath = entry.getPath();
+      if (LibraryClasspathContainer.isEntry(entry)
+          && !CloudLibraries.MASTER_CONTAINER_ID.equals(containerPath.segment(1))) {
+        libraryIds.add(containerPath.segment(1));
+      } else {
+        remainingEntries.add(entry);
+      }
+    }
+    return libraryIds;
+  }
+
   /**
    * Upgrade this specific project.
    */
   public static IStatus updateProject(IProject project, SubMonitor progress) {
-    progress.beginTask(
-        Messages.getString("updating.project", project.getName()), 51); // $NON-NLS-1$
+    progress.setWorkRemaining(52);
     IJavaProject javaProject = JavaCore.create(project);
-
     ISchedulingRule rule = BuildPath.resolvingRule(javaProject);
     Job.getJobManager().beginRule(rule, progress.newChild(1));
     try {
-      // Identify the different libraries that should be added and classpath entries to be preserved
-      List<IClasspathEntry> remainingEntries = new ArrayList<>();
-      Set<String> libraryIds = new HashSet<>();
-      for (IClasspathEntry entry : javaProject.getRawClasspath()) {
-        IPath containerPath = entry.getPath();
-        if (LibraryClasspathContainer.isEntry(entry)
-            && !CloudLibraries.MASTER_CONTAINER_ID.equals(containerPath.segment(1))) {
-          libraryIds.add(containerPath.segment(1));
-        } else {
-          remainingEntries.add(entry);
+      return rewriteProject(javaProject, progress.newChild(51));
+    } finally {
+      Job.getJobManager().endRule(rule);
+    }
+  }
+
+  /**
+   * Upgrade the given projects. The libraries required by the projects are first resolved
+   * together, and the projects are then rewritten concurrently. This method must not be called
+   * while holding a scheduling rule, unless that rule contains {@link
+   * BuildPath#resolvingRule(IJavaProject)} for all of the projects, in which case the projects are
+   * rewritten sequentially in the calling thread.
+   *
+   * @return a status describing any projects that could not be updated
+   */
+  public static IStatus updateProjects(Collection<IProject> projects, IProgressMonitor monitor) {
+    MultiStatus result = StatusUtil.multi(CloudToolsEclipseProjectUpdater.class,
+        Messages.getString("updating.projects.jobname")); //$NON-NLS-1$
+    if (projects.isEmpty()) {
+      return result;
+    }
+    SubMonitor progress = SubMonitor.convert(monitor, 2 * projects.size());
+    resolveLibraries(projects, progress.newChild(projects.size()));
+
+    if (Job.getJobManager().currentRule() != null) {
+      for (IProject project : projects) {
+        if (progress.isCanceled()) {
+          return Status.CANCEL_STATUS;
+        }
+        result.merge(updateProject(project, progress.newChild(1)));
+      }
+      return result;
+    }
+
+    Queue<IStatus> failures = new ConcurrentLinkedQueue<>();
+    JobGroup jobGroup = new JobGroup(Messages.getString("updating.projects"), //$NON-NLS-1$
+        MAXIMUM_CONCURRENT_UPDATES, projects.size());
+    IResourceRuleFactory ruleFactory = projects.iterator().next().getWorkspace().getRuleFactory();
+    for (IProject project : projects) {
+      Job job = new WorkspaceJob(
+          Messages.getString("updating.project", project.getName())) { //$NON-NLS-1$
+        @Override
+        public IStatus runInWorkspace(IProgressMonitor jobMonitor) {
+          IStatus status = rewriteProject(JavaCore.create(project), jobMonitor);
+          if (!status.isOK()) {
+            failures.add(status);
+          }
+          return jobMonitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+      };
+      // the libraries are already resolved, so there is no need for the Maven resolving rule
+      job.setRule(ruleFactory.modifyRule(project));
+      job.setSystem(true);
+      job.setJobGroup(jobGroup);
+      job.schedule();
+    }
+
+    try {
+      jobGroup.join(0L, progress.newChild(projects.size()));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      jobGroup.cancel();
+      return Status.CANCEL_STATUS;
+    } catch (OperationCanceledException ex) {
+      jobGroup.cancel();
+      return Status.CANCEL_STATUS;
+    }
+    for (IStatus failure : failures) {
+      result.merge(failure);
+    }
+    return result;
+  }
+
+  /**
+   * Resolve the dependencies of all libraries that the rewrites of the given projects will add to
+   * the master container in a single pass: those replacing old-style containers, and, for projects
+   * that gain any, those previously added to the master container. The resolved dependencies are
+   * retained by the {@link Library} instances, so that the subsequent rewrites need not access the
+   * Maven repository.
+   */
+  private static void resolveLibraries(Collection<IProject> projects, IProgressMonitor monitor) {
+    SubMonitor progress = SubMonitor.convert(monitor, 2 * projects.size());
+    Set<Library> libraries = new LinkedHashSet<>();
+    for (IProject project : projects) {
+      IJavaProject javaProject = JavaCore.create(project);
+      try {
+        List<Library> added = new ArrayList<>();
+        for (String libraryId : findOldLibraryIds(javaProject, new ArrayList<>())) {
+          Library library = UTILITY_LIBRARY_IDS.contains(libraryId)
+              ? null : CloudLibraries.getLibrary(libraryId);
+          if (library != null) {
+            added.add(library);
+          }
+        }
+        // the master container is only recomputed if the rewrite adds libraries
+        if (!added.isEmpty()) {
+          libraries.addAll(added);
+          libraries.addAll(BuildPath.loadLibraryList(javaProject, null));
+        }
+      } catch (CoreException ex) {
+        // reported when the project is rewritten
+        logger.log(Level.FINE, "Unable to read libraries: " + project.getName(), ex); //$NON-NLS-1$
+      }
+      progress.worked(1);
+    }
+
+    ISchedulingRule rule = MavenUtils.mavenResolvingRule();
+    boolean acquireRule = Job.getJobManager().currentRule() == null;
+    if (acquireRule) {
+      Job.getJobManager().beginRule(rule, null);
+    }
+    try {
+      SubMonitor resolving = progress.newChild(projects.size())
+          .setWorkRemaining(Math.max(1, libraries.size()));
+      for (Library library : libraries) {
+        if (resolving.isCanceled()) {
+          throw new OperationCanceledException();
         }
+        library.getAllDependencies();
+        resolving.worked(1);
+      }
+    } finally {
+      if (acquireRule) {
+        Job.getJobManager().endRule(rule);
       }
+    }
+  }
+
+  /**
+   * Replace the old-style containers of this project with the master container. The caller must
+   * either hold {@link BuildPath#resolvingRule(IJavaProject)}, or hold the project's modification
+   * rule and have already resolved the libraries concerned.
+   */
+  private static IStatus rewriteProject(IJavaProject javaProject, IProgressMonitor monitor) {
+    IProject project = javaProject.getProject();
+    SubMonitor progress = SubMonitor.convert(monitor,
+        Messages.getString("updating.project", project.getName()), 51); //$NON-NLS-1$
+    try {
+      // Identify the different libraries that should be added and classpath entries to be preserved
+      List<IClasspathEntry> remainingEntries = new ArrayList<>();
+      Set<String> libraryIds = new HashSet<>(findOldLibraryIds(javaProject, remainingEntries));
+      progress.worked(1);
 
       // Update classpath to remove the old entries
       progress.subTask(Messages.getString("removing.old.library.classpath.containers")); //$NON-NLS-1$
@@ -111,10 +368,7 @@ public class CloudToolsEclipseProjectUpdater {
       }
       progress.worked(5);
 
-      // remove "googlecloudcore" and "googleapiclient" as they were utility definitions, now
-      // pulled from library dependencies
-      libraryIds.remove("googlecloudcore"); //$NON-NLS-1$
-      libraryIds.remove("googleapiclient"); //$NON-NLS-1$
+      libraryIds.removeAll(UTILITY_LIBRARY_IDS);
 
       // add the master-library container
       List<Library> libraries = new ArrayList<>();
@@ -132,8 +386,24 @@ public class CloudToolsEclipseProjectUpdater {
     } catch (CoreException ex) {
       return StatusUtil.error(CloudToolsEclipseProjectUpdater.class,
           Messages.getString("unable.to.update.project", project.getName()), ex); //$NON-NLS-1$
-    } finally {
-      Job.getJobManager().endRule(rule);
+    }
+  }
+
+  /** The detection result for a project's {@code .classpath} file as of its timestamps. */
+  private static class IndexEntry {
+    private final long modificationStamp;
+    private final long localTimeStamp;
+    private final boolean hasOldContainers;
+
+    private IndexEntry(long modificationStamp, long localTimeStamp, boolean hasOldContainers) {
+      this.modificationStamp = modificationStamp;
+      this.localTimeStamp = localTimeStamp;
+      this.hasOldContainers = hasOldContainers;
+    }
+
+    private boolean matches(long modificationStamp, long localTimeStamp) {
+      return this.modificationStamp == modificationStamp
+          && this.localTimeStamp == localTimeStamp;
     }
   }
 }
@@ -18,6 +18,8 @@ package com.google.cloud.tools.eclipse.appengine.compat.cte13;
 
 import com.google.cloud.tools.eclipse.appengine.compat.Messages;
 import com.google.cloud.tools.eclipse.ui.util.ProjectFromSelectionHelper;
+import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import java.util.Collections;
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
@@ -26,7 +28,6 @@ import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 
 public class UpdateCloudToolsEclipseProjectHandler extends AbstractHandler {
@@ -41,10 +42,11 @@ public class UpdateCloudToolsEclipseProjectHandler extends AbstractHandler {
     Job updateJob = new WorkspaceJob(jobName) {
       @Override
       public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-        return CloudToolsEclipseProjectUpdater.updateProject(project, SubMonitor.convert(monitor));
+        IStatus status = CloudToolsEclipseProjectUpdater.updateProjects(
+            Collections.singletonList(project), monitor);
+        return StatusUtil.filter(status);
       }
     };
-    updateJob.setRule(project.getWorkspace().getRoot());
     updateJob.setUser(true);
     updateJob.schedule();
     return null;
@@ -19,6 +19,8 @@ package com.google.cloud.tools.eclipse.appengine.compat.gpe;
 import com.google.cloud.tools.eclipse.appengine.facets.AppEngineStandardFacet;
 import com.google.cloud.tools.eclipse.ui.util.ProjectFromSelectionHelper;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import java.util.ArrayList;
+import java.util.List;
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
@@ -32,20 +34,24 @@ public class GpeConvertCommandHandler extends AbstractHandler {
   @Override
   public Object execute(ExecutionEvent event) throws ExecutionException {
     try {
-      IProject project = ProjectFromSelectionHelper.getFirstProject(event);
-      if (project == null) {
+      List<IProject> projects = ProjectFromSelectionHelper.getProjects(event);
+      if (projects.isEmpty()) {
         throw new NullPointerException(
             "Convert menu should not be enabled for non-project resources");
       }
 
-      IFacetedProject facetedProject = ProjectFacetsManager.create(project,
-          true /* convert to faceted project if necessary */, null /* no monitor here */);
-      if (AppEngineStandardFacet.hasFacet(facetedProject)) {
-        throw new IllegalStateException(
-            "Convert menu should not be enabled for App Engine standard projects");
+      List<IFacetedProject> facetedProjects = new ArrayList<>();
+      for (IProject project : projects) {
+        IFacetedProject facetedProject = ProjectFacetsManager.create(project,
+            true /* convert to faceted project if necessary */, null /* no monitor here */);
+        if (AppEngineStandardFacet.hasFacet(facetedProject)) {
+          throw new IllegalStateException(
+              "Convert menu should not be enabled for App Engine standard projects");
+        }
+        facetedProjects.add(facetedProject);
       }
 
-      GpeConvertJob job = new GpeConvertJob(facetedProject);
+      GpeConvertJob job = new GpeConvertJob(facetedProjects);
       job.setUser(true);
       job.schedule();
     } catch (CoreException ex) {
@@ -16,33 +16,88 @@
 
 package com.google.cloud.tools.eclipse.appengine.compat.gpe;
 
-import com.google.cloud.tools.eclipse.appengine.facets.convert.AppEngineStandardProjectConvertJob;
+import com.google.cloud.tools.eclipse.appengine.facets.AppEngineStandardFacet;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Logger;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.wst.common.project.facet.core.IFacetedProject;
 
-public class GpeConvertJob extends AppEngineStandardProjectConvertJob {
+/**
+ * Converts GPE projects to App Engine standard projects. The GPE remnants of all of the projects
+ * are first removed with the {@link GpeWorkspaceMigrator}, and the App Engine standard facet is
+ * then installed in each project whose remnants were removed.
+ */
+public class GpeConvertJob extends Job {
+
+  private static final Logger logger = Logger.getLogger(GpeConvertJob.class.getName());
 
-  public GpeConvertJob(IFacetedProject facetedProject) {
-    super("Google Plugin for Eclipse Project Conversion Job", facetedProject);
+  private final ImmutableList<IFacetedProject> facetedProjects;
+
+  public GpeConvertJob(Collection<IFacetedProject> facetedProjects) {
+    super("Google Plugin for Eclipse Project Conversion Job");
+    this.facetedProjects = ImmutableList.copyOf(facetedProjects);
   }
 
   @Override
-  protected void convert(MultiStatus status, IProgressMonitor monitor) {
-    SubMonitor progress = SubMonitor.convert(monitor, 100);
+  protected IStatus run(IProgressMonitor monitor) {
+    SubMonitor progress = SubMonitor.convert(monitor, 20 + 20 * facetedProjects.size());
+    MultiStatus status = StatusUtil.multi(this, "Unable to convert some GPE projects");
 
-    // Updating project before installing App Engine facet to avoid
+    // Updating projects before installing App Engine facet to avoid
     // https://github.com/GoogleCloudPlatform/google-cloud-eclipse/issues/1155.
+    List<IProject> projects = new ArrayList<>();
+    for (IFacetedProject facetedProject : facetedProjects) {
+      projects.add(facetedProject.getProject());
+    }
     try {
-      GpeMigrator.removeObsoleteGpeRemnants(facetedProject, progress.newChild(20));
-      super.convert(status, progress.newChild(20));
+      List<GpeMigrationPlan> plans = GpeWorkspaceMigrator.plan(projects, progress.newChild(10));
+      if (!plans.isEmpty()) {
+        logger.info(GpeWorkspaceMigrator.formatReport(plans));
+      }
+      IStatus migrated = GpeWorkspaceMigrator.migrate(plans, progress.newChild(10));
+      if (migrated.getSeverity() == IStatus.CANCEL) {
+        return Status.CANCEL_STATUS;
+      }
+      status.addAll(migrated);
     } catch (CoreException ex) {
       status.add(StatusUtil.error(this, "Unable to remove GPE remains", ex));
+      return StatusUtil.filter(status);
     }
-  }
-
 
+    for (IFacetedProject facetedProject : facetedProjects) {
+      if (progress.isCanceled()) {
+        return Status.CANCEL_STATUS;
+      }
+      IProject project = facetedProject.getProject();
+      SubMonitor projectProgress = progress.newChild(20);
+      try {
+        // a project whose remnants could not be removed is not converted; see above
+        if (!GpeWorkspaceMigrator.planProject(project).isEmpty()) {
+          status.add(StatusUtil.error(this,
+              "Unable to remove GPE remains from " + project.getName()));
+          continue;
+        }
+        /* Install Java and Web facets too (safe even if already installed) */
+        boolean installDependentFacets = true;
+        AppEngineStandardFacet.installAppEngineFacet(facetedProject, installDependentFacets,
+            projectProgress);
+      } catch (CoreException ex) {
+        status.add(StatusUtil.error(this,
+            "Unable to install App Engine Standard facet in " + project.getName(), ex));
+      }
+    }
+    // rewrite if OK as otherwise Progress View shows the conversion error message
+    return StatusUtil.filter(status);
+  }
 }
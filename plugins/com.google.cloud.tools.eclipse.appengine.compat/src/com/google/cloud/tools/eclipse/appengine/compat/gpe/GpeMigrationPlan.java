@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.compat.gpe;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * The edits required to remove the GPE remnants from a single project, as computed by {@link
+ * GpeWorkspaceMigrator#plan(Collection, org.eclipse.core.runtime.IProgressMonitor)}.
+ */
+public class GpeMigrationPlan {
+  private final IProject project;
+  private final ImmutableList<IPath> classpathEntries;
+  private final boolean removeNature;
+  private final ImmutableList<String> facetMetadataEntries;
+
+  GpeMigrationPlan(IProject project, Collection<IPath> classpathEntries, boolean removeNature,
+      Collection<String> facetMetadataEntries) {
+    this.project = Preconditions.checkNotNull(project);
+    this.classpathEntries = ImmutableList.copyOf(classpathEntries);
+    this.removeNature = removeNature;
+    this.facetMetadataEntries = ImmutableList.copyOf(facetMetadataEntries);
+  }
+
+  public IProject getProject() {
+    return project;
+  }
+
+  /** Return the paths of the GPE classpath entries to be removed. */
+  public ImmutableList<IPath> getClasspathEntries() {
+    return classpathEntries;
+  }
+
+  /** Return {@code true} if the GPE nature is to be removed. */
+  public boolean isRemoveNature() {
+    return removeNature;
+  }
+
+  /** Return descriptions of the GPE runtime and facets to be removed from the facet metadata. */
+  public ImmutableList<String> getFacetMetadataEntries() {
+    return facetMetadataEntries;
+  }
+
+  /** Return {@code true} if there is nothing to migrate. */
+  public boolean isEmpty() {
+    return classpathEntries.isEmpty() && !removeNature && facetMetadataEntries.isEmpty();
+  }
+
+  /** Return a human-readable description of each planned edit. */
+  public List<String> describeEdits() {
+    List<String> edits = new ArrayList<>();
+    for (IPath entry : classpathEntries) {
+      edits.add("remove classpath entry " + entry);
+    }
+    if (removeNature) {
+      edits.add("remove nature " + GpeMigrator.GPE_GAE_NATURE_ID);
+    }
+    for (String entry : facetMetadataEntries) {
+      edits.add("remove " + entry + " from " + GpeMigrator.FACETS_METADATA_FILE);
+    }
+    return edits;
+  }
+
+  @Override
+  public String toString() {
+    return project.getName() + ": " + describeEdits();
+  }
+}
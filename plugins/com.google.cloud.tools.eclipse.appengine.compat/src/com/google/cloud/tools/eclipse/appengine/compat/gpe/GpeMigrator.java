@@ -54,12 +54,16 @@ public class GpeMigrator {
       "com.google.gdt.eclipse.managedapis.MANAGED_API_CONTAINER"
   );
 
-  private static final String GPE_GAE_NATURE_ID = "com.google.appengine.eclipse.core.gaeNature";
+  static final String GPE_GAE_NATURE_ID = "com.google.appengine.eclipse.core.gaeNature";
 
-  private static final String WTP_METADATA_XSLT = "/xslt/wtpMetadata.xsl";
+  /**
+   * Removes the GPE runtime and facets from the WTP facet metadata. This stylesheet is the only
+   * place where that runtime and those facets are identified.
+   */
+  static final String WTP_METADATA_XSLT = "/xslt/wtpMetadata.xsl";
 
   // FacetedProject.METADATA_FILE = ".settings/" + FacetCorePlugin.PLUGIN_ID + ".xml";
-  private static final String FACETS_METADATA_FILE =
+  static final String FACETS_METADATA_FILE =
       ".settings/org.eclipse.wst.common.project.facet.core.xml";
 
   /**
@@ -105,16 +109,19 @@ public class GpeMigrator {
         }
       }
 
-      IClasspathEntry[] rawEntries = newEntries.toArray(new IClasspathEntry[0]);
-      javaProject.setRawClasspath(rawEntries, monitor);
-      javaProject.save(monitor, true);
+      if (foundGpeEntries) {
+        // avoid rewriting the classpath, and the resulting reindexing, when nothing changed
+        IClasspathEntry[] rawEntries = newEntries.toArray(new IClasspathEntry[0]);
+        javaProject.setRawClasspath(rawEntries, monitor);
+        javaProject.save(monitor, true);
+      }
     } catch (JavaModelException ex) {
       logger.log(Level.WARNING, "Failed to remove GPE classpath entries.", ex);
     }
     return foundGpeEntries;
   }
 
-  private static boolean isGpeClasspath(IClasspathEntry entry) {
+  static boolean isGpeClasspath(IClasspathEntry entry) {
     for (String gpeClasspath : GPE_CLASSPATH_ENTRIES_PATH) {
       if (new Path(gpeClasspath).isPrefixOf(entry.getPath())) {
         return true;
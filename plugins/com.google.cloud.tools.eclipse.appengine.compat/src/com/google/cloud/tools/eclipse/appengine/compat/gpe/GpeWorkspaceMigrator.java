@@ -0,0 +1,340 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.compat.gpe;
+
+import com.google.cloud.tools.eclipse.util.Xslt;
+import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.wst.common.project.facet.core.FacetedProjectFramework;
+import org.eclipse.wst.common.project.facet.core.IFacetedProject;
+import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Removes the GPE remnants from many projects at once. Migration happens in two steps: {@link
+ * #plan(Collection, IProgressMonitor)} examines the projects and reports the edits required
+ * without changing anything, which serves as a dry run; {@link #migrate(Collection,
+ * IProgressMonitor)} then applies those edits. Projects are migrated concurrently, each in a job
+ * scheduled with only that project's rule, except that projects whose locations are nested
+ * within one another are migrated together as they share files on disk.
+ */
+public class GpeWorkspaceMigrator {
+
+  private static final Logger logger = Logger.getLogger(GpeWorkspaceMigrator.class.getName());
+
+  private static final int MAXIMUM_CONCURRENT_MIGRATIONS =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  /**
+   * Compute the edits required to migrate the given projects, without changing anything.
+   *
+   * @return the plans for the projects with GPE remnants; other projects are omitted
+   */
+  public static List<GpeMigrationPlan> plan(Collection<IProject> projects,
+      IProgressMonitor monitor) throws CoreException {
+    SubMonitor progress = SubMonitor.convert(monitor, projects.size());
+    List<GpeMigrationPlan> plans = new ArrayList<>();
+    for (IProject project : projects) {
+      if (progress.isCanceled()) {
+        throw new OperationCanceledException();
+      }
+      if (project.isAccessible()) {
+        GpeMigrationPlan plan = planProject(project);
+        if (!plan.isEmpty()) {
+          plans.add(plan);
+        }
+      }
+      progress.worked(1);
+    }
+    return plans;
+  }
+
+  /** Compute the edits required to migrate a single project, without changing anything. */
+  static GpeMigrationPlan planProject(IProject project) throws CoreException {
+    List<IPath> classpathEntries = new ArrayList<>();
+    if (project.hasNature(JavaCore.NATURE_ID)) {
+      for (IClasspathEntry entry : JavaCore.create(project).getRawClasspath()) {
+        if (GpeMigrator.isGpeClasspath(entry)) {
+          classpathEntries.add(entry.getPath());
+        }
+      }
+    }
+    boolean removeNature = project.hasNature(GpeMigrator.GPE_GAE_NATURE_ID);
+    List<String> facetMetadataEntries = FacetedProjectFramework.isFacetedProject(project)
+        ? findGpeFacetMetadata(project.getFile(GpeMigrator.FACETS_METADATA_FILE))
+        : Collections.<String>emptyList();
+    return new GpeMigrationPlan(project, classpathEntries, removeNature, facetMetadataEntries);
+  }
+
+  /**
+   * Return descriptions of the GPE runtime and facets found in the WTP facet metadata. The
+   * metadata is transformed in memory with {@link GpeMigrator#WTP_METADATA_XSLT}, and every entry
+   * that the stylesheet would remove is reported.
+   */
+  private static List<String> findGpeFacetMetadata(IFile metadataFile) throws CoreException {
+    List<String> entries = new ArrayList<>();
+    if (!metadataFile.exists()) {
+      return entries;
+    }
+    URL xslt = GpeMigrator.class.getResource(GpeMigrator.WTP_METADATA_XSLT);
+    try {
+      byte[] contents;
+      try (InputStream input = metadataFile.getContents()) {
+        contents = ByteStreams.toByteArray(input);
+      }
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setExpandEntityReferences(false);
+      DocumentBuilder builder = factory.newDocumentBuilder();
+      Element original = builder.parse(new ByteArrayInputStream(contents)).getDocumentElement();
+      Element transformed;
+      try (InputStream result = Xslt.applyXslt(new ByteArrayInputStream(contents), xslt)) {
+        transformed = builder.parse(result).getDocumentElement();
+      }
+      List<String> kept = describeEntries(transformed);
+      for (String entry : describeEntries(original)) {
+        if (!kept.remove(entry)) {
+          entries.add(entry);
+        }
+      }
+    } catch (IOException | ParserConfigurationException | SAXException
+        | TransformerException ex) {
+      logger.log(Level.WARNING, "Unable to read " + metadataFile.getFullPath(), ex);
+    }
+    return entries;
+  }
+
+  /** Return a description of each top-level entry of the WTP facet metadata. */
+  private static List<String> describeEntries(Element root) {
+    List<String> entries = new ArrayList<>();
+    for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+      if (node.getNodeType() != Node.ELEMENT_NODE) {
+        continue;
+      }
+      Element element = (Element) node;
+      if ("runtime".equals(element.getTagName())) {
+        entries.add("runtime \"" + element.getAttribute("name") + "\"");
+      } else if ("installed".equals(element.getTagName())) {
+        entries.add("facet " + element.getAttribute("facet") + " "
+            + element.getAttribute("version"));
+      } else {
+        entries.add(element.getTagName());
+      }
+    }
+    return entries;
+  }
+
+  /** Return a human-readable report of the given plans. */
+  public static String formatReport(Collection<GpeMigrationPlan> plans) {
+    StringBuilder report = new StringBuilder();
+    report.append(plans.size()).append(" project(s) to migrate\n");
+    for (GpeMigrationPlan plan : plans) {
+      report.append(plan.getProject().getName()).append(":\n");
+      for (String edit : plan.describeEdits()) {
+        report.append("  ").append(edit).append('\n');
+      }
+    }
+    return report.toString();
+  }
+
+  /**
+   * Apply the given plans. This method must not be called while holding a scheduling rule that
+   * conflicts with the projects being migrated, unless that rule contains all of the projects, in
+   * which case the projects are migrated sequentially in the calling thread.
+   *
+   * @return a status describing any projects that could not be migrated
+   */
+  public static IStatus migrate(Collection<GpeMigrationPlan> plans, IProgressMonitor monitor) {
+    List<List<GpeMigrationPlan>> groups = groupIndependentPlans(plans);
+    MultiStatus result =
+        StatusUtil.multi(GpeWorkspaceMigrator.class, "Unable to migrate some GPE projects");
+    if (groups.isEmpty()) {
+      return result;
+    }
+
+    if (Job.getJobManager().currentRule() != null) {
+      SubMonitor progress = SubMonitor.convert(monitor, groups.size());
+      for (List<GpeMigrationPlan> group : groups) {
+        migrateGroup(group, result::add, progress.newChild(1));
+      }
+      return progress.isCanceled() ? Status.CANCEL_STATUS : result;
+    }
+
+    Queue<IStatus> failures = new ConcurrentLinkedQueue<>();
+    JobGroup jobGroup = new JobGroup("Migrating GPE projects", MAXIMUM_CONCURRENT_MIGRATIONS,
+        groups.size());
+    IResourceRuleFactory ruleFactory = ResourcesPlugin.getWorkspace().getRuleFactory();
+    for (List<GpeMigrationPlan> group : groups) {
+      ISchedulingRule rule = null;
+      for (GpeMigrationPlan plan : group) {
+        rule = MultiRule.combine(rule, ruleFactory.modifyRule(plan.getProject()));
+      }
+      Job job = new WorkspaceJob("Migrating " + group.get(0).getProject().getName()) {
+        @Override
+        public IStatus runInWorkspace(IProgressMonitor jobMonitor) {
+          migrateGroup(group, failures::add, jobMonitor);
+          return jobMonitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+      };
+      job.setRule(rule);
+      job.setSystem(true);
+      job.setJobGroup(jobGroup);
+      job.schedule();
+    }
+
+    try {
+      jobGroup.join(0L, monitor);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      jobGroup.cancel();
+      return Status.CANCEL_STATUS;
+    } catch (OperationCanceledException ex) {
+      jobGroup.cancel();
+      return Status.CANCEL_STATUS;
+    }
+    for (IStatus failure : failures) {
+      result.add(failure);
+    }
+    return result;
+  }
+
+  private static void migrateGroup(List<GpeMigrationPlan> group, Consumer<IStatus> failures,
+      IProgressMonitor monitor) {
+    SubMonitor progress = SubMonitor.convert(monitor, group.size());
+    for (GpeMigrationPlan plan : group) {
+      if (progress.isCanceled()) {
+        return;
+      }
+      try {
+        migrateProject(plan, progress.newChild(1));
+      } catch (CoreException ex) {
+        failures.accept(StatusUtil.error(GpeWorkspaceMigrator.class,
+            "Unable to migrate " + plan.getProject().getName(), ex));
+      }
+    }
+  }
+
+  /** Apply only the edits in the plan, to avoid needless rewrites. */
+  private static void migrateProject(GpeMigrationPlan plan, IProgressMonitor monitor)
+      throws CoreException {
+    SubMonitor progress = SubMonitor.convert(monitor, 30);
+    IProject project = plan.getProject();
+    if (!plan.getClasspathEntries().isEmpty()) {
+      GpeMigrator.removeGpeClasspathEntries(project, progress.newChild(10));
+    }
+    progress.setWorkRemaining(20);
+    if (plan.isRemoveNature()) {
+      GpeMigrator.removeGpeNature(project, progress.newChild(10));
+    }
+    progress.setWorkRemaining(10);
+    if (!plan.getFacetMetadataEntries().isEmpty()) {
+      IFacetedProject facetedProject = ProjectFacetsManager.create(project);
+      if (facetedProject != null) {
+        GpeMigrator.removeGpeRuntimeAndFacets(facetedProject);
+      }
+    }
+    progress.done();
+  }
+
+  /**
+   * Group the plans so that plans for projects whose locations are nested within one another are
+   * in the same group. Groups are returned in order of their projects' locations.
+   */
+  @VisibleForTesting
+  static List<List<GpeMigrationPlan>> groupIndependentPlans(Collection<GpeMigrationPlan> plans) {
+    List<GpeMigrationPlan> located = new ArrayList<>();
+    List<List<GpeMigrationPlan>> groups = new ArrayList<>();
+    for (GpeMigrationPlan plan : plans) {
+      if (plan.isEmpty()) {
+        continue;
+      }
+      if (plan.getProject().getLocation() == null) {
+        groups.add(Collections.singletonList(plan));
+      } else {
+        located.add(plan);
+      }
+    }
+
+    // ordering by segment places every location directly before the locations nested in it
+    located.sort(Comparator.comparing((GpeMigrationPlan plan) -> plan.getProject().getLocation(),
+        GpeWorkspaceMigrator::compareSegments));
+    IPath groupLocation = null;
+    List<GpeMigrationPlan> group = null;
+    for (GpeMigrationPlan plan : located) {
+      IPath location = plan.getProject().getLocation();
+      if (group == null || !groupLocation.isPrefixOf(location)) {
+        group = new ArrayList<>();
+        groups.add(group);
+        groupLocation = location;
+      }
+      group.add(plan);
+    }
+    return groups;
+  }
+
+  private static int compareSegments(IPath first, IPath second) {
+    String firstDevice = first.getDevice() == null ? "" : first.getDevice();
+    String secondDevice = second.getDevice() == null ? "" : second.getDevice();
+    int result = firstDevice.compareTo(secondDevice);
+    int count = Math.min(first.segmentCount(), second.segmentCount());
+    for (int i = 0; result == 0 && i < count; i++) {
+      result = first.segment(i).compareTo(second.segment(i));
+    }
+    return result != 0 ? result : Integer.compare(first.segmentCount(), second.segmentCount());
+  }
+
+  private GpeWorkspaceMigrator() {}
+}
@@ -18,6 +18,9 @@ package com.google.cloud.tools.eclipse.appengine.deploy.ui;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -29,7 +32,9 @@ import com.google.cloud.tools.eclipse.projectselector.ProjectRepositoryException
 import com.google.cloud.tools.eclipse.projectselector.ProjectSelector;
 import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import org.eclipse.core.databinding.DataBindingContext;
 import org.eclipse.core.runtime.jobs.Job;
@@ -38,6 +43,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -63,7 +69,7 @@ public class GcpProjectQueryJobTest {
         dataBindingContext, isLatestQueryJob);
 
     when(projectSelector.isDisposed()).thenReturn(false);
-    when(projectRepository.getProjects()).thenReturn(projects);
+    when(projectRepository.getProjects(any())).thenReturn(projects);
     when(isLatestQueryJob.test(queryJob)).thenReturn(true);
   }
 
@@ -77,7 +83,8 @@ public class GcpProjectQueryJobTest {
     queryJob.schedule();
     queryJob.join();
 
-    verify(projectRepository).getProjects();
+    verify(projectRepository).invalidateCachedProjects();
+    verify(projectRepository).getProjects(any());
     verify(isLatestQueryJob).test(queryJob);
     verify(projectSelector).isDisposed();
     verify(projectSelector).setProjects(projects);
@@ -90,7 +97,7 @@ public class GcpProjectQueryJobTest {
     queryJob.schedule();
     queryJob.join();
 
-    verify(projectRepository).getProjects();
+    verify(projectRepository).getProjects(any());
     verify(projectSelector, never()).setProjects(projects);
   }
 
@@ -102,7 +109,7 @@ public class GcpProjectQueryJobTest {
     queryJob.schedule();
     queryJob.join();
 
-    verify(projectRepository).getProjects();
+    verify(projectRepository).getProjects(any());
     verify(projectSelector, never()).setProjects(projects);
   }
 
@@ -112,7 +119,7 @@ public class GcpProjectQueryJobTest {
     anotherProjectList.add(null); // so not equals to projects
     
     ProjectRepository projectRepository2 = mock(ProjectRepository.class);
-    when(projectRepository2.getProjects()).thenReturn(anotherProjectList);
+    when(projectRepository2.getProjects(any())).thenReturn(anotherProjectList);
 
     // This second job is stale, i.e., it was fired, but user has selected another credential.
     Predicate<Job> notLatest = job -> false;
@@ -125,10 +132,47 @@ public class GcpProjectQueryJobTest {
     staleJob.schedule();
     staleJob.join();
 
-    verify(projectRepository).getProjects();
-    verify(projectRepository2).getProjects();
+    verify(projectRepository).getProjects(any());
+    verify(projectRepository2).getProjects(any());
 
     verify(projectSelector).setProjects(projects);
     verify(projectSelector, never()).setProjects(anotherProjectList);
   }
+
+  @Test
+  public void testRun_showsCachedProjectsFirst()
+      throws InterruptedException, ProjectRepositoryException {
+    List<GcpProject> cachedProjects = Arrays.asList(new GcpProject("cached", "cached"));
+    when(projectRepository.getCachedProjects()).thenReturn(cachedProjects);
+
+    queryJob.schedule();
+    queryJob.join();
+
+    InOrder inOrder = inOrder(projectSelector);
+    inOrder.verify(projectSelector).setProjects(cachedProjects);
+    inOrder.verify(projectSelector).setProjects(projects);
+    verify(projectSelector, never()).addProjects(anyListOf(GcpProject.class));
+  }
+
+  @Test
+  public void testRun_streamsPagesWithoutCachedProjects()
+      throws InterruptedException, ProjectRepositoryException {
+    List<GcpProject> page = Arrays.asList(new GcpProject("page", "page"));
+    when(projectRepository.getProjects(any())).thenAnswer(invocation -> {
+      @SuppressWarnings("unchecked")
+      Consumer<List<GcpProject>> pageConsumer =
+          (Consumer<List<GcpProject>>) invocation.getArguments()[0];
+      pageConsumer.accept(page);
+      return projects;
+    });
+
+    queryJob.schedule();
+    queryJob.join();
+    while (Display.getCurrent().readAndDispatch()) {
+      // process the pages posted to the UI thread
+    }
+
+    verify(projectSelector).addProjects(page);
+    verify(projectSelector).setProjects(projects);
+  }
 }
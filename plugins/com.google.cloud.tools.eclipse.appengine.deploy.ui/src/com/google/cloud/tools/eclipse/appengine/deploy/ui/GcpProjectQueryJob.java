@@ -24,6 +24,7 @@ import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.base.Preconditions;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import org.eclipse.core.databinding.DataBindingContext;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -34,7 +35,10 @@ import org.eclipse.swt.widgets.Display;
 
 /**
  * Generic {@link Job} that queries GCP projects of given {@link Credential} through
- * {@link ProjectRepository} and updates {@link ProjectSelector} asynchronously.
+ * {@link ProjectRepository} and updates {@link ProjectSelector} asynchronously. Projects
+ * remembered from an earlier query are shown immediately while the query runs; otherwise the
+ * projects are shown page by page as they arrive. The query always goes to the server, so that
+ * it picks up projects created elsewhere.
  */
 public class GcpProjectQueryJob extends Job {
 
@@ -65,21 +69,45 @@ public class GcpProjectQueryJob extends Job {
   @Override
   protected IStatus run(IProgressMonitor monitor) {
     try {
-      final Job thisJob = this;
-      final List<GcpProject> projects = projectRepository.getProjects();
+      List<GcpProject> cachedProjects = projectRepository.getCachedProjects();
+      boolean showingCachedProjects = cachedProjects != null && !cachedProjects.isEmpty();
+      if (showingCachedProjects) {
+        display.syncExec(() -> setProjects(cachedProjects));
+      }
 
-      // The selector may have been disposed (i.e., dialog closed); check it in the UI thread.
-      display.syncExec(() -> {
-        if (!projectSelector.isDisposed()
-            && isLatestQueryJob.test(thisJob) /* intentionally checking in UI context */) {
-          projectSelector.setProjects(projects);
-          dataBindingContext.updateTargets();  // Select saved choice, if any.
-        }
-      });
+      Consumer<List<GcpProject>> pageConsumer = page -> {};
+      if (!showingCachedProjects) {
+        pageConsumer = page -> display.asyncExec(() -> {
+          if (isUpToDate()) {
+            projectSelector.addProjects(page);
+          }
+        });
+      }
+      // this is a refresh, so bypass any cached project list responses
+      projectRepository.invalidateCachedProjects();
+      final List<GcpProject> projects = projectRepository.getProjects(pageConsumer);
+      display.syncExec(() -> setProjects(projects));
       return Status.OK_STATUS;
     } catch (ProjectRepositoryException ex) {
       return StatusUtil.error(this,
           Messages.getString("projectselector.retrieveproject.error.message", ex.getMessage()), ex);
     }
   }
+
+  /** Must be called in the UI thread. */
+  private void setProjects(List<GcpProject> projects) {
+    if (isUpToDate()) {
+      projectSelector.setProjects(projects);
+      dataBindingContext.updateTargets();  // Select saved choice, if any.
+    }
+  }
+
+  /**
+   * The selector may have been disposed (i.e., dialog closed), or the query superseded; must be
+   * called in the UI thread.
+   */
+  private boolean isUpToDate() {
+    return !projectSelector.isDisposed()
+        && isLatestQueryJob.test(this) /* intentionally checking in UI context */;
+  }
 }
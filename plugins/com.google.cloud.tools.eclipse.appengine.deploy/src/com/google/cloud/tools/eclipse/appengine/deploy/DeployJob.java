@@ -95,28 +95,40 @@ public class DeployJob extends WorkspaceJob {
             new CoreException(installStatus));
       }
 
-      progress.subTask("Saving credential");
-      
-      java.util.logging.Logger.getLogger(CloudSdkProcessWrapper.class.getName()).log(Level.WARNING, "Skipping saving credentials");
-      
-      progress.subTask("Staging project files");
-      IPath stagingDirectory = workDirectory.append(STAGING_DIRECTORY_NAME);
-      IStatus stagingStatus = stageProject(stagingDirectory, progress.newChild(30));
-      if (stagingStatus != Status.OK_STATUS) {
-        return stagingStatus;
-      } else if (monitor.isCanceled()) {
+      // the SDK must not be updated while it stages and deploys the project
+      CloudSdkManager sdkManager = CloudSdkManager.getInstance();
+      if (!sdkManager.preventModifyingSdk(monitor)) {
         return Status.CANCEL_STATUS;
       }
-
-      progress.subTask("Deploying staged project");
-      IStatus deployStatus = deployProject(stagingDirectory, progress.newChild(70));
-      if (deployStatus != Status.OK_STATUS) {
-        return deployStatus;
-      } else if (monitor.isCanceled()) {
-        return Status.CANCEL_STATUS;
+      try {
+        progress.subTask("Saving credential");
+      
+        java.util.logging.Logger.getLogger(CloudSdkProcessWrapper.class.getName()).log(Level.WARNING, "Skipping saving credentials");
+      
+        progress.subTask("Staging project files");
+        IPath stagingDirectory = workDirectory.append(STAGING_DIRECTORY_NAME);
+        IStatus stagingStatus = stageProject(stagingDirectory, progress.newChild(30));
+        if (stagingStatus != Status.OK_STATUS) {
+          return stagingStatus;
+        } else if (monitor.isCanceled()) {
+          return Status.CANCEL_STATUS;
+        }
+
+        progress.subTask("Deploying staged project");
+        IStatus deployStatus = deployProject(stagingDirectory, progress.newChild(70));
+        if (deployStatus != Status.OK_STATUS) {
+          return deployStatus;
+        } else if (monitor.isCanceled()) {
+          return Status.CANCEL_STATUS;
+        }
+
+        return openAppInBrowser();
+      } finally {
+        sdkManager.allowModifyingSdk();
       }
-
-      return openAppInBrowser();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return Status.CANCEL_STATUS;
     } finally {
       progress.done();
     }
@@ -31,8 +31,8 @@ import com.google.cloud.tools.eclipse.appengine.deploy.AppEngineProjectDeployer;
 import com.google.cloud.tools.eclipse.appengine.deploy.Messages;
 import com.google.cloud.tools.eclipse.appengine.deploy.standard.StandardStagingDelegate;
 import com.google.cloud.tools.eclipse.googleapis.internal.GoogleApiFactory;
+import com.google.cloud.tools.eclipse.sdk.BatchingConsoleSink;
 import com.google.cloud.tools.eclipse.sdk.GcloudStructuredLogErrorMessageCollector;
-import com.google.cloud.tools.eclipse.sdk.MessageConsoleWriterListener;
 import com.google.cloud.tools.eclipse.util.CloudToolsInfo;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.annotations.VisibleForTesting;
@@ -40,6 +40,7 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.eclipse.core.runtime.IStatus;
@@ -66,6 +67,9 @@ public class CloudSdkProcessWrapper {
    */
   private GcloudStructuredLogErrorMessageCollector gcloudErrorMessageCollector;
 
+  /** Sinks that batch process output into the console; closed when the process exits. */
+  private final List<BatchingConsoleSink> consoleSinks = new ArrayList<>();
+
   /**
    * Sets up a {@link CloudSdk} to be used for App Engine deploy.
    */
@@ -92,7 +96,7 @@ public class CloudSdkProcessWrapper {
         .setStartListener(this::storeProcessObject)
         .setExitListener(this::recordProcessExitCode)
         // Gcloud sends normal operation output to stderr.
-        .addStdErrLineListener(new MessageConsoleWriterListener(normalOutputStream))
+        .addStdErrLineListener(newConsoleSink(normalOutputStream))
         .addStdErrLineListener(gcloudErrorMessageCollector)
         .addStdOutLineListener(stdOutCaptor)
         .build();
@@ -119,8 +123,8 @@ public class CloudSdkProcessWrapper {
     ProcessHandler processHandler = LegacyProcessHandler.builder()
         .setStartListener(this::storeProcessObject)
         .setExitListener(this::recordProcessExitCode)
-        .addStdOutLineListener(new MessageConsoleWriterListener(stdoutOutputStream))
-        .addStdErrLineListener(new MessageConsoleWriterListener(stderrOutputStream))
+        .addStdOutLineListener(newConsoleSink(stdoutOutputStream))
+        .addStdErrLineListener(newConsoleSink(stderrOutputStream))
         .build();
 
     return AppCfg.builder(cloudSdk).build().newStaging(processHandler);
@@ -165,8 +169,18 @@ public class CloudSdkProcessWrapper {
     }
   }
 
+  private BatchingConsoleSink newConsoleSink(MessageConsoleStream stream) {
+    BatchingConsoleSink sink = new BatchingConsoleSink(stream);
+    consoleSinks.add(sink);
+    return sink;
+  }
+
   @VisibleForTesting
   void recordProcessExitCode(int exitCode) {
+    // write out the last of the output before anyone reports on the exit
+    for (BatchingConsoleSink sink : consoleSinks) {
+      sink.close();
+    }
     if (exitCode != 0) {
       exitStatus = StatusUtil.error(this, getErrorMessage(exitCode), exitCode);
     } else {
@@ -27,6 +27,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -48,6 +49,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.function.BiConsumer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -56,6 +58,7 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jst.common.project.facet.core.JavaFacet;
 import org.eclipse.jst.j2ee.web.project.facet.WebFacetUtils;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -433,4 +436,59 @@ public class AppEngineContentProviderTest {
     assertSame(project, fixture.getParent(projectElement));
     assertSame(projectElement, fixture.getParent(queueDescriptor));
   }
+
+  @Test
+  public void testGetChildren_deferred_placeholderThenElement() throws InterruptedException {
+    projectCreator.withFacets(AppEngineStandardFacet.JRE7, WebFacetUtils.WEB_25);
+    IProject project = projectCreator.getProject();
+    ConfigurationFileUtils.createAppEngineWebXml(project, null);
+
+    AppEngineContentProvider deferred = new AppEngineContentProvider(refreshHandler, true);
+    try {
+      Object[] children = deferred.getChildren(project);
+      assertEquals(1, children.length);
+      assertThat(children[0], instanceOf(PendingUpdateAdapter.class));
+      assertFalse(deferred.hasChildren(children[0]));
+
+      deferred.joinLoader();
+      verify(refreshHandler).accept(Collections.singleton(project), Collections.emptySet());
+      children = deferred.getChildren(project);
+      assertEquals(1, children.length);
+      assertThat(children[0], instanceOf(AppEngineProjectElement.class));
+    } finally {
+      deferred.dispose();
+    }
+  }
+
+  @Test
+  public void testGetChildren_deferred_nonAppEngineProject() throws InterruptedException {
+    AppEngineContentProvider deferred = new AppEngineContentProvider(refreshHandler, true);
+    try {
+      assertEquals(0, deferred.getChildren(projectCreator.getProject()).length);
+      deferred.joinLoader();
+      verifyZeroInteractions(refreshHandler);
+    } finally {
+      deferred.dispose();
+    }
+  }
+
+  @Test
+  public void testInputChanged_deferred_preloadsWithoutRefresh() throws InterruptedException {
+    projectCreator.withFacets(AppEngineStandardFacet.JRE7, WebFacetUtils.WEB_25);
+    IProject project = projectCreator.getProject();
+    ConfigurationFileUtils.createAppEngineWebXml(project, null);
+
+    AppEngineContentProvider deferred = new AppEngineContentProvider(refreshHandler, true);
+    try {
+      deferred.inputChanged(mock(StructuredViewer.class), null, null);
+      deferred.joinLoader();
+      verify(refreshHandler, never()).accept(anyObject(), anyObject());
+
+      Object[] children = deferred.getChildren(project);
+      assertEquals(1, children.length);
+      assertThat(children[0], instanceOf(AppEngineProjectElement.class));
+    } finally {
+      deferred.dispose();
+    }
+  }
 }
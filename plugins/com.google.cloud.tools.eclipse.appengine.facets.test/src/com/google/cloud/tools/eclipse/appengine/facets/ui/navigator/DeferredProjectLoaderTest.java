@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.facets.ui.navigator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.AppEngineProjectElement;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.IProject;
+import org.junit.After;
+import org.junit.Test;
+
+public class DeferredProjectLoaderTest {
+  private final Cache<IProject, AppEngineProjectElement> cache = CacheBuilder.newBuilder().build();
+  private final IProject project = mock(IProject.class);
+  private final List<AppEngineProjectElement> loaded = new CopyOnWriteArrayList<>();
+  private final List<Collection<IProject>> notifications = new CopyOnWriteArrayList<>();
+
+  private final CountDownLatch firstLoadStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseFirstLoad = new CountDownLatch(1);
+
+  private final DeferredProjectLoader loader = new DeferredProjectLoader(cache, key -> {
+    AppEngineProjectElement model = mock(AppEngineProjectElement.class);
+    loaded.add(model);
+    if (loaded.size() == 1) {
+      firstLoadStarted.countDown();
+      Uninterruptibles.awaitUninterruptibly(releaseFirstLoad);
+    }
+    return model;
+  }, notifications::add);
+
+  @After
+  public void tearDown() {
+    releaseFirstLoad.countDown();
+    loader.dispose();
+  }
+
+  @Test
+  public void testRequest_modelCachedAndNotified() throws InterruptedException {
+    releaseFirstLoad.countDown();
+    loader.request(project, true);
+    loader.join();
+
+    assertEquals(1, loaded.size());
+    assertSame(loaded.get(0), cache.getIfPresent(project));
+    assertTrue(loader.isAttempted(project));
+    assertEquals(1, notifications.size());
+  }
+
+  @Test
+  public void testReset_whileLoadingDiscardsModelAndReloads() throws InterruptedException {
+    loader.request(project, true);
+    assertTrue(firstLoadStarted.await(10, TimeUnit.SECONDS));
+    loader.reset(project);
+    cache.invalidate(project);
+    releaseFirstLoad.countDown();
+    loader.join();
+
+    assertEquals(2, loaded.size());
+    assertSame("the model loaded before the reset was cached",
+        loaded.get(1), cache.getIfPresent(project));
+    assertTrue(loader.isAttempted(project));
+    assertEquals(1, notifications.size());
+  }
+}
@@ -160,6 +160,37 @@ public class AppEngineProjectElementTest {
     assertTrue(AppEngineProjectElement.hasLayoutChanged(Collections.singleton(file)));
   }
 
+  @Test
+  public void testIsRelevantFile_normalFile() {
+    IFile file = mock(IFile.class);
+    when(file.getName()).thenReturn("Foo.java");
+    when(file.getProjectRelativePath()).thenReturn(new Path("src/Foo.java"));
+    assertFalse(AppEngineProjectElement.isRelevantFile(file));
+  }
+
+  @Test
+  public void testIsRelevantFile_descriptor() {
+    IFile file = mock(IFile.class);
+    when(file.getName()).thenReturn("appengine-web.xml");
+    assertTrue(AppEngineProjectElement.isRelevantFile(file));
+  }
+
+  @Test
+  public void testIsRelevantFile_configurationFile() {
+    IFile file = mock(IFile.class);
+    when(file.getName()).thenReturn("cron.yaml");
+    assertTrue(AppEngineProjectElement.isRelevantFile(file));
+  }
+
+  @Test
+  public void testIsRelevantFile_wtpComponentsFile() {
+    IFile file = mock(IFile.class);
+    when(file.getName()).thenReturn("org.eclipse.wst.common.component");
+    when(file.getProjectRelativePath())
+        .thenReturn(new Path(".settings/org.eclipse.wst.common.component"));
+    assertTrue(AppEngineProjectElement.isRelevantFile(file));
+  }
+
   @Test
   public void testHasAppEngineDescriptor_normalFile() {
     IFile file = mock(IFile.class);
@@ -254,6 +254,48 @@ public class ModelRefreshTests {
     }
   }
 
+  /** A change to a single configuration file should only report that element as updated. */
+  @Test
+  public void testUpdate_configurationFileChangeIsNotStructural()
+      throws AppEngineException, CoreException {
+    IProject project = projectCreator.getProject();
+    IFile cronXml = ConfigurationFileUtils.createEmptyCronXml(project);
+    ConfigurationFileUtils.createEmptyQueueXml(project);
+    AppEngineProjectElement projectElement = AppEngineProjectElement.create(project);
+    CronDescriptor cron = findInstance(projectElement.getConfigurations(), CronDescriptor.class);
+
+    cronXml.setContents(
+        new ByteArrayInputStream("<cronentries/>".getBytes(StandardCharsets.UTF_8)),
+        true, false, null);
+    assertTrue(cron.isStale());
+    ModelChanges changes = projectElement.update(Collections.singleton(cronXml));
+    assertFalse(changes.isStructural());
+    assertFalse(changes.isDescriptorChanged());
+    assertEquals(Collections.singleton(cron), changes.getUpdatedElements());
+    assertFalse(cron.isStale());
+  }
+
+  /**
+   * A descriptor change that does not affect the service should not rebuild the configuration
+   * elements.
+   */
+  @Test
+  public void testUpdate_descriptorChangePreservesConfigurations() throws AppEngineException {
+    IProject project = projectCreator.getProject();
+    ConfigurationFileUtils.createEmptyCronXml(project);
+    AppEngineProjectElement projectElement = AppEngineProjectElement.create(project);
+    AppEngineResourceElement[] subElements = projectElement.getConfigurations();
+
+    IFile appEngineWebXml = ConfigurationFileUtils.createAppEngineWebXml(project, "default");
+    ModelChanges changes = projectElement.update(Collections.singleton(appEngineWebXml));
+    assertTrue(changes.isDescriptorChanged());
+    assertFalse(changes.isStructural());
+    assertTrue(changes.getUpdatedElements().isEmpty());
+    assertEquals("default", projectElement.getServiceId());
+    assertEquals(
+        Sets.newHashSet(subElements), Sets.newHashSet(projectElement.getConfigurations()));
+  }
+
   /**
    * Ensure that the content block does not add new configuration files to a non-default service.
    */
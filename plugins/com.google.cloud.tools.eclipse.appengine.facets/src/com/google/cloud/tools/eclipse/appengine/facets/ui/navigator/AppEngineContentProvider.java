@@ -22,14 +22,16 @@ import com.google.cloud.tools.eclipse.appengine.facets.AppEngineFlexWarFacet;
 import com.google.cloud.tools.eclipse.appengine.facets.AppEngineStandardFacet;
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.AppEngineProjectElement;
 import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.AppEngineResourceElement;
-import com.google.cloud.tools.eclipse.util.io.ResourceUtils;
+import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.ModelChanges;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -39,18 +41,26 @@ import java.util.logging.Logger;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
+import org.eclipse.ui.progress.UIJob;
 import org.eclipse.wst.common.componentcore.ComponentCore;
 import org.eclipse.wst.common.componentcore.resources.IVirtualFile;
 import org.eclipse.wst.common.componentcore.resources.IVirtualFolder;
+import org.eclipse.wst.common.project.facet.core.FacetedProjectFramework;
 import org.eclipse.wst.common.project.facet.core.IFacetedProject;
 import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
 
@@ -75,11 +85,23 @@ import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
  * IVirtualFolder virtual folder}. The virtual layout could be reconfigured such that a different
  * {@code appengine-web.xml} file is used — or the {@code appengine-web.xml} may no longer appear in
  * {@code WEB-INF}!
+ *
+ * <p>Loading a project model requires parsing the App Engine descriptor and configuration files.
+ * By default, models are loaded in the background: {@link #getChildren(Object)} returns a {@link
+ * PendingUpdateAdapter placeholder} for a project whose model is not yet available, and the
+ * project nodes are refreshed in batches once their models have been loaded. The models for all
+ * open projects are pre-loaded when the viewer is first set.
  */
 public class AppEngineContentProvider implements ITreeContentProvider {
   private static final Logger logger = Logger.getLogger(AppEngineContentProvider.class.getName());
   private static final Object[] EMPTY_ARRAY = new Object[0];
 
+  /** Delay used to coalesce viewer refreshes. */
+  private static final long REFRESH_DELAY_MS = 200;
+
+  /** Beyond this many elements, a single full refresh is cheaper than individual refreshes. */
+  private static final int FULL_REFRESH_THRESHOLD = 50;
+
   /** Try to get a {@link IProject} from the given element, return {@code null} otherwise. */
   private static IProject getProject(Object inputElement) {
     if (inputElement instanceof IFacetedProject) {
@@ -105,6 +127,15 @@ public class AppEngineContentProvider implements ITreeContentProvider {
     }
   }
 
+  /** Return {@code true} if the project is faceted; this only checks the project's natures. */
+  private static boolean isFaceted(IProject project) {
+    try {
+      return FacetedProjectFramework.isFacetedProject(project);
+    } catch (CoreException ex) {
+      return false;
+    }
+  }
+
   /**
    * Load a representation of an App Engine project from the given project.
    *
@@ -145,11 +176,32 @@ public class AppEngineContentProvider implements ITreeContentProvider {
 
   private IResourceChangeListener resourceListener;
 
-  public AppEngineContentProvider() {}
+  private final Object refreshLock = new Object();
+  private Set<Object> pendingRefreshes = new HashSet<>(); // guarded by refreshLock
+  private Set<Object> pendingUpdates = new HashSet<>(); // guarded by refreshLock
+  private boolean refreshScheduled = false; // guarded by refreshLock
+  private UIJob refreshJob; // guarded by refreshLock
+
+  /** Loads project models in the background; {@code null} if models are loaded synchronously. */
+  private final DeferredProjectLoader loader;
+
+  public AppEngineContentProvider() {
+    loader = new DeferredProjectLoader(projectMapping,
+        AppEngineContentProvider::loadRepresentation, this::projectsLoaded);
+  }
 
+  /** Create an instance that loads project models synchronously. */
   @VisibleForTesting
   AppEngineContentProvider(BiConsumer<Collection<Object>, Collection<Object>> refreshHandler) {
+    this(refreshHandler, false);
+  }
+
+  @VisibleForTesting
+  AppEngineContentProvider(BiConsumer<Collection<Object>, Collection<Object>> refreshHandler,
+      boolean deferred) {
     this.refreshHandler = refreshHandler;
+    loader = deferred ? new DeferredProjectLoader(projectMapping,
+        AppEngineContentProvider::loadRepresentation, this::projectsLoaded) : null;
   }
 
   @Override
@@ -158,7 +210,75 @@ public class AppEngineContentProvider implements ITreeContentProvider {
     if (resourceListener == null) {
       resourceListener = this::resourceChanged;
       workspace.addResourceChangeListener(resourceListener);
+      preload();
+    }
+  }
+
+  /** Start loading the models of all open projects in the background. */
+  private void preload() {
+    if (loader != null) {
+      for (IProject project : workspace.getRoot().getProjects()) {
+        if (project.isAccessible()) {
+          loader.request(project, false);
+        }
+      }
+    }
+  }
+
+  /** Called on a background thread once the models for the given projects have been loaded. */
+  private void projectsLoaded(Collection<IProject> projects) {
+    refreshHandler.accept(new HashSet<>(projects), Collections.emptySet());
+  }
+
+  @VisibleForTesting
+  void joinLoader() throws InterruptedException {
+    if (loader != null) {
+      loader.join();
+    }
+  }
+
+  /**
+   * Walk the resource delta and collect the changed files that may affect an App Engine project
+   * model, as determined by {@link AppEngineProjectElement#isRelevantFile(IFile)}. Subtrees that
+   * cannot contain such files (derived or team-private folders), and files whose only changes are
+   * to their markers, are skipped. Projects that are removed or closed are invalidated directly.
+   */
+  @VisibleForTesting
+  Multimap<IProject, IFile> getRelevantFiles(IResourceDelta topDelta) throws CoreException {
+    Multimap<IProject, IFile> files = HashMultimap.create();
+    if (topDelta == null) {
+      return files;
     }
+    topDelta.accept(
+        delta -> {
+          IResource resource = delta.getResource();
+          switch (resource.getType()) {
+            case IResource.FILE:
+              IFile file = (IFile) resource;
+              if (isContentChange(delta) && AppEngineProjectElement.isRelevantFile(file)) {
+                files.put(file.getProject(), file);
+              }
+              return false;
+            case IResource.PROJECT:
+              if (delta.getKind() == IResourceDelta.REMOVED || !resource.isAccessible()) {
+                invalidate((IProject) resource);
+                return false;
+              }
+              return true;
+            case IResource.FOLDER:
+              return delta.getKind() == IResourceDelta.REMOVED
+                  || !(resource.isDerived() || resource.isTeamPrivateMember());
+            default:
+              return true;
+          }
+        });
+    return files;
+  }
+
+  /** Return {@code true} unless the delta only records marker or synchronization changes. */
+  private static boolean isContentChange(IResourceDelta delta) {
+    return delta.getKind() != IResourceDelta.CHANGED
+        || (delta.getFlags() & ~(IResourceDelta.MARKERS | IResourceDelta.SYNC)) != 0;
   }
 
   /**
@@ -170,7 +290,7 @@ public class AppEngineContentProvider implements ITreeContentProvider {
   private void resourceChanged(IResourceChangeEvent event) {
     Multimap<IProject, IFile> affected;
     try {
-      affected = ResourceUtils.getAffectedFiles(event.getDelta());
+      affected = getRelevantFiles(event.getDelta());
     } catch (CoreException ex) {
       logger.log(Level.WARNING, "Could not determine affected files from resource delta", ex);
       return;
@@ -183,7 +303,7 @@ public class AppEngineContentProvider implements ITreeContentProvider {
     
     for (IProject project : affected.keySet()) {
       if (!project.exists()) {
-        projectMapping.invalidate(project);
+        invalidate(project);
         continue; // the explorer will update itself to remove the project
       }
       Collection<IFile> projectFiles = affected.get(project);
@@ -191,9 +311,16 @@ public class AppEngineContentProvider implements ITreeContentProvider {
       AppEngineProjectElement projectElement = projectMapping.getIfPresent(project);
       if (projectElement != null) {
         try {
-          if (projectElement.resourcesChanged(projectFiles)) {
-            // there was a change in the App Engine content block
+          ModelChanges changes = projectElement.update(projectFiles);
+          if (changes.isStructural()) {
+            // configuration elements were added or removed from the App Engine content block
             toBeRefreshed.add(projectElement);
+          } else {
+            // only labels may have changed
+            if (changes.isDescriptorChanged()) {
+              toBeUpdated.add(projectElement);
+            }
+            toBeUpdated.addAll(changes.getUpdatedElements());
           }
           // Check if the App Engine descriptor changed: the information in the descriptor is used
           // in the project labels (the parent of the App Engine content block) and so the label may
@@ -204,12 +331,13 @@ public class AppEngineContentProvider implements ITreeContentProvider {
         } catch (AppEngineException ex) {
           // model is no longer valid given this change (e.g., perhaps the appengine-web.xml
           // has been removed or disappeared due to virtual layout change)
-          projectMapping.invalidate(project);
+          invalidate(project);
           toBeRefreshed.add(project);
         }
       } else if (AppEngineProjectElement.hasAppEngineDescriptor(projectFiles)) {
         // We have no project model (wasn't an App Engine project previously) but it seems to
         // contain an App Engine descriptor.  So trigger refresh of project.
+        invalidate(project);
         toBeRefreshed.add(project);
       }
     }
@@ -218,20 +346,69 @@ public class AppEngineContentProvider implements ITreeContentProvider {
     }
   }
 
+  /** Discard any model or load attempt for the given project. */
+  private void invalidate(IProject project) {
+    // reset first, so that a load in progress cannot cache a model after it is invalidated
+    if (loader != null) {
+      loader.reset(project);
+    }
+    projectMapping.invalidate(project);
+  }
+
+  /**
+   * Queue the elements for refresh or update. Requests are accumulated for {@link
+   * #REFRESH_DELAY_MS} so that bursts of resource changes (e.g., a source control checkout or a
+   * build) result in a single batched viewer refresh.
+   */
   private void refreshElements(Collection<Object> toBeRefreshed, Collection<Object> toBeUpdated) {
     Control control = viewer.getControl();
     if (control == null || control.isDisposed()) {
       return;
     }
-    control
-        .getDisplay()
-        .asyncExec(
-            () -> {
-              if (!control.isDisposed()) {
-                toBeRefreshed.forEach(handle -> viewer.refresh(handle));
-                toBeUpdated.forEach(handle -> viewer.update(handle, null));
-              }
-            });
+    synchronized (refreshLock) {
+      pendingRefreshes.addAll(toBeRefreshed);
+      pendingUpdates.addAll(toBeUpdated);
+      if (refreshJob == null) {
+        refreshJob = new UIJob(control.getDisplay(), "Refreshing App Engine projects") {
+          @Override
+          public IStatus runInUIThread(IProgressMonitor monitor) {
+            flushRefreshes(control);
+            return Status.OK_STATUS;
+          }
+        };
+        refreshJob.setSystem(true);
+      }
+      if (!refreshScheduled) {
+        refreshScheduled = true;
+        refreshJob.schedule(REFRESH_DELAY_MS);
+      }
+    }
+  }
+
+  /** Apply the accumulated refreshes and updates to the viewer. Must be called on the UI thread. */
+  private void flushRefreshes(Control control) {
+    Set<Object> refreshes;
+    Set<Object> updates;
+    synchronized (refreshLock) {
+      refreshScheduled = false;
+      refreshes = pendingRefreshes;
+      updates = pendingUpdates;
+      pendingRefreshes = new HashSet<>();
+      pendingUpdates = new HashSet<>();
+    }
+    if (control.isDisposed()) {
+      return;
+    }
+    // refreshing an element also updates its label
+    updates.removeAll(refreshes);
+    if (refreshes.size() + updates.size() > FULL_REFRESH_THRESHOLD) {
+      viewer.refresh();
+      return;
+    }
+    refreshes.forEach(handle -> viewer.refresh(handle));
+    if (!updates.isEmpty()) {
+      viewer.update(updates.toArray(), null);
+    }
   }
 
   @Override
@@ -244,7 +421,8 @@ public class AppEngineContentProvider implements ITreeContentProvider {
     if (element instanceof AppEngineProjectElement) {
       AppEngineProjectElement projectElement = (AppEngineProjectElement) element;
       return projectElement.getConfigurations().length > 0;
-    } else if (element instanceof AppEngineResourceElement) {
+    } else if (element instanceof AppEngineResourceElement
+        || element instanceof PendingUpdateAdapter) {
       // none of our descriptor models have children
       return false;
     }
@@ -262,7 +440,19 @@ public class AppEngineContentProvider implements ITreeContentProvider {
       return ((AppEngineProjectElement) parentElement).getConfigurations();
     }
     IProject project = getProject(parentElement);
-    if (project != null) {
+    if (project != null && loader != null) {
+      AppEngineProjectElement projectElement = projectMapping.getIfPresent(project);
+      if (projectElement != null) {
+        return new Object[] {projectElement};
+      } else if (loader.isAttempted(project) || !isFaceted(project)) {
+        // not an App Engine project, or load failed due to a validation problem in the
+        // appengine-web.xml that will be reported via Problems view; whether a faceted project
+        // has an App Engine facet is left to the loader, as reading its facets may block
+        return EMPTY_ARRAY;
+      }
+      loader.request(project, true);
+      return new Object[] {new PendingUpdateAdapter()};
+    } else if (project != null) {
       try {
         AppEngineProjectElement projectElement = projectMapping.get(project);
         return projectElement == null ? EMPTY_ARRAY : new Object[] {projectElement};
@@ -290,5 +480,13 @@ public class AppEngineContentProvider implements ITreeContentProvider {
     if (resourceListener != null) {
       workspace.removeResourceChangeListener(resourceListener);
     }
+    if (loader != null) {
+      loader.dispose();
+    }
+    synchronized (refreshLock) {
+      if (refreshJob != null) {
+        refreshJob.cancel();
+      }
+    }
   }
 }
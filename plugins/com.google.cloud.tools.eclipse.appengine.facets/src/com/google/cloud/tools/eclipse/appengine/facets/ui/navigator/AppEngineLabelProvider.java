@@ -32,6 +32,7 @@ import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider.IStyledLabelP
 import org.eclipse.jface.viewers.LabelProvider;
 import org.eclipse.jface.viewers.StyledString;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
 
 public class AppEngineLabelProvider extends LabelProvider implements IStyledLabelProvider {
   private final ResourceManager resources;
@@ -59,6 +60,9 @@ public class AppEngineLabelProvider extends LabelProvider implements IStyledLabe
       return ((AppEngineProjectElement) element).getStyledLabel();
     } else if (element instanceof AppEngineResourceElement) {
       return ((AppEngineResourceElement) element).getStyledLabel();
+    } else if (element instanceof PendingUpdateAdapter) {
+      return new StyledString(((PendingUpdateAdapter) element).getLabel(element),
+          StyledString.DECORATIONS_STYLER);
     }
     return null; // continue on to the next label provider
   }
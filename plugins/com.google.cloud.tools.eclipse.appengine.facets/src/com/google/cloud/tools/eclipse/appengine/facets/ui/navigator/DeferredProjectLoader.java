@@ -0,0 +1,259 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.facets.ui.navigator;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model.AppEngineProjectElement;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Loads {@link AppEngineProjectElement App Engine project models} into a cache using a small pool
+ * of background jobs, so that parsing the App Engine descriptor and configuration files never
+ * happens on the UI thread. Projects whose load was {@link #request(IProject, boolean) requested
+ * with notification} are reported in batches once loaded, so that a viewer can replace its
+ * placeholders with a single refresh. A model loaded before its project was {@link
+ * #reset(IProject) reset} is discarded rather than cached, and the project is loaded again.
+ */
+class DeferredProjectLoader {
+  /** Delay used to accumulate loaded projects before notifying. */
+  private static final long NOTIFY_DELAY_MS = 100;
+
+  private static final int MAXIMUM_WORKERS =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  private final Cache<IProject, AppEngineProjectElement> cache;
+  private final ModelLoader modelLoader;
+  private final Consumer<Collection<IProject>> loadedHandler;
+
+  /** Incremented on each {@link #reset(IProject)}; absent until a project is first reset. */
+  private final ConcurrentMap<IProject, Long> generations = new ConcurrentHashMap<>();
+
+  /** Projects waiting to be loaded. */
+  private final Queue<IProject> queue = new ConcurrentLinkedQueue<>();
+  /** Projects either in {@link #queue} or being loaded. */
+  private final Set<IProject> queued = ConcurrentHashMap.newKeySet();
+  /** Projects for which loading has been attempted, whether successful or not. */
+  private final Set<IProject> attempted = ConcurrentHashMap.newKeySet();
+  /** Projects for which the {@link #loadedHandler} should be notified once loaded. */
+  private final Set<IProject> toNotify = ConcurrentHashMap.newKeySet();
+  /** Loaded projects awaiting notification. */
+  private final Set<IProject> completed = ConcurrentHashMap.newKeySet();
+
+  private final AtomicInteger activeWorkers = new AtomicInteger();
+  private final AtomicBoolean notifyScheduled = new AtomicBoolean();
+  private volatile boolean disposed = false;
+
+  private final Job notifyJob = new Job("Updating App Engine projects") { //$NON-NLS-1$
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      notifyScheduled.set(false);
+      List<IProject> batch = new ArrayList<>(completed);
+      completed.removeAll(batch);
+      if (!batch.isEmpty() && !disposed) {
+        loadedHandler.accept(batch);
+      }
+      return Status.OK_STATUS;
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+      return family == DeferredProjectLoader.this || super.belongsTo(family);
+    }
+  };
+
+  /** Loads the model of a project. */
+  interface ModelLoader {
+    /** @throws AppEngineException if the project is not an App Engine project */
+    AppEngineProjectElement load(IProject project) throws AppEngineException;
+  }
+
+  /**
+   * @param cache the cache to populate with the models of App Engine projects
+   * @param modelLoader loads the models
+   * @param loadedHandler called on a background thread with the projects that were requested with
+   *     notification and have since been loaded
+   */
+  DeferredProjectLoader(Cache<IProject, AppEngineProjectElement> cache, ModelLoader modelLoader,
+      Consumer<Collection<IProject>> loadedHandler) {
+    this.cache = Preconditions.checkNotNull(cache);
+    this.modelLoader = Preconditions.checkNotNull(modelLoader);
+    this.loadedHandler = Preconditions.checkNotNull(loadedHandler);
+    notifyJob.setSystem(true);
+  }
+
+  /**
+   * Request that the given project be loaded in the background.
+   *
+   * @param notify if {@code true}, report the project to the loaded-handler once loading has been
+   *     attempted
+   */
+  void request(IProject project, boolean notify) {
+    Preconditions.checkNotNull(project);
+    if (disposed) {
+      return;
+    }
+    if (notify) {
+      toNotify.add(project);
+      // the load may have completed between the caller's cache check and now
+      if (attempted.contains(project) && toNotify.remove(project)) {
+        completed.add(project);
+        scheduleNotify();
+        return;
+      }
+    }
+    if (!attempted.contains(project) && queued.add(project)) {
+      queue.add(project);
+      startWorkers();
+    }
+  }
+
+  /** Return {@code true} if loading the project was attempted since it was last reset. */
+  boolean isAttempted(IProject project) {
+    return attempted.contains(project);
+  }
+
+  /**
+   * Forget any previous load attempt for the given project, such as when its content has changed.
+   * A load in progress will not cache its model. Call this before invalidating the project's
+   * cached model, so that a load completing in between cannot cache a stale model.
+   */
+  void reset(IProject project) {
+    generations.merge(project, 1L, Long::sum);
+    attempted.remove(project);
+  }
+
+  /** Wait for all outstanding loads and notifications to complete. */
+  void join() throws InterruptedException {
+    Job.getJobManager().join(this, null);
+  }
+
+  void dispose() {
+    disposed = true;
+    queue.clear();
+    queued.clear();
+    toNotify.clear();
+    completed.clear();
+    generations.clear();
+    Job.getJobManager().cancel(this);
+  }
+
+  private void startWorkers() {
+    while (!queue.isEmpty()) {
+      int workers = activeWorkers.get();
+      if (workers >= MAXIMUM_WORKERS) {
+        return;
+      }
+      if (activeWorkers.compareAndSet(workers, workers + 1)) {
+        Job worker = new LoadJob();
+        worker.setSystem(true);
+        worker.schedule();
+      }
+    }
+  }
+
+  private void scheduleNotify() {
+    if (notifyScheduled.compareAndSet(false, true)) {
+      notifyJob.schedule(NOTIFY_DELAY_MS);
+    }
+  }
+
+  private void load(IProject project) {
+    long generation = generations.getOrDefault(project, 0L);
+    AppEngineProjectElement model = null;
+    try {
+      model = modelLoader.load(project);
+    } catch (AppEngineException ex) {
+      // ignore: either not an App Engine project, or load failed due to a validation problem
+      // in the appengine-web.xml that will be reported via Problems view
+    }
+    if (!store(project, generation, model)) {
+      // reset while loading: the files read may since have changed
+      queue.add(project);
+      return;
+    }
+    attempted.add(project);
+    queued.remove(project);
+    if (toNotify.remove(project)) {
+      completed.add(project);
+      scheduleNotify();
+    }
+  }
+
+  /**
+   * Caches the model if the project has not been reset since {@code generation}, atomically with
+   * respect to {@link #reset(IProject)}.
+   *
+   * @return {@code false} if the project was reset
+   */
+  private boolean store(IProject project, long generation, AppEngineProjectElement model) {
+    boolean[] current = new boolean[1];
+    generations.compute(project, (key, value) -> {
+      current[0] = (value == null ? 0L : value) == generation;
+      if (current[0] && model != null) {
+        cache.put(key, model);
+      }
+      return value;
+    });
+    return current[0];
+  }
+
+  /** Drains the queue until it is empty or the job is cancelled. */
+  private class LoadJob extends Job {
+    private LoadJob() {
+      super("Loading App Engine projects"); //$NON-NLS-1$
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      try {
+        IProject project;
+        while (!monitor.isCanceled() && !disposed && (project = queue.poll()) != null) {
+          load(project);
+        }
+      } finally {
+        activeWorkers.decrementAndGet();
+      }
+      // a project may have been queued after our last poll but before the decrement
+      if (!disposed && !monitor.isCanceled()) {
+        startWorkers();
+      }
+      return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+      return family == DeferredProjectLoader.this || super.belongsTo(family);
+    }
+  }
+}
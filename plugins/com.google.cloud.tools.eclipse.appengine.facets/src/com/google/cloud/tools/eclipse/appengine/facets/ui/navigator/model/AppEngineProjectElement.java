@@ -29,11 +29,15 @@ import com.google.common.collect.Iterables;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.Function;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
@@ -136,6 +140,23 @@ public class AppEngineProjectElement implements IAdaptable {
         file -> file != null && APPENGINE_DESCRIPTOR_FILENAMES.contains(file.getName()));
   }
 
+  /**
+   * Return {@code true} if a change to the given file could affect an App Engine project model:
+   * that is, the file is an App Engine descriptor, an ancillary configuration file, or one of the
+   * files describing the project's facets or virtual layout. This check is purely name-based and
+   * does not access the file.
+   */
+  public static boolean isRelevantFile(IFile file) {
+    Preconditions.checkNotNull(file);
+    String name = file.getName();
+    if (APPENGINE_DESCRIPTOR_FILENAMES.contains(name) || elementFactories.containsKey(name)) {
+      return true;
+    }
+    IPath projectRelativePath = file.getProjectRelativePath();
+    return WTP_COMPONENT_PATH.equals(projectRelativePath)
+        || WTP_FACETS_PATH.equals(projectRelativePath);
+  }
+
   private final IProject project;
 
   /**
@@ -144,6 +165,9 @@ public class AppEngineProjectElement implements IAdaptable {
    */
   private IFile descriptorFile;
 
+  /** The modification stamp of {@link #descriptorFile} when last successfully parsed. */
+  private long descriptorStamp = IResource.NULL_STAMP;
+
   private String projectId;
   private String projectVersion;
   private String serviceId;
@@ -241,8 +265,21 @@ public class AppEngineProjectElement implements IAdaptable {
    * Return {@code true} if there were changes.
    *
    * @throws AppEngineException when some error occurred parsing or interpreting some relevant file
+   * @see #update(Collection)
    */
   public boolean resourcesChanged(Collection<IFile> changedFiles) throws AppEngineException {
+    return !update(changedFiles).isEmpty();
+  }
+
+  /**
+   * Update to the set of resource modifications in this project (added, removed, or changed), and
+   * return a summary of the resulting model changes. Only the models for the changed files are
+   * rebuilt; the configuration files are only re-resolved if the virtual layout, the descriptor
+   * file, or the service's default status changed.
+   *
+   * @throws AppEngineException when some error occurred parsing or interpreting some relevant file
+   */
+  public ModelChanges update(Collection<IFile> changedFiles) throws AppEngineException {
     Preconditions.checkNotNull(changedFiles);
     Preconditions.checkNotNull(descriptorFile);
 
@@ -251,31 +288,36 @@ public class AppEngineProjectElement implements IAdaptable {
         (layoutChanged || hasAppEngineDescriptor(changedFiles))
             && !descriptorFile.equals(findAppEngineDescriptor(project));
 
+    boolean descriptorChanged = false;
+    boolean rescan = layoutChanged;
     if (changedFiles.contains(descriptorFile) || hasNewDescriptor) {
-      // reload everything: e.g., may no longer be "default"
-      reload();
-      return true;
+      boolean wasDefault = isDefaultService();
+      reloadDescriptor();
+      descriptorChanged = true;
+      // e.g., may no longer be "default"
+      rescan |= hasNewDescriptor || wasDefault != isDefaultService();
     } else if (!descriptorFile.exists()) {
       // if our descriptor was removed then we're not really an App Engine project
       throw new AppEngineException(descriptorFile.getName() + " no longer exists");
     }
-    // So descriptor is unchanged.
 
-    if (!isDefaultService()) {
-      // Only the default service carries ancilliary configuration files
-      Preconditions.checkState(configurations.isEmpty());
-      return false;
-    } else if (layoutChanged) {
+    if (rescan) {
       // Reload as new configuration files may have become available or previous
       // configuration files may have disappeared
-      return reloadConfigurationFiles();
+      boolean structural = reloadConfigurationFiles();
+      return new ModelChanges(structural, descriptorChanged, Collections.emptySet());
+    } else if (!isDefaultService()) {
+      // Only the default service carries ancilliary configuration files
+      Preconditions.checkState(configurations.isEmpty());
+      return new ModelChanges(false, descriptorChanged, Collections.emptySet());
     }
 
     // Since this is called on any file change to the project (e.g., to a java or text file),
     // we walk the files and see if they may correspond to an App Engine configuration file to
     // avoid unnecessary work. Since the layout hasn't changed then (1) reload any changed
     // configuration file models, (2) remove any deleted models, and (3) add models for new files.
-    boolean changed = false;
+    boolean structural = false;
+    Set<AppEngineResourceElement> updated = new HashSet<>();
     for (IFile file : changedFiles) {
       String baseName = file.getName();
       AppEngineResourceElement previous = configurations.get(baseName);
@@ -283,17 +325,22 @@ public class AppEngineProjectElement implements IAdaptable {
         // Since first file resolved wins check if this file was (and thus remains) the winner
         if (file.equals(previous.getFile())) {
           // Case 1 and 2: reload() returns null if underlying file no longer exists
-          configurations.compute(baseName, (ignored, element) -> element.reload());
-          changed = true;
+          AppEngineResourceElement current =
+              configurations.compute(baseName, (ignored, element) -> element.reload());
+          if (current == previous) {
+            updated.add(current);
+          } else {
+            structural = true;
+          }
         }
       } else if (elementFactories.containsKey(baseName)) {
         // Case 3: file has a recognized configuration file name
         AppEngineResourceElement current = configurations.compute(baseName, this::updateElement);
         // updateElement() returns null if file not resolved
-        changed |= current != null;
+        structural |= current != null;
       }
     }
-    return changed;
+    return new ModelChanges(structural, descriptorChanged, updated);
   }
 
   /** Return {@code true} if this is the default service. */
@@ -307,7 +354,25 @@ public class AppEngineProjectElement implements IAdaptable {
    * @throws AppEngineException if the descriptor or some other configuration file has errors
    */
   private void reload() throws AppEngineException {
-    descriptorFile = findAppEngineDescriptor(project);
+    reloadDescriptor();
+    reloadConfigurationFiles();
+  }
+
+  /**
+   * Re-resolve and parse the App Engine descriptor, unless it is the same file and is unmodified
+   * since it was last parsed.
+   *
+   * @throws AppEngineException if the descriptor has errors or could not be loaded
+   */
+  private void reloadDescriptor() throws AppEngineException {
+    IFile resolved = findAppEngineDescriptor(project);
+    long stamp = resolved.getModificationStamp();
+    if (resolved.equals(descriptorFile) && stamp == descriptorStamp
+        && stamp != IResource.NULL_STAMP) {
+      return;
+    }
+    descriptorFile = resolved;
+    descriptorStamp = IResource.NULL_STAMP;
     try (InputStream input = descriptorFile.getContents()) {
       if ("app.yaml".equals(descriptorFile.getName())) {
         AppYaml descriptor = AppYaml.parse(input);
@@ -342,7 +407,7 @@ public class AppEngineProjectElement implements IAdaptable {
       throw new AppEngineException(
           "Unable to load appengine descriptor from " + descriptorFile, ex);
     }
-    reloadConfigurationFiles();
+    descriptorStamp = stamp;
   }
 
   /**
@@ -386,8 +451,11 @@ public class AppEngineProjectElement implements IAdaptable {
     } else if (element == null || !configurationFile.equals(element.getFile())) {
       // create or recreate the element
       return elementFactories.get(baseName).apply(configurationFile);
-    } else {
+    } else if (element.isStale()) {
       return element.reload();
+    } else {
+      // unmodified since last loaded
+      return element;
     }
   }
 }
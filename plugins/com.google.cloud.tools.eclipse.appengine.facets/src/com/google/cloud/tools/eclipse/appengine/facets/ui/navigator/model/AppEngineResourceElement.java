@@ -30,9 +30,13 @@ import org.eclipse.jface.viewers.StyledString;
 public abstract class AppEngineResourceElement implements IAdaptable {
   private final IFile file;
 
+  /** The file's modification stamp when this element was created or last reloaded. */
+  private long modificationStamp;
+
   public AppEngineResourceElement(IFile file) {
     this.file = Preconditions.checkNotNull(file);
     Preconditions.checkState(file.exists());
+    modificationStamp = file.getModificationStamp();
   }
 
   public IProject getProject() {
@@ -55,11 +59,23 @@ public abstract class AppEngineResourceElement implements IAdaptable {
   /** Return a styled description suitable for use in the Project Explorer. */
   public abstract StyledString getStyledLabel();
 
+  /**
+   * Return {@code true} if the source file has been modified since this element was created or last
+   * {@link #reload() reloaded}.
+   */
+  public boolean isStale() {
+    return file.getModificationStamp() != modificationStamp;
+  }
+
   /**
    * Triggers a reload of any data from the source file. Offers an opportunity to provide a
    * replacement instance, or {@code null} to remove.
    */
   public AppEngineResourceElement reload() {
-    return file.exists() ? this : null;
+    if (!file.exists()) {
+      return null;
+    }
+    modificationStamp = file.getModificationStamp();
+    return this;
   }
 }
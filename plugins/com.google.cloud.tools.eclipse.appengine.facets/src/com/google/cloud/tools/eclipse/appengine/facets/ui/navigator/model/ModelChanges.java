@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.facets.ui.navigator.model;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+
+/**
+ * Summarizes how an {@link AppEngineProjectElement} changed in response to resource changes, so
+ * that a viewer can limit its work to the affected nodes:
+ *
+ * <ul>
+ *   <li>a <em>structural</em> change means configuration elements were added, removed, or replaced,
+ *       and the project element's children must be refreshed;
+ *   <li>a <em>descriptor</em> change means the App Engine descriptor was reloaded, and the project
+ *       element's label may have changed;
+ *   <li>the <em>updated</em> elements are existing configuration elements whose files changed.
+ * </ul>
+ */
+public class ModelChanges {
+  private final boolean structural;
+  private final boolean descriptorChanged;
+  private final ImmutableSet<AppEngineResourceElement> updated;
+
+  ModelChanges(boolean structural, boolean descriptorChanged,
+      Collection<AppEngineResourceElement> updated) {
+    this.structural = structural;
+    this.descriptorChanged = descriptorChanged;
+    this.updated = ImmutableSet.copyOf(Preconditions.checkNotNull(updated));
+  }
+
+  /** Return {@code true} if configuration elements were added, removed, or replaced. */
+  public boolean isStructural() {
+    return structural;
+  }
+
+  /** Return {@code true} if the App Engine descriptor was reloaded. */
+  public boolean isDescriptorChanged() {
+    return descriptorChanged;
+  }
+
+  /** Return the existing configuration elements whose underlying files changed. */
+  public ImmutableSet<AppEngineResourceElement> getUpdatedElements() {
+    return updated;
+  }
+
+  /** Return {@code true} if nothing changed. */
+  public boolean isEmpty() {
+    return !structural && !descriptorChanged && updated.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "ModelChanges[structural=" + structural + ", descriptorChanged=" + descriptorChanged
+        + ", updated=" + updated + "]";
+  }
+}
@@ -31,7 +31,8 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessStart
 import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.CloudSdkVersion;
 import com.google.cloud.tools.eclipse.appengine.localserver.Activator;
 import com.google.cloud.tools.eclipse.appengine.localserver.Messages;
-import com.google.cloud.tools.eclipse.sdk.MessageConsoleWriterListener;
+import com.google.cloud.tools.eclipse.sdk.BatchingConsoleSink;
+import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkMetadataCache;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -101,6 +102,10 @@ public class LocalAppEngineServerBehaviour extends ServerBehaviourDelegate
   int serverPort = -1;
 
   private DevAppServerOutputListener serverOutputListener;
+
+  /** Write the server output to the console in batches; closed when the server exits. */
+  private BatchingConsoleSink stdoutSink;
+  private BatchingConsoleSink stderrSink;
   
   @VisibleForTesting
   Map<String, String> moduleToUrlMap = new LinkedHashMap<>();
@@ -282,7 +287,8 @@ public class LocalAppEngineServerBehaviour extends ServerBehaviourDelegate
   public String getDescription() {
     if (cloudSdk != null) {
       try {
-        CloudSdkVersion version = cloudSdk.getVersion();
+        CloudSdkVersion version =
+            CloudSdkMetadataCache.getInstance().getVersion(cloudSdk.getPath());
         return Messages.getString("cloudsdk.server.description.version", version); //$NON-NLS-1$
       } catch (AppEngineException ex) {
         logger.log(Level.WARNING, "Unable to obtain CloudSdk version", ex); //$NON-NLS-1$
@@ -328,8 +334,8 @@ public class LocalAppEngineServerBehaviour extends ServerBehaviourDelegate
 
   private void initializeDevServer(MessageConsoleStream stdout, MessageConsoleStream stderr,
       Path javaHomePath) throws CloudSdkNotFoundException {
-    MessageConsoleWriterListener stdoutListener = new MessageConsoleWriterListener(stdout);
-    MessageConsoleWriterListener stderrListener = new MessageConsoleWriterListener(stderr);
+    stdoutSink = new BatchingConsoleSink(stdout);
+    stderrSink = new BatchingConsoleSink(stderr);
 
     // dev_appserver output goes to stderr
     cloudSdk = new CloudSdk.Builder()
@@ -337,7 +343,7 @@ public class LocalAppEngineServerBehaviour extends ServerBehaviourDelegate
         .build();
 
     ProcessHandler processHandler = LegacyProcessHandler.builder()
-        .addStdOutLineListener(stdoutListener).addStdErrLineListener(stderrListener)
+        .addStdOutLineListener(stdoutSink).addStdErrLineListener(stderrSink)
         .addStdErrLineListener(serverOutputListener)
         .setStartListener(localAppEngineStartListener)
         .setExitListener(localAppEngineExitListener)
@@ -356,6 +362,10 @@ public class LocalAppEngineServerBehaviour extends ServerBehaviourDelegate
     @Override
     public void onExit(int exitCode) {
       logger.log(Level.FINE, "Process exit: code=" + exitCode); //$NON-NLS-1$
+      if (stdoutSink != null) {
+        stdoutSink.close();
+        stderrSink.close();
+      }
       devServer = null;
       devProcess = null;
       setServerState(IServer.STATE_STOPPED);
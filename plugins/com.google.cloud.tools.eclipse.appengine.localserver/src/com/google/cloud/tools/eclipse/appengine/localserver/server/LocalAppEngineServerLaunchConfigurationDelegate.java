@@ -126,10 +126,20 @@ public class LocalAppEngineServerLaunchConfigurationDelegate
 
   private static IStatus validateCloudSdk(IProgressMonitor monitor) {
     // ensure we have a Cloud SDK; no-op if not configured to use managed sdk
-    IStatus status = CloudSdkManager.getInstance().installManagedSdk(null, monitor);
+    CloudSdkManager sdkManager = CloudSdkManager.getInstance();
+    IStatus status = sdkManager.installManagedSdk(null, monitor);
     if (!status.isOK()) {
       return status;
     }
+    // validate an SDK that is not half-way through an update
+    try {
+      if (!sdkManager.preventModifyingSdk(monitor)) {
+        return Status.CANCEL_STATUS;
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return Status.CANCEL_STATUS;
+    }
     try {
       CloudSdk cloudSdk = new CloudSdk.Builder().build();
       cloudSdk.validateCloudSdk();
@@ -151,6 +161,8 @@ public class LocalAppEngineServerLaunchConfigurationDelegate
           LocalAppEngineServerLaunchConfigurationDelegate.class,
           Messages.getString("cloudsdk.no.app.engine.java.component"), // $NON-NLS-1$
           ex);
+    } finally {
+      sdkManager.allowModifyingSdk();
     }
   }
 
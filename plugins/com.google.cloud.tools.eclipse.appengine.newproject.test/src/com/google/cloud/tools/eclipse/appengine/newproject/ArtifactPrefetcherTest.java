@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.newproject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.tools.eclipse.appengine.libraries.model.LibraryFile;
+import com.google.cloud.tools.eclipse.appengine.libraries.model.MavenCoordinates;
+import com.google.cloud.tools.eclipse.appengine.libraries.repository.ILibraryRepositoryService;
+import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactPrefetcherTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final IProgressMonitor monitor = new NullProgressMonitor();
+  private final List<MavenCoordinates> artifacts = Arrays.asList(
+      coordinates("jstl", "jstl", "1.2"),
+      coordinates("junit", "junit", "4.12"),
+      coordinates("org.hamcrest", "hamcrest-core", "1.3"),
+      coordinates("com.google.appengine", "appengine-api-1.0-sdk", "1.9.80"));
+
+  private FileRepositoryService repositoryService;
+  private ArtifactPrefetcher prefetcher;
+
+  @Before
+  public void setUp() throws IOException {
+    repositoryService = new FileRepositoryService(tempFolder.newFolder("repository"));
+    for (MavenCoordinates artifact : artifacts) {
+      repositoryService.deploy(artifact);
+    }
+    prefetcher = new ArtifactPrefetcher(repositoryService);
+  }
+
+  @After
+  public void tearDown() {
+    prefetcher.dispose();
+  }
+
+  @Test
+  public void testResolve_notPrefetched() throws CoreException {
+    Artifact artifact = prefetcher.resolve(new LibraryFile(artifacts.get(0)), monitor);
+    assertEquals("jstl-1.2.jar", artifact.getFile().getName());
+    assertEquals(1, repositoryService.resolutions.get());
+  }
+
+  @Test
+  public void testResolve_prefetched() throws CoreException, InterruptedException {
+    prefetcher.prefetch(artifacts);
+    prefetcher.join(monitor);
+    assertEquals(artifacts.size(), repositoryService.resolutions.get());
+
+    for (MavenCoordinates coordinates : artifacts) {
+      assertTrue(prefetcher.isPrefetched(coordinates));
+      Artifact artifact = prefetcher.resolve(new LibraryFile(coordinates), monitor);
+      assertTrue(artifact.getFile().exists());
+    }
+    assertEquals("prefetched artifacts should not be resolved again",
+        artifacts.size(), repositoryService.resolutions.get());
+  }
+
+  @Test
+  public void testPrefetch_ignoresDuplicates() throws InterruptedException {
+    prefetcher.prefetch(artifacts);
+    prefetcher.prefetch(artifacts);
+    prefetcher.join(monitor);
+    assertEquals(artifacts.size(), repositoryService.resolutions.get());
+  }
+
+  @Test
+  public void testPrefetch_resolvesInParallel() throws InterruptedException {
+    repositoryService.blockFirstResolutions(artifacts.size());
+    prefetcher.prefetch(artifacts);
+    try {
+      assertTrue("prefetches were not resolved concurrently",
+          repositoryService.blocked.await(10, TimeUnit.SECONDS));
+    } finally {
+      repositoryService.unblock();
+    }
+    prefetcher.join(monitor);
+    assertEquals(artifacts.size(), repositoryService.resolutions.get());
+  }
+
+  @Test
+  public void testResolve_doesNotWaitForOutstandingPrefetch()
+      throws CoreException, InterruptedException {
+    MavenCoordinates coordinates = artifacts.get(1);
+    repositoryService.blockFirstResolutions(1);
+    prefetcher.prefetch(Collections.singletonList(coordinates));
+    try {
+      assertTrue(repositoryService.blocked.await(10, TimeUnit.SECONDS));
+      Artifact artifact = prefetcher.resolve(new LibraryFile(coordinates), monitor);
+      assertEquals("junit-4.12.jar", artifact.getFile().getName());
+    } finally {
+      repositoryService.unblock();
+    }
+    prefetcher.join(monitor);
+    assertEquals("resolved directly while the prefetch was outstanding",
+        2, repositoryService.resolutions.get());
+  }
+
+  @Test
+  public void testResolve_failedPrefetchIsRetried() throws CoreException, InterruptedException {
+    MavenCoordinates missing = coordinates("com.example", "missing", "1.0");
+    prefetcher.prefetch(Collections.singletonList(missing));
+    prefetcher.join(monitor);
+    assertEquals(1, repositoryService.resolutions.get());
+
+    try {
+      prefetcher.resolve(new LibraryFile(missing), monitor);
+      fail("resolved a missing artifact");
+    } catch (CoreException ex) {
+      assertEquals(2, repositoryService.resolutions.get());
+    }
+  }
+
+  @Test
+  public void testDispose_fallsBackToDirectResolution() throws CoreException {
+    prefetcher.prefetch(artifacts);
+    prefetcher.dispose();
+
+    for (MavenCoordinates coordinates : artifacts) {
+      Artifact artifact = prefetcher.resolve(new LibraryFile(coordinates), monitor);
+      assertTrue(artifact.getFile().exists());
+    }
+  }
+
+  private static MavenCoordinates coordinates(String groupId, String artifactId, String version) {
+    return new MavenCoordinates.Builder()
+        .setGroupId(groupId).setArtifactId(artifactId).setVersion(version).build();
+  }
+
+  /**
+   * A stand-in for a Maven repository that serves jars from a local directory laid out as a Maven
+   * repository. The first resolutions can be held back to observe outstanding prefetches.
+   */
+  private static class FileRepositoryService implements ILibraryRepositoryService {
+    private final File root;
+    private final AtomicInteger resolutions = new AtomicInteger();
+    private final CountDownLatch unblocked = new CountDownLatch(1);
+    private CountDownLatch blocked = new CountDownLatch(0);
+
+    private FileRepositoryService(File root) {
+      this.root = root;
+    }
+
+    private void deploy(MavenCoordinates coordinates) throws IOException {
+      File jar = getLocation(coordinates);
+      Files.createDirectories(jar.getParentFile().toPath());
+      Files.write(jar.toPath(), new byte[] {'P', 'K'});
+    }
+
+    /** Hold back the next {@code count} resolutions until {@link #unblock()}. */
+    private void blockFirstResolutions(int count) {
+      blocked = new CountDownLatch(count);
+    }
+
+    private void unblock() {
+      unblocked.countDown();
+    }
+
+    private File getLocation(MavenCoordinates coordinates) {
+      String directory = coordinates.getGroupId().replace('.', '/') + '/'
+          + coordinates.getArtifactId() + '/' + coordinates.getVersion();
+      String fileName = coordinates.getArtifactId() + '-' + coordinates.getVersion() + ".jar";
+      return new File(new File(root, directory), fileName);
+    }
+
+    @Override
+    public Artifact resolveArtifact(LibraryFile libraryFile, IProgressMonitor monitor)
+        throws CoreException {
+      resolutions.incrementAndGet();
+      if (blocked.getCount() > 0) {
+        blocked.countDown();
+        Uninterruptibles.awaitUninterruptibly(unblocked);
+      }
+      MavenCoordinates coordinates = libraryFile.getMavenCoordinates();
+      File jar = getLocation(coordinates);
+      if (!jar.exists()) {
+        throw new CoreException(StatusUtil.error(this, "Not found: " + coordinates));
+      }
+      Artifact artifact = new DefaultArtifact(coordinates.getGroupId(),
+          coordinates.getArtifactId(), coordinates.getVersion(), null /* scope */, "jar",
+          null /* classifier */, new DefaultArtifactHandler("jar"));
+      artifact.setFile(jar);
+      return artifact;
+    }
+
+    @Override
+    public IPath resolveSourceArtifact(LibraryFile libraryFile, String versionHint,
+        IProgressMonitor monitor) {
+      return null;
+    }
+  }
+}
@@ -40,6 +40,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -51,6 +52,8 @@ import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -91,6 +94,30 @@ public class CodeTemplatesTest {
     validateLoggingProperties();
   }
 
+  @Test
+  public void testMaterializeAppEngineStandardFiles_singleResourceDelta() throws CoreException {
+    AppEngineProjectConfig config = new AppEngineProjectConfig();
+    config.setRuntime(AppEngineRuntime.STANDARD_JAVA_8);
+    config.setUseMaven("my.group.id", "my-other-artifact-id", "98.76.54");
+
+    // count deltas reporting generated files; builds triggered afterwards may report others
+    AtomicInteger deltaCount = new AtomicInteger();
+    IResourceChangeListener listener = event -> {
+      if (event.getDelta().findMember(project.getFullPath().append("src")) != null) {
+        deltaCount.incrementAndGet();
+      }
+    };
+    project.getWorkspace().addResourceChangeListener(listener, IResourceChangeEvent.POST_CHANGE);
+    try {
+      CodeTemplates.materializeAppEngineStandardFiles(project, config, monitor);
+    } finally {
+      project.getWorkspace().removeResourceChangeListener(listener);
+    }
+    assertEquals(1, deltaCount.get());
+    assertTrue(project.getFile("pom.xml").exists());
+    assertTrue(project.getFile("src/main/webapp/WEB-INF/appengine-web.xml").exists());
+  }
+
   @Test
   public void testMaterializeAppEngineStandardFiles_noObjectifyWithJava8()
       throws CoreException, ParserConfigurationException, SAXException, IOException {
@@ -22,7 +22,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.tools.eclipse.appengine.libraries.model.LibraryFile;
@@ -34,9 +37,12 @@ import com.google.cloud.tools.eclipse.util.MavenUtils;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.apache.maven.artifact.Artifact;
 import org.eclipse.core.resources.IProject;
@@ -48,6 +54,8 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
@@ -266,6 +274,68 @@ public abstract class CreateAppEngineWtpProjectTest {
     assertTrue(project.getFile("src/main/webapp/WEB-INF/lib/fake-jstl-jstl-1.2.jar").exists());
   }
 
+  @Test
+  public void testJstl12JarUsesPrefetchedArtifact()
+      throws InvocationTargetException, CoreException, InterruptedException {
+    ArtifactPrefetcher prefetcher = new ArtifactPrefetcher(repositoryService);
+    prefetcher.prefetch(Collections.singletonList(CreateAppEngineWtpProject.JSTL));
+    prefetcher.join(monitor);
+
+    CreateAppEngineWtpProject creator = newCreateAppEngineWtpProject();
+    creator.setArtifactPrefetcher(prefetcher);
+    creator.execute(monitor);
+
+    assertTrue(project.getFile("src/main/webapp/WEB-INF/lib/fake-jstl-jstl-1.2.jar").exists());
+    // resolved once by the prefetcher, and not again during project creation
+    verify(repositoryService).resolveArtifact(
+        eq(new LibraryFile(CreateAppEngineWtpProject.JSTL)), any(IProgressMonitor.class));
+  }
+
+  @Test
+  public void testJstl12JarWithOutstandingPrefetch()
+      throws InvocationTargetException, CoreException, InterruptedException {
+    // hold back the prefetch until the project has been created
+    CountDownLatch prefetchStarted = new CountDownLatch(1);
+    CountDownLatch releasePrefetch = new CountDownLatch(1);
+    ArtifactPrefetcher prefetcher = new ArtifactPrefetcher(new ILibraryRepositoryService() {
+      @Override
+      public Artifact resolveArtifact(LibraryFile libraryFile, IProgressMonitor progress)
+          throws CoreException {
+        if (prefetchStarted.getCount() > 0) {
+          prefetchStarted.countDown();
+          Uninterruptibles.awaitUninterruptibly(releasePrefetch);
+        }
+        return repositoryService.resolveArtifact(libraryFile, progress);
+      }
+
+      @Override
+      public IPath resolveSourceArtifact(LibraryFile libraryFile, String versionHint,
+          IProgressMonitor progress) {
+        return null;
+      }
+    });
+    CreateAppEngineWtpProject creator = newCreateAppEngineWtpProject();
+    creator.setArtifactPrefetcher(prefetcher);
+
+    // like the wizard's operation, hold the workspace root
+    ISchedulingRule root = ResourcesPlugin.getWorkspace().getRoot();
+    Job.getJobManager().beginRule(root, monitor);
+    try {
+      prefetcher.prefetch(Collections.singletonList(CreateAppEngineWtpProject.JSTL));
+      assertTrue(prefetchStarted.await(10, TimeUnit.SECONDS));
+      creator.execute(monitor);
+    } finally {
+      Job.getJobManager().endRule(root);
+      releasePrefetch.countDown();
+    }
+    prefetcher.join(monitor);
+
+    assertTrue(project.getFile("src/main/webapp/WEB-INF/lib/fake-jstl-jstl-1.2.jar").exists());
+    // resolved directly while the prefetch was still outstanding
+    verify(repositoryService, times(2)).resolveArtifact(
+        eq(new LibraryFile(CreateAppEngineWtpProject.JSTL)), any(IProgressMonitor.class));
+  }
+
   @Test
   public void testNoJstl12JarIfMavenProject() throws InvocationTargetException, CoreException {
     config.setUseMaven("my.group.id", "my-other-artifact-id", "12.34.56");
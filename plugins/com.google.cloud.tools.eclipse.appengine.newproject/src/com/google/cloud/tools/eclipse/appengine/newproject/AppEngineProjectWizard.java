@@ -17,18 +17,24 @@
 package com.google.cloud.tools.eclipse.appengine.newproject;
 
 import com.google.cloud.tools.eclipse.appengine.libraries.model.CloudLibraries;
+import com.google.cloud.tools.eclipse.appengine.libraries.model.MavenCoordinates;
+import com.google.cloud.tools.eclipse.appengine.libraries.repository.ILibraryRepositoryService;
 import com.google.cloud.tools.eclipse.appengine.libraries.ui.CloudLibrariesSelectionPage;
+import com.google.cloud.tools.eclipse.appengine.libraries.ui.LibrarySelectorGroup;
 import com.google.cloud.tools.eclipse.appengine.libraries.ui.Messages;
 import com.google.cloud.tools.eclipse.ui.util.WorkbenchUtil;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.wizard.Wizard;
+import org.eclipse.swt.widgets.Composite;
 import org.eclipse.ui.INewWizard;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.ide.undo.WorkspaceUndoUtil;
@@ -36,9 +42,10 @@ import org.eclipse.ui.ide.undo.WorkspaceUndoUtil;
 public abstract class AppEngineProjectWizard extends Wizard implements INewWizard {
 
   private final AppEngineWizardPage appEnginePage;
-  private final CloudLibrariesSelectionPage librariesPage = new CloudLibrariesSelectionPage();
+  private final CloudLibrariesSelectionPage librariesPage = new PrefetchingLibrariesPage();
   protected final AppEngineProjectConfig config = new AppEngineProjectConfig();
   private IWorkbench workbench;
+  private ArtifactPrefetcher prefetcher;
 
   public AppEngineProjectWizard(AppEngineWizardPage appEngineWizardPage) {
     appEnginePage = Preconditions.checkNotNull(appEngineWizardPage);
@@ -70,6 +77,32 @@ public abstract class AppEngineProjectWizard extends Wizard implements INewWizar
     Thread.interrupted();
   }
 
+  /**
+   * Resolve the artifacts that project creation will need while the user fills in the wizard.
+   * Prefetching starts once the user moves on to the libraries page as a native project, and
+   * follows the library selection from then on. Subclasses should call this once their services
+   * have been injected.
+   */
+  protected void startPrefetching(ILibraryRepositoryService repositoryService) {
+    if (repositoryService != null && prefetcher == null) {
+      prefetcher = new ArtifactPrefetcher(repositoryService);
+    }
+  }
+
+  private void prefetchSelection() {
+    // Maven projects get their dependencies through m2e once the pom exists
+    if (prefetcher != null && !appEnginePage.asMavenProject()) {
+      prefetcher.prefetch(getPrefetchArtifacts());
+      // the library jars are resolved by the classpath container once the project exists
+      prefetcher.prefetchLibraries(librariesPage.getSelectedLibraries());
+    }
+  }
+
+  /** Return the artifacts installed into native (non-Maven) projects created by this wizard. */
+  protected Collection<MavenCoordinates> getPrefetchArtifacts() {
+    return ImmutableList.of(CreateAppEngineWtpProject.JSTL);
+  }
+
   @Override
   public boolean performFinish() {
     retrieveConfigurationValues();
@@ -78,6 +111,9 @@ public abstract class AppEngineProjectWizard extends Wizard implements INewWizar
     IAdaptable uiInfoAdapter = WorkspaceUndoUtil.getUIInfoAdapter(getShell());
     CreateAppEngineWtpProject runnable =
         getAppEngineProjectCreationOperation(config, uiInfoAdapter);
+    if (prefetcher != null) {
+      runnable.setArtifactPrefetcher(prefetcher);
+    }
 
     try {
       boolean fork = true;
@@ -116,4 +152,31 @@ public abstract class AppEngineProjectWizard extends Wizard implements INewWizar
   public void init(IWorkbench workbench, IStructuredSelection selection) {
     this.workbench = workbench;
   }
+
+  @Override
+  public void dispose() {
+    if (prefetcher != null) {
+      prefetcher.dispose();
+    }
+    super.dispose();
+  }
+
+  /** Prefetches for the current selection when shown and whenever the selection changes. */
+  private class PrefetchingLibrariesPage extends CloudLibrariesSelectionPage {
+    @Override
+    public void createControl(Composite parent) {
+      super.createControl(parent);
+      for (LibrarySelectorGroup librariesSelector : librariesSelectors) {
+        librariesSelector.addSelectionChangedListener(event -> prefetchSelection());
+      }
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+      super.setVisible(visible);
+      if (visible) {
+        prefetchSelection();
+      }
+    }
+  }
 }
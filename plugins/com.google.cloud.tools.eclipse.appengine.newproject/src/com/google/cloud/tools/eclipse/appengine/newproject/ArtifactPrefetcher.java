@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.appengine.newproject;
+
+import com.google.cloud.tools.eclipse.appengine.libraries.model.Library;
+import com.google.cloud.tools.eclipse.appengine.libraries.model.LibraryFile;
+import com.google.cloud.tools.eclipse.appengine.libraries.model.MavenCoordinates;
+import com.google.cloud.tools.eclipse.appengine.libraries.repository.ILibraryRepositoryService;
+import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.maven.artifact.Artifact;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+
+/**
+ * Resolves artifacts that project creation is expected to need ahead of time, such as while the
+ * user is still filling in the new-project wizard. Resolution happens in background jobs through
+ * the {@link ILibraryRepositoryService}, which stages the artifacts in the local Maven repository;
+ * {@link #resolve(LibraryFile, IProgressMonitor)} then returns the prefetched artifact if its
+ * prefetch has finished.
+ *
+ * <p>Prefetches run several at a time and do not hold a scheduling rule while queued. The m2e-based
+ * repository service takes m2e's resolving rule, the workspace root, for each resolution. Project
+ * creation holds the workspace root too, and so must never wait for a prefetch.
+ */
+public class ArtifactPrefetcher {
+  private static final Logger logger = Logger.getLogger(ArtifactPrefetcher.class.getName());
+
+  private static final int MAXIMUM_CONCURRENT_PREFETCHES = 4;
+
+  private final ILibraryRepositoryService repositoryService;
+  private final JobGroup jobGroup = new JobGroup("Prefetching artifacts", //$NON-NLS-1$
+      MAXIMUM_CONCURRENT_PREFETCHES, 0);
+  private final ConcurrentMap<LibraryFile, PrefetchJob> prefetches = new ConcurrentHashMap<>();
+  private final Set<String> requestedLibraries = ConcurrentHashMap.newKeySet();
+
+  public ArtifactPrefetcher(ILibraryRepositoryService repositoryService) {
+    this.repositoryService = Preconditions.checkNotNull(repositoryService);
+  }
+
+  /** Start resolving the given artifacts in the background, if not already requested. */
+  public void prefetch(Collection<MavenCoordinates> artifacts) {
+    for (MavenCoordinates coordinates : artifacts) {
+      prefetch(new LibraryFile(coordinates));
+    }
+  }
+
+  /**
+   * Start resolving the files of the given libraries in the background, if not already requested.
+   * Computing a library's transitive dependencies may itself require network access, so that also
+   * happens in the background.
+   */
+  public void prefetchLibraries(Collection<Library> libraries) {
+    for (Library library : libraries) {
+      if (requestedLibraries.add(library.getId())) {
+        Job job = new Job("Computing dependencies of " + library.getId()) { //$NON-NLS-1$
+          @Override
+          protected IStatus run(IProgressMonitor monitor) {
+            for (LibraryFile libraryFile : library.getAllDependencies()) {
+              if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+              }
+              prefetch(libraryFile);
+            }
+            return Status.OK_STATUS;
+          }
+        };
+        job.setSystem(true);
+        job.setJobGroup(jobGroup);
+        job.schedule();
+      }
+    }
+  }
+
+  private void prefetch(LibraryFile libraryFile) {
+    prefetches.computeIfAbsent(libraryFile, file -> {
+      PrefetchJob job = new PrefetchJob(file);
+      job.setSystem(true);
+      job.setJobGroup(jobGroup);
+      job.schedule();
+      return job;
+    });
+  }
+
+  /** Return {@code true} if the given artifact was requested for prefetching. */
+  public boolean isPrefetched(MavenCoordinates coordinates) {
+    return prefetches.containsKey(new LibraryFile(coordinates));
+  }
+
+  /**
+   * Return the artifact for the given library file. If the artifact has been prefetched then
+   * return it; otherwise resolve it directly. This never waits for an outstanding prefetch, which
+   * may itself be waiting for a rule held by the caller; such a prefetch is canceled instead.
+   */
+  public Artifact resolve(LibraryFile libraryFile, IProgressMonitor monitor)
+      throws CoreException {
+    PrefetchJob job = prefetches.get(libraryFile);
+    if (job != null) {
+      if (job.artifact != null) {
+        return job.artifact;
+      }
+      job.cancel();
+    }
+    return repositoryService.resolveArtifact(libraryFile, monitor);
+  }
+
+  /** Wait for all outstanding prefetches to complete. */
+  public void join(IProgressMonitor monitor) throws InterruptedException {
+    jobGroup.join(0L, monitor);
+  }
+
+  /** Cancel any outstanding prefetches. */
+  public void dispose() {
+    jobGroup.cancel();
+  }
+
+  private class PrefetchJob extends Job {
+    private final LibraryFile libraryFile;
+    private volatile Artifact artifact;
+
+    private PrefetchJob(LibraryFile libraryFile) {
+      super("Prefetching " + libraryFile.getMavenCoordinates()); //$NON-NLS-1$
+      this.libraryFile = libraryFile;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      try {
+        artifact = repositoryService.resolveArtifact(libraryFile, monitor);
+      } catch (CoreException ex) {
+        // not fatal: resolve() will retry and report the failure during project creation
+        logger.log(Level.FINE, "Unable to prefetch " //$NON-NLS-1$
+            + libraryFile.getMavenCoordinates(), ex);
+      } catch (OperationCanceledException ex) {
+        return Status.CANCEL_STATUS;
+      }
+      return Status.OK_STATUS;
+    }
+  }
+}
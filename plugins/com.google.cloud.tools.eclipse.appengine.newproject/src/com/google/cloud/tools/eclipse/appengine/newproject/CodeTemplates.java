@@ -33,7 +33,7 @@ import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
@@ -80,6 +80,17 @@ public class CodeTemplates {
    */
   private static IFile materialize(IProject project, AppEngineProjectConfig config,
       boolean isStandardProject, IProgressMonitor monitor) throws CoreException {
+    // create all files in a single workspace operation so that listeners see one resource delta
+    // rather than one per file
+    IFile[] hello = new IFile[1];
+    project.getWorkspace().run(progress -> {
+      hello[0] = createFiles(project, config, isStandardProject, progress);
+    }, project, IWorkspace.AVOID_UPDATE, monitor);
+    return hello[0];
+  }
+
+  private static IFile createFiles(IProject project, AppEngineProjectConfig config,
+      boolean isStandardProject, IProgressMonitor monitor) throws CoreException {
     SubMonitor subMonitor = SubMonitor.convert(monitor, "Generating code", 45);
 
     IFile hello =
@@ -275,8 +286,7 @@ public class CodeTemplates {
     ResourceUtils.createFolders(parent, monitor);
     IFile child = parent.getFile(new Path(name));
     if (!child.exists()) {
-      Templates.createFileContent(child.getLocation().toString(), template, values);
-      child.refreshLocal(IResource.DEPTH_ZERO, monitor);
+      Templates.createFileContent(child, template, values, monitor);
     }
     return child;
   }
@@ -289,8 +299,7 @@ public class CodeTemplates {
     ResourceUtils.createFolders(parent, monitor);
     IFile child = parent.getFile(new Path(name));
     if (!child.exists()) {
-      Templates.copyFileContent(child.getLocation().toString(), name);
-      child.refreshLocal(IResource.DEPTH_ZERO, monitor);
+      Templates.copyFileContent(child, name, monitor);
     }
   }
 
@@ -69,11 +69,18 @@ public abstract class CreateAppEngineWtpProject extends WorkspaceModifyOperation
 
   private static final Logger logger = Logger.getLogger(CreateAppEngineWtpProject.class.getName());
 
+  /** The JSTL library, copied into {@code WEB-INF/lib} of native projects. */
+  static final MavenCoordinates JSTL = new MavenCoordinates.Builder()
+      .setGroupId("jstl") //$NON-NLS-1$
+      .setArtifactId("jstl") //$NON-NLS-1$
+      .setVersion("1.2").build(); //$NON-NLS-1$
+
   protected final ILibraryRepositoryService repositoryService;
 
   private final AppEngineProjectConfig config;
   private final IAdaptable uiInfoAdapter;
   private IFile mostImportant = null;
+  private ArtifactPrefetcher prefetcher;
 
   @VisibleForTesting
   Job deployAssemblyEntryRemoveJob;
@@ -101,6 +108,14 @@ public abstract class CreateAppEngineWtpProject extends WorkspaceModifyOperation
     return mostImportant;
   }
 
+  /**
+   * Use artifacts resolved ahead of time by the given prefetcher, rather than resolving each
+   * artifact as it is installed.
+   */
+  void setArtifactPrefetcher(ArtifactPrefetcher prefetcher) {
+    this.prefetcher = prefetcher;
+  }
+
   protected CreateAppEngineWtpProject(AppEngineProjectConfig config,
       IAdaptable uiInfoAdapter, ILibraryRepositoryService repositoryService) {
     if (config == null) {
@@ -217,11 +232,7 @@ public abstract class CreateAppEngineWtpProject extends WorkspaceModifyOperation
     // locate WEB-INF/lib
     IFolder libFolder =
         WebProjectUtil.createFolderInWebInf(newProject, new Path("lib"), subMonitor.newChild(5)); //$NON-NLS-1$
-    MavenCoordinates jstl = new MavenCoordinates.Builder()
-        .setGroupId("jstl") //$NON-NLS-1$
-        .setArtifactId("jstl") //$NON-NLS-1$
-        .setVersion("1.2").build(); //$NON-NLS-1$
-    installArtifact(jstl, libFolder, subMonitor.newChild(10));
+    installArtifact(JSTL, libFolder, subMonitor.newChild(10));
   }
 
   /**
@@ -234,7 +245,9 @@ public abstract class CreateAppEngineWtpProject extends WorkspaceModifyOperation
     LibraryFile libraryFile = new LibraryFile(dependency);
     File artifactFile = null;
     try {
-      Artifact artifact = repositoryService.resolveArtifact(libraryFile, progress.newChild(5));
+      Artifact artifact = prefetcher != null
+          ? prefetcher.resolve(libraryFile, progress.newChild(5))
+          : repositoryService.resolveArtifact(libraryFile, progress.newChild(5));
       artifactFile = artifact.getFile();
       IFile destinationFile = destination.getFile(artifactFile.getName());
       destinationFile.create(Files.newInputStream(artifactFile.toPath()), true,
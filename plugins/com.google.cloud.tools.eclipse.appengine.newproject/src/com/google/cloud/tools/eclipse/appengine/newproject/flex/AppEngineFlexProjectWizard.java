@@ -16,6 +16,7 @@
 
 package com.google.cloud.tools.eclipse.appengine.newproject.flex;
 
+import com.google.cloud.tools.eclipse.appengine.libraries.model.MavenCoordinates;
 import com.google.cloud.tools.eclipse.appengine.libraries.repository.ILibraryRepositoryService;
 import com.google.cloud.tools.eclipse.appengine.newproject.AppEngineProjectConfig;
 import com.google.cloud.tools.eclipse.appengine.newproject.AppEngineProjectWizard;
@@ -23,7 +24,9 @@ import com.google.cloud.tools.eclipse.appengine.newproject.CreateAppEngineWtpPro
 import com.google.cloud.tools.eclipse.appengine.newproject.Messages;
 import com.google.cloud.tools.eclipse.usagetracker.AnalyticsEvents;
 import com.google.cloud.tools.eclipse.usagetracker.AnalyticsPingManager;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
 import javax.inject.Inject;
 import org.eclipse.core.runtime.IAdaptable;
 
@@ -36,6 +39,20 @@ public class AppEngineFlexProjectWizard extends AppEngineProjectWizard {
     setWindowTitle(Messages.getString("new.app.engine.flex.project"));
   }
 
+  @Override
+  public void addPages() {
+    super.addPages();
+    startPrefetching(repositoryService);
+  }
+
+  @Override
+  protected Collection<MavenCoordinates> getPrefetchArtifacts() {
+    return ImmutableList.<MavenCoordinates>builder()
+        .addAll(super.getPrefetchArtifacts())
+        .addAll(CreateAppEngineFlexWtpProject.SERVLET_DEPENDENCIES)
+        .build();
+  }
+
   @Override
   public CreateAppEngineWtpProject getAppEngineProjectCreationOperation(
       AppEngineProjectConfig config, IAdaptable uiInfoAdapter) {
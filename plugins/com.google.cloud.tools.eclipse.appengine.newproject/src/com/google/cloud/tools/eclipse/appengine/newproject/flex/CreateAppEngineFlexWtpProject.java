@@ -49,7 +49,7 @@ import org.eclipse.wst.common.project.facet.core.IFacetedProject;
  */
 public class CreateAppEngineFlexWtpProject extends CreateAppEngineWtpProject {
 
-  private static final List<MavenCoordinates> SERVLET_DEPENDENCIES;
+  static final List<MavenCoordinates> SERVLET_DEPENDENCIES;
 
   static {
     // servlet-api and jsp-api are marked as not being included
@@ -37,6 +37,12 @@ public class AppEngineStandardProjectWizard extends AppEngineProjectWizard {
     setWindowTitle(Messages.getString("new.app.engine.standard.project"));
   }
 
+  @Override
+  public void addPages() {
+    super.addPages();
+    startPrefetching(repositoryService);
+  }
+
   @Override
   public CreateAppEngineWtpProject getAppEngineProjectCreationOperation(
       AppEngineProjectConfig config, IAdaptable uiInfoAdapter) {
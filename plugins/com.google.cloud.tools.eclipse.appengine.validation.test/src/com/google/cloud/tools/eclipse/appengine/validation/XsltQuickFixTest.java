@@ -16,8 +16,13 @@
 
 package com.google.cloud.tools.eclipse.appengine.validation;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
 import org.junit.Test;
 
 public class XsltQuickFixTest {
@@ -29,4 +34,32 @@ public class XsltQuickFixTest {
     assertEquals("Remove application element", fix.getLabel());
   }
 
+  @Test
+  public void testFindOtherMarkers_noMarkerType() throws CoreException {
+    XsltQuickFix fix = new XsltQuickFix("/xslt/removeApplication.xsl",
+        Messages.getString("remove.application.element"));
+    IMarker marker =
+        mockMarker("com.google.cloud.tools.eclipse.appengine.validation.applicationMarker");
+    assertEquals(0, fix.findOtherMarkers(new IMarker[] {marker}).length);
+  }
+
+  @Test
+  public void testFindOtherMarkers_sameType() throws CoreException {
+    IMarker application1 =
+        mockMarker("com.google.cloud.tools.eclipse.appengine.validation.applicationMarker");
+    IMarker version =
+        mockMarker("com.google.cloud.tools.eclipse.appengine.validation.versionMarker");
+    IMarker application2 =
+        mockMarker("com.google.cloud.tools.eclipse.appengine.validation.applicationMarker");
+
+    IMarker[] others = new ApplicationQuickFix().findOtherMarkers(
+        new IMarker[] {application1, version, application2});
+    assertArrayEquals(new IMarker[] {application1, application2}, others);
+  }
+
+  private static IMarker mockMarker(String type) throws CoreException {
+    IMarker marker = mock(IMarker.class);
+    when(marker.getType()).thenReturn(type);
+    return marker;
+  }
 }
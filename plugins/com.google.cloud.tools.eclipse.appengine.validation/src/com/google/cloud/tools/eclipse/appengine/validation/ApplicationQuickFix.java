@@ -22,7 +22,8 @@ package com.google.cloud.tools.eclipse.appengine.validation;
 public class ApplicationQuickFix extends XsltQuickFix {
   
   public ApplicationQuickFix() {
-    super("/xslt/removeApplication.xsl", Messages.getString("remove.application.element"));
+    super("/xslt/removeApplication.xsl", Messages.getString("remove.application.element"),
+        "com.google.cloud.tools.eclipse.appengine.validation.applicationMarker");
   }
   
 }
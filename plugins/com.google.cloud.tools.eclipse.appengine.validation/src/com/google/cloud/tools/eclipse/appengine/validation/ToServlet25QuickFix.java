@@ -23,7 +23,8 @@ package com.google.cloud.tools.eclipse.appengine.validation;
 public class ToServlet25QuickFix extends XsltQuickFix {
   
   public ToServlet25QuickFix() {
-    super("/xslt/servlet.xsl", Messages.getString("convert.servlet"));
+    super("/xslt/servlet.xsl", Messages.getString("convert.servlet"),
+        "com.google.cloud.tools.eclipse.appengine.validation.servletMarker");
   }
   
 }
\ No newline at end of file
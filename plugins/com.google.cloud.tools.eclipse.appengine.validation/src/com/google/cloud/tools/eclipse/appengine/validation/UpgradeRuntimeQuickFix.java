@@ -22,7 +22,8 @@ package com.google.cloud.tools.eclipse.appengine.validation;
 class UpgradeRuntimeQuickFix extends XsltQuickFix {
 
   UpgradeRuntimeQuickFix() {
-    super("/xslt/upgradeRuntime.xsl", Messages.getString("upgrade.runtime.element"));
+    super("/xslt/upgradeRuntime.xsl", Messages.getString("upgrade.runtime.element"),
+        "com.google.cloud.tools.eclipse.appengine.validation.runtimeMarker");
   }
 
 }
@@ -22,7 +22,8 @@ package com.google.cloud.tools.eclipse.appengine.validation;
 public class VersionQuickFix extends XsltQuickFix {
   
   public VersionQuickFix() {
-    super("/xslt/removeVersion.xsl", Messages.getString("remove.version.element"));
+    super("/xslt/removeVersion.xsl", Messages.getString("remove.version.element"),
+        "com.google.cloud.tools.eclipse.appengine.validation.versionMarker");
   }
   
 }
@@ -22,33 +22,47 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.xml.transform.TransformerException;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.swt.graphics.Image;
 import org.eclipse.ui.IEditorPart;
-import org.eclipse.ui.IMarkerResolution;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.ide.ResourceUtil;
+import org.eclipse.ui.views.markers.WorkbenchMarkerResolution;
 
 /**
- * Applies XSLT quick fix.
+ * Applies XSLT quick fix. When created with a marker type, the fix can also be applied to all
+ * other markers of that type at once.
  */
-public class XsltQuickFix implements IMarkerResolution {
+public class XsltQuickFix extends WorkbenchMarkerResolution {
 
   private static final Logger logger = Logger.getLogger(XsltQuickFix.class.getName());
   private String xsltPath;
   private String message;
+  private String markerType;
 
   public XsltQuickFix(String xsltPath, String message) {
+    this(xsltPath, message, null);
+  }
+
+  XsltQuickFix(String xsltPath, String message, String markerType) {
     this.xsltPath = xsltPath;
     this.message = message;
+    this.markerType = markerType;
   }
 
   @Override
@@ -56,6 +70,62 @@ public class XsltQuickFix implements IMarkerResolution {
     return message;
   }
 
+  @Override
+  public String getDescription() {
+    return message;
+  }
+
+  @Override
+  public Image getImage() {
+    return null;
+  }
+
+  /**
+   * Returns the markers of the same type as the ones this quick fix was created for.
+   */
+  @Override
+  public IMarker[] findOtherMarkers(IMarker[] markers) {
+    List<IMarker> others = new ArrayList<>();
+    if (markerType != null) {
+      for (IMarker marker : markers) {
+        try {
+          if (markerType.equals(marker.getType())) {
+            others.add(marker);
+          }
+        } catch (CoreException ex) {
+          logger.log(Level.WARNING, ex.getMessage());
+        }
+      }
+    }
+    return others.toArray(new IMarker[0]);
+  }
+
+  /**
+   * Fixes all given markers. Documents open in editors are edited individually; all other files
+   * are transformed in place with a single compiled stylesheet within one workspace operation.
+   */
+  @Override
+  public void run(IMarker[] markers, IProgressMonitor monitor) {
+    SubMonitor progress = SubMonitor.convert(monitor, markers.length + 1);
+    URL xslPath = XsltQuickFix.class.getResource(xsltPath);
+    Set<IFile> files = new LinkedHashSet<>();
+    for (IMarker marker : markers) {
+      IFile file = (IFile) marker.getResource();
+      IDocument document = getCurrentDocument(file);
+      if (document != null) {
+        transformDocument(file, document, xslPath);
+      } else {
+        files.add(file);
+      }
+      progress.worked(1);
+    }
+    try {
+      Xslt.transformInPlace(files, xslPath, progress.newChild(1));
+    } catch (CoreException ex) {
+      logger.log(Level.SEVERE, ex.getMessage());
+    }
+  }
+
   /**
    * Attempts to edit the {@link IDocument} in the open editor. If the editor is not open,
    * reads the file from memory and transforms in place.
@@ -67,14 +137,7 @@ public class XsltQuickFix implements IMarkerResolution {
       IDocument document = getCurrentDocument(file);
       URL xslPath = XsltQuickFix.class.getResource(xsltPath);
       if (document != null) {
-        String currentContents = document.get();
-        try (Reader documentReader = new StringReader(currentContents);
-            InputStream stylesheet = xslPath.openStream();
-            InputStream transformed = Xslt.applyXslt(documentReader, stylesheet)) {
-          String encoding = file.getCharset();
-          String newDoc = ValidationUtils.convertStreamToString(transformed, encoding);
-          document.set(newDoc);
-        }
+        transformDocument(file, document, xslPath);
       } else {
         Xslt.transformInPlace(file, xslPath);
       }
@@ -83,6 +146,18 @@ public class XsltQuickFix implements IMarkerResolution {
     }
   }
 
+  private static void transformDocument(IFile file, IDocument document, URL xslPath) {
+    String currentContents = document.get();
+    try (Reader documentReader = new StringReader(currentContents);
+        InputStream transformed = Xslt.applyXslt(documentReader, xslPath)) {
+      String encoding = file.getCharset();
+      String newDoc = ValidationUtils.convertStreamToString(transformed, encoding);
+      document.set(newDoc);
+    } catch (IOException | TransformerException | CoreException ex) {
+      logger.log(Level.SEVERE, ex.getMessage());
+    }
+  }
+
   /**
    * Returns {@link IDocument} in the open editor, or null if the editor
    * is not open.
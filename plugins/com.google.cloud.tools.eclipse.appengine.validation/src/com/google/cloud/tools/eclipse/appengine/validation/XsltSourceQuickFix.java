@@ -56,8 +56,7 @@ public class XsltSourceQuickFix implements ICompletionProposal, ICompletionPropo
     URL xslt = ApplicationQuickFix.class.getResource(xsltPath);
     IDocument document = viewer.getDocument();
     try (Reader in = new StringReader(document.get());
-        InputStream stylesheetStream = xslt.openStream();
-        InputStream transformed = Xslt.applyXslt(in, stylesheetStream)) {
+        InputStream transformed = Xslt.applyXslt(in, xslt)) {
       String encoding = XmlSourceValidator.getDocumentEncoding(document);
       String result = ValidationUtils.convertStreamToString(transformed, encoding);
       document.set(result);
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher.options;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.launching.JavaRuntime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PipelineOptionsIndexTest {
+  private static final MajorVersion VERSION = MajorVersion.TWO;
+  private static final String OPTIONS_PACKAGE = "com.example.options";
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private IProject project;
+  private IJavaProject javaProject;
+  private IProject referencingProject;
+  private PipelineOptionsIndex index;
+
+  @Before
+  public void setUp() throws CoreException {
+    project = ResourcesPlugin.getWorkspace().getRoot().getProject("options-index-test");
+    IProjectDescription description =
+        ResourcesPlugin.getWorkspace().newProjectDescription(project.getName());
+    description.setNatureIds(new String[] {JavaCore.NATURE_ID});
+    project.create(description, null);
+    project.open(null);
+    IFolder sourceFolder = project.getFolder("src");
+    sourceFolder.create(true, true, null);
+    javaProject = JavaCore.create(project);
+    javaProject.setRawClasspath(new IClasspathEntry[] {
+        JavaCore.newSourceEntry(sourceFolder.getFullPath()),
+        JavaRuntime.getDefaultJREContainerEntry()}, null);
+
+    writeSource("org.apache.beam.sdk.options", "PipelineOptions",
+        "public interface PipelineOptions { String getJobName(); }");
+
+    index = new PipelineOptionsIndex(tempFolder.getRoot().toPath().resolve("index.json"));
+    JavaCore.addElementChangedListener(index, ElementChangedEvent.POST_CHANGE);
+  }
+
+  @After
+  public void tearDown() throws CoreException {
+    JavaCore.removeElementChangedListener(index);
+    if (referencingProject != null) {
+      referencingProject.delete(true, null);
+    }
+    project.delete(true, null);
+  }
+
+  @Test
+  public void testGetHierarchy_builtOnce() throws Exception {
+    writeOptions("First", "PipelineOptions", "getFirst");
+    writeOptions("Second", "First", "getSecond");
+
+    PipelineOptionsHierarchy hierarchy = getHierarchy();
+    assertEquals(newSet("second", "first", "jobName"),
+        hierarchy.getPropertyNames(qualify("Second")));
+    getHierarchy();
+    assertEquals(1, index.getBuilds());
+    assertEquals(1, index.getHits());
+  }
+
+  @Test
+  public void testEdit_updatesIndex() throws Exception {
+    writeOptions("First", "PipelineOptions", "getFirst");
+    getHierarchy();
+
+    writeOptions("First", "PipelineOptions", "getFirst", "isFast");
+    assertEquals(newSet("first", "fast", "jobName"),
+        getHierarchy().getPropertyNames(qualify("First")));
+    assertEquals(1, index.getBuilds());
+    assertTrue(index.getIncrementalUpdates() > 0);
+  }
+
+  @Test
+  public void testGetHierarchy_buildsLeaveGenerationsUnchanged() throws Exception {
+    writeOptions("First", "PipelineOptions", "getFirst");
+    IJavaProject referencing = createReferencingProject();
+    getHierarchy();
+    assertEquals(0, index.getGeneration(project.getName()));
+
+    index.getHierarchy(referencing, VERSION, new NullProgressMonitor());
+    getHierarchy();
+    assertEquals(0, index.getGeneration(project.getName()));
+    assertEquals(0, index.getGeneration(referencingProject.getName()));
+    assertEquals(2, index.getBuilds());
+    assertEquals(1, index.getHits());
+  }
+
+  @Test
+  public void testEdit_changesGenerationOfEditedProjectOnly() throws Exception {
+    writeOptions("First", "PipelineOptions", "getFirst");
+    getHierarchy();
+
+    writeOptions("First", "PipelineOptions", "getFirst", "isFast");
+    assertTrue(index.getGeneration(project.getName()) > 0);
+    assertEquals(0, index.getGeneration("unrelated-project"));
+  }
+
+  @Test
+  public void testNewFile_indexed() throws Exception {
+    getHierarchy();
+
+    writeOptions("Added", "PipelineOptions", "getAdded");
+    PipelineOptionsType added = getHierarchy().getPipelineOptionsType(qualify("Added"));
+    assertEquals(qualify("Added"), added.getName());
+    assertEquals(1, index.getBuilds());
+  }
+
+  @Test
+  public void testDeletedFile_removesSubtypes() throws Exception {
+    writeOptions("First", "PipelineOptions", "getFirst");
+    writeOptions("Second", "First", "getSecond");
+    getHierarchy();
+
+    sourceFile(OPTIONS_PACKAGE, "First").delete(true, null);
+    PipelineOptionsHierarchy hierarchy = getHierarchy();
+    assertNull(hierarchy.getPipelineOptionsType(qualify("First")));
+    assertNull(hierarchy.getPipelineOptionsType(qualify("Second")));
+    assertEquals(1, index.getBuilds());
+  }
+
+  @Test
+  public void testExistingInterfaceNowExtendsOptions_rebuilds() throws Exception {
+    writeSource(OPTIONS_PACKAGE, "Base", "public interface Base {}");
+    writeOptions("Derived", "Base", "getDerived");
+    getHierarchy();
+
+    writeOptions("Base", "PipelineOptions", "getBase");
+    PipelineOptionsHierarchy hierarchy = getHierarchy();
+    assertEquals(newSet("derived", "base", "jobName"),
+        hierarchy.getPropertyNames(qualify("Derived")));
+    assertEquals(2, index.getBuilds());
+  }
+
+  @Test
+  public void testClasspathChange_rebuilds() throws Exception {
+    getHierarchy();
+
+    IFolder otherSource = project.getFolder("other");
+    otherSource.create(true, true, null);
+    IClasspathEntry[] classpath = javaProject.getRawClasspath();
+    IClasspathEntry[] newClasspath = new IClasspathEntry[classpath.length + 1];
+    System.arraycopy(classpath, 0, newClasspath, 0, classpath.length);
+    newClasspath[classpath.length] = JavaCore.newSourceEntry(otherSource.getFullPath());
+    javaProject.setRawClasspath(newClasspath, null);
+
+    getHierarchy();
+    assertEquals(2, index.getBuilds());
+  }
+
+  @Test
+  public void testSaveAndLoad() throws Exception {
+    writeOptions("First", "PipelineOptions", "getFirst");
+    getHierarchy();
+    index.save();
+
+    PipelineOptionsIndex reloaded =
+        new PipelineOptionsIndex(tempFolder.getRoot().toPath().resolve("index.json"));
+    reloaded.load();
+    PipelineOptionsHierarchy hierarchy =
+        reloaded.getHierarchy(javaProject, VERSION, new NullProgressMonitor());
+    assertEquals(newSet("first", "jobName"), hierarchy.getPropertyNames(qualify("First")));
+    assertEquals(0, reloaded.getBuilds());
+    assertEquals(1, reloaded.getHits());
+  }
+
+  @Test
+  public void testVersionChange_rebuilds() throws Exception {
+    getHierarchy();
+    assertFalse(index.getHierarchy(javaProject, MajorVersion.THREE_PLUS, new NullProgressMonitor())
+        .getAllPipelineOptionsTypes().isEmpty());
+    getHierarchy();
+    assertEquals(3, index.getBuilds());
+  }
+
+  @Test
+  public void testReferencedProjectEdit_updatesIndex() throws Exception {
+    writeOptions("First", "PipelineOptions", "getFirst");
+    IJavaProject referencing = createReferencingProject();
+    PipelineOptionsHierarchy hierarchy =
+        index.getHierarchy(referencing, VERSION, new NullProgressMonitor());
+    assertEquals(newSet("first", "jobName"), hierarchy.getPropertyNames(qualify("First")));
+
+    writeOptions("First", "PipelineOptions", "getFirst", "isFast");
+    hierarchy = index.getHierarchy(referencing, VERSION, new NullProgressMonitor());
+    assertEquals(newSet("first", "fast", "jobName"),
+        hierarchy.getPropertyNames(qualify("First")));
+    assertEquals(1, index.getBuilds());
+    assertEquals(1, index.getHits());
+  }
+
+  @Test
+  public void testReferencedProjectClasspathChange_rebuilds() throws Exception {
+    IJavaProject referencing = createReferencingProject();
+    index.getHierarchy(referencing, VERSION, new NullProgressMonitor());
+
+    IFolder otherSource = project.getFolder("other");
+    otherSource.create(true, true, null);
+    IClasspathEntry[] classpath = javaProject.getRawClasspath();
+    IClasspathEntry[] newClasspath = Arrays.copyOf(classpath, classpath.length + 1);
+    newClasspath[classpath.length] = JavaCore.newSourceEntry(otherSource.getFullPath());
+    javaProject.setRawClasspath(newClasspath, null);
+
+    index.getHierarchy(referencing, VERSION, new NullProgressMonitor());
+    assertEquals(2, index.getBuilds());
+  }
+
+  @Test
+  public void testSaveAndLoad_referencedProjectChanged() throws Exception {
+    IJavaProject referencing = createReferencingProject();
+    index.getHierarchy(referencing, VERSION, new NullProgressMonitor());
+    index.save();
+
+    IFolder otherSource = project.getFolder("other");
+    otherSource.create(true, true, null);
+    IClasspathEntry[] classpath = javaProject.getRawClasspath();
+    IClasspathEntry[] newClasspath = Arrays.copyOf(classpath, classpath.length + 1);
+    newClasspath[classpath.length] = JavaCore.newSourceEntry(otherSource.getFullPath());
+    javaProject.setRawClasspath(newClasspath, null);
+
+    PipelineOptionsIndex reloaded =
+        new PipelineOptionsIndex(tempFolder.getRoot().toPath().resolve("index.json"));
+    reloaded.load();
+    reloaded.getHierarchy(referencing, VERSION, new NullProgressMonitor());
+    assertEquals(1, reloaded.getBuilds());
+    assertEquals(0, reloaded.getHits());
+  }
+
+  /**
+   * Populates the launch configuration tab on a project with hundreds of options interfaces, as
+   * the hierarchy, then the options and required options of a leaf type, before and after an edit.
+   * The project is indexed once, and the edit is applied incrementally.
+   */
+  @Test
+  public void testPopulateTab_indexedOnce() throws Exception {
+    int interfaces = 300;
+    for (int i = 0; i < interfaces; i++) {
+      // chains of ten interfaces, each extending the previous
+      String parent = i % 10 == 0 ? "PipelineOptions" : "Options" + (i - 1);
+      writeOptions("Options" + i, parent, "getFirst" + i, "getSecond" + i, "isThird" + i);
+    }
+    String leaf = qualify("Options" + (interfaces - 1));
+
+    populateTab(leaf);
+    populateTab(leaf);
+    writeOptions("Options5", "Options4", "getFirst5", "getSecond5", "isThird5", "getFourth5");
+    populateTab(leaf);
+
+    assertEquals(1, index.getBuilds());
+    assertEquals(2, index.getHits());
+    assertTrue(index.getIncrementalUpdates() > 0);
+  }
+
+  private void populateTab(String optionsType) throws Exception {
+    PipelineOptionsHierarchy hierarchy = getHierarchy();
+    assertEquals(301, hierarchy.getAllPipelineOptionsTypes().size());
+    assertEquals(11, hierarchy.getOptionsHierarchy(optionsType).size());
+    hierarchy.getRequiredOptionsByType(optionsType);
+  }
+
+  /** Creates a project with {@link #project} on its classpath. */
+  private IJavaProject createReferencingProject() throws CoreException {
+    referencingProject =
+        ResourcesPlugin.getWorkspace().getRoot().getProject("options-index-referencing");
+    IProjectDescription description =
+        ResourcesPlugin.getWorkspace().newProjectDescription(referencingProject.getName());
+    description.setNatureIds(new String[] {JavaCore.NATURE_ID});
+    referencingProject.create(description, null);
+    referencingProject.open(null);
+    IJavaProject referencing = JavaCore.create(referencingProject);
+    referencing.setRawClasspath(new IClasspathEntry[] {
+        JavaCore.newProjectEntry(project.getFullPath(), true),
+        JavaRuntime.getDefaultJREContainerEntry()}, null);
+    return referencing;
+  }
+
+  private PipelineOptionsHierarchy getHierarchy() throws Exception {
+    return index.getHierarchy(javaProject, VERSION, new NullProgressMonitor());
+  }
+
+  private void writeOptions(String name, String parent, String... getters) throws CoreException {
+    StringBuilder source = new StringBuilder();
+    source.append("import org.apache.beam.sdk.options.PipelineOptions;\n");
+    source.append("public interface ").append(name).append(" extends ").append(parent)
+        .append(" {\n");
+    for (String getter : getters) {
+      source.append("  String ").append(getter).append("();\n");
+    }
+    source.append("}\n");
+    writeSource(OPTIONS_PACKAGE, name, source.toString());
+  }
+
+  private void writeSource(String packageName, String typeName, String body)
+      throws CoreException {
+    IFile file = sourceFile(packageName, typeName);
+    byte[] contents =
+        ("package " + packageName + ";\n" + body).getBytes(StandardCharsets.UTF_8);
+    if (file.exists()) {
+      file.setContents(new ByteArrayInputStream(contents), true, false, null);
+    } else {
+      IFolder folder = (IFolder) file.getParent();
+      createFolders(folder);
+      file.create(new ByteArrayInputStream(contents), true, null);
+    }
+  }
+
+  private IFile sourceFile(String packageName, String typeName) {
+    return project.getFolder("src").getFolder(packageName.replace('.', '/'))
+        .getFile(typeName + ".java");
+  }
+
+  private static void createFolders(IFolder folder) throws CoreException {
+    if (!folder.exists()) {
+      if (folder.getParent() instanceof IFolder) {
+        createFolders((IFolder) folder.getParent());
+      }
+      folder.create(true, true, null);
+    }
+  }
+
+  private static String qualify(String typeName) {
+    return OPTIONS_PACKAGE + "." + typeName;
+  }
+
+  private static Set<String> newSet(String... elements) {
+    return new HashSet<>(Arrays.asList(elements));
+  }
+}
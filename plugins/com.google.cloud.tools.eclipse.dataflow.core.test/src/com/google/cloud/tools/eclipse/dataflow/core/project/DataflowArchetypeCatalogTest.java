@@ -0,0 +1,406 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.google.cloud.tools.eclipse.dataflow.core.natures.DataflowJavaProjectNature;
+import com.google.cloud.tools.eclipse.dataflow.core.preferences.WritableDataflowPreferences;
+import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.maven.archetype.catalog.Archetype;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.m2e.core.project.IProjectConfigurationManager;
+import org.eclipse.m2e.core.project.ProjectImportConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+public class DataflowArchetypeCatalogTest {
+  /** Simulated time to fetch a file from the remote repository. */
+  private static final long LATENCY_MS = 200;
+
+  private static final String STARTER =
+      DataflowProjectArchetype.STARTER_POM_WITH_PIPELINE.getArtifactId();
+  private static final String EXAMPLES = DataflowProjectArchetype.EXAMPLES.getArtifactId();
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final IProgressMonitor monitor = new NullProgressMonitor();
+  private final List<IProject> createdProjects = new ArrayList<>();
+
+  private FileArchetypeRepository repository;
+  private Path stateFile;
+  private DataflowArchetypeCatalog catalog;
+
+  @Before
+  public void setUp() throws IOException {
+    repository = new FileArchetypeRepository(tempFolder.newFolder("remote"),
+        tempFolder.newFolder("local"));
+    for (String artifactId : new String[] {STARTER, EXAMPLES}) {
+      repository.deploy(artifactId, "2.0.0");
+      repository.deploy(artifactId, "2.1.0-rc1");
+      repository.deploy(artifactId, "2.5.0");
+    }
+    stateFile = tempFolder.getRoot().toPath().resolve("state/archetype-catalog.json");
+    catalog = newCatalog(Duration.ofHours(4));
+  }
+
+  @After
+  public void tearDown() throws CoreException {
+    for (IProject project : createdProjects) {
+      project.delete(true, null);
+    }
+  }
+
+  @Test
+  public void testGetArchetypeVersion_lookedUpOnceThenAnsweredFromCatalog()
+      throws InterruptedException {
+    ArtifactVersion version = catalog.getArchetypeVersion(
+        DataflowProjectArchetype.STARTER_POM_WITH_PIPELINE, MajorVersion.TWO);
+    assertEquals("2.5.0", version.toString());
+    assertEquals(1, repository.lookups.get());
+
+    assertEquals(version, catalog.getArchetypeVersion(
+        DataflowProjectArchetype.STARTER_POM_WITH_PIPELINE, MajorVersion.TWO));
+    assertEquals(1, catalog.getCatalogHits());
+
+    // a catalog that has never been refreshed is refreshed in the background
+    Job.getJobManager().join(catalog, null);
+    assertEquals(1 + 4, repository.lookups.get());
+    assertTrue(catalog.isAvailableOffline(
+        DataflowProjectArchetype.STARTER_POM_WITH_PIPELINE, MajorVersion.TWO));
+  }
+
+  @Test
+  public void testGetArchetypeVersion_noRelease() {
+    assertNull(catalog.getArchetypeVersion(
+        DataflowProjectArchetype.STARTER_POM_WITH_PIPELINE, MajorVersion.QUALIFIED_TWO));
+  }
+
+  @Test
+  public void testRefresh_resolvesArchetypeJars() {
+    assertFalse(catalog.isAvailableOffline(
+        DataflowProjectArchetype.EXAMPLES, MajorVersion.TWO));
+
+    catalog.refresh(monitor);
+    for (DataflowProjectArchetype template : DataflowProjectArchetype.values()) {
+      assertTrue(catalog.isAvailableOffline(template, MajorVersion.TWO));
+      assertFalse(catalog.isAvailableOffline(template, MajorVersion.QUALIFIED_TWO));
+    }
+    assertEquals(2, repository.downloads.get());
+
+    // already resolved jars are not resolved again
+    catalog.refresh(monitor);
+    assertEquals(2, repository.downloads.get());
+    assertEquals(2, catalog.getResolutions());
+  }
+
+  @Test
+  public void testRefresh_findsNewRelease() throws IOException {
+    catalog.refresh(monitor);
+    repository.deploy(STARTER, "2.6.0");
+    catalog.refresh(monitor);
+
+    assertEquals("2.6.0", catalog.getArchetypeVersion(
+        DataflowProjectArchetype.STARTER_POM_WITH_PIPELINE, MajorVersion.TWO).toString());
+    assertTrue(catalog.isAvailableOffline(
+        DataflowProjectArchetype.STARTER_POM_WITH_PIPELINE, MajorVersion.TWO));
+  }
+
+  @Test
+  public void testRefresh_offlineKeepsCatalog() {
+    catalog.refresh(monitor);
+    repository.offline = true;
+    catalog.refresh(monitor);
+
+    assertEquals("2.5.0", catalog.getArchetypeVersion(
+        DataflowProjectArchetype.EXAMPLES, MajorVersion.TWO).toString());
+    assertTrue(catalog.isAvailableOffline(DataflowProjectArchetype.EXAMPLES, MajorVersion.TWO));
+  }
+
+  @Test
+  public void testRefresh_offlineNotRecordedAsRefreshed() throws InterruptedException {
+    repository.offline = true;
+    catalog.refresh(monitor);
+
+    assertNotNull("a failed refresh is tried again", catalog.scheduleRefresh());
+    Job.getJobManager().join(catalog, null);
+    assertFalse(Files.exists(stateFile));
+  }
+
+  @Test
+  public void testLoad_nextSessionStartsWarm() {
+    catalog.refresh(monitor);
+    int lookups = repository.lookups.get();
+
+    DataflowArchetypeCatalog nextSession = newCatalog(Duration.ofHours(4));
+    assertEquals("2.5.0", nextSession.getArchetypeVersion(
+        DataflowProjectArchetype.STARTER_POM_WITH_PIPELINE, MajorVersion.TWO).toString());
+    assertNull("an up-to-date catalog is not refreshed", nextSession.scheduleRefresh());
+    assertEquals(lookups, repository.lookups.get());
+    assertEquals(0, nextSession.getRemoteLookups());
+  }
+
+  @Test
+  public void testScheduleRefresh_staleCatalogRefreshedInBackground()
+      throws IOException, InterruptedException {
+    catalog = newCatalog(Duration.ZERO);
+    catalog.refresh(monitor);
+    repository.deploy(EXAMPLES, "2.6.0");
+
+    // the stale version is returned at once, and the new release found in the background
+    assertEquals("2.5.0", catalog.getArchetypeVersion(
+        DataflowProjectArchetype.EXAMPLES, MajorVersion.TWO).toString());
+    Job refresh = catalog.scheduleRefresh();
+    assertNotNull(refresh);
+    refresh.join();
+    assertEquals("2.6.0", catalog.getArchetypeVersion(
+        DataflowProjectArchetype.EXAMPLES, MajorVersion.TWO).toString());
+    Job.getJobManager().join(catalog, null);
+  }
+
+  @Test
+  public void testCreate_offlineFromCatalog()
+      throws CoreException, InvocationTargetException, InterruptedException {
+    catalog.refresh(monitor);
+    repository.offline = true;
+    repository.downloads.set(0);
+
+    List<String> generated = createProject(catalog);
+    assertEquals(Collections.singletonList(STARTER + ":2.5.0"), generated);
+    assertEquals(0, repository.downloads.get());
+  }
+
+  /**
+   * Compares the remote requests made to create a project with an empty catalog, which looks up
+   * the archetype version and downloads the archetype during generation, and with a catalog
+   * refreshed in the background while the user fills in the wizard.
+   */
+  @Test
+  public void testCreate_remoteRequestsWithColdAndWarmCatalog()
+      throws CoreException, InvocationTargetException, InterruptedException, IOException {
+    createProject(catalog);
+    assertEquals(1, repository.lookups.get());
+    assertEquals(1, repository.downloads.get());
+
+    // a new workspace with an empty local repository
+    repository = new FileArchetypeRepository(repository.remote, tempFolder.newFolder("local2"));
+    stateFile = tempFolder.getRoot().toPath().resolve("other-state/archetype-catalog.json");
+    DataflowArchetypeCatalog warmCatalog = newCatalog(Duration.ofHours(4));
+    warmCatalog.scheduleRefresh().join();  // the user is busy filling in the wizard
+    repository.lookups.set(0);
+    repository.downloads.set(0);
+
+    createProject(warmCatalog);
+    assertEquals(0, repository.lookups.get());
+    assertEquals(0, repository.downloads.get());
+    assertEquals(1, warmCatalog.getCatalogHits());
+  }
+
+  private DataflowArchetypeCatalog newCatalog(Duration refreshInterval) {
+    DataflowArchetypeCatalog newCatalog =
+        new DataflowArchetypeCatalog(stateFile, repository, refreshInterval, Clock.systemUTC());
+    newCatalog.load();
+    return newCatalog;
+  }
+
+  /**
+   * Creates a starter project with a project configuration manager that, like m2e, resolves the
+   * archetype into the local repository before generating a Java project from it, and checks that
+   * the project is configured for Dataflow.
+   *
+   * @return the archetypes generated from
+   */
+  private List<String> createProject(DataflowArchetypeCatalog catalog)
+      throws CoreException, InvocationTargetException, InterruptedException {
+    List<String> generated = new CopyOnWriteArrayList<>();
+    IProject project = ResourcesPlugin.getWorkspace().getRoot()
+        .getProject("archetype-catalog-test-" + createdProjects.size());
+    IProjectConfigurationManager manager = mock(IProjectConfigurationManager.class);
+    doAnswer(invocation -> {
+      Archetype archetype = (Archetype) invocation.getArguments()[1];
+      if (!repository.isAvailableLocally(archetype.getArtifactId(), archetype.getVersion())) {
+        repository.resolve(archetype.getArtifactId(), archetype.getVersion(), monitor);
+      }
+      generated.add(archetype.getArtifactId() + ":" + archetype.getVersion());
+
+      IWorkspace workspace = ResourcesPlugin.getWorkspace();
+      IProjectDescription description = workspace.newProjectDescription(project.getName());
+      description.setNatureIds(new String[] {JavaCore.NATURE_ID});
+      project.create(description, null);
+      project.open(null);
+      createdProjects.add(project);
+      return Collections.singletonList(project);
+    }).when(manager).createArchetypeProjects(
+        any(IPath.class), any(Archetype.class), anyString(), anyString(), anyString(), anyString(),
+        any(Properties.class), any(ProjectImportConfiguration.class), any(IProgressMonitor.class));
+
+    DataflowProjectCreator creator = new DataflowProjectCreator(manager, catalog);
+    creator.setMavenGroupId("com.example");
+    creator.setMavenArtifactId("some-artifact-id");
+    creator.setPackage("com.example");
+    creator.setDefaultProject("some-gcp-project");
+    creator.setDefaultStagingLocation("gs://some-bucket/staging");
+    creator.run(monitor);
+
+    assertTrue(DataflowJavaProjectNature.hasDataflowNature(project));
+    WritableDataflowPreferences preferences = WritableDataflowPreferences.forProject(project);
+    assertEquals("some-gcp-project", preferences.getDefaultProject());
+    assertEquals("gs://some-bucket/staging", preferences.getDefaultStagingLocation());
+    return generated;
+  }
+
+  /**
+   * A stand-in for a remote Maven repository, laid out as one in a local directory, that takes
+   * {@link #LATENCY_MS} to fetch each metadata file or jar, and a local repository to resolve
+   * jars into.
+   */
+  private static class FileArchetypeRepository
+      implements DataflowArchetypeCatalog.ArchetypeRepository {
+    private final File remote;
+    private final File local;
+    private volatile boolean offline;
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    private FileArchetypeRepository(File remote, File local) {
+      this.remote = remote;
+      this.local = local;
+    }
+
+    private void deploy(String artifactId, String version) throws IOException {
+      Path jar = getJar(remote, artifactId, version);
+      Files.createDirectories(jar.getParent());
+      Files.write(jar, new byte[] {'P', 'K'});
+
+      StringBuilder versions = new StringBuilder();
+      for (File versionDirectory : jar.getParent().getParent().toFile().listFiles()) {
+        if (versionDirectory.isDirectory()) {
+          versions.append("<version>").append(versionDirectory.getName()).append("</version>");
+        }
+      }
+      String metadata = "<metadata><groupId>" + DataflowMavenCoordinates.GROUP_ID
+          + "</groupId><artifactId>" + artifactId + "</artifactId><versioning><versions>"
+          + versions + "</versions></versioning></metadata>";
+      Files.write(jar.getParent().resolveSibling("maven-metadata.xml"),
+          metadata.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path getJar(File root, String artifactId, String version) {
+      return root.toPath().resolve(DataflowMavenCoordinates.GROUP_ID.replace('.', '/'))
+          .resolve(artifactId).resolve(version).resolve(artifactId + "-" + version + ".jar");
+    }
+
+    @Override
+    public ArtifactVersion getLatestReleaseVersion(String artifactId, VersionRange range) {
+      lookups.incrementAndGet();
+      if (offline) {
+        return null;
+      }
+      simulateLatency();
+      File metadata = getJar(remote, artifactId, "0").getParent().resolveSibling(
+          "maven-metadata.xml").toFile();
+      try {
+        NodeList versionNodes = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+            .parse(metadata).getElementsByTagName("version");
+        ArtifactVersion latest = null;
+        for (int i = 0; i < versionNodes.getLength(); i++) {
+          ArtifactVersion version =
+              new DefaultArtifactVersion(versionNodes.item(i).getTextContent());
+          if (version.getQualifier() == null && range.containsVersion(version)
+              && (latest == null || version.compareTo(latest) > 0)) {
+            latest = version;
+          }
+        }
+        return latest;
+      } catch (IOException | SAXException | ParserConfigurationException ex) {
+        return null;
+      }
+    }
+
+    @Override
+    public boolean isAvailableLocally(String artifactId, String version) {
+      return Files.exists(getJar(local, artifactId, version));
+    }
+
+    @Override
+    public void resolve(String artifactId, String version, IProgressMonitor monitor)
+        throws CoreException {
+      Path source = getJar(remote, artifactId, version);
+      if (offline || !Files.exists(source)) {
+        throw new CoreException(StatusUtil.error(this, "Cannot resolve " + artifactId));
+      }
+      downloads.incrementAndGet();
+      simulateLatency();
+      try {
+        Path target = getJar(local, artifactId, version);
+        Files.createDirectories(target.getParent());
+        Files.copy(source, target);
+      } catch (IOException ex) {
+        throw new CoreException(StatusUtil.error(this, "Cannot resolve " + artifactId, ex));
+      }
+    }
+
+    private static void simulateLatency() {
+      try {
+        Thread.sleep(LATENCY_MS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -20,13 +20,15 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.tools.eclipse.util.ArtifactRetriever;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSortedSet;
-import java.io.InputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 import org.apache.maven.artifact.Artifact;
@@ -34,11 +36,9 @@ import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
-import org.apache.maven.model.Dependency;
-import org.apache.maven.model.Model;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.m2e.core.embedder.IMaven;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
 import org.junit.Before;
@@ -49,26 +49,25 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DataflowDependencyManagerTest {
+  private static final String PINNED_VERSION = "[1.0.0, 2.0.0)";
 
   private DataflowDependencyManager manager;
   
   @Mock private ArtifactRetriever artifactRetriever;
-  @Mock private IMaven maven;
   @Mock private IMavenProjectRegistry projectRegistry;
   @Mock private IProject project;
   @Mock private IFile pomFile;
-  @Mock private InputStream pomInputStream;
   @Mock private IMavenProjectFacade mavenFacade;
-  @Mock private Model model;
 
   @Before
   public void setup() throws Exception {
-    manager = DataflowDependencyManager.create(artifactRetriever, maven, projectRegistry);
+    manager = DataflowDependencyManager.create(
+        artifactRetriever, new PomModelService(), projectRegistry);
 
     when(projectRegistry.getProject(project)).thenReturn(mavenFacade);
     when(mavenFacade.getPom()).thenReturn(pomFile);
-    when(pomFile.getContents()).thenReturn(pomInputStream);
-    when(maven.readModel(pomInputStream)).thenReturn(model);
+    when(pomFile.getCharset()).thenReturn("UTF-8");
+    setDependencies();
   }
 
   @Test
@@ -109,14 +108,14 @@ public class DataflowDependencyManagerTest {
   }
 
   @Test
-  public void testGetProjectMajorVersion() throws InvalidVersionSpecificationException {
-    Dependency pinnedDep = pinnedDataflowDependency();
-    when(model.getDependencies()).thenReturn(ImmutableList.of(pinnedDep));
+  public void testGetProjectMajorVersion()
+      throws CoreException, InvalidVersionSpecificationException {
+    setDependencies(pinnedDataflowDependency());
     ArtifactVersion latestVersion = new DefaultArtifactVersion("1.2.3");
     when(
         artifactRetriever.getLatestReleaseVersion(DataflowMavenCoordinates.GROUP_ID,
             DataflowMavenCoordinates.ARTIFACT_ID, 
-            VersionRange.createFromVersionSpec(pinnedDep.getVersion()))).thenReturn(latestVersion);
+            VersionRange.createFromVersionSpec(PINNED_VERSION))).thenReturn(latestVersion);
 
     assertEquals(MajorVersion.ONE, manager.getProjectMajorVersion(project));
   }
@@ -201,24 +200,22 @@ public class DataflowDependencyManagerTest {
   }
 
   @Test
-  public void hasTrackedDependencyNoDependency() {
-    when(model.getDependencies()).thenReturn(ImmutableList.<Dependency>of());
+  public void hasTrackedDependencyNoDependency() throws CoreException {
+    setDependencies();
 
     assertFalse(manager.hasTrackedDataflowDependency(project));
   }
 
   @Test
-  public void hasTrackedDependencyPinnedDependency() {
-    when(model.getDependencies())
-        .thenReturn(ImmutableList.<Dependency>of(pinnedDataflowDependency()));
+  public void hasTrackedDependencyPinnedDependency() throws CoreException {
+    setDependencies(pinnedDataflowDependency());
 
     assertFalse(manager.hasTrackedDataflowDependency(project));
   }
 
   @Test
-  public void hasTrackedDependencyTrackedDependency() {
-    when(model.getDependencies())
-        .thenReturn(ImmutableList.<Dependency>of(trackedDataflowDependency()));
+  public void hasTrackedDependencyTrackedDependency() throws CoreException {
+    setDependencies(trackedDataflowDependency());
 
     assertTrue(manager.hasTrackedDataflowDependency(project));
   }
@@ -231,44 +228,62 @@ public class DataflowDependencyManagerTest {
   }
 
   @Test
-  public void hasPinnedDependencyNoDependency() {
-    when(model.getDependencies()).thenReturn(ImmutableList.<Dependency>of());
+  public void hasPinnedDependencyNoDependency() throws CoreException {
+    setDependencies();
 
     assertFalse(manager.hasPinnedDataflowDependency(project));
   }
 
   @Test
-  public void hasPinnedDependencyPinnedDependency() {
-    when(model.getDependencies())
-        .thenReturn(ImmutableList.<Dependency>of(pinnedDataflowDependency()));
+  public void hasPinnedDependencyPinnedDependency() throws CoreException {
+    setDependencies(pinnedDataflowDependency());
 
     assertTrue(manager.hasPinnedDataflowDependency(project));
   }
 
   @Test
-  public void hasPinnedDependencyTrackedDependency() {
-    when(model.getDependencies())
-        .thenReturn(ImmutableList.<Dependency>of(trackedDataflowDependency()));
+  public void hasPinnedDependencyTrackedDependency() throws CoreException {
+    setDependencies(trackedDataflowDependency());
 
     assertFalse(manager.hasPinnedDataflowDependency(project));
   }
 
-  private static Dependency dataflowDependency() {
-    Dependency dependency = new Dependency();
-    dependency.setArtifactId("google-cloud-dataflow-java-sdk-all");
-    dependency.setGroupId("com.google.cloud.dataflow");
-    return dependency;
+  @Test
+  public void testPomReadOnceUntilChanged() throws CoreException {
+    setDependencies(pinnedDataflowDependency());
+    assertTrue(manager.hasPinnedDataflowDependency(project));
+    assertFalse(manager.hasTrackedDataflowDependency(project));
+    verify(pomFile, times(1)).getContents();
+
+    setDependencies(trackedDataflowDependency());
+    when(pomFile.getModificationStamp()).thenReturn(1L);
+    assertTrue(manager.hasTrackedDataflowDependency(project));
+  }
+
+  private void setDependencies(String... dependencies) throws CoreException {
+    StringBuilder pom = new StringBuilder(
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n  <dependencies>\n");
+    for (String dependency : dependencies) {
+      pom.append(dependency);
+    }
+    pom.append("  </dependencies>\n</project>\n");
+    byte[] contents = pom.toString().getBytes(StandardCharsets.UTF_8);
+    when(pomFile.getContents()).thenAnswer(invocation -> new ByteArrayInputStream(contents));
+  }
+
+  private static String dataflowDependency(String version) {
+    return "    <dependency>\n"
+        + "      <groupId>com.google.cloud.dataflow</groupId>\n"
+        + "      <artifactId>google-cloud-dataflow-java-sdk-all</artifactId>\n"
+        + "      <version>" + version + "</version>\n"
+        + "    </dependency>\n";
   }
 
-  private static Dependency pinnedDataflowDependency() {
-    Dependency dependency = dataflowDependency();
-    dependency.setVersion("[1.0.0, 2.0.0)");
-    return dependency;
+  private static String pinnedDataflowDependency() {
+    return dataflowDependency(PINNED_VERSION);
   }
 
-  private static Dependency trackedDataflowDependency() {
-    Dependency depedency = dataflowDependency();
-    depedency.setVersion(Artifact.LATEST_VERSION);
-    return depedency;
+  private static String trackedDataflowDependency() {
+    return dataflowDependency(Artifact.LATEST_VERSION);
   }
 }
@@ -17,51 +17,71 @@
 package com.google.cloud.tools.eclipse.dataflow.core.project;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.google.cloud.tools.eclipse.util.MappedNamespaceContext;
+import com.google.common.io.CharStreams;
 import java.io.ByteArrayInputStream;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.wst.sse.core.internal.undo.IStructuredTextUndoManager;
-import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
-import org.eclipse.wst.xml.core.internal.provisional.document.IDOMModel;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * Tests for {@link DataflowMavenModel}.
  */
 public class DataflowMavenModelTest {
+  private static final String POM =
+      "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" "
+      + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+      + "xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 "
+      + "http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n"
+      + "  <dependencies>\n"
+      + "    <dependency>\n"
+      + "      <groupId>com.google.cloud.dataflow</groupId>\n"
+      + "      <artifactId>google-cloud-dataflow-java-sdk-all</artifactId>\n"
+      + "      <version>FOO-BAR</version>\n"
+      + "    </dependency>\n"
+      + "    <dependency>\n"
+      + "      <groupId>com.google.apis</groupId>\n"
+      + "      <artifactId>google-api-services-storage</artifactId>\n"
+      + "      <version>v1-rev25-1.19.1</version>\n"
+      + "      <exclusions>\n"
+      + "        <exclusion>\n"
+      + "          <!-- What is this nonsense -->        \n"
+      + "          <artifactId>guava-jdk5</artifactId>\n"
+      + "          <groupId>com.google.guava</groupId>\n"
+      + "        </exclusion>\n"
+      + "      </exclusions>\n"
+      + "    </dependency>\n"
+      + "  </dependencies>\n"
+      + "  <modelVersion>4.0.0</modelVersion>\n"
+      + "  <groupId>com.example.group.id</groupId>\n"
+      + "  <artifactId>YourProj</artifactId>\n"
+      + "  <version>0.0.1-SNAPSHOT</version>\n"
+      + "</project>";
+
   private DataflowMavenModel model;
 
   @Mock private DataflowDependencyManager dependencyManager;
-  @Mock IProject project;
-
-  @Mock private IDOMModel domModel;
-  @Mock private IDOMDocument document;
-  @Mock private XPath xpath;
-  @Mock private XPathExpression xpathExpression;
-  @Mock private Artifact artifact;
-  @Mock private IStructuredTextUndoManager undoManager;
 
+  private IProject project;
+  private IFile pom;
+  private PomModelService pomModels;
   private IProgressMonitor monitor;
   private ArtifactVersion latestVersion;
   private VersionRange currentVersionSpec;
@@ -69,116 +89,58 @@ public class DataflowMavenModelTest {
   @Before
   public void setup() throws Exception {
     MockitoAnnotations.initMocks(this);
+    project = ResourcesPlugin.getWorkspace().getRoot().getProject("dataflow-maven-model-test");
+    project.create(null);
+    project.open(null);
+    pom = project.getFile("pom.xml");
+    pom.create(new ByteArrayInputStream(POM.getBytes(StandardCharsets.UTF_8)), true, null);
+
     latestVersion = new DefaultArtifactVersion("1.20.0-beta1");
     currentVersionSpec = VersionRange.createFromVersionSpec("[1.2.3, 1.99.0)");
     when(dependencyManager.getDataflowVersionRange(project)).thenReturn(currentVersionSpec);
     when(dependencyManager.getLatestDataflowDependencyInRange(currentVersionSpec))
         .thenReturn(latestVersion);
-    model = new DataflowMavenModel(dependencyManager, xpath, project, domModel);
-
-    when(domModel.getDocument()).thenReturn(document);
-    when(domModel.getUndoManager()).thenReturn(undoManager);
+    pomModels = new PomModelService();
+    model = new DataflowMavenModel(dependencyManager, pomModels, project, pom);
 
     monitor = new NullProgressMonitor();
   }
 
+  @After
+  public void tearDown() throws CoreException {
+    project.delete(true, null);
+  }
+
   @Test
   public void testTrackDataflowDependency() throws Exception {
-    when(xpath.compile(DataflowMavenModel.DATAFLOW_VERSION_XPATH_EXPR)).thenReturn(xpathExpression);
-
-    NodeList versionNodeList = mock(NodeList.class);
-    Node versionNode = mock(Node.class);
-    when(versionNodeList.getLength()).thenReturn(1);
-    when(versionNodeList.item(0)).thenReturn(versionNode);
-
-    Node versionNodeText = mock(Node.class);
-    when(versionNode.getFirstChild()).thenReturn(versionNodeText);
-
-    when(xpathExpression.evaluate(document, XPathConstants.NODESET)).thenReturn(versionNodeList);
-
     model.trackDataflowDependency(monitor);
 
-    verify(domModel).aboutToChangeModel();
-    verify(undoManager).beginRecording(domModel);
-    verify(versionNodeText).setNodeValue(Artifact.LATEST_VERSION);
-    verify(undoManager).endRecording(domModel);
-    verify(domModel).changedModel();
-    verify(domModel).save();
+    assertEquals(POM.replace("FOO-BAR", Artifact.LATEST_VERSION), readPom());
+    assertEquals(1, pomModels.getWrites());
   }
 
   @Test
   public void testPinDataflowDependencyWithDynamicVersion() throws Exception {
-    when(xpath.compile(DataflowMavenModel.DATAFLOW_VERSION_XPATH_EXPR)).thenReturn(xpathExpression);
-
-    NodeList versionNodeList = mock(NodeList.class);
-    Node versionNode = mock(Node.class);
-    when(versionNodeList.getLength()).thenReturn(1);
-    when(versionNodeList.item(0)).thenReturn(versionNode);
-
-    Node versionNodeText = mock(Node.class);
-    when(versionNode.getFirstChild()).thenReturn(versionNodeText);
-
-    when(xpathExpression.evaluate(document, XPathConstants.NODESET)).thenReturn(versionNodeList);
-
     model.pinDataflowDependencyToCurrent(monitor);
 
-    verify(domModel).aboutToChangeModel();
-    verify(undoManager).beginRecording(domModel);
-    verify(versionNodeText)
-        .setNodeValue(
-            String.format("[%s,%s)", latestVersion.toString(), MajorVersion.ONE.getMaxVersion()));
-    verify(undoManager).endRecording(domModel);
-    verify(domModel).changedModel();
-    verify(domModel).save();
+    String range =
+        String.format("[%s,%s)", latestVersion.toString(), MajorVersion.ONE.getMaxVersion());
+    assertEquals(POM.replace("FOO-BAR", range), readPom());
   }
 
   @Test
-  public void testXpathExpression() throws Exception {
-    String simplifiedModel =
-        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" "
-        + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
-        + "xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 "
-        + "http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n"
-        + "  <dependencies>\n"
-        + "    <dependency>\n"
-        + "      <groupId>com.google.cloud.dataflow</groupId>\n"
-        + "      <artifactId>google-cloud-dataflow-java-sdk-all</artifactId>\n"
-        + "      <version>FOO-BAR</version>\n"
-        + "    </dependency>\n"
-        + "    <dependency>\n"
-        + "      <groupId>com.google.apis</groupId>\n"
-        + "      <artifactId>google-api-services-storage</artifactId>\n"
-        + "      <version>v1-rev25-1.19.1</version>\n"
-        + "      <exclusions>\n"
-        + "        <exclusion>\n"
-        + "          <!-- What is this nonsense -->        \n"
-        + "          <artifactId>guava-jdk5</artifactId>\n"
-        + "          <groupId>com.google.guava</groupId>\n"
-        + "        </exclusion>\n"
-        + "      </exclusions>\n"
-        + "    </dependency>\n"
-        + "  </dependencies>\n"
-        + "  <modelVersion>4.0.0</modelVersion>\n"
-        + "  <groupId>com.example.group.id</groupId>\n"
-        + "  <artifactId>YourProj</artifactId>\n"
-        + "  <version>0.0.1-SNAPSHOT</version>\n"
-        + "</project>";
-
-    DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-    dbf.setNamespaceAware(true);
-    Document simpleModelDocument = dbf.newDocumentBuilder().parse(
-        new ByteArrayInputStream(simplifiedModel.getBytes()));
-
-    XPath realXpath = XPathFactory.newInstance().newXPath();
-    realXpath.setNamespaceContext(
-        new MappedNamespaceContext("pom", "http://maven.apache.org/POM/4.0.0"));
-    NodeList matchingNodes =
-        DataflowMavenModel.getMatchingNodes(realXpath,
-            simpleModelDocument, DataflowMavenModel.DATAFLOW_VERSION_XPATH_EXPR);
-
-    assertEquals(1, matchingNodes.getLength());
-    Node matched = matchingNodes.item(0);
-    assertEquals("version", matched.getLocalName());
-    assertEquals("FOO-BAR", matched.getTextContent());
+  public void testTrackDataflowDependency_alreadyTrackedNotWritten() throws Exception {
+    model.trackDataflowDependency(monitor);
+    long stamp = pom.getModificationStamp();
+
+    model.trackDataflowDependency(monitor);
+    assertEquals(stamp, pom.getModificationStamp());
+    assertEquals(1, pomModels.getWrites());
+  }
+
+  private String readPom() throws CoreException, IOException {
+    try (InputStream in = pom.getContents()) {
+      return CharStreams.toString(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
   }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.jackson.JacksonFactory;
+import com.google.api.services.storage.Storage;
+import com.google.common.base.Strings;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.rules.ExternalResource;
+
+/**
+ * A stand-in for the bucket methods of the Cloud Storage JSON API: lists the buckets of a project
+ * page by page and gets buckets by name. Use {@link #newClient()} for a client of this server.
+ */
+class LocalGcsServer extends ExternalResource {
+  private static final String BUCKETS_PATH = "/storage/v1/b";
+
+  private final Map<String, NavigableSet<String>> bucketsByProject = new ConcurrentHashMap<>();
+  private volatile int maxPageSize = 1000;
+  private volatile long responseDelayMillis;
+  private volatile boolean unavailable;
+
+  private final AtomicInteger listRequests = new AtomicInteger();
+  private final AtomicInteger getRequests = new AtomicInteger();
+  private final AtomicInteger concurrentRequests = new AtomicInteger();
+  private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+
+  private Server server;
+
+  /** Adds {@code count} buckets named {@code namePrefix} followed by a number to a project. */
+  LocalGcsServer addBuckets(String projectId, String namePrefix, int count) {
+    NavigableSet<String> buckets =
+        bucketsByProject.computeIfAbsent(projectId, key -> new ConcurrentSkipListSet<>());
+    for (int i = 0; i < count; i++) {
+      buckets.add(String.format("%s%05d", namePrefix, i));
+    }
+    return this;
+  }
+
+  /** Limits the buckets returned in one page, whatever the request asks for. */
+  LocalGcsServer setMaxPageSize(int maxPageSize) {
+    this.maxPageSize = maxPageSize;
+    return this;
+  }
+
+  /** Delays every response, to make concurrent and cancelled requests observable. */
+  LocalGcsServer setResponseDelay(long responseDelayMillis) {
+    this.responseDelayMillis = responseDelayMillis;
+    return this;
+  }
+
+  /** Answers every request with 503 Service Unavailable while {@code unavailable} is true. */
+  LocalGcsServer setUnavailable(boolean unavailable) {
+    this.unavailable = unavailable;
+    return this;
+  }
+
+  GcsDataflowProjectClient newClient() {
+    Storage storage = new Storage.Builder(new NetHttpTransport(), new JacksonFactory(), null)
+        .setRootUrl("http://127.0.0.1:" + ((ServerConnector) server.getConnectors()[0])
+            .getLocalPort() + "/")
+        .setApplicationName("local-gcs-test")
+        .build();
+    return new GcsDataflowProjectClient(storage);
+  }
+
+  int getListRequests() {
+    return listRequests.get();
+  }
+
+  int getGetRequests() {
+    return getRequests.get();
+  }
+
+  int getMaxConcurrentRequests() {
+    return maxConcurrentRequests.get();
+  }
+
+  @Override
+  protected void before() throws Exception {
+    server = new Server(new InetSocketAddress("127.0.0.1", 0));
+    server.setHandler(new BucketsHandler());
+    server.start();
+  }
+
+  @Override
+  protected void after() {
+    try {
+      server.stop();
+      server.join();
+    } catch (Exception ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private class BucketsHandler extends AbstractHandler {
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request,
+        HttpServletResponse response) throws IOException {
+      baseRequest.setHandled(true);
+      maxConcurrentRequests.accumulateAndGet(concurrentRequests.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(responseDelayMillis);
+        if (unavailable) {
+          if (target.startsWith(BUCKETS_PATH + "/")) {
+            getRequests.incrementAndGet();
+          }
+          sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Unavailable");
+        } else if (target.equals(BUCKETS_PATH)) {
+          listRequests.incrementAndGet();
+          list(request, response);
+        } else if (target.startsWith(BUCKETS_PATH + "/")) {
+          getRequests.incrementAndGet();
+          get(target.substring(BUCKETS_PATH.length() + 1), response);
+        } else {
+          sendError(response, HttpServletResponse.SC_NOT_FOUND, "Not Found");
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Interrupted");
+      } finally {
+        concurrentRequests.decrementAndGet();
+      }
+    }
+
+    private void list(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+      NavigableSet<String> buckets = bucketsByProject.get(request.getParameter("project"));
+      if (buckets == null) {
+        sendError(response, HttpServletResponse.SC_NOT_FOUND, "Project not found");
+        return;
+      }
+      String maxResults = request.getParameter("maxResults");
+      int pageSize = maxResults == null
+          ? maxPageSize : Math.min(maxPageSize, Integer.parseInt(maxResults));
+      String prefix = Strings.nullToEmpty(request.getParameter("prefix"));
+      // the page token is the name of the last bucket of the previous page
+      String pageToken = request.getParameter("pageToken");
+      NavigableSet<String> remaining =
+          pageToken == null ? buckets : buckets.tailSet(pageToken, false);
+
+      JsonObject page = new JsonObject();
+      page.addProperty("kind", "storage#buckets");
+      JsonArray items = new JsonArray();
+      String last = null;
+      for (String bucket : remaining) {
+        if (!bucket.startsWith(prefix)) {
+          continue;
+        }
+        if (items.size() == pageSize) {
+          page.addProperty("nextPageToken", last);
+          break;
+        }
+        items.add(newBucket(bucket));
+        last = bucket;
+      }
+      page.add("items", items);
+      send(response, HttpServletResponse.SC_OK, page);
+    }
+
+    private void get(String bucketName, HttpServletResponse response) throws IOException {
+      for (NavigableSet<String> buckets : bucketsByProject.values()) {
+        if (buckets.contains(bucketName)) {
+          send(response, HttpServletResponse.SC_OK, newBucket(bucketName));
+          return;
+        }
+      }
+      sendError(response, HttpServletResponse.SC_NOT_FOUND, "Not Found");
+    }
+
+    private JsonObject newBucket(String name) {
+      JsonObject bucket = new JsonObject();
+      bucket.addProperty("kind", "storage#bucket");
+      bucket.addProperty("id", name);
+      bucket.addProperty("name", name);
+      return bucket;
+    }
+
+    private void sendError(HttpServletResponse response, int code, String message)
+        throws IOException {
+      JsonObject error = new JsonObject();
+      error.addProperty("code", code);
+      error.addProperty("message", message);
+      JsonObject body = new JsonObject();
+      body.add("error", error);
+      send(response, code, body);
+    }
+
+    private void send(HttpServletResponse response, int code, JsonObject body)
+        throws IOException {
+      response.setStatus(code);
+      response.setContentType("application/json; charset=UTF-8");
+      response.getOutputStream().write(body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.io.CharStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PomModelServiceTest {
+  private IProject project;
+  private IFile pom;
+  private PomModelService service;
+
+  @Before
+  public void setUp() throws CoreException {
+    project = ResourcesPlugin.getWorkspace().getRoot().getProject("pom-model-service-test");
+    project.create(null);
+    project.open(null);
+    pom = project.getFile("pom.xml");
+    service = new PomModelService();
+  }
+
+  @After
+  public void tearDown() throws CoreException {
+    project.delete(true, null);
+  }
+
+  @Test
+  public void testGetModel_parsedOnceUntilChanged() throws CoreException {
+    writePom(pomWithDependencies(3));
+    PomModel model = service.getModel(pom);
+    assertSame(model, service.getModel(pom));
+    assertEquals(1, service.getParses());
+    assertEquals(1, service.getCacheHits());
+
+    writePom(pomWithDependencies(4));
+    assertEquals(4, service.getModel(pom).getDependencies().size());
+    assertEquals(2, service.getParses());
+  }
+
+  @Test
+  public void testCommit_writesBatchOnce() throws CoreException, IOException {
+    String text = pomWithDependencies(10);
+    writePom(text);
+
+    assertTrue(service.edit(pom)
+        .setDependencyVersion("org.example", "artifact-1", "2.0")
+        .setDependencyVersion("org.example", "artifact-7", "3.0")
+        .commit(new NullProgressMonitor()));
+
+    assertEquals(text.replace("<version>1.1<", "<version>2.0<")
+        .replace("<version>1.7<", "<version>3.0<"), readPom());
+    assertEquals(1, service.getWrites());
+  }
+
+  @Test
+  public void testCommit_nothingChangedNotWritten() throws CoreException {
+    writePom(pomWithDependencies(2));
+    long stamp = pom.getModificationStamp();
+
+    assertFalse(service.edit(pom)
+        .setDependencyVersion("org.example", "artifact-1", "1.1")
+        .setDependencyVersion("org.example", "undeclared", "1.0")
+        .commit(new NullProgressMonitor()));
+    assertEquals(stamp, pom.getModificationStamp());
+    assertEquals(0, service.getWrites());
+  }
+
+  @Test
+  public void testCommit_concurrentChangeNotOverwritten() throws CoreException, IOException {
+    writePom(pomWithDependencies(2));
+    PomModelService.Batch batch =
+        service.edit(pom).setDependencyVersion("org.example", "artifact-1", "2.0");
+    String changed = pomWithDependencies(3);
+    writePom(changed);
+
+    try {
+      batch.commit(new NullProgressMonitor());
+      fail("a POM changed since the batch started was overwritten");
+    } catch (CoreException ex) {
+      assertEquals(changed, readPom());
+    }
+  }
+
+  /**
+   * Compares the parses and writes of setting the versions of a POM with hundreds of dependencies
+   * one edit at a time, each read and written separately, with a single batch of edits.
+   */
+  @Test
+  public void testCommit_500Dependencies_batchParsedAndWrittenOnce() throws CoreException {
+    int edits = 50;
+    writePom(pomWithDependencies(500));
+
+    for (int i = 0; i < edits; i++) {
+      service.invalidate(pom);
+      service.edit(pom).setDependencyVersion("org.example", "artifact-" + i, "2.0")
+          .commit(new NullProgressMonitor());
+    }
+    assertEquals(edits, service.getParses());
+    assertEquals(edits, service.getWrites());
+
+    PomModelService.Batch batch = service.edit(pom);
+    for (int i = 0; i < edits; i++) {
+      batch.setDependencyVersion("org.example", "artifact-" + i, "3.0");
+    }
+    assertTrue(batch.commit(new NullProgressMonitor()));
+    assertEquals(edits + 1, service.getParses());
+    assertEquals(edits + 1, service.getWrites());
+
+    PomModel model = service.getModel(pom);
+    for (int i = 0; i < edits; i++) {
+      assertEquals("3.0", model.getDependency("org.example", "artifact-" + i).getVersion());
+    }
+    assertEquals("1.50", model.getDependency("org.example", "artifact-50").getVersion());
+  }
+
+  private static String pomWithDependencies(int count) {
+    StringBuilder pom = new StringBuilder(
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n  <dependencies>\n");
+    for (int i = 0; i < count; i++) {
+      pom.append("    <dependency>\n      <groupId>org.example</groupId>\n")
+          .append("      <artifactId>artifact-").append(i).append("</artifactId>\n")
+          .append("      <version>1.").append(i).append("</version>\n    </dependency>\n");
+    }
+    return pom.append("  </dependencies>\n</project>\n").toString();
+  }
+
+  private void writePom(String text) throws CoreException {
+    ByteArrayInputStream contents = new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    if (pom.exists()) {
+      pom.setContents(contents, true, false, null);
+    } else {
+      pom.create(contents, true, null);
+    }
+  }
+
+  private String readPom() throws CoreException, IOException {
+    try (InputStream in = pom.getContents()) {
+      return CharStreams.toString(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+  }
+}
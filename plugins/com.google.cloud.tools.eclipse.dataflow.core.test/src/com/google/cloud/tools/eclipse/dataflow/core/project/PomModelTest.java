@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.cloud.tools.eclipse.util.MappedNamespaceContext;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+public class PomModelTest {
+  private static final String POM =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n"
+      + "  <modelVersion>4.0.0</modelVersion>\n"
+      + "  <version>0.0.1-SNAPSHOT</version>\n"
+      + "  <dependencyManagement>\n"
+      + "    <dependencies>\n"
+      + "      <dependency>\n"
+      + "        <groupId>com.google.guava</groupId>\n"
+      + "        <artifactId>guava</artifactId>\n"
+      + "        <version>managed</version>\n"
+      + "      </dependency>\n"
+      + "    </dependencies>\n"
+      + "  </dependencyManagement>\n"
+      + "  <dependencies>\n"
+      + "    <!-- <dependency><artifactId>commented-out</artifactId></dependency> -->\n"
+      + "    <dependency>\n"
+      + "      <groupId>com.google.cloud.dataflow</groupId>\n"
+      + "      <artifactId>google-cloud-dataflow-java-sdk-all</artifactId>\n"
+      + "      <version>  [1.0.0, 2.0.0)  </version>\n"
+      + "    </dependency>\n"
+      + "    <dependency>\n"
+      + "      <groupId>com.google.guava</groupId>\n"
+      + "      <artifactId>guava</artifactId>\n"
+      + "      <version>30.1-jre</version>\n"
+      + "      <exclusions>\n"
+      + "        <exclusion>\n"
+      + "          <groupId>com.google.code.findbugs</groupId>\n"
+      + "          <artifactId>jsr305</artifactId>\n"
+      + "        </exclusion>\n"
+      + "      </exclusions>\n"
+      + "    </dependency>\n"
+      + "    <dependency>\n"
+      + "      <groupId>junit</groupId>\n"
+      + "      <artifactId>junit</artifactId>\n"
+      + "      <version/>\n"
+      + "    </dependency>\n"
+      + "    <dependency>\n"
+      + "      <groupId>com.google.guava</groupId>\n"
+      + "      <artifactId>guava</artifactId>\n"
+      + "      <version>duplicate</version>\n"
+      + "    </dependency>\n"
+      + "  </dependencies>\n"
+      + "  <profiles>\n"
+      + "    <profile>\n"
+      + "      <dependencies>\n"
+      + "        <dependency>\n"
+      + "          <groupId>org.example</groupId>\n"
+      + "          <artifactId>in-profile</artifactId>\n"
+      + "        </dependency>\n"
+      + "      </dependencies>\n"
+      + "    </profile>\n"
+      + "  </profiles>\n"
+      + "</project>\n";
+
+  @Test
+  public void testParse() throws IOException {
+    PomModel model = PomModel.parse(POM);
+
+    assertEquals(4, model.getDependencies().size());
+    assertEquals("[1.0.0, 2.0.0)", model.getDependency(DataflowMavenCoordinates.GROUP_ID,
+        DataflowMavenCoordinates.ARTIFACT_ID).getVersion());
+    // the first declaration wins, and managed dependencies are not dependencies
+    assertEquals("30.1-jre", model.getDependency("com.google.guava", "guava").getVersion());
+    assertEquals("", model.getDependency("junit", "junit").getVersion());
+    assertNull(model.getDependency("com.google.code.findbugs", "jsr305"));
+    assertNull(model.getDependency("org.example", "in-profile"));
+    assertNull(model.getDependency(null, "commented-out"));
+  }
+
+  @Test
+  public void testParse_contentForms() throws IOException {
+    PomModel model = PomModel.parse("<!DOCTYPE project [<!ENTITY x \"y\">]>"
+        + "<m:project xmlns:m='http://maven.apache.org/POM/4.0.0'><m:dependencies>"
+        + "<m:dependency attr='a > b'><m:groupId>org.<!-- c -->example</m:groupId>"
+        + "<m:artifactId><![CDATA[a<b]]></m:artifactId>"
+        + "<m:version>1&amp;2&#x41;</m:version></m:dependency>"
+        + "</m:dependencies></m:project>");
+
+    assertEquals("1&2A", model.getDependency("org.example", "a<b").getVersion());
+  }
+
+  @Test(expected = IOException.class)
+  public void testParse_mismatchedEndTag() throws IOException {
+    PomModel.parse("<project><dependencies></project>");
+  }
+
+  @Test(expected = IOException.class)
+  public void testParse_unclosedElement() throws IOException {
+    PomModel.parse("<project><dependencies>");
+  }
+
+  @Test
+  public void testWithDependencyVersions_replacesOnlyVersions() throws IOException {
+    PomModel model = PomModel.parse(POM);
+    String edited = model.withDependencyVersions(ImmutableMap.of(
+        PomModel.key(DataflowMavenCoordinates.GROUP_ID, DataflowMavenCoordinates.ARTIFACT_ID),
+        "[1.9.0,2.0.0)",
+        PomModel.key("com.google.guava", "guava"), "31.0-jre & co",
+        PomModel.key("junit", "junit"), "4.12",
+        PomModel.key("org.example", "undeclared"), "1.0"));
+
+    String expected = POM
+        .replace("  [1.0.0, 2.0.0)  ", "[1.9.0,2.0.0)")
+        .replace("30.1-jre", "31.0-jre &amp; co");
+    assertEquals(expected, edited);
+    assertEquals("31.0-jre & co",
+        PomModel.parse(edited).getDependency("com.google.guava", "guava").getVersion());
+  }
+
+  @Test
+  public void testWithDependencyVersions_unchanged() throws IOException {
+    PomModel model = PomModel.parse(POM);
+    assertSame(model.getText(), model.withDependencyVersions(
+        ImmutableMap.of(PomModel.key("com.google.guava", "guava"), "30.1-jre")));
+  }
+
+  /**
+   * Checks that reading and setting the versions of a few dependencies in a POM with hundreds of
+   * them with a single scan of the text and a single batch of replacements agrees with building a
+   * DOM, evaluating an XPath expression per dependency, and serializing the document for every
+   * edit, and changes nothing else in the text.
+   */
+  @Test
+  public void testWithDependencyVersions_500DependenciesAgreesWithDom() throws Exception {
+    int dependencies = 500;
+    StringBuilder pom = new StringBuilder(
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n  <dependencies>\n");
+    for (int i = 0; i < dependencies; i++) {
+      pom.append("    <dependency>\n      <groupId>org.example</groupId>\n")
+          .append("      <artifactId>artifact-").append(i).append("</artifactId>\n")
+          .append("      <version>1.").append(i).append("</version>\n    </dependency>\n");
+    }
+    pom.append("  </dependencies>\n</project>\n");
+    String text = pom.toString();
+    int[] edited = {0, dependencies / 2, dependencies - 1};
+
+    String domResult = text;
+    for (int i : edited) {
+      Document document = parseDom(domResult);
+      XPath xpath = XPathFactory.newInstance().newXPath();
+      xpath.setNamespaceContext(
+          new MappedNamespaceContext("pom", "http://maven.apache.org/POM/4.0.0"));
+      NodeList versions = (NodeList) xpath.compile(
+          "/pom:project/pom:dependencies/pom:dependency[pom:artifactId='artifact-" + i
+          + "']/pom:version").evaluate(document, XPathConstants.NODESET);
+      Node version = versions.item(0);
+      version.setTextContent("2.0");
+      StringWriter writer = new StringWriter();
+      TransformerFactory.newInstance().newTransformer()
+          .transform(new DOMSource(document), new StreamResult(writer));
+      domResult = writer.toString();
+    }
+
+    PomModel model = PomModel.parse(text);
+    ImmutableMap.Builder<String, String> versions = ImmutableMap.builder();
+    for (int i : edited) {
+      assertEquals("1." + i, model.getDependency("org.example", "artifact-" + i).getVersion());
+      versions.put(PomModel.key("org.example", "artifact-" + i), "2.0");
+    }
+    String scanResult = model.withDependencyVersions(versions.build());
+
+    assertEquals(text.replace("<version>1.0<", "<version>2.0<")
+        .replace("<version>1.250<", "<version>2.0<")
+        .replace("<version>1.499<", "<version>2.0<"), scanResult);
+    PomModel domModel = PomModel.parse(domResult);
+    PomModel scanModel = PomModel.parse(scanResult);
+    assertEquals(dependencies, scanModel.getDependencies().size());
+    for (int i = 0; i < dependencies; i++) {
+      String artifactId = "artifact-" + i;
+      assertEquals(domModel.getDependency("org.example", artifactId).getVersion(),
+          scanModel.getDependency("org.example", artifactId).getVersion());
+    }
+  }
+
+  private static Document parseDom(String text) throws Exception {
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    factory.setNamespaceAware(true);
+    return factory.newDocumentBuilder().parse(new InputSource(new StringReader(text)));
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class StagingLocationDiscoveryTest {
+
+  @Rule public LocalGcsServer server = new LocalGcsServer()
+      .addBuckets("big-project", "big-", 2500)
+      .addBuckets("mixed-project", "alpha-", 1500)
+      .addBuckets("mixed-project", "beta-", 1500)
+      .addBuckets("other-project", "other-", 1200)
+      .addBuckets("third-project", "third-", 1200);
+
+  private final List<SortedSet<String>> partialResults = new CopyOnWriteArrayList<>();
+
+  private GcsDataflowProjectClient client;
+  private StagingLocationDiscovery discovery;
+
+  @Before
+  public void setUp() {
+    client = server.newClient();
+    discovery = new StagingLocationDiscovery(Duration.ofMinutes(5), Clock.systemUTC());
+  }
+
+  @Test
+  public void testGetPotentialStagingLocations_followsAllPages() throws IOException {
+    SortedSet<String> locations = client.getPotentialStagingLocations("big-project");
+    assertEquals(2500, locations.size());
+    assertEquals("gs://big-00000", locations.first());
+    assertEquals("gs://big-02499", locations.last());
+    assertEquals(3, server.getListRequests());
+  }
+
+  @Test
+  public void testGetPotentialStagingLocations_serverPageSizeSmallerThanRequested()
+      throws IOException {
+    server.setMaxPageSize(100);
+    assertEquals(2500, client.getPotentialStagingLocations("big-project").size());
+    assertEquals(25, server.getListRequests());
+  }
+
+  @Test
+  public void testDiscover_listsProjectsInParallel() throws IOException {
+    server.setResponseDelay(100);
+    SortedSet<String> locations = discover("user@example.com", "big-project", "other-project",
+        "third-project");
+    assertEquals(2500 + 1200 + 1200, locations.size());
+    assertEquals(3 + 2 + 2, server.getListRequests());
+    assertTrue(server.getMaxConcurrentRequests() > 1);
+    assertEquals(3, discovery.getProjectsListed());
+  }
+
+  @Test
+  public void testDiscover_cachedPerAccountAndProject() throws IOException {
+    discover("user@example.com", "big-project");
+    assertEquals(3, server.getListRequests());
+
+    assertEquals(2500, discover("user@example.com", "big-project").size());
+    assertEquals(3, server.getListRequests());
+    assertEquals(1, discovery.getCacheHits());
+
+    discover("other@example.com", "big-project");
+    assertEquals(6, server.getListRequests());
+
+    // only the uncached project is listed
+    assertEquals(2500 + 1200, discover("user@example.com", "big-project", "other-project").size());
+    assertEquals(8, server.getListRequests());
+    assertEquals(2, discovery.getCacheHits());
+  }
+
+  @Test
+  public void testDiscover_expiredListingIsListedAgain() throws IOException {
+    discovery = new StagingLocationDiscovery(Duration.ZERO, Clock.systemUTC());
+    discover("user@example.com", "other-project");
+    discover("user@example.com", "other-project");
+    assertEquals(4, server.getListRequests());
+    assertEquals(0, discovery.getCacheHits());
+  }
+
+  @Test
+  public void testDiscover_invalidate() throws IOException {
+    discover("user@example.com", "other-project");
+    discovery.invalidate("user@example.com", "other-project");
+    discover("user@example.com", "other-project");
+    assertEquals(4, server.getListRequests());
+  }
+
+  @Test
+  public void testDiscover_partialResultsFilteredByPrefix() throws IOException {
+    SortedSet<String> locations = discovery.discover(client, "user@example.com",
+        Collections.singletonList("mixed-project"), "gs://beta-", partialResults::add,
+        new NullProgressMonitor());
+    assertEquals(3000, locations.size());
+
+    // pages of alpha buckets bring no beta buckets; each page of beta buckets brings 1000 more
+    assertEquals(3, server.getListRequests());
+    assertEquals(3, partialResults.size());
+    assertEquals(0, partialResults.get(0).size());
+    assertEquals(500, partialResults.get(1).size());
+    assertEquals(1500, partialResults.get(2).size());
+    for (SortedSet<String> partialResult : partialResults) {
+      for (String location : partialResult) {
+        assertTrue(location.startsWith("gs://beta-"));
+      }
+    }
+  }
+
+  @Test
+  public void testDiscover_cachedListingDeliveredAsPartialResult() throws IOException {
+    discover("user@example.com", "other-project");
+    partialResults.clear();
+    discover("user@example.com", "other-project");
+    assertEquals(1, partialResults.size());
+    assertEquals(1200, partialResults.get(0).size());
+  }
+
+  @Test
+  public void testDiscover_cancelledBetweenPages() throws IOException {
+    NullProgressMonitor monitor = new NullProgressMonitor();
+    try {
+      discovery.discover(client, "user@example.com", Collections.singletonList("big-project"),
+          null, page -> monitor.setCanceled(true), monitor);
+      fail("expected OperationCanceledException");
+    } catch (OperationCanceledException ex) {
+      // expected
+    }
+    assertEquals(1, server.getListRequests());
+
+    // an incomplete listing is not cached
+    discover("user@example.com", "big-project");
+    assertEquals(4, server.getListRequests());
+    assertEquals(0, discovery.getCacheHits());
+  }
+
+  @Test
+  public void testDiscover_unknownProject() {
+    try {
+      discover("user@example.com", "other-project", "unknown-project");
+      fail("expected IOException");
+    } catch (IOException ex) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testFetchJob_abandonedJobStopsListing() throws InterruptedException {
+    FetchStagingLocationsJob job = new FetchStagingLocationsJob(discovery, client,
+        "user@example.com", "big-project", null);
+    List<SortedSet<String>> delivered = new CopyOnWriteArrayList<>();
+    job.onPartialResult(MoreExecutors.directExecutor(), locations -> {
+      delivered.add(locations);
+      job.abandon(); // as when another project is selected
+    });
+    job.schedule();
+    job.join();
+
+    assertTrue(job.getFuture().isCancelled());
+    assertFalse(job.isComputationComplete());
+    assertEquals(1, delivered.size());
+    assertEquals(1, server.getListRequests());
+  }
+
+  private SortedSet<String> discover(String accountEmail, String... projectIds)
+      throws IOException {
+    return discovery.discover(client, accountEmail, Arrays.asList(projectIds), null,
+        partialResults::add, new NullProgressMonitor());
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class StagingLocationVerifierTest {
+  private static final String EMAIL = "user@example.com";
+
+  @Rule public LocalGcsServer server = new LocalGcsServer().addBuckets("project", "bucket-", 20);
+
+  private GcsDataflowProjectClient client;
+  private StagingLocationVerifier verifier;
+  private StagingLocationVerifier.Session session;
+
+  @Before
+  public void setUp() {
+    client = server.newClient();
+    // inaccessible buckets are checked again every time
+    verifier = new StagingLocationVerifier(Duration.ofMinutes(10), Duration.ZERO,
+        Clock.systemUTC());
+    session = verifier.newSession();
+  }
+
+  @Test
+  public void testIsAccessible() {
+    assertTrue(session.isAccessible(client, EMAIL, "gs://bucket-00001"));
+    assertFalse(session.isAccessible(client, EMAIL, "gs://no-such-bucket"));
+    assertEquals(2, server.getGetRequests());
+  }
+
+  @Test
+  public void testIsAccessible_accessibleCachedPerAccountAndBucket() {
+    session.isAccessible(client, EMAIL, "gs://bucket-00001");
+    session.isAccessible(client, EMAIL, "gs://bucket-00001/staging");
+    assertEquals(1, server.getGetRequests());
+    assertEquals(1, session.getCacheHits());
+
+    session.isAccessible(client, "other@example.com", "gs://bucket-00001");
+    assertEquals(2, server.getGetRequests());
+    assertEquals(2, session.getRemoteCalls());
+  }
+
+  @Test
+  public void testIsAccessible_inaccessibleCachedSeparately() {
+    session.isAccessible(client, EMAIL, "gs://no-such-bucket");
+    session.isAccessible(client, EMAIL, "gs://no-such-bucket");
+    assertEquals(2, server.getGetRequests());
+
+    StagingLocationVerifier longerNegativeTtl = new StagingLocationVerifier(
+        Duration.ofMinutes(10), Duration.ofMinutes(1), Clock.systemUTC());
+    StagingLocationVerifier.Session otherSession = longerNegativeTtl.newSession();
+    otherSession.isAccessible(client, EMAIL, "gs://no-such-bucket");
+    otherSession.isAccessible(client, EMAIL, "gs://no-such-bucket");
+    assertEquals(3, server.getGetRequests());
+    assertEquals(1, otherSession.getCacheHits());
+  }
+
+  @Test
+  public void testIsAccessible_unavailableServerNotCached() {
+    StagingLocationVerifier longerNegativeTtl = new StagingLocationVerifier(
+        Duration.ofMinutes(10), Duration.ofMinutes(1), Clock.systemUTC());
+    StagingLocationVerifier.Session otherSession = longerNegativeTtl.newSession();
+    server.setUnavailable(true);
+    assertFalse(otherSession.isAccessible(client, EMAIL, "gs://bucket-00001"));
+
+    server.setUnavailable(false);
+    assertTrue(otherSession.isAccessible(client, EMAIL, "gs://bucket-00001"));
+    assertEquals(2, server.getGetRequests());
+    assertEquals(0, otherSession.getCacheHits());
+  }
+
+  @Test
+  public void testIsAccessible_concurrentChecksShareOneCall() throws Exception {
+    server.setResponseDelay(300);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Boolean> first =
+          executor.submit(() -> session.isAccessible(client, EMAIL, "gs://bucket-00002"));
+      Future<Boolean> second =
+          executor.submit(() -> session.isAccessible(client, EMAIL, "gs://bucket-00002/x"));
+      assertTrue(first.get());
+      assertTrue(second.get());
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, server.getGetRequests());
+    assertEquals(1, session.getRemoteCalls());
+    assertEquals(1, session.getSharedChecks());
+  }
+
+  @Test
+  public void testInvalidate() {
+    session.isAccessible(client, EMAIL, "gs://bucket-00001");
+    verifier.invalidate(EMAIL, "gs://bucket-00001/staging");
+    session.isAccessible(client, EMAIL, "gs://bucket-00001");
+    assertEquals(2, server.getGetRequests());
+  }
+
+  @Test
+  public void testVerifyAll() {
+    server.setResponseDelay(100);
+    Map<String, Boolean> accessible = session.verifyAll(client, EMAIL, Arrays.asList(
+        "gs://bucket-00001", "gs://bucket-00002", "gs://bucket-00002/staging",
+        "gs://no-such-bucket", "gs://bucket-00003", "gs://bucket-00004", "gs://bucket-00005"),
+        new NullProgressMonitor());
+
+    assertEquals(Arrays.asList("gs://bucket-00001", "gs://bucket-00002",
+        "gs://bucket-00002/staging", "gs://no-such-bucket", "gs://bucket-00003",
+        "gs://bucket-00004", "gs://bucket-00005"), Arrays.asList(accessible.keySet().toArray()));
+    assertTrue(accessible.get("gs://bucket-00002/staging"));
+    assertFalse(accessible.get("gs://no-such-bucket"));
+    assertEquals(6, server.getGetRequests());
+    assertTrue(server.getMaxConcurrentRequests() > 1);
+  }
+
+  @Test
+  public void testVerifyAll_laterChecksAnsweredFromCache() {
+    session.verifyAll(client, EMAIL, Arrays.asList("gs://bucket-00001", "gs://bucket-00002"),
+        new NullProgressMonitor());
+    StagingLocationVerifier.Session laterSession = verifier.newSession();
+    assertTrue(laterSession.isAccessible(client, EMAIL, "gs://bucket-00002"));
+
+    assertEquals(2, server.getGetRequests());
+    assertEquals(2, session.getRemoteCalls());
+    assertEquals(0, laterSession.getRemoteCalls());
+    assertEquals(1, laterSession.getCacheHits());
+  }
+}
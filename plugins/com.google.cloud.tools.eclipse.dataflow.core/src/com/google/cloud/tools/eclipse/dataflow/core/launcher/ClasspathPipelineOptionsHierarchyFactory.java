@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.google.cloud.tools.eclipse.dataflow.core.DataflowCorePlugin;
 import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.JavaProjectPipelineOptionsHierarchy;
 import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsHierarchy;
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsIndex;
 import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsNamespaces;
 import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
 import org.eclipse.core.resources.IProject;
@@ -32,7 +33,9 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A Factory that creates instances of {@link PipelineOptionsHierarchy} based on the classpath of
- * the project, or an {@link EmptyPipelineOptionsHierarchy} if no project is provided.
+ * the project, or an {@link EmptyPipelineOptionsHierarchy} if no project is provided. Project
+ * hierarchies come from the workspace's {@link PipelineOptionsIndex}, so that they are computed
+ * once rather than for each launch and each refresh of the launch configuration tab.
  */
 public class ClasspathPipelineOptionsHierarchyFactory implements PipelineOptionsHierarchyFactory {
   /**
@@ -59,11 +62,22 @@ public class ClasspathPipelineOptionsHierarchyFactory implements PipelineOptions
       if (rootType == null || !rootType.exists()) {
         return global(monitor);
       }
-      return new JavaProjectPipelineOptionsHierarchy(javaProject, version, monitor);
+      return PipelineOptionsIndex.getInstance().getHierarchy(javaProject, version, monitor);
     } catch (JavaModelException e) {
       DataflowCorePlugin.logError(e,
           "Error while constructing Pipeline Options Hierarchy for project %s", project.getName());
       throw new PipelineOptionsRetrievalException(e);
     }
   }
+
+  /**
+   * Returns the generation of the project in the workspace's {@link PipelineOptionsIndex}, without
+   * loading the index.
+   */
+  @Override
+  public long getGeneration(IProject project) {
+    PipelineOptionsIndex index = PipelineOptionsIndex.getLoadedInstance();
+    // an index not yet loaded has handed out no hierarchy to be out of date
+    return index == null ? 0 : index.getGeneration(project.getName());
+  }
 }
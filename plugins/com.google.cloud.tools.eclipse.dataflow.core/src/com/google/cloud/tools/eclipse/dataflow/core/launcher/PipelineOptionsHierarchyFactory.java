@@ -37,4 +37,12 @@ public interface PipelineOptionsHierarchyFactory {
   PipelineOptionsHierarchy forProject(
       IProject project, MajorVersion projectVersion, IProgressMonitor monitor)
       throws PipelineOptionsRetrievalException;
+
+  /**
+   * Returns a number that changes whenever the hierarchy returned by
+   * {@link #forProject(IProject, MajorVersion, IProgressMonitor)} for {@code project} may have
+   * changed, such as when the options types of the project are edited. Called in the UI thread, so
+   * must not block.
+   */
+  long getGeneration(IProject project);
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher.options;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.Ordering;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Answers the queries of a {@link PipelineOptionsHierarchy} from its {@link PipelineOptionsType
+ * PipelineOptionsTypes}, however those are found.
+ */
+abstract class AbstractPipelineOptionsHierarchy implements PipelineOptionsHierarchy {
+
+  @Override
+  public NavigableMap<PipelineOptionsType, Set<PipelineOptionsProperty>> getOptionsHierarchy(
+      String... typeNames) {
+    NavigableMap<PipelineOptionsType, Set<PipelineOptionsProperty>> result =
+        new TreeMap<>(new PipelineOptionsTypeWeightOrdering());
+    Queue<PipelineOptionsType> optionsTypesToAdd = new ArrayDeque<>();
+    for (String typeName : typeNames) {
+      if (!Strings.isNullOrEmpty(typeName)) {
+        PipelineOptionsType pipelineOptionsType = getPipelineOptionsType(typeName);
+        if (pipelineOptionsType != null) {
+          optionsTypesToAdd.add(pipelineOptionsType);
+        }
+      }
+    }
+    while (!optionsTypesToAdd.isEmpty()) {
+      PipelineOptionsType type = optionsTypesToAdd.poll();
+      if (!result.containsKey(type)) {
+        result.put(type, type.getDeclaredProperties());
+        optionsTypesToAdd.addAll(type.getDirectSuperInterfaces());
+      }
+    }
+    return result.descendingMap();
+  }
+
+  @Override
+  public Map<PipelineOptionsType, Set<PipelineOptionsProperty>> getRequiredOptionsByType(
+      String... baseTypeNames) {
+    Map<PipelineOptionsType, Set<PipelineOptionsProperty>> requiredOptions = new LinkedHashMap<>();
+    for (Map.Entry<PipelineOptionsType, Set<PipelineOptionsProperty>> optionsEntry :
+        getOptionsHierarchy(baseTypeNames).entrySet()) {
+      Set<PipelineOptionsProperty> properties = new HashSet<>();
+      for (PipelineOptionsProperty property : optionsEntry.getValue()) {
+        if (property.isRequired()) {
+          properties.add(property);
+        }
+      }
+      if (!properties.isEmpty()) {
+        requiredOptions.put(optionsEntry.getKey(), properties);
+      }
+    }
+    return requiredOptions;
+  }
+
+  @Override
+  public Set<String> getPropertyNames(String... baseTypeNames) {
+    Set<String> result = new LinkedHashSet<>();
+    for (Set<PipelineOptionsProperty> optionsProperties :
+        getOptionsHierarchy(baseTypeNames).values()) {
+      for (PipelineOptionsProperty property : optionsProperties) {
+        result.add(property.getName());
+      }
+    }
+    return result;
+  }
+
+  private static class PipelineOptionsTypeWeightOrdering extends Ordering<PipelineOptionsType> {
+    @Override
+    public int compare(PipelineOptionsType o1, PipelineOptionsType o2) {
+      Preconditions.checkNotNull(o1, "use with nullsFirst() or nullsLast()");
+      Preconditions.checkNotNull(o2, "use with nullsFirst() or nullsLast()");
+      return ComparisonChain.start()
+          .compare(o1.getWeight(), o2.getWeight())
+          .compare(o1.getName(), o2.getName())
+          .result();
+    }
+  }
+}
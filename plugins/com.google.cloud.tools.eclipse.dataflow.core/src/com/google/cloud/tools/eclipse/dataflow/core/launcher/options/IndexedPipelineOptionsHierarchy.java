@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher.options;
+
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsIndex.IndexedType;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link PipelineOptionsHierarchy} of the types recorded by a {@link PipelineOptionsIndex}.
+ */
+class IndexedPipelineOptionsHierarchy extends AbstractPipelineOptionsHierarchy {
+
+  private final Map<String, IndexedType> indexedTypes;
+
+  /** The {@link PipelineOptionsType PipelineOptionsTypes} created so far, by name. */
+  private final Map<String, PipelineOptionsType> knownTypes = new HashMap<>();
+
+  IndexedPipelineOptionsHierarchy(Map<String, IndexedType> indexedTypes) {
+    this.indexedTypes = indexedTypes;
+  }
+
+  @Override
+  public PipelineOptionsType getPipelineOptionsType(String typeName) {
+    IndexedType indexedType = indexedTypes.get(typeName);
+    return indexedType == null ? null : getOrCreatePipelineOptionsType(indexedType);
+  }
+
+  @Override
+  public Map<String, PipelineOptionsType> getAllPipelineOptionsTypes() {
+    for (IndexedType indexedType : indexedTypes.values()) {
+      getOrCreatePipelineOptionsType(indexedType);
+    }
+    return Collections.unmodifiableMap(knownTypes);
+  }
+
+  /** Creates the type and, recursively, its supertypes, or returns it if already created. */
+  private PipelineOptionsType getOrCreatePipelineOptionsType(IndexedType indexedType) {
+    PipelineOptionsType type = knownTypes.get(indexedType.name);
+    if (type != null) {
+      return type;
+    }
+    ImmutableSet.Builder<PipelineOptionsType> parentTypes = ImmutableSet.builder();
+    for (String superInterface : indexedType.superInterfaces) {
+      IndexedType indexedSuperInterface = indexedTypes.get(superInterface);
+      if (indexedSuperInterface != null) {
+        parentTypes.add(getOrCreatePipelineOptionsType(indexedSuperInterface));
+      }
+    }
+    type = new PipelineOptionsType(indexedType.name, parentTypes.build(),
+        ImmutableSet.copyOf(indexedType.properties));
+    knownTypes.put(indexedType.name, type);
+    return type;
+  }
+}
@@ -19,21 +19,11 @@ package com.google.cloud.tools.eclipse.dataflow.core.launcher.options;
 import com.google.cloud.tools.eclipse.dataflow.core.DataflowCorePlugin;
 import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Strings;
-import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Ordering;
-import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.NavigableMap;
-import java.util.Queue;
 import java.util.Set;
-import java.util.TreeMap;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMethod;
@@ -45,7 +35,7 @@ import org.eclipse.jdt.core.JavaModelException;
  * A {@link PipelineOptionsHierarchy} that uses an {@code ITypeHierarchy} as the source of the
  * {@code PipelineOptionsHierarchy}.
  */
-public class JavaProjectPipelineOptionsHierarchy implements PipelineOptionsHierarchy {
+public class JavaProjectPipelineOptionsHierarchy extends AbstractPipelineOptionsHierarchy {
 
   private final IJavaProject project;
   private final ITypeHierarchy hierarchy;
@@ -119,61 +109,6 @@ public class JavaProjectPipelineOptionsHierarchy implements PipelineOptionsHiera
     return Collections.unmodifiableMap(knownTypes);
   }
 
-  @Override
-  public NavigableMap<PipelineOptionsType, Set<PipelineOptionsProperty>> getOptionsHierarchy(
-      String... typeNames) {
-    NavigableMap<PipelineOptionsType, Set<PipelineOptionsProperty>> result =
-        new TreeMap<>(new PipelineOptionsTypeWeightOrdering());
-    Queue<PipelineOptionsType> optionsTypesToAdd = new ArrayDeque<>();
-    for (String typeName : typeNames) {
-      if (!Strings.isNullOrEmpty(typeName)) {
-        PipelineOptionsType pipelineOptionsType = getPipelineOptionsType(typeName);
-        if (pipelineOptionsType != null) {
-          optionsTypesToAdd.add(pipelineOptionsType);
-        }
-      }
-    }
-    while (!optionsTypesToAdd.isEmpty()) {
-      PipelineOptionsType type = optionsTypesToAdd.poll();
-      if (!result.containsKey(type)) {
-        result.put(type, type.getDeclaredProperties());
-        optionsTypesToAdd.addAll(type.getDirectSuperInterfaces());
-      }
-    }
-    return result.descendingMap();
-  }
-
-  @Override
-  public Map<PipelineOptionsType, Set<PipelineOptionsProperty>> getRequiredOptionsByType(
-      String... baseTypeNames) {
-    Map<PipelineOptionsType, Set<PipelineOptionsProperty>> requiredOptions = new LinkedHashMap<>();
-    for (Map.Entry<PipelineOptionsType, Set<PipelineOptionsProperty>> optionsEntry :
-        getOptionsHierarchy(baseTypeNames).entrySet()) {
-      Set<PipelineOptionsProperty> properties = new HashSet<>();
-      for (PipelineOptionsProperty property : optionsEntry.getValue()) {
-        if (property.isRequired()) {
-          properties.add(property);
-        }
-      }
-      if (!properties.isEmpty()) {
-        requiredOptions.put(optionsEntry.getKey(), properties);
-      }
-    }
-    return requiredOptions;
-  }
-
-  @Override
-  public Set<String> getPropertyNames(String... baseTypeNames) {
-    Set<String> result = new LinkedHashSet<>();
-    for (Set<PipelineOptionsProperty> optionsProperties :
-        getOptionsHierarchy(baseTypeNames).values()) {
-      for (PipelineOptionsProperty property : optionsProperties) {
-        result.add(property.getName());
-      }
-    }
-    return result;
-  }
-
   /**
    * Retrieve the {@link PipelineOptionsType} for the provided {@code optionsType} using the
    * {@code
@@ -199,13 +134,14 @@ public class JavaProjectPipelineOptionsHierarchy implements PipelineOptionsHiera
       parentTypes.add(superInterfaceType);
     }
 
-    PipelineOptionsType myType = new PipelineOptionsType(
-        optionsType.getFullyQualifiedName(), parentTypes.build(), getProperties(optionsType));
+    PipelineOptionsType myType = new PipelineOptionsType(optionsType.getFullyQualifiedName(),
+        parentTypes.build(), getProperties(optionsType, majorVersion));
     knownTypes.put(optionsType.getFullyQualifiedName(), myType);
     return myType;
   }
 
-  private Set<PipelineOptionsProperty> getProperties(IType optionsType) {
+  /** Returns the properties declared by {@code optionsType}. */
+  static Set<PipelineOptionsProperty> getProperties(IType optionsType, MajorVersion majorVersion) {
     try {
       ImmutableSet.Builder<PipelineOptionsProperty> propertiesBuilder = ImmutableSet.builder();
       for (IMethod method : optionsType.getMethods()) {
@@ -221,16 +157,4 @@ public class JavaProjectPipelineOptionsHierarchy implements PipelineOptionsHiera
       return Collections.emptySet();
     }
   }
-
-  private static class PipelineOptionsTypeWeightOrdering extends Ordering<PipelineOptionsType> {
-    @Override
-    public int compare(PipelineOptionsType o1, PipelineOptionsType o2) {
-      Preconditions.checkNotNull(o1, "use with nullsFirst() or nullsLast()");
-      Preconditions.checkNotNull(o2, "use with nullsFirst() or nullsLast()");
-      return ComparisonChain.start()
-          .compare(o1.getWeight(), o2.getWeight())
-          .compare(o1.getName(), o2.getName())
-          .result();
-    }
-  }
 }
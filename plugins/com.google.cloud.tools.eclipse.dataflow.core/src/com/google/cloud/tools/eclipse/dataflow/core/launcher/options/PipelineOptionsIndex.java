@@ -0,0 +1,685 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.launcher.options;
+
+import com.google.cloud.tools.eclipse.dataflow.core.DataflowCorePlugin;
+import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ISaveContext;
+import org.eclipse.core.resources.ISaveParticipant;
+import org.eclipse.core.resources.ISavedState;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * An index of the {@code PipelineOptions} types of Java projects and their properties, shared by
+ * the launch delegate and the launch configuration tab. Building a {@link
+ * JavaProjectPipelineOptionsHierarchy} computes a type hierarchy across the project's classpath,
+ * which takes seconds for large projects. The index does so once per project, then applies Java
+ * element deltas to the types of the compilation units that change. Changes it cannot apply
+ * incrementally, such as a changed classpath, drop the project from the index, and the next
+ * request rebuilds it. A project's hierarchy also holds the types of the projects on its
+ * classpath, so changes to those projects are applied to it as well.
+ *
+ * <p>The index is saved in the plugin state location when the workspace is saved. On the next
+ * session, projects whose Java files or classpath, or those of the projects they reference,
+ * changed while the index was not listening are dropped.
+ */
+public class PipelineOptionsIndex implements IElementChangedListener {
+
+  private static final String STATE_FILE = "pipeline-options-index.json"; //$NON-NLS-1$
+  private static final int FORMAT = 2;
+
+  private static volatile PipelineOptionsIndex instance;
+
+  /**
+   * Returns the workspace's index, loading it from the last session if necessary. Loading reads
+   * the saved index and the changes since, so it should not be done in the UI thread.
+   */
+  public static synchronized PipelineOptionsIndex getInstance() {
+    if (instance == null) {
+      File stateFile = DataflowCorePlugin.getDefault().getStateLocation().append(STATE_FILE)
+          .toFile();
+      PipelineOptionsIndex index = new PipelineOptionsIndex(stateFile.toPath());
+      index.load();
+      try {
+        ISavedState savedState = ResourcesPlugin.getWorkspace().addSaveParticipant(
+            DataflowCorePlugin.PLUGIN_ID, index.new SaveParticipant());
+        if (savedState == null) {
+          index.clear();  // no record of what changed since the index was saved
+        } else {
+          savedState.processResourceChangeEvents(index::resourcesChangedSinceSave);
+        }
+      } catch (CoreException ex) {
+        DataflowCorePlugin.logWarning(ex, "Could not register to save the options index");
+        index.clear();
+      }
+      JavaCore.addElementChangedListener(index, ElementChangedEvent.POST_CHANGE);
+      // no hierarchy was handed out before now, so none is out of date
+      index.projectGenerations.clear();
+      instance = index;
+    }
+    return instance;
+  }
+
+  /** Returns the workspace's index, or {@code null} if it has not been loaded yet. */
+  public static PipelineOptionsIndex getLoadedInstance() {
+    return instance;
+  }
+
+  /** Stops maintaining the workspace's index, if it was created. */
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      JavaCore.removeElementChangedListener(instance);
+      ResourcesPlugin.getWorkspace().removeSaveParticipant(DataflowCorePlugin.PLUGIN_ID);
+      instance = null;
+    }
+  }
+
+  private final Path stateFile;
+  private final Gson gson = new Gson();
+
+  /** Indexed projects by name; guarded by {@code this}. */
+  private final Map<String, ProjectEntry> projects = new HashMap<>();
+  /** Incremented on each change to {@link #projects}, to discard builds that race with one. */
+  private long generation;
+  /**
+   * Incremented for a project on each change to its indexed hierarchy, so that callers can tell
+   * when to request it again; read without locking.
+   */
+  private final ConcurrentMap<String, Long> projectGenerations = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong builds = new AtomicLong();
+  private final AtomicLong incrementalUpdates = new AtomicLong();
+  private final AtomicLong drops = new AtomicLong();
+
+  @VisibleForTesting
+  PipelineOptionsIndex(Path stateFile) {
+    this.stateFile = stateFile;
+  }
+
+  /**
+   * Returns the {@code PipelineOptions} hierarchy of {@code project}, building the project's index
+   * if it is not yet indexed. Building can be long-running.
+   *
+   * @throws IllegalArgumentException if the project has no {@code PipelineOptions} type
+   */
+  public PipelineOptionsHierarchy getHierarchy(IJavaProject project, MajorVersion version,
+      IProgressMonitor monitor) throws JavaModelException {
+    String projectName = project.getElementName();
+    long startGeneration;
+    synchronized (this) {
+      ProjectEntry entry = projects.get(projectName);
+      if (entry != null && entry.majorVersion == version && isCurrent(project, entry)) {
+        hits.incrementAndGet();
+        return new IndexedPipelineOptionsHierarchy(new HashMap<>(entry.types));
+      }
+      startGeneration = generation;
+    }
+
+    ProjectEntry built = build(project, version, monitor);
+    builds.incrementAndGet();
+    synchronized (this) {
+      // a delta received while building may not be reflected in what was built; storing what
+      // was built changes no hierarchy handed out, so the generations are left unchanged
+      if (generation == startGeneration) {
+        projects.put(projectName, built);
+      }
+    }
+    return new IndexedPipelineOptionsHierarchy(new HashMap<>(built.types));
+  }
+
+  /**
+   * Verifies, once per session, that a project indexed in an earlier session is still current,
+   * along with the projects that it references.
+   */
+  private boolean isCurrent(IJavaProject project, ProjectEntry entry) {
+    if (!entry.verified) {
+      try {
+        Set<String> referencedProjects = referencedProjects(project);
+        entry.verified = entry.referencedProjects.equals(referencedProjects)
+            && entry.classpath.equals(classpathFingerprint(project, referencedProjects));
+      } catch (JavaModelException ex) {
+        return false;
+      }
+    }
+    return entry.verified;
+  }
+
+  private static ProjectEntry build(IJavaProject project, MajorVersion version,
+      IProgressMonitor monitor) throws JavaModelException {
+    IType rootType = project.findType(PipelineOptionsNamespaces.rootType(version));
+    Preconditions.checkArgument(rootType != null && rootType.exists(),
+        "project has no PipelineOptions type");
+    ITypeHierarchy hierarchy = rootType.newTypeHierarchy(monitor);
+
+    // the hierarchy also holds the supertypes of PipelineOptions, which are not options themselves
+    Set<String> optionsTypes = new HashSet<>();
+    optionsTypes.add(rootType.getFullyQualifiedName());
+    for (IType subtype : hierarchy.getAllSubtypes(rootType)) {
+      optionsTypes.add(subtype.getFullyQualifiedName());
+    }
+    Map<String, IndexedType> types = new HashMap<>();
+    for (IType type : hierarchy.getAllInterfaces()) {
+      List<String> superInterfaces = new ArrayList<>();
+      for (IType superInterface : hierarchy.getSuperInterfaces(type)) {
+        superInterfaces.add(superInterface.getFullyQualifiedName());
+      }
+      types.put(type.getFullyQualifiedName(), new IndexedType(type, superInterfaces,
+          JavaProjectPipelineOptionsHierarchy.getProperties(type, version),
+          optionsTypes.contains(type.getFullyQualifiedName())));
+    }
+    Set<String> referencedProjects = referencedProjects(project);
+    ProjectEntry entry = new ProjectEntry(version, referencedProjects,
+        classpathFingerprint(project, referencedProjects), types);
+    entry.verified = true;
+    return entry;
+  }
+
+  /** Returns the names of the projects on the classpath of {@code project}, transitively. */
+  private static Set<String> referencedProjects(IJavaProject project) throws JavaModelException {
+    Set<String> names = new TreeSet<>();
+    Deque<IJavaProject> pending = new ArrayDeque<>();
+    pending.add(project);
+    while (!pending.isEmpty()) {
+      for (String name : pending.remove().getRequiredProjectNames()) {
+        IJavaProject referenced = project.getJavaModel().getJavaProject(name);
+        if (!name.equals(project.getElementName()) && names.add(name) && referenced.exists()) {
+          pending.add(referenced);
+        }
+      }
+    }
+    return names;
+  }
+
+  /**
+   * Returns the resolved classpaths of {@code project} and the projects it references, with the
+   * modification times of archives.
+   */
+  private static List<String> classpathFingerprint(IJavaProject project,
+      Set<String> referencedProjects) throws JavaModelException {
+    List<String> fingerprint = new ArrayList<>();
+    addClasspath(project, fingerprint);
+    for (String name : referencedProjects) {
+      IJavaProject referenced = project.getJavaModel().getJavaProject(name);
+      fingerprint.add(name + ":" + referenced.exists()); //$NON-NLS-1$
+      if (referenced.exists()) {
+        addClasspath(referenced, fingerprint);
+      }
+    }
+    return fingerprint;
+  }
+
+  private static void addClasspath(IJavaProject project, List<String> fingerprint)
+      throws JavaModelException {
+    for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+      String path = entry.getPath().toString();
+      File file = entry.getPath().toFile();
+      if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY && file.isFile()) {
+        path += ":" + file.lastModified(); //$NON-NLS-1$
+      }
+      fingerprint.add(path);
+    }
+  }
+
+  @Override
+  public void elementChanged(ElementChangedEvent event) {
+    synchronized (this) {
+      if (!projects.isEmpty()) {
+        processDelta(event.getDelta());
+      }
+    }
+  }
+
+  private void processDelta(IJavaElementDelta delta) {
+    IJavaElement element = delta.getElement();
+    if (element.getElementType() == IJavaElement.JAVA_MODEL) {
+      for (IJavaElementDelta child : delta.getAffectedChildren()) {
+        processDelta(child);
+      }
+    } else if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
+      List<String> affected = getAffectedProjects(element.getElementName());
+      if (affected.isEmpty()) {
+        return;
+      }
+      ProjectChanges changes = new ProjectChanges();
+      changes.collect(delta);
+      for (String projectName : affected) {
+        if (changes.rebuild || !applyChanges(projects.get(projectName), changes)) {
+          drop(projectName);
+        } else if (!changes.isEmpty()) {
+          incrementalUpdates.incrementAndGet();
+          changed(projectName);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the indexed projects whose hierarchy a change to {@code projectName} may affect: the
+   * project itself, and those that reference it.
+   */
+  private List<String> getAffectedProjects(String projectName) {
+    List<String> affected = new ArrayList<>();
+    for (Map.Entry<String, ProjectEntry> entry : projects.entrySet()) {
+      if (entry.getKey().equals(projectName)
+          || entry.getValue().referencedProjects.contains(projectName)) {
+        affected.add(entry.getKey());
+      }
+    }
+    return affected;
+  }
+
+  /**
+   * Re-indexes the types of the changed compilation units in {@code entry}.
+   *
+   * @return {@code false} if the changes could not be applied, and the project must be rebuilt
+   */
+  private static boolean applyChanges(ProjectEntry entry, ProjectChanges changes) {
+    // forget what the compilation units declared
+    Map<String, IndexedType> previous = new HashMap<>();
+    for (Iterator<IndexedType> iterator = entry.types.values().iterator(); iterator.hasNext(); ) {
+      IndexedType type = iterator.next();
+      if (type.compilationUnit != null && changes.handles.contains(type.compilationUnit)) {
+        previous.put(type.name, type);
+        iterator.remove();
+      }
+    }
+
+    try {
+      List<IType> candidates = new ArrayList<>();
+      for (ICompilationUnit unit : changes.units) {
+        if (unit.exists()) {
+          for (IType type : unit.getAllTypes()) {
+            if (type.isInterface()) {
+              candidates.add(type);
+            }
+          }
+        }
+      }
+      // index the interfaces that extend options, repeating as they may extend each other
+      String rootType = PipelineOptionsNamespaces.rootType(entry.majorVersion);
+      boolean progress = true;
+      while (progress) {
+        progress = false;
+        for (Iterator<IType> iterator = candidates.iterator(); iterator.hasNext(); ) {
+          IType type = iterator.next();
+          String name = type.getFullyQualifiedName();
+          List<String> superInterfaces = resolveSuperInterfaces(type);
+          IndexedType before = previous.get(name);
+          boolean pipelineOptions = name.equals(rootType) || extendsOptions(entry, superInterfaces);
+          if (pipelineOptions && before == null
+              && !changes.added.contains(type.getCompilationUnit())) {
+            // an existing interface now extends options; so might unindexed interfaces elsewhere
+            return false;
+          }
+          // supertypes of PipelineOptions in source stay indexed as long as they exist
+          if (pipelineOptions || (before != null && !before.pipelineOptions)) {
+            entry.types.put(name, new IndexedType(type, superInterfaces,
+                JavaProjectPipelineOptionsHierarchy.getProperties(type, entry.majorVersion),
+                pipelineOptions));
+            iterator.remove();
+            progress = true;
+          }
+        }
+      }
+    } catch (JavaModelException ex) {
+      DataflowCorePlugin.logWarning(ex, "Could not update the options index incrementally");
+      return false;
+    }
+
+    if (!entry.types.keySet().containsAll(previous.keySet())) {
+      removeOrphans(entry);
+    }
+    return true;
+  }
+
+  private static boolean extendsOptions(ProjectEntry entry, List<String> superInterfaces) {
+    for (String superInterface : superInterfaces) {
+      IndexedType indexed = entry.types.get(superInterface);
+      if (indexed != null && indexed.pipelineOptions) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Removes the options types whose options supertypes have all been removed. */
+  private static void removeOrphans(ProjectEntry entry) {
+    String rootType = PipelineOptionsNamespaces.rootType(entry.majorVersion);
+    boolean removed = true;
+    while (removed) {
+      removed = entry.types.values().removeIf(type -> type.pipelineOptions
+          && !type.name.equals(rootType) && !extendsOptions(entry, type.superInterfaces));
+    }
+  }
+
+  /** Returns the fully qualified names of the interfaces that {@code type} extends. */
+  private static List<String> resolveSuperInterfaces(IType type) throws JavaModelException {
+    List<String> names = new ArrayList<>();
+    for (String name : type.getSuperInterfaceNames()) {
+      int typeArguments = name.indexOf('<');
+      String erasure = typeArguments < 0 ? name : name.substring(0, typeArguments);
+      String[][] resolved = type.resolveType(erasure);
+      if (resolved != null && resolved.length == 1) {
+        String packageName = resolved[0][0];
+        String typeName = resolved[0][1].replace('.', '$');
+        names.add(packageName.isEmpty() ? typeName : packageName + "." + typeName);
+      }
+    }
+    return names;
+  }
+
+  /**
+   * Drops projects whose Java files or classpath, or those of the projects they reference, changed
+   * while the workbench was not running.
+   */
+  private synchronized void resourcesChangedSinceSave(IResourceChangeEvent event) {
+    IResourceDelta delta = event.getDelta();
+    if (delta == null) {
+      clear();
+      return;
+    }
+    for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+      List<String> affected = getAffectedProjects(projectDelta.getResource().getName());
+      if (!affected.isEmpty() && affectsJava(projectDelta)) {
+        for (String projectName : affected) {
+          drop(projectName);
+        }
+      }
+    }
+  }
+
+  private static boolean affectsJava(IResourceDelta delta) {
+    IResource resource = delta.getResource();
+    if (resource.getType() == IResource.FILE) {
+      String extension = resource.getFileExtension();
+      return "java".equals(extension) || "jar".equals(extension) //$NON-NLS-1$ //$NON-NLS-2$
+          || ".classpath".equals(resource.getName()) //$NON-NLS-1$
+          || "pom.xml".equals(resource.getName()); //$NON-NLS-1$
+    }
+    if (delta.getKind() != IResourceDelta.CHANGED) {
+      return true;  // a folder added or removed may contain Java files
+    }
+    for (IResourceDelta child : delta.getAffectedChildren()) {
+      if (affectsJava(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private synchronized void drop(String projectName) {
+    if (projects.remove(projectName) != null) {
+      drops.incrementAndGet();
+      changed(projectName);
+    }
+  }
+
+  private synchronized void clear() {
+    for (String projectName : projects.keySet()) {
+      changed(projectName);
+    }
+    projects.clear();
+    generation++;
+  }
+
+  /** Records a change to the indexed hierarchy of a project; guarded by {@code this}. */
+  private void changed(String projectName) {
+    generation++;
+    projectGenerations.merge(projectName, 1L, Long::sum);
+  }
+
+  @VisibleForTesting
+  synchronized void load() {
+    if (!Files.exists(stateFile)) {
+      return;
+    }
+    try (Reader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+      SavedIndex saved = gson.fromJson(reader, SavedIndex.class);
+      if (saved != null && saved.format == FORMAT && saved.projects != null) {
+        projects.putAll(saved.projects);
+        generation++;
+      }
+    } catch (IOException | JsonParseException ex) {
+      DataflowCorePlugin.logWarning(ex, "Could not load the options index; rebuilding it");
+    }
+  }
+
+  @VisibleForTesting
+  void save() {
+    SavedIndex saved = new SavedIndex();
+    synchronized (this) {
+      saved.projects = new HashMap<>(projects);
+      String json = gson.toJson(saved);
+      try {
+        Files.createDirectories(stateFile.getParent());
+        Path temporary = Files.createTempFile(stateFile.getParent(), "index", ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+          writer.write(json);
+        }
+        Files.move(temporary, stateFile, StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException ex) {
+        DataflowCorePlugin.logWarning(ex, "Could not save the options index");
+      }
+    }
+  }
+
+  /**
+   * Returns a number that changes each time the indexed hierarchy of a project changes, so that
+   * callers holding its hierarchy can tell when to request it again. Does not block.
+   */
+  public long getGeneration(String projectName) {
+    return projectGenerations.getOrDefault(projectName, 0L);
+  }
+
+  /** Returns the number of hierarchies returned from the index without building. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of times that a project's type hierarchy was computed. */
+  public long getBuilds() {
+    return builds.get();
+  }
+
+  /** Returns the number of Java element deltas applied to indexed projects. */
+  public long getIncrementalUpdates() {
+    return incrementalUpdates.get();
+  }
+
+  @Override
+  public String toString() {
+    return "PipelineOptionsIndex[hits=" + hits + ", builds=" + builds + ", incrementalUpdates="
+        + incrementalUpdates + ", drops=" + drops + "]";
+  }
+
+  /** The compilation units of a project changed by a Java element delta. */
+  private static class ProjectChanges {
+    private final List<ICompilationUnit> units = new ArrayList<>();
+    private final Set<ICompilationUnit> added = new HashSet<>();
+    private final Set<String> handles = new HashSet<>();
+    private boolean rebuild;
+
+    private void collect(IJavaElementDelta delta) {
+      int flags = delta.getFlags();
+      switch (delta.getElement().getElementType()) {
+        case IJavaElement.JAVA_PROJECT:
+          if (delta.getKind() != IJavaElementDelta.CHANGED
+              || (flags & (IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_CLASSPATH_CHANGED
+                  | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+            rebuild = true;
+            return;
+          }
+          break;
+        case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+          if (delta.getKind() != IJavaElementDelta.CHANGED
+              || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+                  | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+                  | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+            rebuild = true;
+            return;
+          }
+          break;
+        case IJavaElement.PACKAGE_FRAGMENT:
+          if (delta.getKind() != IJavaElementDelta.CHANGED) {
+            try {
+              // packages are created empty, and then their files are added one by one
+              IPackageFragment fragment = (IPackageFragment) delta.getElement();
+              rebuild = delta.getKind() == IJavaElementDelta.REMOVED
+                  || fragment.getCompilationUnits().length > 0;
+            } catch (JavaModelException ex) {
+              rebuild = true;
+            }
+            return;
+          }
+          break;
+        case IJavaElement.COMPILATION_UNIT:
+          ICompilationUnit unit = (ICompilationUnit) delta.getElement();
+          // a delta of the working copy alone does not change the file that builds read
+          if (!unit.isWorkingCopy() || delta.getKind() != IJavaElementDelta.CHANGED
+              || (flags & IJavaElementDelta.F_PRIMARY_RESOURCE) != 0) {
+            units.add(unit);
+            handles.add(unit.getHandleIdentifier());
+            if (delta.getKind() == IJavaElementDelta.ADDED) {
+              added.add(unit);
+            }
+          }
+          return;
+        default:
+          return;
+      }
+      for (IJavaElementDelta child : delta.getAffectedChildren()) {
+        collect(child);
+        if (rebuild) {
+          return;
+        }
+      }
+    }
+
+    private boolean isEmpty() {
+      return units.isEmpty();
+    }
+  }
+
+  /** Saves the index with the workspace, and requests the resource delta until the next save. */
+  private class SaveParticipant implements ISaveParticipant {
+    @Override
+    public void saving(ISaveContext context) {
+      if (context.getKind() == ISaveContext.FULL_SAVE) {
+        save();
+        context.needDelta();
+      }
+    }
+
+    @Override
+    public void prepareToSave(ISaveContext context) {}
+
+    @Override
+    public void doneSaving(ISaveContext context) {}
+
+    @Override
+    public void rollback(ISaveContext context) {}
+  }
+
+  /** The form in which the index is saved. */
+  private static class SavedIndex {
+    private int format = FORMAT;
+    private Map<String, ProjectEntry> projects;
+  }
+
+  /** The indexed types of a project. */
+  private static class ProjectEntry {
+    private final MajorVersion majorVersion;
+    /** The names of the projects on the classpath, whose types the hierarchy also holds. */
+    private final Set<String> referencedProjects;
+    private final List<String> classpath;
+    private final Map<String, IndexedType> types;
+    /** Whether the classpath has been checked against the project in this session. */
+    private transient boolean verified;
+
+    private ProjectEntry(MajorVersion majorVersion, Set<String> referencedProjects,
+        List<String> classpath, Map<String, IndexedType> types) {
+      this.majorVersion = majorVersion;
+      this.referencedProjects = referencedProjects;
+      this.classpath = classpath;
+      this.types = types;
+    }
+  }
+
+  /** An interface of the {@code PipelineOptions} type hierarchy of a project. */
+  static class IndexedType {
+    final String name;
+    final List<String> superInterfaces;
+    final Set<PipelineOptionsProperty> properties;
+    /** Whether the type is or extends {@code PipelineOptions}, rather than being a supertype. */
+    final boolean pipelineOptions;
+    /** Handle of the compilation unit declaring the type, or {@code null} if it is binary. */
+    final String compilationUnit;
+
+    private IndexedType(IType type, List<String> superInterfaces,
+        Set<PipelineOptionsProperty> properties, boolean pipelineOptions) {
+      name = type.getFullyQualifiedName();
+      this.superInterfaces = superInterfaces;
+      this.properties = properties;
+      this.pipelineOptions = pipelineOptions;
+      ICompilationUnit unit = type.getCompilationUnit();
+      compilationUnit = unit == null ? null : unit.getHandleIdentifier();
+    }
+  }
+}
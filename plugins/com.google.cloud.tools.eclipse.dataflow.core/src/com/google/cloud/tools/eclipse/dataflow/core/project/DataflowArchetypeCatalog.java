@@ -0,0 +1,348 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import com.google.cloud.tools.eclipse.dataflow.core.DataflowCorePlugin;
+import com.google.cloud.tools.eclipse.util.ArtifactRetriever;
+import com.google.cloud.tools.eclipse.util.MavenUtils;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * A local catalog of the Dataflow archetypes, so that creating a project does not wait on the
+ * remote Maven repository. For each template and SDK major version, the catalog records the latest
+ * released archetype version and resolves that archetype's jar into the local Maven repository
+ * ahead of time. Generating a project from the catalog then needs neither repository metadata nor
+ * a download, and so works offline.
+ *
+ * <p>A background job refreshes the catalog once it is older than the refresh interval. Until
+ * then, and whenever the remote repository cannot be reached, the recorded versions are used. The
+ * catalog is saved in the plugin state location, so that the next session starts warm.
+ */
+public class DataflowArchetypeCatalog {
+
+  private static final String STATE_FILE = "archetype-catalog.json"; //$NON-NLS-1$
+  private static final int FORMAT = 1;
+  /** As long as {@link ArtifactRetriever} keeps repository metadata. */
+  private static final Duration REFRESH_INTERVAL = Duration.ofHours(4);
+
+  private static DataflowArchetypeCatalog instance;
+
+  /** Returns the shared catalog, loading it from the last session if necessary. */
+  public static synchronized DataflowArchetypeCatalog getDefault() {
+    if (instance == null) {
+      Path stateFile = DataflowCorePlugin.getDefault().getStateLocation().append(STATE_FILE)
+          .toFile().toPath();
+      DataflowArchetypeCatalog catalog = new DataflowArchetypeCatalog(stateFile,
+          new MavenArchetypeRepository(), REFRESH_INTERVAL, Clock.systemUTC());
+      catalog.load();
+      instance = catalog;
+    }
+    return instance;
+  }
+
+  private final Path stateFile;
+  private final ArchetypeRepository repository;
+  private final Duration refreshInterval;
+  private final Clock clock;
+  private final Gson gson = new Gson();
+
+  /** Archetype versions keyed by template and major version. */
+  private final Map<String, String> versions = new ConcurrentHashMap<>();
+  /** When the catalog was last refreshed, in milliseconds since the epoch. */
+  private volatile long refreshedAt;
+  /** The scheduled or running refresh; guarded by {@code this}. */
+  private Job refreshJob;
+
+  private final AtomicLong catalogHits = new AtomicLong();
+  private final AtomicLong remoteLookups = new AtomicLong();
+  private final AtomicLong resolutions = new AtomicLong();
+
+  @VisibleForTesting
+  DataflowArchetypeCatalog(Path stateFile, ArchetypeRepository repository,
+      Duration refreshInterval, Clock clock) {
+    this.stateFile = stateFile;
+    this.repository = repository;
+    this.refreshInterval = refreshInterval;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the version of {@code template} to generate {@code majorVersion} projects from. This
+   * is the version in the catalog if there is one, even if the catalog is due a refresh, which is
+   * then scheduled. Otherwise this looks up the latest release in the remote repository, which
+   * may be a blocking operation, and adds it to the catalog.
+   *
+   * @return the archetype version, or {@code null} if none is known and none can be found
+   */
+  public ArtifactVersion getArchetypeVersion(DataflowProjectArchetype template,
+      MajorVersion majorVersion) {
+    String version = versions.get(key(template, majorVersion));
+    if (version != null) {
+      catalogHits.incrementAndGet();
+      if (isStale()) {
+        scheduleRefresh();
+      }
+      return new DefaultArtifactVersion(version);
+    }
+    ArtifactVersion latest = lookUp(template, majorVersion);
+    if (latest != null) {
+      save();
+    }
+    return latest;
+  }
+
+  /**
+   * Returns whether {@code template} can be generated for {@code majorVersion} without network
+   * access: the catalog has a version for it and that version's jar is in the local repository.
+   */
+  public boolean isAvailableOffline(DataflowProjectArchetype template,
+      MajorVersion majorVersion) {
+    String version = versions.get(key(template, majorVersion));
+    return version != null && repository.isAvailableLocally(template.getArtifactId(), version);
+  }
+
+  /**
+   * Looks up the latest release of each archetype and resolves its jar into the local repository.
+   * An archetype that cannot be looked up keeps its current version. The catalog counts as
+   * refreshed only if at least one archetype was looked up, so that a refresh while the remote
+   * repository cannot be reached is tried again. This is a long-running blocking operation.
+   *
+   * @throws OperationCanceledException if {@code monitor} is cancelled
+   */
+  public void refresh(IProgressMonitor monitor) {
+    int archetypes = 0;
+    for (DataflowProjectArchetype template : DataflowProjectArchetype.values()) {
+      archetypes += template.getSdkVersions().size();
+    }
+    SubMonitor progress =
+        SubMonitor.convert(monitor, "Refreshing Dataflow archetypes", archetypes * 2);
+    boolean lookedUp = false;
+    for (DataflowProjectArchetype template : DataflowProjectArchetype.values()) {
+      for (MajorVersion majorVersion : template.getSdkVersions()) {
+        if (progress.isCanceled()) {
+          throw new OperationCanceledException();
+        }
+        if (lookUp(template, majorVersion) != null) {
+          lookedUp = true;
+        }
+        progress.worked(1);
+
+        String version = versions.get(key(template, majorVersion));
+        if (version != null && !repository.isAvailableLocally(template.getArtifactId(), version)) {
+          try {
+            resolutions.incrementAndGet();
+            repository.resolve(template.getArtifactId(), version, progress.split(1));
+          } catch (CoreException ex) {
+            // not fatal: generation resolves the archetype itself
+            DataflowCorePlugin.logWarning(ex, "Could not resolve archetype %s:%s:%s",
+                DataflowMavenCoordinates.GROUP_ID, template.getArtifactId(), version);
+          }
+        } else {
+          progress.worked(1);
+        }
+      }
+    }
+    if (lookedUp) {
+      refreshedAt = clock.millis();
+      save();
+    }
+  }
+
+  /**
+   * Schedules a background {@link #refresh refresh} if the catalog is older than the refresh
+   * interval and no refresh is already scheduled. Refreshes belong to the job family of the
+   * catalog.
+   *
+   * @return the scheduled or running refresh, or {@code null} if the catalog is up to date
+   */
+  public synchronized Job scheduleRefresh() {
+    if (refreshJob != null && refreshJob.getState() != Job.NONE) {
+      return refreshJob;
+    }
+    if (!isStale()) {
+      return null;
+    }
+    refreshJob = new RefreshJob();
+    refreshJob.setSystem(true);
+    refreshJob.schedule();
+    return refreshJob;
+  }
+
+  private boolean isStale() {
+    return clock.millis() - refreshedAt >= refreshInterval.toMillis();
+  }
+
+  private ArtifactVersion lookUp(DataflowProjectArchetype template, MajorVersion majorVersion) {
+    remoteLookups.incrementAndGet();
+    ArtifactVersion latest = repository.getLatestReleaseVersion(template.getArtifactId(),
+        majorVersion.getVersionRange());
+    if (latest != null) {
+      versions.put(key(template, majorVersion), latest.toString());
+    }
+    return latest;
+  }
+
+  private static String key(DataflowProjectArchetype template, MajorVersion majorVersion) {
+    return template.name() + ':' + majorVersion.name();
+  }
+
+  @VisibleForTesting
+  synchronized void load() {
+    if (!Files.exists(stateFile)) {
+      return;
+    }
+    try (Reader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+      SavedCatalog saved = gson.fromJson(reader, SavedCatalog.class);
+      if (saved != null && saved.format == FORMAT && saved.versions != null) {
+        versions.putAll(saved.versions);
+        refreshedAt = saved.refreshedAt;
+      }
+    } catch (IOException | JsonParseException ex) {
+      DataflowCorePlugin.logWarning(ex, "Could not load the archetype catalog; refreshing it");
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void save() {
+    SavedCatalog saved = new SavedCatalog();
+    saved.refreshedAt = refreshedAt;
+    saved.versions = new HashMap<>(versions);
+    String json = gson.toJson(saved);
+    try {
+      Files.createDirectories(stateFile.getParent());
+      Path temporary = Files.createTempFile(stateFile.getParent(), "catalog", ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+        writer.write(json);
+      }
+      Files.move(temporary, stateFile, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ex) {
+      DataflowCorePlugin.logWarning(ex, "Could not save the archetype catalog");
+    }
+  }
+
+  /** Returns the number of archetype versions answered from the catalog. */
+  public long getCatalogHits() {
+    return catalogHits.get();
+  }
+
+  /** Returns the number of archetype versions looked up in the remote repository. */
+  public long getRemoteLookups() {
+    return remoteLookups.get();
+  }
+
+  /** Returns the number of archetype jars resolved into the local repository ahead of time. */
+  public long getResolutions() {
+    return resolutions.get();
+  }
+
+  @Override
+  public String toString() {
+    return "DataflowArchetypeCatalog[catalogHits=" + getCatalogHits() + ", remoteLookups="
+        + getRemoteLookups() + ", resolutions=" + getResolutions() + "]";
+  }
+
+  /** Where the catalog finds archetype versions and jars. */
+  interface ArchetypeRepository {
+    /**
+     * Returns the latest released version of the archetype in {@code range}, or {@code null} if
+     * there is none or the repository cannot be reached.
+     */
+    ArtifactVersion getLatestReleaseVersion(String artifactId, VersionRange range);
+
+    /** Returns whether the archetype's jar is in the local repository. */
+    boolean isAvailableLocally(String artifactId, String version);
+
+    /** Resolves the archetype's jar into the local repository. */
+    void resolve(String artifactId, String version, IProgressMonitor monitor)
+        throws CoreException;
+  }
+
+  /** Finds archetypes on Maven Central and resolves them through m2e. */
+  private static class MavenArchetypeRepository implements ArchetypeRepository {
+    @Override
+    public ArtifactVersion getLatestReleaseVersion(String artifactId, VersionRange range) {
+      return ArtifactRetriever.DEFAULT.getLatestReleaseVersion(
+          DataflowMavenCoordinates.GROUP_ID, artifactId, range);
+    }
+
+    @Override
+    public boolean isAvailableLocally(String artifactId, String version) {
+      return MavenUtils.isArtifactAvailableLocally(
+          DataflowMavenCoordinates.GROUP_ID, artifactId, version, "jar", null); //$NON-NLS-1$
+    }
+
+    @Override
+    public void resolve(String artifactId, String version, IProgressMonitor monitor)
+        throws CoreException {
+      MavenUtils.resolveArtifact(DataflowMavenCoordinates.GROUP_ID, artifactId,
+          "jar", version, null, null, monitor); //$NON-NLS-1$
+    }
+  }
+
+  private class RefreshJob extends Job {
+    private RefreshJob() {
+      super("Refreshing Dataflow archetypes");
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+      return family == DataflowArchetypeCatalog.this || super.belongsTo(family);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      try {
+        refresh(monitor);
+        return Status.OK_STATUS;
+      } catch (OperationCanceledException ex) {
+        return Status.CANCEL_STATUS;
+      }
+    }
+  }
+
+  /** The form in which the catalog is saved. */
+  private static class SavedCatalog {
+    private int format = FORMAT;
+    private long refreshedAt;
+    private Map<String, String> versions;
+  }
+}
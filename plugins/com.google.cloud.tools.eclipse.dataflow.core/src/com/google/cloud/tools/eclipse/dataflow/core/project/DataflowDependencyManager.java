@@ -16,6 +16,7 @@
 
 package com.google.cloud.tools.eclipse.dataflow.core.project;
 
+import com.google.cloud.tools.eclipse.dataflow.core.project.PomModel.PomDependency;
 import com.google.cloud.tools.eclipse.util.ArtifactRetriever;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
@@ -30,13 +31,10 @@ import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
-import org.apache.maven.model.Dependency;
-import org.apache.maven.model.Model;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.m2e.core.MavenPlugin;
-import org.eclipse.m2e.core.embedder.IMaven;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
 
@@ -47,30 +45,30 @@ import org.eclipse.m2e.core.project.IMavenProjectRegistry;
 public class DataflowDependencyManager {
 
   private final ArtifactRetriever artifactRetriever;
-  private final IMaven maven;
+  private final PomModelService pomModels;
   private final IMavenProjectRegistry mavenProjectRegistry;
 
   public static DataflowDependencyManager create() {
     return create(
         ArtifactRetriever.DEFAULT,
-        MavenPlugin.getMaven(),
+        PomModelService.getDefault(),
         MavenPlugin.getMavenProjectRegistry());
   }
 
   @VisibleForTesting
   static DataflowDependencyManager create(
       ArtifactRetriever artifactRetriever,
-      IMaven maven,
+      PomModelService pomModels,
       IMavenProjectRegistry mavenProjectRegistry) {
-    return new DataflowDependencyManager(artifactRetriever, maven, mavenProjectRegistry);
+    return new DataflowDependencyManager(artifactRetriever, pomModels, mavenProjectRegistry);
   }
 
   private DataflowDependencyManager(
       ArtifactRetriever artifactRetriever,
-      IMaven maven,
+      PomModelService pomModels,
       IMavenProjectRegistry mavenProjectRegistry) {
     this.artifactRetriever = artifactRetriever;
-    this.maven = maven;
+    this.pomModels = pomModels;
     this.mavenProjectRegistry = mavenProjectRegistry;
   }
 
@@ -85,21 +83,16 @@ public class DataflowDependencyManager {
         currentVersionRange);
   }
 
-  private static boolean isDataflowDependency(Dependency dependency) {
-    return dependency.getGroupId().equals(DataflowMavenCoordinates.GROUP_ID)
-        && dependency.getArtifactId().equals(DataflowMavenCoordinates.ARTIFACT_ID);
-  }
-
   /**
    * Returns {@code true} if the provided {@code Model} has a dependency on the Dataflow Java SDK
    * with a version other than LATEST or RELEASE.
    */
   public boolean hasPinnedDataflowDependency(IProject project) {
-    Model model = getModelFromProject(project);
+    PomModel model = getModelFromProject(project);
     if (model == null) {
       return false;
     }
-    Dependency dependency = getDataflowDependencyFromModel(model);
+    PomDependency dependency = getDataflowDependencyFromModel(model);
     if (dependency == null
         || Artifact.LATEST_VERSION.equals(dependency.getVersion())
         || Artifact.RELEASE_VERSION.equals(dependency.getVersion())) {
@@ -113,11 +106,11 @@ public class DataflowDependencyManager {
    * with version LATEST or RELEASE.
    */
   public boolean hasTrackedDataflowDependency(IProject project) {
-    Model model = getModelFromProject(project);
+    PomModel model = getModelFromProject(project);
     if (model == null) {
       return false;
     }
-    Dependency dependency = getDataflowDependencyFromModel(model);
+    PomDependency dependency = getDataflowDependencyFromModel(model);
     if (dependency == null) {
       return false;
     }
@@ -143,9 +136,9 @@ public class DataflowDependencyManager {
    * @throws IllegalStateException if the encoded version range is not a valid version specification
    */
   private VersionRange getActualDataflowVersionRange(IProject project) {
-    Model model = getModelFromProject(project);
+    PomModel model = getModelFromProject(project);
     if (model != null) {
-      Dependency dependency = getDataflowDependencyFromModel(model);
+      PomDependency dependency = getDataflowDependencyFromModel(model);
       if (dependency != null) {
         String version = dependency.getVersion();
         if (!Strings.isNullOrEmpty(version)) {
@@ -184,12 +177,13 @@ public class DataflowDependencyManager {
     }
   }
 
-  private Model getModelFromProject(IProject project) {
+  /** Returns the model of the project's POM, which is read again only when the POM changes. */
+  private PomModel getModelFromProject(IProject project) {
     IMavenProjectFacade facade = mavenProjectRegistry.getProject(project);
     if (facade != null) {
       IFile pom = facade.getPom();
       try {
-        return maven.readModel(pom.getContents());
+        return pomModels.getModel(pom);
       } catch (CoreException e) {
         return null;
       }
@@ -197,13 +191,9 @@ public class DataflowDependencyManager {
     return null;
   }
 
-  private static Dependency getDataflowDependencyFromModel(Model model) {
-    for (Dependency dependency : model.getDependencies()) {
-      if (isDataflowDependency(dependency)) {
-        return dependency;
-      }
-    }
-    return null;
+  private static PomDependency getDataflowDependencyFromModel(PomModel model) {
+    return model.getDependency(
+        DataflowMavenCoordinates.GROUP_ID, DataflowMavenCoordinates.ARTIFACT_ID);
   }
 
   /**
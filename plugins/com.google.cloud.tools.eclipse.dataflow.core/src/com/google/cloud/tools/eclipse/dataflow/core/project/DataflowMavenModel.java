@@ -18,16 +18,8 @@ package com.google.cloud.tools.eclipse.dataflow.core.project;
 
 import com.google.cloud.tools.eclipse.dataflow.core.DataflowCorePlugin;
 import com.google.cloud.tools.eclipse.dataflow.core.natures.DataflowJavaProjectNature;
-import com.google.cloud.tools.eclipse.util.MappedNamespaceContext;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-import java.io.IOException;
-import javax.xml.namespace.NamespaceContext;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
@@ -35,111 +27,34 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
-import org.eclipse.wst.sse.core.StructuredModelManager;
-import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
-import org.eclipse.wst.xml.core.internal.provisional.document.IDOMModel;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * DataflowMavenModel provides methods to mutate a Maven POM in-place.
  */
 public class DataflowMavenModel {
-  private final XPath xpath;
-
   private final DataflowDependencyManager dependencyManager;
+  private final PomModelService pomModels;
   private final IProject project;
-  private final IDOMModel model;
+  private final IFile pom;
 
   @VisibleForTesting
-  DataflowMavenModel(
-      DataflowDependencyManager dependencyManager, XPath xpath, IProject project, IDOMModel model) {
+  DataflowMavenModel(DataflowDependencyManager dependencyManager, PomModelService pomModels,
+      IProject project, IFile pom) {
     this.dependencyManager = dependencyManager;
-    this.xpath = xpath;
+    this.pomModels = pomModels;
     this.project = project;
-    this.model = model;
-  }
-
-  /**
-   * Interface describing an edit that can be applied to a {@code pom.xml}.
-   */
-  private interface PomEdit {
-    /**
-     * Returns the XPath pattern to use for selecting nodes to edit.
-     */
-    String getXpathPattern();
-
-    /**
-     * This we be called on each node that matches the XPath.
-     *
-     * <p>It should apply the edit, if appropriate.
-     */
-    void apply(Node matchingNode);
-  }
-
-  /**
-   * An XPath expression that retrieves the version tag of the Dataflow Dependency in a POM.
-   *
-   * <p>Specifies the version element that is a child of a dependency element containing an
-   * artifactId element with contents equal to the SDK artifact ID, which is a child of the
-   * dependencies element, which is a child of the root level project element.
-   */
-  @VisibleForTesting
-  static final String DATAFLOW_VERSION_XPATH_EXPR = String.format(
-      "/pom:project/pom:dependencies/pom:dependency[pom:artifactId='%s']/pom:version",
-      DataflowMavenCoordinates.ARTIFACT_ID);
-
-  private static class SetDataflowDependencyVersion implements PomEdit {
-    private final VersionRange version;
-
-    public SetDataflowDependencyVersion(VersionRange version) {
-      this.version = version;
-    }
-
-    @Override
-    public String getXpathPattern() {
-      return DATAFLOW_VERSION_XPATH_EXPR;
-    }
-
-    @Override
-    public void apply(Node matchingNode) {
-      matchingNode.getFirstChild().setNodeValue(version.toString());
-    }
-  }
-
-  private void editPom(PomEdit... editOperations) throws IOException, CoreException {
-      model.aboutToChangeModel();
-      model.getUndoManager().beginRecording(model);
-      for (PomEdit editOperation : editOperations) {
-        NodeList exprResults = getMatchingNodes(editOperation.getXpathPattern());
-        for (int i = 0; i < exprResults.getLength(); i++) {
-          Node node = exprResults.item(i);
-          editOperation.apply(node);
-        }
-      }
-      model.getUndoManager().endRecording(model);
-      model.changedModel();
-      model.save();
-  }
-
-  private NodeList getMatchingNodes(String xpathPattern) {
-    try {
-      return getMatchingNodes(xpath, model.getDocument(), xpathPattern);
-    } catch (XPathExpressionException e) {
-      throw new IllegalArgumentException("XPath pattern '" + xpathPattern + "' was malformed", e);
-    }
+    this.pom = pom;
   }
 
-  @VisibleForTesting
-  static NodeList getMatchingNodes(XPath xpath, Document document, String xpathPattern)
-      throws XPathExpressionException {
-    XPathExpression expr = xpath.compile(xpathPattern);
-    return (NodeList) expr.evaluate(document, XPathConstants.NODESET);
+  private void setDataflowDependencyVersion(VersionRange version, IProgressMonitor monitor)
+      throws CoreException {
+    pomModels.edit(pom)
+        .setDependencyVersion(DataflowMavenCoordinates.GROUP_ID,
+            DataflowMavenCoordinates.ARTIFACT_ID, version.toString())
+        .commit(monitor);
   }
 
   /**
@@ -151,14 +66,7 @@ public class DataflowMavenModel {
       ArtifactVersion version =
           dependencyManager.getLatestDataflowDependencyInRange(existingVersionRange);
       VersionRange newRange = MajorVersion.truncateAtLatest(version, existingVersionRange);
-      editPom(new SetDataflowDependencyVersion(newRange));
-    } catch (IOException e) {
-      throw new CoreException(
-          new Status(
-              Status.ERROR,
-              DataflowCorePlugin.PLUGIN_ID,
-              "Exception when trying to pin Dataflow Dependency",
-              e));
+      setDataflowDependencyVersion(newRange, monitor);
     } finally {
       monitor.done();
     }
@@ -169,31 +77,15 @@ public class DataflowMavenModel {
    */
   @Deprecated
   public void trackDataflowDependency(IProgressMonitor monitor) throws CoreException {
-    try {
-      editPom(
-          new SetDataflowDependencyVersion(
-              VersionRange.createFromVersion(Artifact.LATEST_VERSION)));
-    } catch (IOException e) {
-      throw new CoreException(new Status(Status.ERROR, DataflowCorePlugin.PLUGIN_ID,
-          "Exception when trying to track Dataflow Dependency", e));
-    }
+    setDataflowDependencyVersion(
+        VersionRange.createFromVersion(Artifact.LATEST_VERSION), monitor);
   }
 
   /**
    * A factory to create {@link DataflowMavenModel DataflowMavenModels}. A DataflowMavenModel is a
-   * view of the XML representation of a Maven model (i.e. the pom.xml), and can be used to modify
-   * the POM in-place.
+   * view of a Maven model (i.e. the pom.xml), and can be used to modify the POM in-place.
    */
   public static class DataflowMavenModelFactory {
-    /**
-     * A namespace context that provides the namespace for a pom file.
-     *
-     * <p>A well-formed POM file declares a namespace in the project element. This NamespaceContext
-     * provides that namespace for the prefix 'pom'.
-     */
-    private static final NamespaceContext pomNamespaceContext =
-        new MappedNamespaceContext("pom", "http://maven.apache.org/POM/4.0.0");
-
     private final DataflowDependencyManager dependencyManager;
     private final IMavenProjectRegistry projectRegistry;
 
@@ -218,26 +110,8 @@ public class DataflowMavenModel {
       }
       IMavenProjectFacade facade = projectRegistry.getProject(project);
       IFile pomFile = facade.getPom();
-      return fromIFile(pomFile);
-    }
-
-    private DataflowMavenModel fromIFile(IFile file) throws CoreException {
-      try {
-        IStructuredModel structuredModel =
-            StructuredModelManager.getModelManager().getModelForEdit(file);
-        if (structuredModel instanceof IDOMModel) {
-          XPath xpath = XPathFactory.newInstance().newXPath();
-          xpath.setNamespaceContext(pomNamespaceContext);
-          return new DataflowMavenModel(
-              dependencyManager, xpath, file.getProject(), (IDOMModel) structuredModel);
-        } else {
-          throw new CoreException(new Status(Status.ERROR, DataflowCorePlugin.PLUGIN_ID,
-              String.format("File %s wasn't a DOM model", file)));
-        }
-      } catch (IOException e) {
-        throw new CoreException(new Status(Status.ERROR, DataflowCorePlugin.PLUGIN_ID,
-            String.format("Couldn't get a DOM Model for file %s", file), e));
-      }
+      return new DataflowMavenModel(
+          dependencyManager, PomModelService.getDefault(), pomFile.getProject(), pomFile);
     }
   }
 }
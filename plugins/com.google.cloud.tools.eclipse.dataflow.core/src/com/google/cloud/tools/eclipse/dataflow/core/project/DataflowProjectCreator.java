@@ -21,7 +21,6 @@ import static com.google.common.base.Preconditions.checkArgument;
 import com.google.cloud.tools.eclipse.dataflow.core.DataflowCorePlugin;
 import com.google.cloud.tools.eclipse.dataflow.core.natures.DataflowJavaProjectNature;
 import com.google.cloud.tools.eclipse.dataflow.core.preferences.WritableDataflowPreferences;
-import com.google.cloud.tools.eclipse.util.ArtifactRetriever;
 import com.google.cloud.tools.eclipse.util.JavaPackageValidator;
 import com.google.cloud.tools.eclipse.util.MavenCoordinatesValidator;
 import com.google.common.annotations.VisibleForTesting;
@@ -37,6 +36,8 @@ import org.apache.maven.archetype.catalog.Archetype;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -56,6 +57,7 @@ import org.eclipse.m2e.core.project.ProjectImportConfiguration;
 public class DataflowProjectCreator implements IRunnableWithProgress {
 
   private final IProjectConfigurationManager projectConfigurationManager;
+  private final DataflowArchetypeCatalog archetypeCatalog;
 
   private DataflowProjectArchetype template;
   private final MajorVersion majorVersion = MajorVersion.TWO;
@@ -74,7 +76,14 @@ public class DataflowProjectCreator implements IRunnableWithProgress {
 
   @VisibleForTesting
   DataflowProjectCreator(IProjectConfigurationManager projectConfigurationManager) {
+    this(projectConfigurationManager, DataflowArchetypeCatalog.getDefault());
+  }
+
+  @VisibleForTesting
+  DataflowProjectCreator(IProjectConfigurationManager projectConfigurationManager,
+      DataflowArchetypeCatalog archetypeCatalog) {
     this.projectConfigurationManager = projectConfigurationManager;
+    this.archetypeCatalog = archetypeCatalog;
 
     template = DataflowProjectArchetype.STARTER_POM_WITH_PIPELINE;
   }
@@ -186,10 +195,12 @@ public class DataflowProjectCreator implements IRunnableWithProgress {
           location, archetype, mavenGroupId, mavenArtifactId, "0.0.1-SNAPSHOT", packageString,
           archetypeProperties, projectImportConfiguration, progress.split(4));
 
-      SubMonitor subMonitor = SubMonitor.convert(progress.split(1), projects.size());
-      for (IProject project : projects) {
-        DataflowJavaProjectNature.addDataflowJavaNatureToProject(project, subMonitor.split(1));
-        setPreferences(project);
+      if (!projects.isEmpty()) {
+        // configure all the projects in a single workspace operation so that listeners see one
+        // resource delta rather than one per nature and preference change
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        workspace.run(configureMonitor -> configureProjects(projects, configureMonitor),
+            workspace.getRoot(), IWorkspace.AVOID_UPDATE, progress.split(1));
       }
     } catch (CoreException ex) {
       DataflowCorePlugin.logError(ex, "CoreException while creating new Dataflow Project");
@@ -197,13 +208,21 @@ public class DataflowProjectCreator implements IRunnableWithProgress {
     }
   }
 
+  private void configureProjects(List<IProject> projects, IProgressMonitor monitor)
+      throws CoreException {
+    SubMonitor subMonitor = SubMonitor.convert(monitor, projects.size());
+    for (IProject project : projects) {
+      DataflowJavaProjectNature.addDataflowJavaNatureToProject(project, subMonitor.split(1));
+      setPreferences(project);
+    }
+  }
+
   private ArtifactVersion defaultArchetypeVersion(DataflowProjectArchetype template,
       MajorVersion version) {
     checkArgument(template.getSdkVersions().contains(majorVersion));
 
-    String artifactId = template.getArtifactId();
-    ArtifactVersion latestArchetype = ArtifactRetriever.DEFAULT.getLatestReleaseVersion(
-        DataflowMavenCoordinates.GROUP_ID, artifactId, majorVersion.getVersionRange());
+    // the catalog answers without network access once it knows the template
+    ArtifactVersion latestArchetype = archetypeCatalog.getArchetypeVersion(template, majorVersion);
 
     return latestArchetype == null ? version.getInitialVersion() : latestArchetype;
   }
@@ -17,25 +17,60 @@
 package com.google.cloud.tools.eclipse.dataflow.core.project;
 
 import com.google.cloud.tools.eclipse.util.jobs.FuturisticJob;
+import java.util.Collections;
+import java.util.List;
 import java.util.SortedSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
  * A job that retrieves a collection of potential Staging Locations from a {@link
- * GcsDataflowProjectClient}.
+ * GcsDataflowProjectClient}, through a {@link StagingLocationDiscovery}.
  */
 public class FetchStagingLocationsJob extends FuturisticJob<SortedSet<String>> {
+  private final StagingLocationDiscovery discovery;
   private final GcsDataflowProjectClient gcsClient;
 
   private final String accountEmail;
   private final String cloudProjectId;
+  private final String prefix;
+
+  private final List<Consumer<SortedSet<String>>> partialResultListeners =
+      new CopyOnWriteArrayList<>();
 
   public FetchStagingLocationsJob(GcsDataflowProjectClient gcsClient, String accountEmail,
       String cloudProjectId) {
+    this(StagingLocationDiscovery.getDefault(), gcsClient, accountEmail, cloudProjectId, null);
+  }
+
+  /**
+   * @param prefix the start of the locations passed to the {@link #onPartialResult partial result
+   *     callbacks}; may be {@code null}
+   */
+  public FetchStagingLocationsJob(StagingLocationDiscovery discovery,
+      GcsDataflowProjectClient gcsClient, String accountEmail, String cloudProjectId,
+      String prefix) {
     super("Update staging locations for project " + cloudProjectId);
+    this.discovery = discovery;
     this.gcsClient = gcsClient;
     this.accountEmail = accountEmail;
     this.cloudProjectId = cloudProjectId;
+    this.prefix = prefix;
+  }
+
+  /**
+   * Request that <code>callback</code> be executed with the locations found so far that start with
+   * the job's prefix, as each page of buckets arrives, providing that this job is still current.
+   * The callback is executed using the provided executor.
+   */
+  public void onPartialResult(Executor executor, Consumer<SortedSet<String>> callback) {
+    partialResultListeners.add(locations -> executor.execute(() -> {
+      if (isCurrent()) {
+        callback.accept(locations);
+      }
+    }));
   }
 
   public String getAccountEmail() {
@@ -48,6 +83,13 @@ public class FetchStagingLocationsJob extends FuturisticJob<SortedSet<String>> {
 
   @Override
   protected SortedSet<String> compute(IProgressMonitor monitor) throws Exception {
-    return gcsClient.getPotentialStagingLocations(cloudProjectId);
+    return discovery.discover(gcsClient, accountEmail, Collections.singletonList(cloudProjectId),
+        prefix, this::publishPartialResult, monitor);
+  }
+
+  private void publishPartialResult(SortedSet<String> locations) {
+    for (Consumer<SortedSet<String>> listener : partialResultListeners) {
+      listener.accept(locations);
+    }
   }
 }
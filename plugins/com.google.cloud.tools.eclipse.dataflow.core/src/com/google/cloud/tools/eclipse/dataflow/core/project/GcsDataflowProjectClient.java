@@ -18,10 +18,12 @@ package com.google.cloud.tools.eclipse.dataflow.core.project;
 
 import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpResponseException;
 import com.google.api.services.storage.Storage;
 import com.google.api.services.storage.model.Bucket;
 import com.google.api.services.storage.model.Buckets;
 import com.google.cloud.tools.eclipse.googleapis.internal.GoogleApiFactory;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import java.io.IOException;
@@ -29,7 +31,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 
 /**
@@ -39,13 +44,17 @@ import org.eclipse.core.runtime.SubMonitor;
 public class GcsDataflowProjectClient {
   private static final String GCS_PREFIX = "gs://";
 
+  // the most buckets Cloud Storage returns in one page
+  private static final long BUCKET_LIST_PAGESIZE = 1000;
+
   private final Storage gcsClient;
 
   public static GcsDataflowProjectClient create() {
     return new GcsDataflowProjectClient(GoogleApiFactory.INSTANCE.newStorageApi());
   }
 
-  private GcsDataflowProjectClient(Storage gcsClient) {
+  @VisibleForTesting
+  GcsDataflowProjectClient(Storage gcsClient) {
     this.gcsClient = gcsClient;
   }
 
@@ -53,14 +62,42 @@ public class GcsDataflowProjectClient {
    * Gets a collection of potential Staging Locations.
    */
   public SortedSet<String> getPotentialStagingLocations(String projectId) throws IOException {
+    return getPotentialStagingLocations(projectId, page -> {}, new NullProgressMonitor());
+  }
+
+  /**
+   * Gets a collection of potential Staging Locations, following the pages of the bucket listing
+   * and passing the locations of each page to {@code pageConsumer} as it arrives.
+   *
+   * @throws OperationCanceledException if {@code monitor} is cancelled before the last page
+   */
+  public SortedSet<String> getPotentialStagingLocations(String projectId,
+      Consumer<SortedSet<String>> pageConsumer, IProgressMonitor monitor) throws IOException {
     SortedSet<String> result = new TreeSet<>();
-    Buckets buckets = gcsClient.buckets().list(projectId).execute();
-    List<Bucket> bucketList = buckets.getItems();
-    if (bucketList != null) {
-      for (Bucket bucket : bucketList) {
-        result.add(GCS_PREFIX + bucket.getName());
+    String token = null;
+    do {
+      if (monitor.isCanceled()) {
+        throw new OperationCanceledException();
       }
-    }
+      Storage.Buckets.List listRequest = gcsClient.buckets().list(projectId);
+      listRequest.setMaxResults(BUCKET_LIST_PAGESIZE);
+      if (token != null) {
+        listRequest.setPageToken(token);
+      }
+      Buckets buckets = listRequest.execute();
+      SortedSet<String> page = new TreeSet<>();
+      List<Bucket> bucketList = buckets.getItems();
+      if (bucketList != null) {
+        for (Bucket bucket : bucketList) {
+          page.add(GCS_PREFIX + bucket.getName());
+        }
+      }
+      if (!page.isEmpty()) {
+        result.addAll(page);
+        pageConsumer.accept(page);
+      }
+      token = buckets.getNextPageToken();
+    } while (token != null);
     return result;
   }
 
@@ -72,14 +109,14 @@ public class GcsDataflowProjectClient {
       String projectId, String stagingLocation, IProgressMonitor progressMonitor) {
     SubMonitor monitor = SubMonitor.convert(progressMonitor, 2);
     String bucketName = toGcsBucketName(stagingLocation);
-    if (locationIsAccessible(stagingLocation)) { // bucket already exists
-      return new StagingLocationVerificationResult(
-          String.format("Bucket %s exists", bucketName), true);
-    }
-    monitor.worked(1);
-
-    // else create the bucket
     try {
+      if (locationIsAccessible(stagingLocation)) { // bucket already exists
+        return new StagingLocationVerificationResult(
+            String.format("Bucket %s exists", bucketName), true);
+      }
+      monitor.worked(1);
+
+      // else create the bucket
       Bucket newBucket = new Bucket();
       newBucket.setName(bucketName);
       gcsClient.buckets().insert(projectId, newBucket).execute();
@@ -127,14 +164,20 @@ public class GcsDataflowProjectClient {
   /**
    * Gets whether the current staging location exists and is accessible. If this method returns
    * true, the provided staging location can be used.
+   *
+   * @throws IOException if the server could not say, such as when it cannot be reached or is
+   *     unavailable
    */
-  boolean locationIsAccessible(String stagingLocation) {
+  boolean locationIsAccessible(String stagingLocation) throws IOException {
     String bucketName = toGcsBucketName(stagingLocation);
     try {
       gcsClient.buckets().get(bucketName).execute();
       return true;
-    } catch (IOException ex) {
-      return false;
+    } catch (HttpResponseException ex) {
+      if (ex.getStatusCode() >= 500 || ex.getStatusCode() == 408 || ex.getStatusCode() == 429) {
+        throw ex;
+      }
+      return false;  // the bucket does not exist, or is not accessible to the account
     }
   }
 
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.xml.XmlEscapers;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The dependencies of a {@code pom.xml}, read in a single pass over its text without building a
+ * DOM. The dependencies are indexed by group and artifact ID, and the model remembers where in the
+ * text each dependency's version is, so that versions can be changed by replacing just that text
+ * and the rest of the file keeps its formatting.
+ *
+ * <p>Only the dependencies declared directly in the {@code project} element are read, as in the
+ * project's raw model: managed dependencies, profiles, and parent POMs are not considered.
+ */
+class PomModel {
+  private static final String CDATA_START = "<![CDATA[";
+  private static final ImmutableSet<String> COORDINATES =
+      ImmutableSet.of("groupId", "artifactId", "version");
+
+  private final String text;
+  private final List<PomDependency> dependencies;
+  private final Map<String, PomDependency> index = new HashMap<>();
+
+  private PomModel(String text, List<PomDependency> dependencies) {
+    this.text = text;
+    this.dependencies = ImmutableList.copyOf(dependencies);
+    for (PomDependency dependency : dependencies) {
+      // as in Maven, the first declaration of a dependency wins
+      index.putIfAbsent(key(dependency.groupId, dependency.artifactId), dependency);
+    }
+  }
+
+  /**
+   * Reads the dependencies of a POM.
+   *
+   * @throws IOException if {@code text} is not well-formed XML
+   */
+  static PomModel parse(String text) throws IOException {
+    return new Scanner(text).scan();
+  }
+
+  String getText() {
+    return text;
+  }
+
+  List<PomDependency> getDependencies() {
+    return dependencies;
+  }
+
+  /** Returns the dependency on an artifact, or {@code null} if the POM does not declare one. */
+  PomDependency getDependency(String groupId, String artifactId) {
+    return index.get(key(groupId, artifactId));
+  }
+
+  /**
+   * Returns the text of this POM with the versions of some dependencies replaced. The versions are
+   * keyed by {@link #key(String, String) group and artifact ID}; dependencies that the POM does not
+   * declare, or declares without a version element, are left alone.
+   */
+  String withDependencyVersions(Map<String, String> versions) {
+    List<TextEdit> edits = getVersionEdits(versions);
+    if (edits.isEmpty()) {
+      return text;
+    }
+    StringBuilder edited = new StringBuilder(text);
+    for (TextEdit edit : edits) {
+      edited.replace(edit.offset, edit.offset + edit.length, edit.text);
+    }
+    return edited.toString();
+  }
+
+  /**
+   * Returns the replacements of text that set the versions of some dependencies, last first so
+   * that each can be applied without moving the ones after it. Versions that are already set are
+   * not replaced.
+   */
+  List<TextEdit> getVersionEdits(Map<String, String> versions) {
+    TreeMap<Integer, TextEdit> byOffset = new TreeMap<>(Collections.reverseOrder());
+    for (Map.Entry<String, String> version : versions.entrySet()) {
+      PomDependency dependency = index.get(version.getKey());
+      if (dependency != null && dependency.versionStart >= 0
+          && !version.getValue().equals(dependency.version)) {
+        byOffset.put(dependency.versionStart, new TextEdit(dependency.versionStart,
+            dependency.versionEnd - dependency.versionStart,
+            XmlEscapers.xmlContentEscaper().escape(version.getValue())));
+      }
+    }
+    return ImmutableList.copyOf(byOffset.values());
+  }
+
+  static String key(String groupId, String artifactId) {
+    return groupId + ':' + artifactId;
+  }
+
+  /** A dependency of a POM. */
+  static class PomDependency {
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    /** Offsets of the content of the version element, or -1 if there is no such element. */
+    private final int versionStart;
+    private final int versionEnd;
+
+    private PomDependency(String groupId, String artifactId, String version, int versionStart,
+        int versionEnd) {
+      this.groupId = groupId;
+      this.artifactId = artifactId;
+      this.version = version;
+      this.versionStart = versionStart;
+      this.versionEnd = versionEnd;
+    }
+
+    String getGroupId() {
+      return groupId;
+    }
+
+    String getArtifactId() {
+      return artifactId;
+    }
+
+    /** Returns the declared version, or {@code null} if there is none. */
+    String getVersion() {
+      return version;
+    }
+  }
+
+  /** A replacement of part of the text of a POM. */
+  static class TextEdit {
+    final int offset;
+    final int length;
+    final String text;
+
+    private TextEdit(int offset, int length, String text) {
+      this.offset = offset;
+      this.length = length;
+      this.text = text;
+    }
+  }
+
+  /**
+   * Scans the text of a POM for {@code /project/dependencies/dependency} elements. The scanner
+   * understands just enough XML to find elements reliably: comments, processing instructions, the
+   * document type declaration, CDATA sections, and quoted attribute values.
+   */
+  private static class Scanner {
+    private final String text;
+    private final Deque<String> elements = new ArrayDeque<>();
+    private final List<PomDependency> dependencies = new ArrayList<>();
+
+    /** The child elements of the dependency being read, by name. */
+    private Map<String, String> dependency;
+    private int versionStart = -1;
+    private int versionEnd = -1;
+    /** Where the content of the current dependency child element starts. */
+    private int contentStart;
+
+    private Scanner(String text) {
+      this.text = text;
+    }
+
+    private PomModel scan() throws IOException {
+      int position = 0;
+      while (true) {
+        int tag = text.indexOf('<', position);
+        if (tag < 0) {
+          break;
+        }
+        if (text.startsWith("<!--", tag)) {
+          position = skipPast(tag, "-->");
+        } else if (text.startsWith(CDATA_START, tag)) {
+          position = skipPast(tag, "]]>");
+        } else if (text.startsWith("<?", tag)) {
+          position = skipPast(tag, "?>");
+        } else if (text.startsWith("<!", tag)) {
+          position = skipDoctype(tag);
+        } else if (text.startsWith("</", tag)) {
+          position = endTag(tag);
+        } else {
+          position = startTag(tag);
+        }
+      }
+      if (!elements.isEmpty()) {
+        throw new IOException("Unclosed element <" + elements.peek() + ">");
+      }
+      return new PomModel(text, dependencies);
+    }
+
+    private int startTag(int tag) throws IOException {
+      int nameEnd = tag + 1;
+      while (nameEnd < text.length() && !isNameEnd(text.charAt(nameEnd))) {
+        nameEnd++;
+      }
+      String name = localName(text.substring(tag + 1, nameEnd));
+      if (name.isEmpty()) {
+        throw new IOException("Malformed tag at offset " + tag);
+      }
+      // find the end of the tag, skipping over quoted attribute values
+      int end = nameEnd;
+      char quote = 0;
+      for (; end < text.length(); end++) {
+        char c = text.charAt(end);
+        if (quote != 0) {
+          if (c == quote) {
+            quote = 0;
+          }
+        } else if (c == '"' || c == '\'') {
+          quote = c;
+        } else if (c == '>') {
+          break;
+        }
+      }
+      if (end == text.length()) {
+        throw new IOException("Unterminated tag <" + name + ">");
+      }
+      boolean empty = text.charAt(end - 1) == '/';
+
+      elements.push(name);
+      startElement(name, end + 1);
+      if (empty) {
+        endElement(name, end + 1, end + 1);
+        elements.pop();
+      }
+      return end + 1;
+    }
+
+    private int endTag(int tag) throws IOException {
+      int end = text.indexOf('>', tag);
+      if (end < 0) {
+        throw new IOException("Unterminated end tag at offset " + tag);
+      }
+      String name = localName(text.substring(tag + 2, end).trim());
+      if (elements.isEmpty() || !elements.peek().equals(name)) {
+        throw new IOException("Unexpected end tag </" + name + "> at offset " + tag);
+      }
+      endElement(name, tag, end + 1);
+      elements.pop();
+      return end + 1;
+    }
+
+    private void startElement(String name, int contentOffset) {
+      if (isDependency()) {
+        dependency = new HashMap<>();
+        versionStart = -1;
+        versionEnd = -1;
+      } else if (isDependencyChild()) {
+        contentStart = contentOffset;
+      }
+    }
+
+    private void endElement(String name, int endTag, int after) throws IOException {
+      if (isDependency()) {
+        dependencies.add(new PomDependency(dependency.get("groupId"),
+            dependency.get("artifactId"), dependency.get("version"), versionStart, versionEnd));
+        dependency = null;
+      } else if (isDependencyChild() && COORDINATES.contains(name)) {
+        // an empty element written as <version/> has no content to replace
+        boolean hasContent = contentStart <= endTag && !text.startsWith("/>", after - 2);
+        dependency.putIfAbsent(name, hasContent ? content(contentStart, endTag) : "");
+        if (name.equals("version") && versionStart < 0 && hasContent) {
+          versionStart = contentStart;
+          versionEnd = endTag;
+        }
+      }
+    }
+
+    /** Returns whether the current element is {@code /project/dependencies/dependency}. */
+    private boolean isDependency() {
+      return elements.size() == 3 && elements.peek().equals("dependency") && isInDependencies();
+    }
+
+    /** Returns whether the current element is a child of a dependency. */
+    private boolean isDependencyChild() {
+      return elements.size() == 4 && dependency != null;
+    }
+
+    private boolean isInDependencies() {
+      String[] path = elements.toArray(new String[0]);
+      // the deque holds the innermost element first
+      return path[2].equals("project") && path[1].equals("dependencies");
+    }
+
+    /** Returns the character data between two offsets, with CDATA sections and entities read. */
+    private String content(int start, int end) throws IOException {
+      StringBuilder content = new StringBuilder();
+      int position = start;
+      while (position < end) {
+        char c = text.charAt(position);
+        if (text.startsWith(CDATA_START, position)) {
+          int cdataEnd = text.indexOf("]]>", position);
+          content.append(text, position + CDATA_START.length(), cdataEnd);
+          position = cdataEnd + 3;
+        } else if (text.startsWith("<!--", position)) {
+          position = skipPast(position, "-->");
+        } else if (c == '&') {
+          int semicolon = text.indexOf(';', position);
+          if (semicolon < 0 || semicolon > end) {
+            throw new IOException("Malformed entity at offset " + position);
+          }
+          content.append(entity(text.substring(position + 1, semicolon)));
+          position = semicolon + 1;
+        } else {
+          content.append(c);
+          position++;
+        }
+      }
+      return content.toString().trim();
+    }
+
+    private static String entity(String name) throws IOException {
+      switch (name) {
+        case "amp":
+          return "&";
+        case "lt":
+          return "<";
+        case "gt":
+          return ">";
+        case "quot":
+          return "\"";
+        case "apos":
+          return "'";
+        default:
+          if (name.startsWith("#x")) {
+            return new String(Character.toChars(Integer.parseInt(name.substring(2), 16)));
+          } else if (name.startsWith("#")) {
+            return new String(Character.toChars(Integer.parseInt(name.substring(1))));
+          }
+          throw new IOException("Unknown entity &" + name + ";");
+      }
+    }
+
+    private int skipPast(int start, String terminator) throws IOException {
+      int end = text.indexOf(terminator, start);
+      if (end < 0) {
+        throw new IOException("Expected " + terminator + " after offset " + start);
+      }
+      return end + terminator.length();
+    }
+
+    private int skipDoctype(int start) throws IOException {
+      // the internal subset, if any, is enclosed in brackets and may contain '>'
+      int bracket = text.indexOf('[', start);
+      int end = text.indexOf('>', start);
+      if (bracket >= 0 && bracket < end) {
+        end = text.indexOf("]>", bracket);
+        if (end >= 0) {
+          end++;
+        }
+      }
+      if (end < 0) {
+        throw new IOException("Unterminated document type declaration");
+      }
+      return end + 1;
+    }
+
+    private static boolean isNameEnd(char c) {
+      return Character.isWhitespace(c) || c == '>' || c == '/';
+    }
+
+    private static String localName(String qualifiedName) {
+      return qualifiedName.substring(qualifiedName.indexOf(':') + 1);
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import com.google.cloud.tools.eclipse.dataflow.core.project.PomModel.TextEdit;
+import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.CharStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.wst.sse.core.StructuredModelManager;
+import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
+
+/**
+ * Reads and edits the {@code pom.xml} files of Dataflow projects. A POM is read and parsed only
+ * when it has changed: its {@link PomModel model} is cached until the file's modification stamp
+ * changes. Edits are collected in a {@link Batch} and written with a single change to the file
+ * that replaces only the edited text, so the rest of the POM keeps its formatting.
+ */
+public class PomModelService {
+  private static final int MAXIMUM_CACHED_MODELS = 100;
+
+  private static final PomModelService instance = new PomModelService();
+
+  private final Cache<IFile, CachedModel> models =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_CACHED_MODELS).build();
+
+  private final AtomicLong cacheHits = new AtomicLong();
+  private final AtomicLong parses = new AtomicLong();
+  private final AtomicLong writes = new AtomicLong();
+
+  public static PomModelService getDefault() {
+    return instance;
+  }
+
+  @VisibleForTesting
+  PomModelService() {
+  }
+
+  /**
+   * Returns the model of a POM, reading the file only if it changed since it was last read.
+   *
+   * @throws CoreException if the POM cannot be read or is not well-formed
+   */
+  PomModel getModel(IFile pom) throws CoreException {
+    return getCachedModel(pom).model;
+  }
+
+  private CachedModel getCachedModel(IFile pom) throws CoreException {
+    // read the stamp first: if the file changes while it is read, the next call reads it again
+    long stamp = pom.getModificationStamp();
+    CachedModel cached = models.getIfPresent(pom);
+    if (cached != null && cached.stamp == stamp && stamp != IResource.NULL_STAMP) {
+      cacheHits.incrementAndGet();
+      return cached;
+    }
+    cached = new CachedModel(stamp, parse(pom, read(pom)));
+    if (stamp != IResource.NULL_STAMP) {
+      models.put(pom, cached);
+    }
+    return cached;
+  }
+
+  private PomModel parse(IFile pom, String text) throws CoreException {
+    parses.incrementAndGet();
+    try {
+      return PomModel.parse(text);
+    } catch (IOException ex) {
+      throw new CoreException(StatusUtil.error(this, "Cannot parse " + pom.getFullPath(), ex));
+    }
+  }
+
+  private String read(IFile pom) throws CoreException {
+    try (InputStream in = pom.getContents()) {
+      return CharStreams.toString(new InputStreamReader(in, pom.getCharset()));
+    } catch (IOException ex) {
+      throw new CoreException(StatusUtil.error(this, "Cannot read " + pom.getFullPath(), ex));
+    }
+  }
+
+  /**
+   * Starts a batch of edits to a POM. Nothing is written until the batch is
+   * {@link Batch#commit(IProgressMonitor) committed}.
+   */
+  public Batch edit(IFile pom) throws CoreException {
+    return new Batch(pom, getCachedModel(pom));
+  }
+
+  /** Forgets the cached model of a POM. */
+  public void invalidate(IFile pom) {
+    models.invalidate(pom);
+  }
+
+  @VisibleForTesting
+  long getCacheHits() {
+    return cacheHits.get();
+  }
+
+  @VisibleForTesting
+  long getParses() {
+    return parses.get();
+  }
+
+  @VisibleForTesting
+  long getWrites() {
+    return writes.get();
+  }
+
+  @Override
+  public String toString() {
+    return "PomModelService[cacheHits=" + getCacheHits() + ", parses=" + getParses()
+        + ", writes=" + getWrites() + "]";
+  }
+
+  private static class CachedModel {
+    private final long stamp;
+    private final PomModel model;
+
+    private CachedModel(long stamp, PomModel model) {
+      this.stamp = stamp;
+      this.model = model;
+    }
+  }
+
+  /**
+   * A set of edits to one POM that are written together. If the POM is open in an editor, the
+   * edits are made to the editor's document as one undoable change; otherwise the file is written
+   * once, and only if it has not changed since the batch started.
+   */
+  public class Batch {
+    private final IFile pom;
+    private final CachedModel start;
+    private final Map<String, String> dependencyVersions = new LinkedHashMap<>();
+
+    private Batch(IFile pom, CachedModel start) {
+      this.pom = pom;
+      this.start = start;
+    }
+
+    /**
+     * Sets the version of a dependency. Nothing changes if the POM does not declare the
+     * dependency with a version element.
+     */
+    public Batch setDependencyVersion(String groupId, String artifactId, String version) {
+      dependencyVersions.put(PomModel.key(groupId, artifactId), version);
+      return this;
+    }
+
+    /**
+     * Writes the edits of this batch to the POM.
+     *
+     * @return {@code true} if the POM changed, or {@code false} if every edit was already made
+     * @throws CoreException if the POM cannot be written, or changed since this batch started; in
+     *     either case nothing is written
+     */
+    public boolean commit(IProgressMonitor monitor) throws CoreException {
+      IStructuredModel editorModel =
+          StructuredModelManager.getModelManager().getExistingModelForEdit(pom);
+      if (editorModel != null) {
+        try {
+          return commit(editorModel);
+        } finally {
+          editorModel.releaseFromEdit();
+        }
+      }
+
+      if (pom.getModificationStamp() != start.stamp) {
+        throw new CoreException(StatusUtil.error(this,
+            pom.getFullPath() + " changed while it was being edited"));
+      }
+      String edited = start.model.withDependencyVersions(dependencyVersions);
+      if (edited.equals(start.model.getText())) {
+        return false;
+      }
+      try {
+        pom.setContents(new ByteArrayInputStream(edited.getBytes(pom.getCharset())),
+            IResource.KEEP_HISTORY, monitor);
+      } catch (UnsupportedEncodingException ex) {
+        throw new CoreException(StatusUtil.error(this, "Cannot write " + pom.getFullPath(), ex));
+      }
+      writes.incrementAndGet();
+      return true;
+    }
+
+    /**
+     * Makes the edits in the document of an editor, which may hold changes that are not yet saved,
+     * and saves the document if it had none.
+     */
+    private boolean commit(IStructuredModel editorModel) throws CoreException {
+      IDocument document = editorModel.getStructuredDocument();
+      List<TextEdit> edits =
+          parse(pom, document.get()).getVersionEdits(dependencyVersions);
+      if (edits.isEmpty()) {
+        return false;
+      }
+      boolean saved = !editorModel.isDirty();
+      editorModel.aboutToChangeModel();
+      editorModel.getUndoManager().beginRecording(this);
+      try {
+        for (TextEdit edit : edits) {
+          document.replace(edit.offset, edit.length, edit.text);
+        }
+      } catch (BadLocationException ex) {
+        throw new CoreException(StatusUtil.error(this, "Cannot edit " + pom.getFullPath(), ex));
+      } finally {
+        editorModel.getUndoManager().endRecording(this);
+        editorModel.changedModel();
+      }
+      if (saved) {
+        try {
+          editorModel.save();
+        } catch (IOException ex) {
+          throw new CoreException(StatusUtil.error(this, "Cannot save " + pom.getFullPath(), ex));
+        }
+        writes.incrementAndGet();
+      }
+      return true;
+    }
+  }
+}
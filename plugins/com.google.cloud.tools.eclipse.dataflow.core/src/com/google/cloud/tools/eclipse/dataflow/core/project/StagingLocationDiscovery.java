@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Discovers the potential staging locations of cloud projects. The buckets of several projects
+ * are listed in parallel, page by page, and the complete listing of each project is remembered
+ * per account for a while, so that selecting a project again does not list its buckets again.
+ */
+public class StagingLocationDiscovery {
+  private static final Duration LISTING_TTL = Duration.ofMinutes(5);
+  private static final int MAX_PARALLEL_LISTINGS = 4;
+
+  private static final StagingLocationDiscovery instance =
+      new StagingLocationDiscovery(LISTING_TTL, Clock.systemUTC());
+
+  private final Duration ttl;
+  private final Clock clock;
+
+  /** The complete listings of the projects, keyed by account email and project ID. */
+  private final Map<String, Listing> listings = new ConcurrentHashMap<>();
+
+  private final AtomicLong cacheHits = new AtomicLong();
+  private final AtomicLong projectsListed = new AtomicLong();
+
+  public static StagingLocationDiscovery getDefault() {
+    return instance;
+  }
+
+  @VisibleForTesting
+  StagingLocationDiscovery(Duration ttl, Clock clock) {
+    this.ttl = ttl;
+    this.clock = clock;
+  }
+
+  /**
+   * Finds the potential staging locations of the given projects, as accessible to {@code
+   * accountEmail}. Projects listed recently are answered from the cache and the others are listed
+   * in parallel. After each page of buckets, {@code partialResults} is passed the locations found
+   * so far that start with {@code prefix}; it may be called from any thread.
+   *
+   * @param prefix the start of the locations of interest, such as {@code "gs://my-"}; may be
+   *     {@code null} or empty to pass all locations to {@code partialResults}
+   * @return all the potential staging locations of the projects, regardless of {@code prefix}
+   * @throws OperationCanceledException if {@code monitor} is cancelled before the projects are
+   *     listed
+   */
+  public SortedSet<String> discover(GcsDataflowProjectClient client, String accountEmail,
+      Collection<String> projectIds, String prefix, Consumer<SortedSet<String>> partialResults,
+      IProgressMonitor monitor) throws IOException {
+    String locationPrefix = Strings.nullToEmpty(prefix);
+    SortedSet<String> found = new TreeSet<>();
+    Consumer<SortedSet<String>> pageConsumer = page -> {
+      synchronized (found) {
+        found.addAll(page);
+        partialResults.accept(found.stream()
+            .filter(location -> location.startsWith(locationPrefix))
+            .collect(ImmutableSortedSet.toImmutableSortedSet(String::compareTo)));
+      }
+    };
+
+    List<String> projectsToList = new ArrayList<>();
+    for (String projectId : projectIds) {
+      SortedSet<String> cached = getCachedListing(accountEmail, projectId);
+      if (cached == null) {
+        projectsToList.add(projectId);
+      } else {
+        cacheHits.incrementAndGet();
+        pageConsumer.accept(cached);
+      }
+    }
+
+    if (projectsToList.size() == 1) {
+      list(client, accountEmail, projectsToList.get(0), pageConsumer, monitor);
+    } else if (!projectsToList.isEmpty()) {
+      listInParallel(client, accountEmail, projectsToList, pageConsumer, monitor);
+    }
+    synchronized (found) {
+      return ImmutableSortedSet.copyOf(found);
+    }
+  }
+
+  private void listInParallel(GcsDataflowProjectClient client, String accountEmail,
+      List<String> projectIds, Consumer<SortedSet<String>> pageConsumer, IProgressMonitor monitor)
+      throws IOException {
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Math.min(projectIds.size(), MAX_PARALLEL_LISTINGS),
+        new ThreadFactoryBuilder().setNameFormat("staging-location-discovery-%d")
+            .setDaemon(true).build());
+    try {
+      List<Future<Void>> listingFutures = new ArrayList<>();
+      for (String projectId : projectIds) {
+        listingFutures.add(executor.submit(() -> {
+          list(client, accountEmail, projectId, pageConsumer, monitor);
+          return null;
+        }));
+      }
+      for (Future<Void> listingFuture : listingFutures) {
+        listingFuture.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new OperationCanceledException();
+    } catch (ExecutionException ex) {
+      Throwables.throwIfInstanceOf(ex.getCause(), IOException.class);
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw new IOException(ex.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void list(GcsDataflowProjectClient client, String accountEmail, String projectId,
+      Consumer<SortedSet<String>> pageConsumer, IProgressMonitor monitor) throws IOException {
+    SortedSet<String> locations =
+        client.getPotentialStagingLocations(projectId, pageConsumer, monitor);
+    projectsListed.incrementAndGet();
+    listings.put(key(accountEmail, projectId),
+        new Listing(ImmutableSortedSet.copyOf(locations), clock.millis()));
+  }
+
+  private SortedSet<String> getCachedListing(String accountEmail, String projectId) {
+    String key = key(accountEmail, projectId);
+    Listing listing = listings.get(key);
+    if (listing == null) {
+      return null;
+    }
+    if (clock.millis() - listing.listedAt >= ttl.toMillis()) {
+      listings.remove(key, listing);
+      return null;
+    }
+    return listing.locations;
+  }
+
+  /** Forgets the listing of a project, such as after creating a bucket in it. */
+  public void invalidate(String accountEmail, String projectId) {
+    listings.remove(key(accountEmail, projectId));
+  }
+
+  /** Forgets the listings of all projects. */
+  public void invalidateAll() {
+    listings.clear();
+  }
+
+  private static String key(String accountEmail, String projectId) {
+    return accountEmail + '\n' + projectId;
+  }
+
+  /** Returns the number of projects answered from the cache. */
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
+
+  /** Returns the number of projects whose buckets were listed. */
+  public long getProjectsListed() {
+    return projectsListed.get();
+  }
+
+  @Override
+  public String toString() {
+    return "StagingLocationDiscovery[cached=" + listings.size() + ", cacheHits=" + getCacheHits()
+        + ", projectsListed=" + getProjectsListed() + "]";
+  }
+
+  private static class Listing {
+    private final SortedSet<String> locations;
+    private final long listedAt;
+
+    private Listing(SortedSet<String> locations, long listedAt) {
+      this.locations = locations;
+      this.listedAt = listedAt;
+    }
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Checks whether staging locations are accessible, remembering the outcome of each check per
+ * account and bucket. Accessible buckets rarely stop being so, but an inaccessible bucket may be
+ * created at any moment, so negative outcomes are remembered for less time. A check that cannot
+ * reach the server reports the location as inaccessible, but is not remembered. Concurrent checks
+ * of the same bucket share a single remote call.
+ * <p>
+ * Checks are made through a {@link Session}, which counts the remote calls made on its behalf.
+ */
+public class StagingLocationVerifier {
+  private static final Duration ACCESSIBLE_TTL = Duration.ofMinutes(10);
+  private static final Duration INACCESSIBLE_TTL = Duration.ofSeconds(30);
+  private static final int MAX_PARALLEL_CHECKS = 4;
+
+  private static final StagingLocationVerifier instance =
+      new StagingLocationVerifier(ACCESSIBLE_TTL, INACCESSIBLE_TTL, Clock.systemUTC());
+
+  private final Duration accessibleTtl;
+  private final Duration inaccessibleTtl;
+  private final Clock clock;
+
+  /** The outcomes of completed checks, keyed by account email and bucket name. */
+  private final Map<String, CheckResult> results = new ConcurrentHashMap<>();
+  /** The checks in progress, keyed by account email and bucket name. */
+  private final Map<String, ListenableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+  public static StagingLocationVerifier getDefault() {
+    return instance;
+  }
+
+  @VisibleForTesting
+  StagingLocationVerifier(Duration accessibleTtl, Duration inaccessibleTtl, Clock clock) {
+    this.accessibleTtl = accessibleTtl;
+    this.inaccessibleTtl = inaccessibleTtl;
+    this.clock = clock;
+  }
+
+  /** Starts a session, such as for the lifetime of a wizard page. */
+  public Session newSession() {
+    return new Session();
+  }
+
+  private boolean isAccessible(GcsDataflowProjectClient client, String accountEmail,
+      String stagingLocation, Session session) {
+    String key = key(accountEmail, stagingLocation);
+    CheckResult result = getCachedResult(key);
+    if (result != null) {
+      session.cacheHits.incrementAndGet();
+      return result.accessible;
+    }
+
+    SettableFuture<Boolean> check = SettableFuture.create();
+    ListenableFuture<Boolean> existingCheck = inFlight.putIfAbsent(key, check);
+    if (existingCheck != null) {
+      session.sharedChecks.incrementAndGet();
+      return Futures.getUnchecked(existingCheck);
+    }
+    try {
+      session.remoteCalls.incrementAndGet();
+      boolean accessible;
+      try {
+        accessible = client.locationIsAccessible(stagingLocation);
+        results.put(key, new CheckResult(accessible, clock.millis()));
+      } catch (IOException ex) {
+        // says nothing of the bucket, so the next check asks again
+        accessible = false;
+      }
+      check.set(accessible);
+      return accessible;
+    } catch (RuntimeException ex) {
+      check.setException(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, check);
+    }
+  }
+
+  private CheckResult getCachedResult(String key) {
+    CheckResult result = results.get(key);
+    if (result == null) {
+      return null;
+    }
+    Duration ttl = result.accessible ? accessibleTtl : inaccessibleTtl;
+    if (clock.millis() - result.checkedAt >= ttl.toMillis()) {
+      results.remove(key, result);
+      return null;
+    }
+    return result;
+  }
+
+  /** Forgets the outcome of checking a staging location, such as after creating its bucket. */
+  public void invalidate(String accountEmail, String stagingLocation) {
+    results.remove(key(accountEmail, stagingLocation));
+  }
+
+  /** Forgets the outcomes of all checks. */
+  public void invalidateAll() {
+    results.clear();
+  }
+
+  private static String key(String accountEmail, String stagingLocation) {
+    return accountEmail + '\n' + GcsDataflowProjectClient.toGcsBucketName(stagingLocation);
+  }
+
+  /**
+   * Checks staging locations on behalf of a user of the verifier, counting the checks answered
+   * remotely, from the cache, and by sharing a check already in progress.
+   */
+  public class Session {
+    private final AtomicLong remoteCalls = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong sharedChecks = new AtomicLong();
+
+    private Session() {}
+
+    /**
+     * Gets whether a staging location exists and is accessible to {@code accountEmail}. This may
+     * be a blocking operation.
+     */
+    public boolean isAccessible(GcsDataflowProjectClient client, String accountEmail,
+        String stagingLocation) {
+      return StagingLocationVerifier.this.isAccessible(
+          client, accountEmail, stagingLocation, this);
+    }
+
+    /**
+     * Checks several staging locations as one batch: each bucket is checked once, the buckets not
+     * checked recently in parallel. This may be a long-running blocking operation.
+     *
+     * @return whether each staging location is accessible, in the order given
+     * @throws OperationCanceledException if {@code monitor} is cancelled before all the locations
+     *     are checked
+     */
+    public Map<String, Boolean> verifyAll(GcsDataflowProjectClient client, String accountEmail,
+        Collection<String> stagingLocations, IProgressMonitor monitor) {
+      // locations in the same bucket share the outcome of a single check, keyed by bucket name
+      Map<String, Future<Boolean>> checks = new HashMap<>();
+      ExecutorService executor = Executors.newFixedThreadPool(MAX_PARALLEL_CHECKS,
+          new ThreadFactoryBuilder().setNameFormat("staging-location-verifier-%d")
+              .setDaemon(true).build());
+      try {
+        for (String stagingLocation : stagingLocations) {
+          String bucketName = GcsDataflowProjectClient.toGcsBucketName(stagingLocation);
+          if (!checks.containsKey(bucketName)) {
+            checks.put(bucketName, executor.submit(() -> {
+              if (monitor.isCanceled()) {
+                throw new OperationCanceledException();
+              }
+              return isAccessible(client, accountEmail, stagingLocation);
+            }));
+          }
+        }
+
+        Map<String, Boolean> accessible = new LinkedHashMap<>();
+        for (String stagingLocation : stagingLocations) {
+          String bucketName = GcsDataflowProjectClient.toGcsBucketName(stagingLocation);
+          accessible.put(stagingLocation, checks.get(bucketName).get());
+        }
+        return accessible;
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new OperationCanceledException();
+      } catch (ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) ex.getCause();
+        }
+        throw new IllegalStateException(ex.getCause());
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+
+    /** Returns the number of checks this session made remotely. */
+    public long getRemoteCalls() {
+      return remoteCalls.get();
+    }
+
+    /** Returns the number of checks answered from the outcomes of earlier checks. */
+    public long getCacheHits() {
+      return cacheHits.get();
+    }
+
+    /** Returns the number of checks answered by a check already in progress. */
+    public long getSharedChecks() {
+      return sharedChecks.get();
+    }
+
+    @Override
+    public String toString() {
+      return "StagingLocationVerifier.Session[remoteCalls=" + getRemoteCalls() + ", cacheHits="
+          + getCacheHits() + ", sharedChecks=" + getSharedChecks() + "]";
+    }
+  }
+
+  private static class CheckResult {
+    private final boolean accessible;
+    private final long checkedAt;
+
+    private CheckResult(boolean accessible, long checkedAt) {
+      this.accessible = accessible;
+      this.checkedAt = checkedAt;
+    }
+  }
+}
@@ -24,13 +24,20 @@ import org.eclipse.core.runtime.IProgressMonitor;
  * A job that verifies that a Staging Location exists.
  */
 public class VerifyStagingLocationJob extends FuturisticJob<VerifyStagingLocationResult> {
+  private final StagingLocationVerifier.Session session;
   private final GcsDataflowProjectClient client;
   private final String email;
   private final String stagingLocation;
 
   public VerifyStagingLocationJob(GcsDataflowProjectClient client,
       String email, String stagingLocation) {
+    this(StagingLocationVerifier.getDefault().newSession(), client, email, stagingLocation);
+  }
+
+  public VerifyStagingLocationJob(StagingLocationVerifier.Session session,
+      GcsDataflowProjectClient client, String email, String stagingLocation) {
     super("Verify Staging Location " + stagingLocation);
+    this.session = session;
     this.client = client;
     this.email = email;
     this.stagingLocation = stagingLocation;
@@ -38,7 +45,7 @@ public class VerifyStagingLocationJob extends FuturisticJob<VerifyStagingLocatio
 
   @Override
   protected VerifyStagingLocationResult compute(IProgressMonitor monitor) {
-    boolean locationIsAccessible = client.locationIsAccessible(stagingLocation);
+    boolean locationIsAccessible = session.isAccessible(client, email, stagingLocation);
     return new VerifyStagingLocationResult(email, stagingLocation, locationIsAccessible);
   }
 
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.core.project;
+
+import com.google.cloud.tools.eclipse.util.jobs.FuturisticJob;
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * A job that verifies several candidate Staging Locations as one batch, so that later checks of
+ * any of them are answered by the {@link StagingLocationVerifier} without a remote call.
+ */
+public class VerifyStagingLocationsJob extends FuturisticJob<Map<String, Boolean>> {
+  private final StagingLocationVerifier.Session session;
+  private final GcsDataflowProjectClient client;
+  private final String email;
+  private final List<String> stagingLocations;
+
+  public VerifyStagingLocationsJob(StagingLocationVerifier.Session session,
+      GcsDataflowProjectClient client, String email, Collection<String> stagingLocations) {
+    super("Verify Staging Locations");
+    this.session = session;
+    this.client = client;
+    this.email = email;
+    this.stagingLocations = ImmutableList.copyOf(stagingLocations);
+  }
+
+  @Override
+  protected Map<String, Boolean> compute(IProgressMonitor monitor) {
+    return session.verifyAll(client, email, stagingLocations, monitor);
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public List<String> getStagingLocations() {
+    return stagingLocations;
+  }
+}
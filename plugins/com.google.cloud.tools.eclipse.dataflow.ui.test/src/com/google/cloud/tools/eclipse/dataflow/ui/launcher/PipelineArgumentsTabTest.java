@@ -35,6 +35,10 @@ import static org.mockito.Mockito.when;
 
 import com.google.cloud.tools.eclipse.dataflow.core.launcher.PipelineConfigurationAttr;
 import com.google.cloud.tools.eclipse.dataflow.core.launcher.PipelineLaunchConfiguration;
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.PipelineOptionsHierarchyFactory;
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsHierarchy;
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsProperty;
+import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOptionsType;
 import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowDependencyManager;
 import com.google.cloud.tools.eclipse.dataflow.core.project.MajorVersion;
 import com.google.cloud.tools.eclipse.test.util.TestAccountProvider;
@@ -42,13 +46,25 @@ import com.google.cloud.tools.eclipse.test.util.TestAccountProvider.State;
 import com.google.cloud.tools.eclipse.test.util.project.ProjectUtils;
 import com.google.cloud.tools.eclipse.test.util.ui.CompositeUtil;
 import com.google.cloud.tools.eclipse.test.util.ui.ShellTestResource;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
@@ -64,9 +80,12 @@ import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -75,6 +94,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 import org.junit.runners.Suite;
+import org.mockito.Matchers;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -82,6 +102,7 @@ import org.mockito.stubbing.Answer;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
   PipelineArgumentsTabTest.TabTest.class,
+  PipelineArgumentsTabTest.BackgroundLoadingTest.class,
   PipelineArgumentsTabTest.RunButtonCheckedTest.class
 })
 public class PipelineArgumentsTabTest {
@@ -242,6 +263,198 @@ public class PipelineArgumentsTabTest {
     }
   }
 
+  public static class BackgroundLoadingTest {
+
+    @Rule public ShellTestResource shellResource = new ShellTestResource();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Map<IProject, IProgressMonitor> loads = new ConcurrentHashMap<>();
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private final AtomicLong factoryGeneration = new AtomicLong();
+    private volatile boolean failLoads = false;
+    private final PipelineOptionsHierarchy hierarchy1 = mockHierarchy(3);
+    private final PipelineOptionsHierarchy hierarchy2 = mockHierarchy(10);
+
+    private PipelineArgumentsTab pipelineArgumentsTab;
+    private IProject project1;
+    private ILaunchConfigurationWorkingCopy configuration1;
+    private ILaunchConfigurationWorkingCopy configuration2;
+
+    @Before
+    public void setUp() throws CoreException {
+      TestAccountProvider.setAsDefaultProvider();
+      TestAccountProvider.setProviderState(State.NOT_LOGGED_IN);
+      IWorkspaceRoot workspaceRoot = mock(IWorkspaceRoot.class);
+      DataflowDependencyManager dependencyManager = mock(DataflowDependencyManager.class);
+
+      project1 = mockProject("project1");
+      when(workspaceRoot.getProject("project1")).thenReturn(project1);
+      doReturn(MajorVersion.ONE).when(dependencyManager).getProjectMajorVersion(project1);
+      configuration1 = mockLaunchConfiguration();
+      configuration1.setAttribute(IJavaLaunchConfigurationConstants.ATTR_PROJECT_NAME, "project1");
+
+      IProject project2 = mockProject("project2");
+      when(workspaceRoot.getProject("project2")).thenReturn(project2);
+      doReturn(MajorVersion.TWO).when(dependencyManager).getProjectMajorVersion(project2);
+      configuration2 = mockLaunchConfiguration();
+      configuration2.setAttribute(IJavaLaunchConfigurationConstants.ATTR_PROJECT_NAME, "project2");
+
+      pipelineArgumentsTab = new PipelineArgumentsTab(workspaceRoot, dependencyManager,
+          new SlowPipelineOptionsHierarchyFactory());
+      pipelineArgumentsTab.setLaunchConfigurationDialog(mock(ILaunchConfigurationDialog.class));
+      pipelineArgumentsTab.createControl(shellResource.getShell());
+    }
+
+    @After
+    public void tearDown() {
+      release.countDown();
+      pipelineArgumentsTab.dispose();
+    }
+
+    @Test
+    public void testInitializeFrom_showsPlaceholderWhileLoading() {
+      pipelineArgumentsTab.initializeFrom(configuration1);
+      assertTrue(pipelineArgumentsTab.hierarchyLoading);
+      assertTrue(pipelineArgumentsTab.pipelineOptionsForm.getComponents().isEmpty());
+      assertNotNull(CompositeUtil.findControl(shellResource.getShell(),
+          control -> control instanceof Label
+              && "Loading pipeline options hierarchy...".equals(((Label) control).getText())));
+      assertFalse(pipelineArgumentsTab.isValid(configuration1));
+      assertEquals("Loading pipeline options hierarchy...", pipelineArgumentsTab.getMessage());
+
+      release.countDown();
+      spinUntil(pipelineArgumentsTab::isPipelineOptionsFormComplete);
+      assertEquals(3, pipelineArgumentsTab.pipelineOptionsForm.getComponents().size());
+    }
+
+    @Test
+    public void testFormRenderedProgressively() {
+      pipelineArgumentsTab.initializeFrom(configuration2);
+      release.countDown();
+      // the loaded hierarchy is applied by one runnable, which adds the first sections only
+      spinUntil(() -> !pipelineArgumentsTab.hierarchyLoading);
+      assertEquals(4, pipelineArgumentsTab.pipelineOptionsForm.getComponents().size());
+      assertFalse(pipelineArgumentsTab.isPipelineOptionsFormComplete());
+
+      spinUntil(pipelineArgumentsTab::isPipelineOptionsFormComplete);
+      assertEquals(10, pipelineArgumentsTab.pipelineOptionsForm.getComponents().size());
+      UiLatencyProbe probe = pipelineArgumentsTab.latencyProbe;
+      // initializeFrom, hierarchyLoaded, and the three runnables rendering the form
+      assertTrue(probe.toString(), probe.getOperations() >= 5);
+      assertTrue(probe.toString(), probe.getMaxMillis() < 5000);
+    }
+
+    @Test
+    public void testProjectChange_abandonsStaleLoad() {
+      pipelineArgumentsTab.initializeFrom(configuration1);
+      pipelineArgumentsTab.initializeFrom(configuration2);
+
+      release.countDown();
+      spinUntil(pipelineArgumentsTab::isPipelineOptionsFormComplete);
+      // the first load is cancelled, or never started
+      IProgressMonitor monitor1 = loads.get(project1);
+      assertTrue(monitor1 == null || monitor1.isCanceled());
+      assertEquals(10, pipelineArgumentsTab.pipelineOptionsForm.getComponents().size());
+
+      // give a stale load the chance to be (wrongly) applied
+      ProjectUtils.waitForProjects();
+      while (Display.getCurrent().readAndDispatch());
+      assertEquals(10, pipelineArgumentsTab.pipelineOptionsForm.getComponents().size());
+    }
+
+    @Test
+    public void testFactoryChange_reloadsWithoutPlaceholder() {
+      release.countDown();
+      pipelineArgumentsTab.initializeFrom(configuration1);
+      spinUntil(pipelineArgumentsTab::isPipelineOptionsFormComplete);
+      pipelineArgumentsTab.isValid(configuration1);
+      assertEquals(1, loadCount.get());
+
+      factoryGeneration.incrementAndGet();
+      pipelineArgumentsTab.isValid(configuration1);
+      // the loaded form is kept until the reloaded hierarchy replaces it
+      assertFalse(pipelineArgumentsTab.hierarchyLoading);
+      assertEquals(3, pipelineArgumentsTab.pipelineOptionsForm.getComponents().size());
+      spinUntil(() -> loadCount.get() == 2);
+      spinUntil(pipelineArgumentsTab::isPipelineOptionsFormComplete);
+
+      // nothing changed since
+      ProjectUtils.waitForProjects();
+      while (Display.getCurrent().readAndDispatch());
+      pipelineArgumentsTab.isValid(configuration1);
+      pipelineArgumentsTab.initializeFrom(configuration1);
+      assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testFailedLoad_retriedWhenShownAgain() {
+      failLoads = true;
+      release.countDown();
+      pipelineArgumentsTab.initializeFrom(configuration1);
+      spinUntil(() -> !pipelineArgumentsTab.hierarchyLoading);
+      assertEquals(0, pipelineArgumentsTab.pipelineOptionsForm.getComponents().size());
+
+      // not retried on each validation
+      pipelineArgumentsTab.isValid(configuration1);
+      assertEquals(1, loadCount.get());
+
+      failLoads = false;
+      pipelineArgumentsTab.initializeFrom(configuration1);
+      spinUntil(() -> loadCount.get() == 2);
+      spinUntil(() -> pipelineArgumentsTab.pipelineOptionsForm.getComponents().size() == 3);
+    }
+
+    private static void spinUntil(BooleanSupplier condition) {
+      Display display = Display.getCurrent();
+      Stopwatch stopwatch = Stopwatch.createStarted();
+      while (!condition.getAsBoolean()) {
+        assertTrue("timed out", stopwatch.elapsed(TimeUnit.SECONDS) < 10);
+        if (!display.readAndDispatch()) {
+          Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+      }
+    }
+
+    /** Returns a hierarchy that shows {@code typeCount} sections for any runner. */
+    private static PipelineOptionsHierarchy mockHierarchy(int typeCount) {
+      Map<PipelineOptionsType, Set<PipelineOptionsProperty>> types = new LinkedHashMap<>();
+      for (int i = 0; i < typeCount; i++) {
+        PipelineOptionsProperty property = new PipelineOptionsProperty(
+            "property" + i, false, false, Collections.<String>emptySet(), null);
+        types.put(new PipelineOptionsType("Options" + i, Collections.emptySet(),
+            Collections.singleton(property)), Collections.singleton(property));
+      }
+      PipelineOptionsHierarchy hierarchy = mock(PipelineOptionsHierarchy.class);
+      when(hierarchy.getOptionsHierarchy(Matchers.<String>anyVararg())).thenReturn(types);
+      return hierarchy;
+    }
+
+    /** Loads hierarchies only once {@link #release} is counted down. */
+    private class SlowPipelineOptionsHierarchyFactory implements PipelineOptionsHierarchyFactory {
+      @Override
+      public PipelineOptionsHierarchy global(IProgressMonitor monitor) {
+        return mock(PipelineOptionsHierarchy.class);
+      }
+
+      @Override
+      public PipelineOptionsHierarchy forProject(IProject project, MajorVersion projectVersion,
+          IProgressMonitor monitor) {
+        loads.put(project, monitor);
+        Uninterruptibles.awaitUninterruptibly(release);
+        loadCount.incrementAndGet();
+        if (failLoads) {
+          throw new IllegalStateException("load failed");
+        }
+        return projectVersion == MajorVersion.ONE ? hierarchy1 : hierarchy2;
+      }
+
+      @Override
+      public long getGeneration(IProject project) {
+        return factoryGeneration.get();
+      }
+    }
+  }
+
   private static ILaunchConfigurationWorkingCopy mockLaunchConfiguration() throws CoreException {
     final Map<String, Object> attributes = new HashMap<>();
     Answer<Object> getAttributes = new Answer<Object>() {
@@ -48,6 +48,8 @@ import com.google.api.services.storage.Storage.Buckets.Insert;
 import com.google.api.services.storage.model.Bucket;
 import com.google.api.services.storage.model.Buckets;
 import com.google.cloud.tools.eclipse.dataflow.core.preferences.DataflowPreferences;
+import com.google.cloud.tools.eclipse.dataflow.core.project.StagingLocationDiscovery;
+import com.google.cloud.tools.eclipse.dataflow.core.project.StagingLocationVerifier;
 import com.google.cloud.tools.eclipse.dataflow.ui.page.MessageTarget;
 import com.google.cloud.tools.eclipse.dataflow.ui.preferences.RunOptionsDefaultsComponent.ValidationStatus;
 import com.google.cloud.tools.eclipse.googleapis.Account;
@@ -132,6 +134,9 @@ public class RunOptionsDefaultsComponentTest {
   @After
   public void tearDown() {
     GoogleApiFactory.resetInstance();
+    // listings are cached per account and project, and all tests use the same ones
+    StagingLocationDiscovery.getDefault().invalidateAll();
+    StagingLocationVerifier.getDefault().invalidateAll();
   }
   
   private boolean loginAlice() throws IOException {
@@ -442,6 +447,21 @@ public class RunOptionsDefaultsComponentTest {
     assertTrue(page.isPageComplete());
   }
 
+  @Test
+  public void testStagingLocationCheck_answeredByCandidateBatch() throws IOException {
+    loginAlice();
+    component.setCloudProjectText("project");
+    join();
+    // both buckets in the combo are verified as one batch
+    assertEquals(2, component.verificationSession.getRemoteCalls());
+
+    component.setStagingLocationText("alice-bucket-1");
+    join();
+    assertEquals(ValidationStatus.BUCKET_ACCESSIBLE, component.validate());
+    assertEquals(2, component.verificationSession.getRemoteCalls());
+    assertTrue(component.verificationSession.getCacheHits() > 0);
+  }
+
   @Test
   public void testStagingLocation() throws IOException {
     loginAlice();
@@ -35,6 +35,8 @@ import com.google.cloud.tools.eclipse.dataflow.ui.page.MessageTarget;
 import com.google.cloud.tools.eclipse.dataflow.ui.page.component.LabeledTextMapComponent;
 import com.google.cloud.tools.eclipse.dataflow.ui.page.component.TextAndButtonComponent;
 import com.google.cloud.tools.eclipse.dataflow.ui.page.component.TextAndButtonSelectionListener;
+import com.google.cloud.tools.eclipse.ui.util.DisplayExecutor;
+import com.google.cloud.tools.eclipse.util.jobs.FuturisticJob;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
@@ -42,29 +44,24 @@ import com.google.common.base.Strings;
 import com.google.common.base.Verify;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.debug.ui.AbstractLaunchConfigurationTab;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
-import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.window.Window;
 import org.eclipse.swt.SWT;
-import org.eclipse.swt.custom.BusyIndicator;
 import org.eclipse.swt.custom.ScrolledComposite;
 import org.eclipse.swt.events.ModifyEvent;
 import org.eclipse.swt.events.ModifyListener;
@@ -87,13 +84,18 @@ import org.eclipse.ui.plugin.AbstractUIPlugin;
  * 
  * Computing the pipeline options hierarchy can be expensive, so we try to avoid doing so.
  * {@link #reload(ILaunchConfiguration)} is responsible for loading information derived from an
- * {@link ILaunchConfiguration}.
+ * {@link ILaunchConfiguration}. The hierarchy is loaded in a background job, while the form shows a
+ * placeholder; once loaded, the form's sections are added a few at a time so that the UI thread is
+ * never blocked for long.
  */
 public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
   private static final Joiner MISSING_GROUP_MEMBER_JOINER = Joiner.on(", "); //$NON-NLS-1$
 
   private static final String ARGUMENTS_SEPARATOR = "="; //$NON-NLS-1$
 
+  /** The number of form sections added per turn of the event loop. */
+  private static final int SECTIONS_PER_RENDER = 4;
+
   private final IWorkspaceRoot workspaceRoot;
   private Image image;
 
@@ -119,11 +121,15 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
 
   @VisibleForTesting
   TextAndButtonComponent userOptionsSelector;
-  private PipelineOptionsFormComponent pipelineOptionsForm;
+  @VisibleForTesting
+  PipelineOptionsFormComponent pipelineOptionsForm;
 
   private final DataflowDependencyManager dependencyManager;
-  private final PipelineOptionsHierarchyFactory pipelineOptionsHierarchyFactory =
-      new ClasspathPipelineOptionsHierarchyFactory();
+  private final PipelineOptionsHierarchyFactory pipelineOptionsHierarchyFactory;
+  private DisplayExecutor displayExecutor;
+
+  @VisibleForTesting
+  final UiLatencyProbe latencyProbe = new UiLatencyProbe(getClass().getSimpleName());
 
   private IProject project;
   private PipelineLaunchConfiguration launchConfiguration;
@@ -136,6 +142,24 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
    */
   private PipelineOptionsHierarchy hierarchy;
 
+  /** Loads the hierarchy of the current project; {@code null} unless a load is in progress. */
+  private LoadHierarchyJob loadHierarchyJob;
+
+  /** The project whose hierarchy is {@link #hierarchy}; {@code null} for the global hierarchy. */
+  private IProject hierarchyProject;
+  private MajorVersion hierarchyMajorVersion;
+  /** The factory's generation when {@link #hierarchy} was loaded. */
+  private long hierarchyGeneration;
+  /** Set to {@code true} if the project's hierarchy could not be loaded. */
+  private boolean hierarchyLoadFailed = false;
+
+  /** Set to {@code true} while {@link #hierarchy} is out of date and being loaded. */
+  @VisibleForTesting
+  boolean hierarchyLoading = false;
+
+  /** Incremented to abandon the rendering of the form in progress. */
+  private int formGeneration = 0;
+
   /** Set to {@code true} when this tab has been shown, and reset upon a new config. */
   private boolean uiUpToDate = false;
 
@@ -145,8 +169,15 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
 
   @VisibleForTesting
   PipelineArgumentsTab(IWorkspaceRoot workspaceRoot, DataflowDependencyManager dependencyManager) {
+    this(workspaceRoot, dependencyManager, new ClasspathPipelineOptionsHierarchyFactory());
+  }
+
+  @VisibleForTesting
+  PipelineArgumentsTab(IWorkspaceRoot workspaceRoot, DataflowDependencyManager dependencyManager,
+      PipelineOptionsHierarchyFactory pipelineOptionsHierarchyFactory) {
     this.workspaceRoot = workspaceRoot;
     this.dependencyManager = dependencyManager;
+    this.pipelineOptionsHierarchyFactory = pipelineOptionsHierarchyFactory;
     hierarchy = pipelineOptionsHierarchyFactory.global(new NullProgressMonitor());
     ImageDescriptor descriptor = AbstractUIPlugin
         .imageDescriptorFromPlugin(DataflowUiPlugin.PLUGIN_ID, "icons/Dataflow_16.png");
@@ -155,6 +186,7 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
 
   @Override
   public void createControl(Composite parent) {
+    displayExecutor = DisplayExecutor.create(parent.getDisplay());
     internalComposite = new Composite(parent, SWT.NULL);
 
     GridData internalCompositeGridData = new GridData(SWT.FILL, SWT.FILL, true, true);
@@ -317,7 +349,18 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
 
   @Override
   public void initializeFrom(ILaunchConfiguration configuration) {
-    reload(configuration);
+    long start = latencyProbe.start();
+    try {
+      initializeFromConfiguration(configuration);
+    } finally {
+      latencyProbe.stop(start, "initializeFrom"); //$NON-NLS-1$
+    }
+  }
+
+  private void initializeFromConfiguration(ILaunchConfiguration configuration) {
+    if (!reload(configuration)) {
+      updateHierarchy(true); // a failed load is retried each time the configuration is shown
+    }
     if (launchConfiguration == null) {
       // any errors are picked up and reported by isValid()
       clearRunners();
@@ -372,15 +415,16 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
           : PipelineLaunchConfiguration.fromLaunchConfiguration(majorVersion, configuration);
       if (Objects.equals(project, this.project)
           && Objects.equals(launchConfiguration, this.launchConfiguration)) {
-        // our features of interest are the same
+        // our features of interest are the same, though the project's hierarchy may have changed
+        updateHierarchy(false);
         return false;
       }
       this.project = project;
       this.launchConfiguration = launchConfiguration;
-      updateHierarchy();
+      updateHierarchy(true);
       uiUpToDate = false;
       return true;
-    } catch (CoreException | InvocationTargetException | InterruptedException ex) {
+    } catch (CoreException ex) {
       uiUpToDate = false;
       DataflowUiPlugin.logError(ex, "Error while initializing from existing configuration"); //$NON-NLS-1$
       project = null;
@@ -427,20 +471,87 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
   }
 
   /**
-   * Synchronously updates the project hierarchy.
+   * Starts loading the hierarchy of the current project in the background, abandoning the load of
+   * any other project's hierarchy. The hierarchy is reloaded when the project or its Dataflow
+   * version changes, or when the factory reports that the project's hierarchy may have changed.
+   * While the same hierarchy is reloaded, the form keeps showing the one already loaded.
+   *
+   * @param retryFailed whether to load the hierarchy again if the last load failed; a failed load
+   *     is otherwise retried only once the factory reports a change
    */
-  private void updateHierarchy() throws InvocationTargetException, InterruptedException {
-    // blocking call (regardless of "fork"), returning only after the inner runnable completes
-    getLaunchConfigurationDialog().run(true /*fork*/, true /*cancelable*/,
-        new IRunnableWithProgress() {
-          @Override
-          public void run(IProgressMonitor monitor)
-              throws InvocationTargetException, InterruptedException {
-            SubMonitor subMonitor = SubMonitor.convert(monitor,
-                Messages.getString("loading.pipeline.options.hierarchy"), 100);
-            hierarchy = getPipelineOptionsHierarchy(subMonitor.newChild(100));
-          }
-        });
+  private void updateHierarchy(boolean retryFailed) {
+    MajorVersion majorVersion =
+        launchConfiguration == null ? null : launchConfiguration.getMajorVersion();
+    if (majorVersion == null) {
+      if (loadHierarchyJob != null) {
+        loadHierarchyJob.abandon();
+        loadHierarchyJob = null;
+      }
+      hierarchy = pipelineOptionsHierarchyFactory.global(new NullProgressMonitor());
+      hierarchyProject = null;
+      hierarchyLoading = false;
+      return;
+    }
+
+    boolean sameHierarchy = project.equals(hierarchyProject)
+        && majorVersion == hierarchyMajorVersion;
+    if (loadHierarchyJob != null) {
+      if (loadHierarchyJob.project.equals(project)
+          && loadHierarchyJob.majorVersion == majorVersion) {
+        return;
+      }
+      loadHierarchyJob.abandon();
+      loadHierarchyJob = null;
+    } else if (sameHierarchy && (!hierarchyLoadFailed || !retryFailed)
+        && hierarchyGeneration == pipelineOptionsHierarchyFactory.getGeneration(project)) {
+      return;
+    }
+
+    if (!sameHierarchy) {
+      hierarchyLoading = true;
+      formGeneration++; // the form being rendered, if any, is for the previous hierarchy
+    }
+    LoadHierarchyJob job = new LoadHierarchyJob(project, majorVersion);
+    job.onSuccess(displayExecutor, loaded -> hierarchyLoaded(job, loaded, false));
+    job.onError(displayExecutor, exception -> {
+      DataflowUiPlugin.logError(exception,
+          "Error while loading Pipeline Options Hierarchy for project %s", //$NON-NLS-1$
+          job.project);
+      hierarchyLoaded(job, pipelineOptionsHierarchyFactory.global(new NullProgressMonitor()), true);
+    });
+    loadHierarchyJob = job;
+    job.schedule();
+  }
+
+  private void hierarchyLoaded(LoadHierarchyJob job, PipelineOptionsHierarchy loadedHierarchy,
+      boolean failed) {
+    if (job != loadHierarchyJob) {
+      return; // abandoned
+    }
+    loadHierarchyJob = null;
+    hierarchyProject = job.project;
+    hierarchyMajorVersion = job.majorVersion;
+    hierarchyGeneration = job.generation;
+    hierarchyLoadFailed = failed;
+    hierarchyLoaded(loadedHierarchy);
+  }
+
+  private void hierarchyLoaded(PipelineOptionsHierarchy loadedHierarchy) {
+    if (internalComposite.isDisposed()) {
+      return;
+    }
+    long start = latencyProbe.start();
+    try {
+      hierarchy = loadedHierarchy;
+      hierarchyLoading = false;
+      if (uiUpToDate) {
+        updatePipelineOptionsForm();
+      }
+      // revalidates against the loaded hierarchy
+      handleLayoutChange();
+    } finally {
+      latencyProbe.stop(start, "hierarchyLoaded"); //$NON-NLS-1$
+    }
   }
 
   private DataflowPreferences getPreferences() {
@@ -451,54 +562,58 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
     }
   }
 
-  private PipelineOptionsHierarchy getPipelineOptionsHierarchy(IProgressMonitor monitor) {
-    if (launchConfiguration != null) {
-      Verify.verify(project != null && project.isAccessible());
-      try {
-        return pipelineOptionsHierarchyFactory.forProject(project,
-            launchConfiguration.getMajorVersion(), monitor);
-      } catch (PipelineOptionsRetrievalException e) {
-        DataflowUiPlugin.logWarning(
-            "Couldn't retrieve Pipeline Options Hierarchy for project %s", project); //$NON-NLS-1$
-        return pipelineOptionsHierarchyFactory.global(monitor);
-      }
-    }
-    return pipelineOptionsHierarchyFactory.global(monitor);
-  }
-
   @Override
   public String getName() {
     return Messages.getString("pipeline.arguments"); //$NON-NLS-1$
   }
 
+  /**
+   * Shows the options of the current runner and user options type, abandoning the rendering of any
+   * previous form. Shows a placeholder instead while the hierarchy is loading; the form is updated
+   * once it has loaded.
+   */
   private void updatePipelineOptionsForm() {
+    int generation = ++formGeneration;
     try {
-      // This is merely a reference holder; atomicity not required.
-      AtomicReference<Map<PipelineOptionsType, Set<PipelineOptionsProperty>>>
-          optionsHierarchy = new AtomicReference<>();
-      // blocking call (regardless of "fork"), returning only after the inner runnable completes
-      getLaunchConfigurationDialog().run(true /*fork*/, true /*cancelable*/,
-          new IRunnableWithProgress() {
-        @Override
-        public void run(IProgressMonitor monitor)
-            throws InvocationTargetException, InterruptedException {
-          monitor.beginTask(Messages.getString("updating.pipeline.options"), //$NON-NLS-1$
-              IProgressMonitor.UNKNOWN);
-          optionsHierarchy.set(launchConfiguration.getOptionsHierarchy(hierarchy));
-        }
-      });
-
-      BusyIndicator.showWhile(internalComposite.getDisplay(), () -> {
-        try {
-          suppressDialogUpdates = true;
-          pipelineOptionsForm.updateForm(launchConfiguration, optionsHierarchy.get());
-        } finally {
-          suppressDialogUpdates = false;
-        }
-      });
-    } catch (InvocationTargetException | InterruptedException ex) {
-      DataflowUiPlugin.logError(ex, "Exception occurred while updating available Pipeline Options");
+      suppressDialogUpdates = true;
+      if (hierarchyLoading) {
+        pipelineOptionsForm.showPlaceholder(
+            Messages.getString("loading.pipeline.options.hierarchy")); //$NON-NLS-1$
+        return;
+      }
+      pipelineOptionsForm.beginUpdate(launchConfiguration,
+          launchConfiguration.getOptionsHierarchy(hierarchy));
+    } finally {
+      suppressDialogUpdates = false;
     }
+    renderPipelineOptionsForm(generation);
+  }
+
+  /** Adds the next few sections of the form, and schedules adding the rest, if still current. */
+  private void renderPipelineOptionsForm(int generation) {
+    if (generation != formGeneration || internalComposite.isDisposed()) {
+      return;
+    }
+    long start = latencyProbe.start();
+    boolean moreSections;
+    try {
+      suppressDialogUpdates = true;
+      moreSections = pipelineOptionsForm.addSections(SECTIONS_PER_RENDER);
+    } finally {
+      suppressDialogUpdates = false;
+      latencyProbe.stop(start, "renderPipelineOptionsForm"); //$NON-NLS-1$
+    }
+    if (moreSections) {
+      displayExecutor.execute(() -> renderPipelineOptionsForm(generation));
+    } else {
+      handleLayoutChange();
+    }
+  }
+
+  /** Returns true if the hierarchy has loaded and the form shows all of its sections. */
+  @VisibleForTesting
+  boolean isPipelineOptionsFormComplete() {
+    return !hierarchyLoading && !pipelineOptionsForm.hasPendingSections();
   }
 
   private Map<String, String> getNonDefaultOptions() {
@@ -518,12 +633,22 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
       setErrorMessage(
           "Incompatible pipeline runner: " + launchConfiguration.getRunner().getRunnerName());
       return false;
+    } else if (hierarchyLoading) {
+      // required properties are not known until the hierarchy is loaded
+      setErrorMessage(null);
+      setMessage(Messages.getString("loading.pipeline.options.hierarchy")); //$NON-NLS-1$
+      defaultOptionsComponent.validate();
+      return false;
     }
 
     MissingRequiredProperties validationFailures =
         launchConfiguration.getMissingRequiredProperties(hierarchy, getPreferences());
 
     setErrorMessage(null);
+    String loadingMessage = Messages.getString("loading.pipeline.options.hierarchy"); //$NON-NLS-1$
+    if (loadingMessage.equals(getMessage())) {
+      setMessage(null);
+    }
     defaultOptionsComponent.validate();
 
     return validateRequiredProperties(validationFailures)
@@ -561,8 +686,13 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
 
   @Override
   public boolean isValid(ILaunchConfiguration configuration) {
-    reload(configuration);
-    return validatePage();
+    long start = latencyProbe.start();
+    try {
+      reload(configuration);
+      return validatePage();
+    } finally {
+      latencyProbe.stop(start, "isValid"); //$NON-NLS-1$
+    }
   }
 
   /**
@@ -650,9 +780,42 @@ public class PipelineArgumentsTab extends AbstractLaunchConfigurationTab {
 
   @Override
   public void dispose() {
+    formGeneration++;
+    if (loadHierarchyJob != null) {
+      loadHierarchyJob.abandon();
+      loadHierarchyJob = null;
+    }
     if (image != null) {
       image.dispose();
     }
     super.dispose();
   }
+
+  /** Loads the {@link PipelineOptionsHierarchy} of a project. */
+  private class LoadHierarchyJob extends FuturisticJob<PipelineOptionsHierarchy> {
+    private final IProject project;
+    private final MajorVersion majorVersion;
+    /** The factory's generation before loading, so that changes made while loading are seen. */
+    private volatile long generation;
+
+    private LoadHierarchyJob(IProject project, MajorVersion majorVersion) {
+      super(Messages.getString("loading.pipeline.options.hierarchy")); //$NON-NLS-1$
+      this.project = project;
+      this.majorVersion = majorVersion;
+      setSystem(true);
+    }
+
+    @Override
+    protected PipelineOptionsHierarchy compute(IProgressMonitor monitor) {
+      generation = pipelineOptionsHierarchyFactory.getGeneration(project);
+      Verify.verify(project != null && project.isAccessible());
+      try {
+        return pipelineOptionsHierarchyFactory.forProject(project, majorVersion, monitor);
+      } catch (PipelineOptionsRetrievalException e) {
+        DataflowUiPlugin.logWarning(
+            "Couldn't retrieve Pipeline Options Hierarchy for project %s", project); //$NON-NLS-1$
+        return pipelineOptionsHierarchyFactory.global(monitor);
+      }
+    }
+  }
 }
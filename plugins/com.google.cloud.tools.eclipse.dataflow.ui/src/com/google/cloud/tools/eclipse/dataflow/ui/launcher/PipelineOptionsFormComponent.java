@@ -22,6 +22,7 @@ import com.google.cloud.tools.eclipse.dataflow.core.launcher.options.PipelineOpt
 import com.google.cloud.tools.eclipse.dataflow.ui.page.component.LabeledTextMapComponent;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -30,12 +31,14 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.ModifyListener;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.ui.forms.events.IExpansionListener;
 import org.eclipse.ui.forms.widgets.ExpandableComposite;
 import org.eclipse.ui.forms.widgets.Form;
@@ -61,6 +64,11 @@ public class PipelineOptionsFormComponent {
   private Map<ExpandableComposite, LabeledTextMapComponent> optionsComponents =
       new LinkedHashMap<>();
 
+  /** The sections of the form being shown that are still to be added. */
+  private Queue<PendingSection> pendingSections = new ArrayDeque<>();
+  private PipelineLaunchConfiguration launchConfiguration;
+  private Map<String, Optional<String>> optionsDescriptions = new HashMap<>();
+
   public PipelineOptionsFormComponent(
       Composite parent, String argumentSeparator, Set<String> filterProperties) {
     this.argumentSeparator = argumentSeparator;
@@ -75,13 +83,50 @@ public class PipelineOptionsFormComponent {
   public void updateForm(
       PipelineLaunchConfiguration launchConfiguration,
       Map<PipelineOptionsType, Set<PipelineOptionsProperty>> types) {
+    beginUpdate(launchConfiguration, types);
+    addSections(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Replaces the form with an empty one, to be filled by {@link #addSections(int)} with the
+   * sections for the provided types.
+   */
+  public void beginUpdate(
+      PipelineLaunchConfiguration launchConfiguration,
+      Map<PipelineOptionsType, Set<PipelineOptionsProperty>> types) {
     resetForm();
     if (launchConfiguration == null || launchConfiguration.getRunner() == null) {
+      parent.layout();
       return;
     }
+    this.launchConfiguration = launchConfiguration;
+    addTypesToForm(types);
+  }
+
+  /**
+   * Adds at most {@code maxSections} of the sections still to be shown to the form, so that a large
+   * form can be rendered over several turns of the event loop.
+   *
+   * @return true if sections remain to be added
+   */
+  public boolean addSections(int maxSections) {
+    for (int i = 0; i < maxSections && !pendingSections.isEmpty(); i++) {
+      PendingSection section = pendingSections.poll();
+      optionsTypeSection(section.name, section.properties, section.style);
+    }
+    parent.layout();
+    return !pendingSections.isEmpty();
+  }
 
-    addTypesToForm(launchConfiguration, types);
+  public boolean hasPendingSections() {
+    return !pendingSections.isEmpty();
+  }
 
+  /** Replaces the form with a message, such as while the options to show are being loaded. */
+  public void showPlaceholder(String message) {
+    resetForm();
+    Label placeholder = formToolkit.createLabel(form.getBody(), message);
+    placeholder.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
     parent.layout();
   }
 
@@ -90,16 +135,18 @@ public class PipelineOptionsFormComponent {
       form.dispose();
     }
     optionsComponents = new LinkedHashMap<>();
+    pendingSections = new ArrayDeque<>();
+    launchConfiguration = null;
     form = formToolkit.createForm(parent);
     form.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
     form.getBody().setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
     form.getBody().setLayout(new GridLayout());
   }
 
-  private void addTypesToForm(PipelineLaunchConfiguration launchConfiguration,
+  private void addTypesToForm(
       Map<PipelineOptionsType, Set<PipelineOptionsProperty>> optionsByType) {
     Multimap<String, String> options = LinkedHashMultimap.create();
-    Map<String, Optional<String>> optionsDescriptions = new HashMap<>();
+    optionsDescriptions = new HashMap<>();
     Set<String> requiredOptions = new LinkedHashSet<>();
 
     for (Map.Entry<PipelineOptionsType, Set<PipelineOptionsProperty>> optionsTypeEntry :
@@ -124,21 +171,20 @@ public class PipelineOptionsFormComponent {
     }
 
     if (!requiredOptions.isEmpty()) {
-      optionsTypeSection(launchConfiguration, REQURIED_ARGUMENTS_SECTION_NAME, requiredOptions,
-          optionsDescriptions, SWT.NULL);
+      pendingSections.add(
+          new PendingSection(REQURIED_ARGUMENTS_SECTION_NAME, requiredOptions, SWT.NULL));
     }
 
     for (Map.Entry<String, Collection<String>> optionsTypeProperty : options.asMap().entrySet()) {
       if (!optionsTypeProperty.getValue().isEmpty()) {
-        optionsTypeSection(launchConfiguration, optionsTypeProperty.getKey(),
-            optionsTypeProperty.getValue(), optionsDescriptions, ExpandableComposite.TWISTIE);
+        pendingSections.add(new PendingSection(optionsTypeProperty.getKey(),
+            optionsTypeProperty.getValue(), ExpandableComposite.TWISTIE));
       }
     }
   }
 
-  private ExpandableComposite optionsTypeSection(PipelineLaunchConfiguration launchConfiguration,
-      String optionsTypeName, Collection<String> optionsTypeProperties,
-      Map<String, Optional<String>> optionsDescriptions, int style) {
+  private ExpandableComposite optionsTypeSection(
+      String optionsTypeName, Collection<String> optionsTypeProperties, int style) {
     ExpandableComposite expandable = formToolkit.createSection(form.getBody(), style);
     expandable.setLayout(new GridLayout());
     expandable.setBackground(parent.getBackground());
@@ -183,4 +229,16 @@ public class PipelineOptionsFormComponent {
     }
     expansionListeners.add(expandListener);
   }
+
+  private static class PendingSection {
+    private final String name;
+    private final Collection<String> properties;
+    private final int style;
+
+    private PendingSection(String name, Collection<String> properties, int style) {
+      this.name = name;
+      this.properties = properties;
+      this.style = style;
+    }
+  }
 }
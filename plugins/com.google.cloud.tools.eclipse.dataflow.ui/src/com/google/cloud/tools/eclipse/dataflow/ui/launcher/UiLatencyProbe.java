@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.dataflow.ui.launcher;
+
+import com.google.cloud.tools.eclipse.dataflow.ui.DataflowUiPlugin;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long the UI thread is blocked by the operations it times. Operations blocking for
+ * longer than a threshold are logged.
+ */
+class UiLatencyProbe {
+  private static final long DEFAULT_WARNING_THRESHOLD_MILLIS = 500;
+
+  private final String owner;
+  private final long warningThresholdNanos;
+
+  private final AtomicLong operations = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  UiLatencyProbe(String owner) {
+    this(owner, DEFAULT_WARNING_THRESHOLD_MILLIS);
+  }
+
+  UiLatencyProbe(String owner, long warningThresholdMillis) {
+    this.owner = owner;
+    this.warningThresholdNanos = TimeUnit.MILLISECONDS.toNanos(warningThresholdMillis);
+  }
+
+  /** Returns the start time to pass to {@link #stop(long, String)}. */
+  long start() {
+    return System.nanoTime();
+  }
+
+  /** Records an operation started at {@code startNanos}, as returned by {@link #start()}. */
+  void stop(long startNanos, String operation) {
+    long elapsedNanos = System.nanoTime() - startNanos;
+    operations.incrementAndGet();
+    totalNanos.addAndGet(elapsedNanos);
+    maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+    if (elapsedNanos > warningThresholdNanos) {
+      DataflowUiPlugin.logWarning("%s blocked the UI thread for %d ms in %s", //$NON-NLS-1$
+          owner, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), operation);
+    }
+  }
+
+  long getOperations() {
+    return operations.get();
+  }
+
+  long getTotalMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalNanos.get());
+  }
+
+  long getMaxMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+  }
+
+  @Override
+  public String toString() {
+    return "UiLatencyProbe[owner=" + owner + ", operations=" + getOperations()
+        + ", totalMillis=" + getTotalMillis() + ", maxMillis=" + getMaxMillis() + "]";
+  }
+}
@@ -16,7 +16,7 @@
 
 package com.google.cloud.tools.eclipse.dataflow.ui.page;
 
-import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowMavenCoordinates;
+import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowArchetypeCatalog;
 import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowProjectArchetype;
 import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowProjectCreator;
 import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowProjectValidationStatus;
@@ -25,7 +25,6 @@ import com.google.cloud.tools.eclipse.dataflow.ui.Messages;
 import com.google.cloud.tools.eclipse.dataflow.ui.util.ButtonFactory;
 import com.google.cloud.tools.eclipse.usagetracker.AnalyticsEvents;
 import com.google.cloud.tools.eclipse.usagetracker.AnalyticsPingManager;
-import com.google.cloud.tools.eclipse.util.ArtifactRetriever;
 import com.google.common.base.Strings;
 import java.io.File;
 import java.net.URI;
@@ -290,9 +289,8 @@ public class NewDataflowProjectWizardLandingPage extends WizardPage  {
 
     DataflowProjectArchetype template = DataflowProjectArchetype.values()[templateDropdown.getSelectionIndex()];
     for (MajorVersion majorVersion : template.getSdkVersions().descendingSet()) {
-      ArtifactVersion latestArtifact = ArtifactRetriever.DEFAULT.getLatestReleaseVersion(
-          DataflowMavenCoordinates.GROUP_ID, template.getArtifactId(),
-          majorVersion.getVersionRange());
+      ArtifactVersion latestArtifact =
+          DataflowArchetypeCatalog.getDefault().getArchetypeVersion(template, majorVersion);
 
       if (latestArtifact != null) {
         templateVersionDropdown.add(latestArtifact.toString());
@@ -22,8 +22,11 @@ import com.google.cloud.tools.eclipse.dataflow.core.preferences.DataflowPreferen
 import com.google.cloud.tools.eclipse.dataflow.core.project.FetchStagingLocationsJob;
 import com.google.cloud.tools.eclipse.dataflow.core.project.GcsDataflowProjectClient;
 import com.google.cloud.tools.eclipse.dataflow.core.project.GcsDataflowProjectClient.StagingLocationVerificationResult;
+import com.google.cloud.tools.eclipse.dataflow.core.project.StagingLocationDiscovery;
+import com.google.cloud.tools.eclipse.dataflow.core.project.StagingLocationVerifier;
 import com.google.cloud.tools.eclipse.dataflow.core.project.VerifyStagingLocationJob;
 import com.google.cloud.tools.eclipse.dataflow.core.project.VerifyStagingLocationJob.VerifyStagingLocationResult;
+import com.google.cloud.tools.eclipse.dataflow.core.project.VerifyStagingLocationsJob;
 import com.google.cloud.tools.eclipse.dataflow.ui.DataflowUiPlugin;
 import com.google.cloud.tools.eclipse.dataflow.ui.Messages;
 import com.google.cloud.tools.eclipse.dataflow.ui.page.MessageTarget;
@@ -47,9 +50,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.SortedSet;
+import java.util.stream.Collectors;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.jobs.Job;
@@ -104,6 +109,9 @@ public class RunOptionsDefaultsComponent {
   /** Milliseconds to wait after a key before launching a job, to avoid needless computation. */
   private static final long NEXT_KEY_DELAY_MS = 250L;
 
+  /** The most locations of the combo verified in advance of being selected. */
+  private static final int MAX_CANDIDATE_CHECKS = 10;
+
   private static final BucketNameValidator bucketNameValidator = new BucketNameValidator();
 
   private final WizardPage page;
@@ -129,6 +137,12 @@ public class RunOptionsDefaultsComponent {
   private GcpProjectServicesJob checkProjectConfigurationJob;
   private FetchStagingLocationsJob fetchStagingLocationsJob;
   private VerifyStagingLocationJob verifyStagingLocationJob;
+  private VerifyStagingLocationsJob verifyCandidatesJob;
+
+  /** Counts the remote staging location checks made for this component. */
+  @VisibleForTesting
+  final StagingLocationVerifier.Session verificationSession =
+      StagingLocationVerifier.getDefault().newSession();
 
   /**
    * Remembers the last parameter value given to {@link #setEnabled}. In other words, the logical
@@ -564,12 +578,17 @@ public class RunOptionsDefaultsComponent {
     fetchStagingLocationsJob = null;
 
     if (project != null && credential != null) {
-      fetchStagingLocationsJob =
-          new FetchStagingLocationsJob(getGcsClient(), selectedEmail, project.getId());
+      // show the locations matching the bucket typed so far while the listing is in progress
+      String bucketPrefix = GcsDataflowProjectClient.toGcsLocationUri(
+          GcsDataflowProjectClient.toGcsBucketName(getStagingLocation()));
+      fetchStagingLocationsJob = new FetchStagingLocationsJob(StagingLocationDiscovery.getDefault(),
+          getGcsClient(), selectedEmail, project.getId(), bucketPrefix);
+      fetchStagingLocationsJob.onPartialResult(displayExecutor, this::setStagingLocationItems);
       fetchStagingLocationsJob.onSuccess(
           displayExecutor,
           stagingLocations -> {
             updateStagingLocations(stagingLocations);
+            verifyCandidateLocations(stagingLocations);
             validate(); // reports message back to UI
           });
       fetchStagingLocationsJob.onError(
@@ -587,6 +606,14 @@ public class RunOptionsDefaultsComponent {
    * Update the suggested staging locations combo box with the provided locations.
    */
   protected void updateStagingLocations(SortedSet<String> stagingLocations) {
+    if (target.isDisposed()) {
+      return;
+    }
+    setStagingLocationItems(stagingLocations);
+    validate();
+  }
+
+  private void setStagingLocationItems(SortedSet<String> stagingLocations) {
     if (target.isDisposed()) {
       return;
     }
@@ -596,7 +623,32 @@ public class RunOptionsDefaultsComponent {
       stagingLocationInput.add(location);
     }
     completionListener.setContents(stagingLocations);
-    validate();
+  }
+
+  /**
+   * Verify, as one batch in the background, the first staging locations that match the bucket
+   * typed so far, so that selecting one of them from the combo is verified without waiting.
+   */
+  private void verifyCandidateLocations(SortedSet<String> stagingLocations) {
+    if (verifyCandidatesJob != null) {
+      verifyCandidatesJob.abandon();
+      verifyCandidatesJob = null;
+    }
+    if (accountSelector.getSelectedCredential() == null) {
+      return;
+    }
+    String bucketPrefix = GcsDataflowProjectClient.toGcsLocationUri(
+        GcsDataflowProjectClient.toGcsBucketName(getStagingLocation()));
+    List<String> candidates = stagingLocations.tailSet(bucketPrefix).stream()
+        .filter(location -> location.startsWith(bucketPrefix))
+        .limit(MAX_CANDIDATE_CHECKS)
+        .collect(Collectors.toList());
+    if (!candidates.isEmpty()) {
+      verifyCandidatesJob = new VerifyStagingLocationsJob(
+          verificationSession, getGcsClient(), getAccountEmail(), candidates);
+      verifyCandidatesJob.setSystem(true);
+      verifyCandidatesJob.schedule();
+    }
   }
 
   /**
@@ -623,8 +675,8 @@ public class RunOptionsDefaultsComponent {
       return;
     }
 
-    verifyStagingLocationJob =
-        new VerifyStagingLocationJob(getGcsClient(), accountEmail, stagingLocation);
+    verifyStagingLocationJob = new VerifyStagingLocationJob(
+        verificationSession, getGcsClient(), accountEmail, stagingLocation);
     verifyStagingLocationJob.onSuccess(displayExecutor, this::validate);
     verifyStagingLocationJob.schedule(schedulingDelay);
   }
@@ -648,6 +700,9 @@ public class RunOptionsDefaultsComponent {
       StagingLocationVerificationResult result = getGcsClient()
           .createStagingLocation(project.getId(), stagingLocation, new NullProgressMonitor());
       if (result.isSuccessful()) {
+        // the project's listing no longer includes all its buckets
+        StagingLocationDiscovery.getDefault().invalidate(getAccountEmail(), project.getId());
+        StagingLocationVerifier.getDefault().invalidate(getAccountEmail(), stagingLocation);
         messageTarget.setInfo(Messages.getString("created.staging.location.at", stagingLocation)); //$NON-NLS-1$
         setPageComplete(true);
         createButton.setEnabled(false);
@@ -675,6 +730,9 @@ public class RunOptionsDefaultsComponent {
     if (verifyStagingLocationJob != null) {
       verifyStagingLocationJob.join();
     }
+    if (verifyCandidatesJob != null) {
+      verifyCandidatesJob.join();
+    }
     if (checkProjectConfigurationJob != null) {
       checkProjectConfigurationJob.join();
     }
@@ -16,6 +16,7 @@
 
 package com.google.cloud.tools.eclipse.dataflow.ui.wizard;
 
+import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowArchetypeCatalog;
 import com.google.cloud.tools.eclipse.dataflow.core.project.DataflowProjectCreator;
 import com.google.cloud.tools.eclipse.dataflow.ui.DataflowUiPlugin;
 import com.google.cloud.tools.eclipse.dataflow.ui.Messages;
@@ -83,5 +84,7 @@ public class NewDataflowProjectWizard extends Wizard implements INewWizard {
     setHelpAvailable(true);
     setWindowTitle(Messages.getString("new.cloud.dataflow.project")); //$NON-NLS-1$
     setNeedsProgressMonitor(true);
+    // bring the archetypes up to date while the user fills in the wizard
+    DataflowArchetypeCatalog.getDefault().scheduleRefresh();
   }
 }
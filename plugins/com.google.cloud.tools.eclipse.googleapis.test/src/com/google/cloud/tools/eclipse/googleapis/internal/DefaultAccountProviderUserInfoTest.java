@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.cloud.tools.eclipse.googleapis.Account;
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the account resolution of {@link DefaultAccountProvider} against a local stand-in for
+ * the userinfo endpoint.
+ */
+public class DefaultAccountProviderUserInfoTest {
+  private static final String USER_INFO = "{\"email\": \"alice@example.com\","
+      + " \"name\": \"Alice\", \"picture\": \"https://example.com/alice.png\"}";
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+  @Rule public TestHttpServer server =
+      new TestHttpServer("oauth2/v2/userinfo", USER_INFO).allowMultipleRequests();
+
+  private final AtomicInteger notifications = new AtomicInteger();
+  private final List<DefaultAccountProvider> providers = new ArrayList<>();
+  private Display display;
+  private Path adcPath;
+  private Path identityCacheFile;
+
+  @Before
+  public void setUp() {
+    display = Display.getDefault();  // notifications are delivered in this thread
+    adcPath = tempFolder.getRoot().toPath().resolve("adc.json");
+    identityCacheFile = tempFolder.getRoot().toPath().resolve("account-identities.json");
+  }
+
+  @After
+  public void tearDown() {
+    for (DefaultAccountProvider provider : providers) {
+      provider.dispose();
+    }
+  }
+
+  @Test
+  public void testFileChangeResolvesAccount() throws IOException, InterruptedException {
+    DefaultAccountProvider provider = newProvider();
+
+    writeAdcFile("token1");
+    waitForNotifications(1);
+    dispatchEvents(2 * DefaultAccountProvider.DEBOUNCE_DELAY_MS);
+    assertEquals(1, notifications.get());
+
+    Optional<Account> account = provider.computeAccount();
+    assertTrue(account.isPresent());
+    assertEquals("alice@example.com", account.get().getEmail());
+    assertEquals("Alice", account.get().getName().get());
+    assertEquals("https://example.com/alice.png", account.get().getAvatarUrl().get());
+    assertEquals(1, server.getRequestRemotePorts().size());
+    assertEquals("Bearer access-token1", server.getRequestHeaders().get("Authorization"));
+  }
+
+  @Test
+  public void testBurstOfChangesCoalesced() throws IOException, InterruptedException {
+    DefaultAccountProvider provider = newProvider();
+
+    writeAdcFile("token1");
+    writeAdcFile("token2");
+    waitForNotifications(1);
+    dispatchEvents(2 * DefaultAccountProvider.DEBOUNCE_DELAY_MS);
+    assertEquals(1, notifications.get());
+
+    assertEquals("token2", provider.getCredential().get().getRefreshToken());
+    assertTrue(provider.computeAccount().isPresent());
+    assertEquals(1, server.getRequestRemotePorts().size());
+    assertEquals("Bearer access-token2", server.getRequestHeaders().get("Authorization"));
+  }
+
+  @Test
+  public void testKnownIdentityNotFetchedAgain() throws IOException, InterruptedException {
+    newProvider();
+    writeAdcFile("token1");
+    waitForNotifications(1);
+    assertEquals(1, server.getRequestRemotePorts().size());
+
+    // a later session with the same credential
+    DefaultAccountProvider provider = newProvider();
+    Optional<Account> account = provider.computeAccount();
+    assertTrue(account.isPresent());
+    assertEquals("alice@example.com", account.get().getEmail());
+    assertEquals("Alice", account.get().getName().get());
+    assertEquals(1, server.getRequestRemotePorts().size());
+  }
+
+  private DefaultAccountProvider newProvider() {
+    DefaultAccountProvider provider = new DefaultAccountProvider(adcPath, identityCacheFile) {
+      @Override
+      protected Optional<Credential> computeCredential() {
+        // a credential with an access token, so that it is not refreshed
+        String refreshToken = getRefreshTokenFromCredentialFile();
+        if (refreshToken.isEmpty()) {
+          return Optional.empty();
+        }
+        GoogleCredential credential = new GoogleCredential.Builder()
+            .setTransport(new NetHttpTransport())
+            .setJsonFactory(Utils.getDefaultJsonFactory())
+            .setClientSecrets("client-id", "client-secret")
+            .build();
+        credential.setRefreshToken(refreshToken);
+        credential.setAccessToken("access-" + refreshToken);
+        return Optional.of(credential);
+      }
+    };
+    provider.setUserInfoRootUrl(server.getAddress());
+    provider.addCredentialChangeListener(notifications::incrementAndGet);
+    providers.add(provider);
+    return provider;
+  }
+
+  private void writeAdcFile(String refreshToken) throws IOException {
+    String content = "{\"type\": \"authorized_user\", \"client_id\": \"client-id\","
+        + " \"client_secret\": \"client-secret\", \"refresh_token\": \"" + refreshToken + "\"}";
+    Files.write(adcPath, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void waitForNotifications(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (notifications.get() < count && System.currentTimeMillis() < deadline) {
+      dispatchEvents(1);
+    }
+    assertEquals(count, notifications.get());
+  }
+
+  private void dispatchEvents(long milliseconds) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + milliseconds;
+    do {
+      if (!display.readAndDispatch()) {
+        Thread.sleep(1);
+      }
+    } while (System.currentTimeMillis() < deadline);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.cloud.tools.eclipse.googleapis.internal.ResponseCacheTest.FakeClock;
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.net.Proxy;
+import java.time.Duration;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Tests the response caching of {@link GovernedHttpTransport}, counting round trips. */
+public class GovernedHttpTransportCachingTest {
+
+  private static final String SCOPE = ResponseCache.scopeOf("alice@example.com");
+  private static final String OTHER_SCOPE = ResponseCache.scopeOf("bob@example.com");
+
+  @Rule public TestHttpServer server =
+      new TestHttpServer("projects", "[project]").allowMultipleRequests().withETag("\"v1\"");
+
+  private final FakeClock clock = new FakeClock();
+  private final ResponseCache cache = new ResponseCache(
+      ImmutableMap.of(GoogleApi.CLOUDRESOURCE_MANAGER_API, Duration.ofMinutes(5)), null, clock);
+
+  @Test
+  public void testFreshResponseServedWithoutRoundTrip() throws IOException {
+    HttpRequestFactory requestFactory = newCachingTransport(SCOPE).createRequestFactory();
+    for (int i = 0; i < 5; i++) {
+      assertEquals("[project]", get(requestFactory));
+    }
+    assertEquals(1, server.getRequestRemotePorts().size());
+  }
+
+  @Test
+  public void testStaleResponseRevalidated() throws IOException {
+    HttpRequestFactory requestFactory = newCachingTransport(SCOPE).createRequestFactory();
+    assertEquals("[project]", get(requestFactory));
+
+    clock.advance(Duration.ofMinutes(6));
+    assertEquals("[project]", get(requestFactory));
+    assertEquals(2, server.getRequestRemotePorts().size());
+    assertEquals("\"v1\"", server.getRequestHeaders().get("If-None-Match"));
+
+    // revalidation refreshed the cached response
+    assertEquals("[project]", get(requestFactory));
+    assertEquals(2, server.getRequestRemotePorts().size());
+  }
+
+  @Test
+  public void testScopesAreIsolated() throws IOException {
+    assertEquals("[project]", get(newCachingTransport(SCOPE).createRequestFactory()));
+    assertEquals("[project]", get(newCachingTransport(OTHER_SCOPE).createRequestFactory()));
+    assertEquals(2, server.getRequestRemotePorts().size());
+  }
+
+  @Test
+  public void testExplicitInvalidation() throws IOException {
+    HttpRequestFactory requestFactory = newCachingTransport(SCOPE).createRequestFactory();
+    assertEquals("[project]", get(requestFactory));
+    cache.invalidate(GoogleApi.CLOUDRESOURCE_MANAGER_API);
+    assertEquals("[project]", get(requestFactory));
+    assertEquals(2, server.getRequestRemotePorts().size());
+  }
+
+  @Test
+  public void testModifyingRequestInvalidates() throws IOException {
+    HttpRequestFactory requestFactory = newCachingTransport(SCOPE).createRequestFactory();
+    assertEquals("[project]", get(requestFactory));
+    requestFactory.buildDeleteRequest(projectsUrl()).execute().disconnect();
+    assertEquals("[project]", get(requestFactory));
+    assertEquals(3, server.getRequestRemotePorts().size());
+  }
+
+  @Test
+  public void testConditionalRequestBypassesCache() throws IOException {
+    HttpRequestFactory requestFactory = newCachingTransport(SCOPE).createRequestFactory();
+    assertEquals("[project]", get(requestFactory));
+
+    HttpResponse response = requestFactory.buildGetRequest(projectsUrl())
+        .setHeaders(new HttpHeaders().setCacheControl("no-cache"))
+        .execute();
+    assertEquals("[project]", response.parseAsString());
+    assertEquals(2, server.getRequestRemotePorts().size());
+  }
+
+  private GovernedHttpTransport newCachingTransport(String scope) {
+    return new GovernedHttpTransport(new TimeoutAwareConnectionFactory(Proxy.NO_PROXY),
+        new RequestGovernor())
+        .withResponseCache(cache, GoogleApi.CLOUDRESOURCE_MANAGER_API, scope);
+  }
+
+  private String get(HttpRequestFactory requestFactory) throws IOException {
+    return requestFactory.buildGetRequest(projectsUrl()).execute().parseAsString();
+  }
+
+  private GenericUrl projectsUrl() {
+    return new GenericUrl(server.getAddress() + "projects");
+  }
+}
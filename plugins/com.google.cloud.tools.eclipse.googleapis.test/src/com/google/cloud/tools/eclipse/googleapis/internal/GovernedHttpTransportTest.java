@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import com.google.common.base.Ticker;
+import java.io.IOException;
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class GovernedHttpTransportTest {
+
+  @Rule public TestHttpServer server =
+      new TestHttpServer("api", "response").allowMultipleRequests();
+
+  private RequestGovernor governor = new RequestGovernor();
+
+  @Test
+  public void testSequentialRequestsReuseConnection() throws IOException {
+    HttpRequestFactory requestFactory = newTransport().createRequestFactory();
+    for (int i = 0; i < 10; i++) {
+      HttpResponse response = requestFactory.buildGetRequest(apiUrl()).execute();
+      assertEquals("response", response.parseAsString());
+    }
+
+    assertEquals(10, server.getRequestRemotePorts().size());
+    assertEquals("requests should share a connection",
+        1, new HashSet<>(server.getRequestRemotePorts()).size());
+    ConnectionStatistics statistics = governor.getStatistics();
+    assertEquals(statistics.toString(), 0, statistics.getActiveConnections());
+    assertEquals(10, statistics.getResponseCount());
+  }
+
+  @Test
+  public void testPost() throws IOException {
+    byte[] content = "request body".getBytes(StandardCharsets.UTF_8);
+    HttpResponse response = newTransport().createRequestFactory()
+        .buildPostRequest(apiUrl(), new ByteArrayContent("text/plain", content))
+        .execute();
+
+    assertEquals("response", response.parseAsString());
+    assertEquals("POST", server.getRequestMethod());
+    assertEquals("request body", server.getBody());
+    assertEquals(0, governor.getStatistics().getActiveConnections());
+  }
+
+  @Test
+  public void testUnreadResponse_releasesConnection() throws IOException {
+    governor = new RequestGovernor(1, Ticker.systemTicker());
+    HttpRequestFactory requestFactory = newTransport().createRequestFactory();
+    // neither response is read nor closed
+    requestFactory.buildGetRequest(apiUrl()).execute();
+    assertEquals(0, governor.getStatistics().getActiveConnections());
+    requestFactory.buildGetRequest(apiUrl()).setConnectTimeout(100).setReadTimeout(100).execute();
+    assertEquals(2, governor.getStatistics().getResponseCount());
+  }
+
+  @Test
+  public void testFailedRequest_releasesConnection() {
+    governor = new RequestGovernor(1, Ticker.systemTicker());
+    HttpRequestFactory requestFactory = newTransport().createRequestFactory();
+    for (int i = 0; i < 2; i++) {
+      try {
+        requestFactory.buildGetRequest(new GenericUrl("http://localhost:1/")).execute();
+        fail("connected to a closed port");
+      } catch (IOException ex) {
+        // expected
+      }
+    }
+    assertEquals(0, governor.getStatistics().getActiveConnections());
+    assertEquals(2, governor.getStatistics().getFailedExchanges());
+  }
+
+  @Test
+  public void testConcurrentRequests() throws Exception {
+    governor = new RequestGovernor(2, Ticker.systemTicker());
+    HttpRequestFactory requestFactory = newTransport().createRequestFactory();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<String>> requests = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        requests.add(() -> requestFactory.buildGetRequest(apiUrl()).execute().parseAsString());
+      }
+      for (Future<String> result : executor.invokeAll(requests)) {
+        assertEquals("response", result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    ConnectionStatistics statistics = governor.getStatistics();
+    assertEquals(0, statistics.getActiveConnections());
+    assertEquals(0, statistics.getFailedExchanges());
+    assertEquals(16, statistics.getResponseCount());
+  }
+
+  private GovernedHttpTransport newTransport() {
+    return new GovernedHttpTransport(new TimeoutAwareConnectionFactory(Proxy.NO_PROXY), governor);
+  }
+
+  private GenericUrl apiUrl() {
+    return new GenericUrl(server.getAddress() + "api");
+  }
+}
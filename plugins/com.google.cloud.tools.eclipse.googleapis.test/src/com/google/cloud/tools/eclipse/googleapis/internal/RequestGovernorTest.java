@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.tools.eclipse.googleapis.internal.RequestGovernor.AdaptiveTimeout;
+import com.google.cloud.tools.eclipse.googleapis.internal.RequestGovernor.Exchange;
+import com.google.common.base.Ticker;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class RequestGovernorTest {
+
+  private final FakeTicker ticker = new FakeTicker();
+  private final RequestGovernor governor = new RequestGovernor(2, ticker);
+
+  @Test
+  public void testAcquireAndRelease() throws IOException {
+    Exchange exchange = governor.acquire(new URL("https://example.com/a"), 0);
+    assertEquals(1, governor.getStatistics().getActiveConnections());
+
+    exchange.release();
+    exchange.release();  // no effect
+    assertEquals(0, governor.getStatistics().getActiveConnections());
+    governor.acquire(new URL("https://example.com/b"), 0);
+    governor.acquire(new URL("https://example.com:443/c"), 0);
+    assertEquals(2, governor.getStatistics().getActiveConnections());
+  }
+
+  @Test
+  public void testAcquire_limitedPerHost() throws IOException {
+    governor.acquire(new URL("https://example.com/a"), 0);
+    governor.acquire(new URL("https://example.com/b"), 0);
+    try {
+      governor.acquire(new URL("https://example.com/c"), 10);
+      fail("acquired more connections than the limit");
+    } catch (IOException ex) {
+      assertEquals("Timed out waiting for a connection to example.com", ex.getMessage());
+    }
+    // other hosts are unaffected
+    governor.acquire(new URL("https://other.example.com/"), 10);
+    assertEquals(3, governor.getStatistics().getActiveConnections());
+    assertEquals(1, governor.getStatistics().getFailedExchanges());
+  }
+
+  @Test
+  public void testLatencyHistogram() throws IOException {
+    Exchange exchange = governor.acquire(new URL("https://example.com/"), 0);
+    exchange.started();
+    ticker.advance(150, TimeUnit.MILLISECONDS);
+    exchange.responded();
+
+    long[] counts = governor.getStatistics().getLatencyCounts();
+    assertArrayEquals(new long[] {0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0}, counts);
+    assertEquals(1, governor.getStatistics().getResponseCount());
+  }
+
+  @Test
+  public void testExchangeReadTimeout_raisedForSlowHost() throws IOException {
+    Exchange exchange = governor.acquire(new URL("https://example.com/"), 0);
+    assertEquals(1000, exchange.getReadTimeout(1000));
+
+    exchange.started();
+    ticker.advance(2000, TimeUnit.MILLISECONDS);
+    exchange.responded();
+
+    // estimate: 2000 + 4 * 1000
+    assertEquals(6000, exchange.getReadTimeout(1000));
+    assertEquals(20000, exchange.getReadTimeout(20000));
+  }
+
+  @Test
+  public void testAdaptiveTimeout_unsampled() {
+    AdaptiveTimeout timeout = new AdaptiveTimeout(60000);
+    assertEquals(1000, timeout.getTimeout(1000));
+    assertEquals(0, timeout.getTimeout(0));
+  }
+
+  @Test
+  public void testAdaptiveTimeout_neverLowersRequested() {
+    AdaptiveTimeout timeout = new AdaptiveTimeout(60000);
+    timeout.record(10);
+    assertEquals(1000, timeout.getTimeout(1000));
+    assertEquals(20000, timeout.getTimeout(20000));
+    assertEquals(0, timeout.getTimeout(0));
+  }
+
+  @Test
+  public void testAdaptiveTimeout_boundedByMaximum() {
+    AdaptiveTimeout timeout = new AdaptiveTimeout(60000);
+    timeout.record(50000);  // estimate: 50000 + 4 * 25000
+    assertEquals(60000, timeout.getTimeout(1000));
+    assertEquals(90000, timeout.getTimeout(90000));
+  }
+
+  @Test
+  public void testAdaptiveTimeout_tracksLatency() {
+    AdaptiveTimeout timeout = new AdaptiveTimeout(60000);
+    timeout.record(2000);  // estimate: 2000 + 4 * 1000
+    assertEquals(6000, timeout.getTimeout(1000));
+    for (int i = 0; i < 100; i++) {
+      timeout.record(2000);
+    }
+    // the variation decays away
+    assertEquals(2000, timeout.getTimeout(1000));
+  }
+
+  @Test
+  public void testAdaptiveTimeout_backOff() {
+    AdaptiveTimeout timeout = new AdaptiveTimeout(60000);
+    timeout.record(2000);
+    timeout.backOff();
+    assertEquals(12000, timeout.getTimeout(1000));
+    timeout.backOff();
+    assertEquals(24000, timeout.getTimeout(1000));
+
+    timeout.record(2000);
+    assertEquals(5000, timeout.getTimeout(1000));
+  }
+
+  private static class FakeTicker extends Ticker {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+      nanos.addAndGet(unit.toNanos(duration));
+    }
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.googleapis.internal.ResponseCache.CachedResponse;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResponseCacheTest {
+
+  private static final String SCOPE = ResponseCache.scopeOf("alice@example.com");
+  private static final String OTHER_SCOPE = ResponseCache.scopeOf("bob@example.com");
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final FakeClock clock = new FakeClock();
+  private final ResponseCache cache = new ResponseCache(
+      ImmutableMap.of(GoogleApi.CLOUDRESOURCE_MANAGER_API, Duration.ofMinutes(5)), null, clock);
+
+  @Test
+  public void testIsCached() {
+    assertTrue(cache.isCached(GoogleApi.CLOUDRESOURCE_MANAGER_API));
+    assertFalse(cache.isCached(GoogleApi.IAM_API));
+  }
+
+  @Test
+  public void testScopeOf_doesNotRevealIdentity() {
+    assertFalse(SCOPE.contains("alice"));
+    assertEquals(SCOPE, ResponseCache.scopeOf("alice@example.com"));
+    assertFalse(SCOPE.equals(OTHER_SCOPE));
+  }
+
+  @Test
+  public void testPutAndGet() {
+    put(SCOPE, "https://example.com/a", "content");
+
+    CachedResponse response = cache.get(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API,
+        "https://example.com/a");
+    assertNotNull(response);
+    assertEquals(200, response.getStatusCode());
+    assertEquals("\"v1\"", response.getHeader("etag"));
+    assertArrayEquals(bytes("content"), response.getContent());
+    assertNull(cache.get(OTHER_SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API,
+        "https://example.com/a"));
+  }
+
+  @Test
+  public void testFreshness() {
+    put(SCOPE, "https://example.com/a", "content");
+    CachedResponse response = getA(SCOPE);
+    assertTrue(cache.isFresh(response));
+
+    clock.advance(Duration.ofMinutes(5));
+    assertFalse(cache.isFresh(response));
+
+    cache.revalidated(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API, "https://example.com/a");
+    assertTrue(cache.isFresh(getA(SCOPE)));
+  }
+
+  @Test
+  public void testInvalidate_scopeAndApi() {
+    put(SCOPE, "https://example.com/a", "content");
+    put(OTHER_SCOPE, "https://example.com/a", "content");
+
+    cache.invalidate(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API);
+    assertNull(getA(SCOPE));
+    assertNotNull(getA(OTHER_SCOPE));
+  }
+
+  @Test
+  public void testInvalidate_api() {
+    put(SCOPE, "https://example.com/a", "content");
+    put(OTHER_SCOPE, "https://example.com/a", "content");
+
+    cache.invalidate(GoogleApi.APPENGINE_ADMIN_API);
+    assertEquals(2, cache.size());
+    cache.invalidate(GoogleApi.CLOUDRESOURCE_MANAGER_API);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testClear() {
+    put(SCOPE, "https://example.com/a", "content");
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getTotalBytes());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEvicted() {
+    for (int i = 0; i <= ResponseCache.MAXIMUM_ENTRIES; i++) {
+      put(SCOPE, "https://example.com/" + i, "content");
+    }
+    assertEquals(ResponseCache.MAXIMUM_ENTRIES, cache.size());
+    assertNull(cache.get(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API, "https://example.com/0"));
+  }
+
+  @Test
+  public void testTotalBytesBounded() {
+    byte[] content = new byte[ResponseCache.MAXIMUM_CONTENT_BYTES];
+    int count = (int) (ResponseCache.MAXIMUM_TOTAL_BYTES / content.length);
+    for (int i = 0; i <= count; i++) {
+      cache.put(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API, "https://example.com/" + i, 200,
+          "OK", Collections.<String>emptyList(), Collections.<String>emptyList(), content);
+    }
+    assertEquals(count, cache.size());
+    assertEquals(ResponseCache.MAXIMUM_TOTAL_BYTES, cache.getTotalBytes());
+    assertNull(cache.get(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API, "https://example.com/0"));
+    assertNotNull(cache.get(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API,
+        "https://example.com/" + count));
+  }
+
+  @Test
+  public void testPersistence() throws IOException {
+    Path file = tempFolder.getRoot().toPath().resolve("responses.json");
+    ResponseCache persistent = new ResponseCache(ResponseCache.DEFAULT_TTLS, file, clock);
+    persistent.put(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API, "https://example.com/a", 200,
+        "OK", Arrays.asList("ETag"), Arrays.asList("\"v1\""), bytes("content"));
+    persistent.save();
+    assertTrue(Files.exists(file));
+
+    ResponseCache reloaded = new ResponseCache(ResponseCache.DEFAULT_TTLS, file, clock);
+    CachedResponse response = reloaded.get(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API,
+        "https://example.com/a");
+    assertNotNull(response);
+    assertTrue(reloaded.isFresh(response));
+    assertEquals("OK", response.getReasonPhrase());
+    assertEquals("\"v1\"", response.getHeader("ETag"));
+    assertArrayEquals(bytes("content"), response.getContent());
+  }
+
+  @Test
+  public void testClear_deletesPersistedResponses() throws IOException {
+    Path file = tempFolder.getRoot().toPath().resolve("responses.json");
+    ResponseCache persistent = new ResponseCache(ResponseCache.DEFAULT_TTLS, file, clock);
+    persistent.put(SCOPE, GoogleApi.CLOUDRESOURCE_MANAGER_API, "https://example.com/a", 200,
+        "OK", Arrays.asList("ETag"), Arrays.asList("\"v1\""), bytes("content"));
+    persistent.save();
+
+    persistent.clear();
+    assertFalse(Files.exists(file));
+    persistent.save();
+    ResponseCache reloaded = new ResponseCache(ResponseCache.DEFAULT_TTLS, file, clock);
+    assertEquals(0, reloaded.size());
+  }
+
+  @Test
+  public void testPersistence_unreadableFileIgnored() throws IOException {
+    Path file = tempFolder.newFile("responses.json").toPath();
+    Files.write(file, bytes("{not json"));
+
+    ResponseCache reloaded = new ResponseCache(ResponseCache.DEFAULT_TTLS, file, clock);
+    assertEquals(0, reloaded.size());
+  }
+
+  private void put(String scope, String url, String content) {
+    cache.put(scope, GoogleApi.CLOUDRESOURCE_MANAGER_API, url, 200, "OK",
+        Collections.singletonList("ETag"), Collections.singletonList("\"v1\""), bytes(content));
+  }
+
+  private CachedResponse getA(String scope) {
+    return cache.get(scope, GoogleApi.CLOUDRESOURCE_MANAGER_API, "https://example.com/a");
+  }
+
+  private static byte[] bytes(String string) {
+    return string.getBytes(StandardCharsets.UTF_8);
+  }
+
+  static class FakeClock extends Clock {
+    private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+  }
+}
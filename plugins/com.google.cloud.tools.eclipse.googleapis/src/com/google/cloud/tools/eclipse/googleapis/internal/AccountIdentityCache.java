@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.cloud.tools.eclipse.googleapis.Account;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remembers the identity (email, name and picture) of the account of each credential resolved,
+ * keyed by a hash of the credential's refresh token, so that the account of a known credential is
+ * available without querying the userinfo endpoint, including in later sessions.
+ */
+class AccountIdentityCache {
+  private static final Logger logger = Logger.getLogger(AccountIdentityCache.class.getName());
+
+  private static final int MAXIMUM_ENTRIES = 20;
+
+  private final Path persistenceFile;
+  private final LinkedHashMap<String, Identity> identities =
+      new LinkedHashMap<String, Identity>(16, 0.75f, true /* accessOrder */) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Identity> eldest) {
+          return size() > MAXIMUM_ENTRIES;
+        }
+      };
+  private boolean loaded;
+
+  /**
+   * @param persistenceFile the file in which to persist the identities, or {@code null} to keep
+   *     them in memory only
+   */
+  AccountIdentityCache(Path persistenceFile) {
+    this.persistenceFile = persistenceFile;
+    loaded = persistenceFile == null;
+  }
+
+  /** Return the account of the credential if its identity is known. */
+  synchronized Optional<Account> getAccount(Credential credential) {
+    String key = keyOf(credential);
+    if (key == null) {
+      return Optional.empty();
+    }
+    ensureLoaded();
+    Identity identity = identities.get(key);
+    if (identity == null || identity.email == null) {
+      return Optional.empty();
+    }
+    return Optional.of(new Account(identity.email, credential, identity.name, identity.picture));
+  }
+
+  /** Remember the identity of the account, which belongs to the given credential. */
+  synchronized void put(Credential credential, Account account) {
+    String key = keyOf(credential);
+    if (key == null) {
+      return;
+    }
+    ensureLoaded();
+    identities.put(key, new Identity(account));
+    save();
+  }
+
+  private static String keyOf(Credential credential) {
+    String refreshToken = credential.getRefreshToken();
+    if (Strings.isNullOrEmpty(refreshToken)) {
+      return null;
+    }
+    return Hashing.sha256().hashString(refreshToken, StandardCharsets.UTF_8).toString();
+  }
+
+  private void save() {
+    if (persistenceFile == null) {
+      return;
+    }
+    try {
+      Files.createDirectories(persistenceFile.getParent());
+      Path temporary = Files.createTempFile(persistenceFile.getParent(), "accounts", ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+        new Gson().toJson(identities, writer);
+      }
+      Files.move(temporary, persistenceFile, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to save account identities", ex);
+    }
+  }
+
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+    loaded = true;
+    try (Reader reader = Files.newBufferedReader(persistenceFile, StandardCharsets.UTF_8)) {
+      Map<String, Identity> persisted = new Gson().fromJson(reader,
+          new TypeToken<LinkedHashMap<String, Identity>>() {}.getType());
+      if (persisted != null) {
+        identities.putAll(persisted);
+      }
+    } catch (NoSuchFileException ex) {
+      // nothing persisted yet
+    } catch (IOException | JsonParseException ex) {
+      logger.log(Level.WARNING, "Discarding unreadable account identities", ex);
+      identities.clear();
+    }
+  }
+
+  /** The persisted identity of an account. */
+  private static class Identity {
+    private String email;
+    private String name;
+    private String picture;
+
+    private Identity(Account account) {
+      email = account.getEmail();
+      name = account.getName().orElse(null);
+      picture = account.getAvatarUrl().orElse(null);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+
+/**
+ * A snapshot of the requests made to the Google Cloud Platform APIs, as obtained from {@link
+ * GoogleApiFactory#getConnectionStatistics()}.
+ */
+public class ConnectionStatistics {
+  private final int activeConnections;
+  private final long failedExchanges;
+  private final long[] latencyBucketsMs;
+  private final long[] latencyCounts;
+
+  ConnectionStatistics(int activeConnections, long failedExchanges, long[] latencyBucketsMs,
+      long[] latencyCounts) {
+    Preconditions.checkArgument(latencyBucketsMs.length == latencyCounts.length);
+    this.activeConnections = activeConnections;
+    this.failedExchanges = failedExchanges;
+    this.latencyBucketsMs = latencyBucketsMs.clone();
+    this.latencyCounts = latencyCounts.clone();
+  }
+
+  /** Return the number of requests that are awaiting their response. */
+  public int getActiveConnections() {
+    return activeConnections;
+  }
+
+  /** Return the number of exchanges that failed or timed out. */
+  public long getFailedExchanges() {
+    return failedExchanges;
+  }
+
+  /**
+   * Return the upper bounds, in milliseconds, of the buckets of the latency histogram. The last
+   * bucket is unbounded and has an upper bound of {@link Long#MAX_VALUE}.
+   */
+  public long[] getLatencyBucketsMs() {
+    return latencyBucketsMs.clone();
+  }
+
+  /**
+   * Return the number of responses in each bucket of the latency histogram, measured from sending
+   * the request to receiving the response headers.
+   */
+  public long[] getLatencyCounts() {
+    return latencyCounts.clone();
+  }
+
+  /** Return the total number of responses received. */
+  public long getResponseCount() {
+    return Arrays.stream(latencyCounts).sum();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder histogram = new StringBuilder();
+    for (int i = 0; i < latencyBucketsMs.length; i++) {
+      if (latencyCounts[i] > 0) {
+        histogram.append(histogram.length() == 0 ? "" : ", ")
+            .append(latencyBucketsMs[i] == Long.MAX_VALUE ? "more" : "<=" + latencyBucketsMs[i])
+            .append("ms: ").append(latencyCounts[i]);
+      }
+    }
+    return "active=" + activeConnections + ", failed=" + failedExchanges + ", latencies=["
+        + histogram + "]";
+  }
+}
@@ -29,6 +29,8 @@ import com.google.auth.oauth2.GoogleAuthUtils;
 import com.google.cloud.tools.eclipse.googleapis.Account;
 import com.google.cloud.tools.eclipse.googleapis.UserInfo;
 import com.google.cloud.tools.eclipse.util.CloudToolsInfo;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
@@ -36,6 +38,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -44,14 +47,34 @@ import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.swt.widgets.Display;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 
 /**
- * 
+ * Provides the account of the application default credentials (ADC) file.
+ *
+ * <p>Changes to the file are reported by a {@link WatchService} and debounced, so that the burst
+ * of events caused by writing the file results in a single check once the writes have settled.
+ * When the refresh token has changed, the account's identity is taken from a persistent cache
+ * keyed by a hash of the refresh token, or else fetched from the userinfo endpoint in the
+ * background; a fetch made obsolete by a further change is cancelled. Listeners are notified in
+ * the UI thread once the account is resolved, and notifications requested while one is pending
+ * are coalesced.
  */
 public class DefaultAccountProvider extends AccountProvider {
 
@@ -60,28 +83,69 @@ public class DefaultAccountProvider extends AccountProvider {
   public static final DefaultAccountProvider INSTANCE;
   private static final int USER_INFO_QUERY_HTTP_CONNECTION_TIMEOUT = 5000 /* ms */;
   private static final int USER_INFO_QUERY_HTTP_READ_TIMEOUT = 3000 /* ms */;
+  /** Grace period for gcloud CLI to finish writing the file after the last change event. */
+  @VisibleForTesting static final long DEBOUNCE_DELAY_MS = 100;
   private static final HttpTransport transport = new NetHttpTransport();
    
   private final JsonFactory jsonFactory = Utils.getDefaultJsonFactory();
   private static final Logger LOGGER = Logger.getLogger(DefaultAccountProvider.class.getName());
+  private static final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+      .setNameFormat("adc-account-%d").setDaemon(true).build();
   
   protected volatile Optional<Credential> currentCred = computeCredential();
   protected volatile Optional<Account> cachedAccount = Optional.empty();
   private WatchService watchService;
-  private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+  private final ExecutorService executorService = Executors.newSingleThreadExecutor(threadFactory);
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(threadFactory);
+  private final ExecutorService userInfoExecutor = Executors.newCachedThreadPool(threadFactory);
+  private final AtomicBoolean notificationPending = new AtomicBoolean();
+  private final AccountIdentityCache identityCache;
+  private String userInfoRootUrl = Oauth2.DEFAULT_ROOT_URL;
+
+  // guarded by this
+  private ScheduledFuture<?> pendingCheck;
+  private Future<Optional<Account>> accountResolution;
   
   static {
     INSTANCE = new DefaultAccountProvider();
     INSTANCE.initWatchService();
+    INSTANCE.resolveAccount(false);
   }
   
   private DefaultAccountProvider() {
+    identityCache = new AccountIdentityCache(getIdentityCacheFile());
   }
   
   protected DefaultAccountProvider(Path adcPath) {
+    this(adcPath, null);
+  }
+
+  /**
+   * @param identityCacheFile the file in which to persist account identities, or {@code null} to
+   *     keep them in memory only
+   */
+  @VisibleForTesting
+  DefaultAccountProvider(Path adcPath, Path identityCacheFile) {
     LOGGER.fine("Constructor with path: " + adcPath.toString());
     this.adcPath = adcPath;
+    identityCache = new AccountIdentityCache(identityCacheFile);
+    currentCred = computeCredential(); // the field initializer read the well-known path
     initWatchService();
+    resolveAccount(false);
+  }
+
+  @VisibleForTesting
+  void setUserInfoRootUrl(String userInfoRootUrl) {
+    this.userInfoRootUrl = userInfoRootUrl;
+  }
+
+  private static Path getIdentityCacheFile() {
+    Bundle bundle = FrameworkUtil.getBundle(DefaultAccountProvider.class);
+    if (bundle == null) {
+      return null;  // not running in OSGi
+    }
+    return Platform.getStateLocation(bundle).append("account-identities.json").toFile().toPath();
   }
   
   protected void initWatchService() {
@@ -95,52 +159,126 @@ public class DefaultAccountProvider extends AccountProvider {
       LOGGER.log(Level.INFO, "Watching for file changes in: " + adcFolderPath.toString());
     } catch (IOException ex) {
       LOGGER.log(Level.SEVERE, "Error creating watch service", ex);
+      return;
     }
     executorService.execute(() -> {
       while (true) {
         WatchKey key;
         try {
           key = watchService.take();
-        } catch (InterruptedException ex) {
-          LOGGER.log(Level.SEVERE, "Error creating watch service", ex);
-          continue;
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+          LOGGER.log(Level.FINE, "Stopped watching for file changes in: " + adcFolderPath, ex);
+          return;
         }
         for (WatchEvent<?> event : key.pollEvents()) {
           LOGGER.log(Level.FINE, this.hashCode() + ": Events detected in ADC folder");
-          Path affectedFile = adcFolderPath.resolve((Path) event.context());
-          if (affectedFile.equals(adcPath)) {
-            LOGGER.info(this.hashCode() + ": ADC file has changed");
-            onAdcFileChanged();
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW
+              || adcFolderPath.resolve((Path) event.context()).equals(adcPath)) {
+            LOGGER.fine(this.hashCode() + ": ADC file has changed");
+            scheduleAdcCheck();
             break; // prevent propagation for two events on same file and different kind
           }
         }
         key.reset();
-        try {
-          Thread.sleep(1000);
-        } catch (InterruptedException ex) {
-          LOGGER.log(Level.SEVERE, "Error when waiting for next polling action", ex);
-          continue;
-        }
       }
     });
   }
-  
-  protected void onAdcFileChanged() {
+
+  /** Stop watching the ADC file and shut down the background threads. */
+  @VisibleForTesting
+  void dispose() {
     try {
-      Thread.sleep(50); // grace period for gcloud CLI to write file after creating it
-      Display.getDefault().asyncExec(() -> confirmAdcCredsChanged());
-    } catch (InterruptedException ex) {
-      LOGGER.log(Level.SEVERE, "Error when delaying credentials file check", ex);
+      if (watchService != null) {
+        watchService.close();
+      }
+    } catch (IOException ex) {
+      LOGGER.log(Level.WARNING, "Error closing watch service", ex);
+    }
+    executorService.shutdownNow();
+    scheduler.shutdownNow();
+    userInfoExecutor.shutdownNow();
+  }
+
+  /** (Re)start the debounce delay after which {@link #onAdcFileChanged} is called. */
+  private synchronized void scheduleAdcCheck() {
+    if (pendingCheck != null) {
+      pendingCheck.cancel(false);
     }
+    pendingCheck =
+        scheduler.schedule(this::onAdcFileChanged, DEBOUNCE_DELAY_MS, TimeUnit.MILLISECONDS);
+  }
+  
+  /** Called in a background thread once the ADC file has not changed for a short while. */
+  protected void onAdcFileChanged() {
+    confirmAdcCredsChanged();
   }
   
   protected void confirmAdcCredsChanged() {
     String newToken = getRefreshTokenFromCredentialFile();
     String currtoken = currentCred.map(Credential::getRefreshToken).orElse("");
     if (newToken.compareTo(currtoken) != 0) {
+      LOGGER.info(this.hashCode() + ": ADC file has changed");
       currentCred = computeCredential();
-      cachedAccount = Optional.empty(); // lazily recompute the account
-      propagateCredentialChange();
+      cachedAccount = Optional.empty();
+      resolveAccount(true);
+    }
+  }
+
+  /**
+   * Start resolving the account of the current credential, cancelling any resolution in
+   * progress for a previous credential.
+   *
+   * @param notify whether to notify the listeners once the account is resolved
+   * @return the resolution, or {@code null} if there is no credential
+   */
+  private synchronized Future<Optional<Account>> resolveAccount(boolean notify) {
+    if (accountResolution != null) {
+      accountResolution.cancel(true);
+    }
+    accountResolution = null;
+    Optional<Credential> credential = currentCred;
+    if (!credential.isPresent()) {
+      if (notify) {
+        notifyCredentialChange();
+      }
+      return null;
+    }
+    Optional<Account> known = identityCache.getAccount(credential.get());
+    if (known.isPresent()) {
+      cachedAccount = known;
+      if (notify) {
+        notifyCredentialChange();
+      }
+      accountResolution = CompletableFuture.completedFuture(known);
+    } else {
+      accountResolution = userInfoExecutor.submit(() -> fetchAccount(credential.get(), notify));
+    }
+    return accountResolution;
+  }
+
+  private Optional<Account> fetchAccount(Credential credential, boolean notify) {
+    Optional<Account> account = queryUserInfo(credential);
+    synchronized (this) {
+      if (Thread.currentThread().isInterrupted()
+          || currentCred.orElse(null) != credential) {
+        return Optional.empty(); // superseded by a later credential
+      }
+      cachedAccount = account;
+    }
+    account.ifPresent(resolved -> identityCache.put(credential, resolved));
+    if (notify) {
+      notifyCredentialChange();
+    }
+    return account;
+  }
+
+  /** Notify the listeners in the UI thread, unless a notification is already pending. */
+  private void notifyCredentialChange() {
+    if (notificationPending.compareAndSet(false, true)) {
+      Display.getDefault().asyncExec(() -> {
+        notificationPending.set(false);
+        propagateCredentialChange();
+      });
     }
   }
   
@@ -161,6 +299,10 @@ public class DefaultAccountProvider extends AccountProvider {
     return INSTANCE.computeAccount();
   }
   
+  /**
+   * Return the account of the current credential, waiting for the resolution in progress if
+   * its identity is not yet known.
+   */
   protected Optional<Account> computeAccount() {
     if (!currentCred.isPresent()) {
       return Optional.empty();
@@ -168,7 +310,30 @@ public class DefaultAccountProvider extends AccountProvider {
     if (cachedAccount.isPresent()) {
       return cachedAccount;
     }
-    Credential credential = currentCred.get();
+    Future<Optional<Account>> resolution;
+    synchronized (this) {
+      resolution = accountResolution;
+      if (resolution == null || resolution.isDone()) {
+        resolution = resolveAccount(false); // retry a failed resolution
+      }
+    }
+    if (resolution == null) {
+      return Optional.empty();
+    }
+    try {
+      return resolution.get();
+    } catch (CancellationException ex) {
+      return cachedAccount; // superseded; the listeners will be notified again
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    } catch (ExecutionException ex) {
+      LOGGER.log(Level.SEVERE, "Error when computing account from ADC file", ex);
+      return Optional.empty();
+    }
+  }
+
+  private Optional<Account> queryUserInfo(Credential credential) {
     try {
       HttpRequestInitializer chainedInitializer = new HttpRequestInitializer() {
         @Override
@@ -181,13 +346,12 @@ public class DefaultAccountProvider extends AccountProvider {
       Oauth2 oauth2 = new Oauth2.Builder(transport, jsonFactory, credential)
           .setHttpRequestInitializer(chainedInitializer)
           .setApplicationName(CloudToolsInfo.USER_AGENT)
+          .setRootUrl(userInfoRootUrl)
           .build();
       
       UserInfo userInfo = new UserInfo(oauth2.userinfo().get().execute());
-      Optional<Account> result = Optional.of(new Account(
+      return Optional.of(new Account(
           userInfo.getEmail(), credential, userInfo.getName(), userInfo.getPicture()));
-      cachedAccount = result;
-      return result;
     } catch (IOException ex) {
       LOGGER.log(Level.SEVERE, "Error when computing account from ADC file", ex);
       return Optional.empty();
@@ -34,10 +34,15 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.LoadingCache;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.util.Optional;
 import org.eclipse.core.net.proxy.IProxyChangeEvent;
 import org.eclipse.core.net.proxy.IProxyChangeListener;
 import org.eclipse.core.net.proxy.IProxyService;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
@@ -54,6 +59,9 @@ public class GoogleApiFactory implements IGoogleApiFactory {
   private final JsonFactory jsonFactory = Utils.getDefaultJsonFactory();
   private final ProxyFactory proxyFactory;
   
+  private final RequestGovernor requestGovernor = new RequestGovernor();
+  private final ResponseCache responseCache =
+      new ResponseCache(ResponseCache.DEFAULT_TTLS, getResponseCacheFile(), Clock.systemUTC());
   private LoadingCache<GoogleApi, HttpTransport> transportCache;
   private IProxyService proxyService;
 
@@ -79,9 +87,13 @@ public class GoogleApiFactory implements IGoogleApiFactory {
     this.proxyFactory = proxyFactory;
     // NetHttpTransport advises: "For maximum efficiency, applications should use a single
     // globally-shared instance of the HTTP transport." But as we need a separate proxy per URL,
-    // we cannot reuse the same httptransport.
-    transportCache =
-        CacheBuilder.newBuilder().weakValues().build(new TransportCacheLoader(proxyFactory));
+    // we cannot reuse the same httptransport. The transports are instead retained until the
+    // proxy settings change, and share a single request governor.
+    transportCache = CacheBuilder.newBuilder()
+        .build(new TransportCacheLoader(proxyFactory, requestGovernor));
+    // on logout or a switch of account, discard the previous account's responses, in memory and
+    // on disk
+    accountProvider.addCredentialChangeListener(responseCache::clear);
   }
   
   @Override
@@ -113,7 +125,7 @@ public class GoogleApiFactory implements IGoogleApiFactory {
   @Override
   public Projects newProjectsApi() {
     Preconditions.checkNotNull(transportCache, "transportCache is null");
-    HttpTransport transport = transportCache.getUnchecked(GoogleApi.CLOUDRESOURCE_MANAGER_API);
+    HttpTransport transport = getTransport(GoogleApi.CLOUDRESOURCE_MANAGER_API);
     Preconditions.checkNotNull(transport, "transport is null");
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
     Credential credential = getCredentialOrFail();
@@ -127,7 +139,7 @@ public class GoogleApiFactory implements IGoogleApiFactory {
   @Override
   public Storage newStorageApi() {
     Preconditions.checkNotNull(transportCache, "transportCache is null");
-    HttpTransport transport = transportCache.getUnchecked(GoogleApi.CLOUD_STORAGE_API);
+    HttpTransport transport = getTransport(GoogleApi.CLOUD_STORAGE_API);
     Preconditions.checkNotNull(transport, "transport is null");
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
     Credential credential = getCredentialOrFail();
@@ -141,7 +153,7 @@ public class GoogleApiFactory implements IGoogleApiFactory {
   @Override
   public Apps newAppsApi() {
     Preconditions.checkNotNull(transportCache, "transportCache is null");
-    HttpTransport transport = transportCache.getUnchecked(GoogleApi.APPENGINE_ADMIN_API);
+    HttpTransport transport = getTransport(GoogleApi.APPENGINE_ADMIN_API);
     Preconditions.checkNotNull(transport, "transport is null");
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
     Credential credential = getCredentialOrFail();
@@ -155,7 +167,7 @@ public class GoogleApiFactory implements IGoogleApiFactory {
   @Override
   public ServiceManagement newServiceManagementApi() {
     Preconditions.checkNotNull(transportCache, "transportCache is null");
-    HttpTransport transport = transportCache.getUnchecked(GoogleApi.SERVICE_MANAGEMENT_API);
+    HttpTransport transport = getTransport(GoogleApi.SERVICE_MANAGEMENT_API);
     Preconditions.checkNotNull(transport, "transport is null");
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
     Credential credential = getCredentialOrFail();
@@ -169,7 +181,7 @@ public class GoogleApiFactory implements IGoogleApiFactory {
   @Override
   public Iam newIamApi() {
     Preconditions.checkNotNull(transportCache, "transportCache is null");
-    HttpTransport transport = transportCache.getUnchecked(GoogleApi.IAM_API);
+    HttpTransport transport = getTransport(GoogleApi.IAM_API);
     Preconditions.checkNotNull(transport, "transport is null");
     Preconditions.checkNotNull(jsonFactory, "jsonFactory is null");
     Credential credential = getCredentialOrFail();
@@ -179,6 +191,43 @@ public class GoogleApiFactory implements IGoogleApiFactory {
     return iam;
   }
 
+  /**
+   * Return the transport for the given API. Responses from cacheable APIs are cached for the
+   * current account.
+   */
+  private HttpTransport getTransport(GoogleApi api) {
+    HttpTransport transport = transportCache.getUnchecked(api);
+    if (transport instanceof GovernedHttpTransport && responseCache.isCached(api)) {
+      Optional<Account> account = getAccount();
+      if (account.isPresent()) {
+        String scope = ResponseCache.scopeOf(account.get().getEmail());
+        return ((GovernedHttpTransport) transport).withResponseCache(responseCache, api, scope);
+      }
+    }
+    return transport;
+  }
+
+  /**
+   * Discard the responses cached from the given API, for all accounts, so that subsequent
+   * requests go to the server; for example, when the user asks for a refresh.
+   */
+  public void invalidateCachedResponses(GoogleApi api) {
+    responseCache.invalidate(api);
+  }
+
+  private static Path getResponseCacheFile() {
+    Bundle bundle = FrameworkUtil.getBundle(GoogleApiFactory.class);
+    if (bundle == null) {
+      return null;  // not running in OSGi
+    }
+    return Platform.getStateLocation(bundle).append("api-responses.json").toFile().toPath();
+  }
+
+  /** Return a snapshot of the statistics of the connections made by the APIs. */
+  public ConnectionStatistics getConnectionStatistics() {
+    return requestGovernor.getStatistics();
+  }
+
   @Reference(policy=ReferencePolicy.DYNAMIC, cardinality=ReferenceCardinality.OPTIONAL)
   public void setProxyService(IProxyService proxyService) {
     this.proxyService = proxyService;
@@ -0,0 +1,473 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.http.javanet.ConnectionFactory;
+import com.google.api.client.util.StreamingContent;
+import com.google.cloud.tools.eclipse.googleapis.internal.RequestGovernor.Exchange;
+import com.google.cloud.tools.eclipse.googleapis.internal.ResponseCache.CachedResponse;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An {@link HttpTransport} that sends its requests over the {@link HttpURLConnection}s of a {@link
+ * ConnectionFactory}, in the manner of {@link com.google.api.client.http.javanet.NetHttpTransport},
+ * and whose requests are governed by a {@link RequestGovernor} shared with the other transports of
+ * a {@link GoogleApiFactory}. The governor's hold on a host is released as soon as the response
+ * headers are received, so a response whose content is never read or closed cannot keep it.
+ * Sockets are reused through the JDK's keep-alive cache.
+ *
+ * <p>A transport obtained from {@link #withResponseCache(ResponseCache, GoogleApi, String)}
+ * additionally serves {@code GET} requests from a {@link ResponseCache}, and invalidates the
+ * cached responses of its API whenever it executes any other request.
+ */
+class GovernedHttpTransport extends HttpTransport {
+
+  private static final ImmutableSet<String> SUPPORTED_METHODS =
+      ImmutableSet.of("DELETE", "GET", "HEAD", "OPTIONS", "POST", "PUT", "TRACE");
+
+  private final ConnectionFactory connectionFactory;
+  private final RequestGovernor governor;
+  private final ResponseCache responseCache;
+  private final GoogleApi api;
+  private final String scope;
+
+  GovernedHttpTransport(ConnectionFactory connectionFactory, RequestGovernor governor) {
+    this(connectionFactory, governor, null, null, null);
+  }
+
+  private GovernedHttpTransport(ConnectionFactory connectionFactory, RequestGovernor governor,
+      ResponseCache responseCache, GoogleApi api, String scope) {
+    this.connectionFactory = Preconditions.checkNotNull(connectionFactory);
+    this.governor = Preconditions.checkNotNull(governor);
+    this.responseCache = responseCache;
+    this.api = api;
+    this.scope = scope;
+  }
+
+  /**
+   * Return a transport sharing this transport's connections that caches the responses from the
+   * given API in {@code responseCache}, under the given credential scope.
+   */
+  GovernedHttpTransport withResponseCache(ResponseCache responseCache, GoogleApi api,
+      String scope) {
+    Preconditions.checkNotNull(responseCache);
+    Preconditions.checkNotNull(api);
+    Preconditions.checkNotNull(scope);
+    return new GovernedHttpTransport(connectionFactory, governor, responseCache, api, scope);
+  }
+
+  @Override
+  public boolean supportsMethod(String method) {
+    return SUPPORTED_METHODS.contains(method);
+  }
+
+  @Override
+  protected LowLevelHttpRequest buildRequest(String method, String url) throws IOException {
+    Preconditions.checkArgument(supportsMethod(method), "HTTP method %s not supported", method);
+    URL connectionUrl = new URL(url);
+    HttpURLConnection connection = connectionFactory.openConnection(connectionUrl);
+    connection.setRequestMethod(method);
+    connection.setInstanceFollowRedirects(false);
+    GovernedHttpRequest request = new GovernedHttpRequest(method, connectionUrl, connection);
+    if (responseCache != null && "GET".equals(method) && responseCache.isCached(api)) {
+      return new CachingHttpRequest(url, request);
+    }
+    return request;
+  }
+
+  private class GovernedHttpRequest extends LowLevelHttpRequest {
+    private final String method;
+    private final URL url;
+    private final HttpURLConnection connection;
+    private int connectTimeout;
+    private int readTimeout;
+
+    private GovernedHttpRequest(String method, URL url, HttpURLConnection connection) {
+      this.method = method;
+      this.url = url;
+      this.connection = connection;
+      connectTimeout = connection.getConnectTimeout();
+      readTimeout = connection.getReadTimeout();
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+      connection.addRequestProperty(name, value);
+    }
+
+    @Override
+    public void setTimeout(int connectTimeout, int readTimeout) {
+      this.connectTimeout = connectTimeout;
+      this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public LowLevelHttpResponse execute() throws IOException {
+      Exchange exchange = governor.acquire(url, connectTimeout + (long) readTimeout);
+      boolean responded = false;
+      try {
+        connection.setConnectTimeout(connectTimeout);
+        connection.setReadTimeout(exchange.getReadTimeout(readTimeout));
+        exchange.started();
+        writeContent();
+        ConnectionHttpResponse response = new ConnectionHttpResponse(connection);
+        exchange.responded();
+        responded = true;
+        invalidateCachedResponses();
+        return response;
+      } catch (SocketTimeoutException ex) {
+        exchange.failed(true /* timedOut */);
+        throw ex;
+      } catch (IOException | RuntimeException ex) {
+        exchange.failed(false /* timedOut */);
+        throw ex;
+      } finally {
+        exchange.release();
+        if (!responded) {
+          connection.disconnect();
+        }
+      }
+    }
+
+    private void writeContent() throws IOException {
+      StreamingContent content = getStreamingContent();
+      if (content == null) {
+        return;
+      }
+      if (getContentType() != null) {
+        connection.addRequestProperty("Content-Type", getContentType());
+      }
+      if (getContentEncoding() != null) {
+        connection.addRequestProperty("Content-Encoding", getContentEncoding());
+      }
+      long contentLength = getContentLength();
+      if (contentLength >= 0) {
+        connection.setRequestProperty("Content-Length", Long.toString(contentLength));
+      }
+      if ("POST".equals(method) || "PUT".equals(method)) {
+        connection.setDoOutput(true);
+        if (contentLength >= 0 && contentLength <= Integer.MAX_VALUE) {
+          connection.setFixedLengthStreamingMode((int) contentLength);
+        } else {
+          connection.setChunkedStreamingMode(0);
+        }
+        try (OutputStream out = connection.getOutputStream()) {
+          content.writeTo(out);
+        }
+      } else {
+        Preconditions.checkArgument(contentLength == 0,
+            "%s with non-zero content length is not supported", method);
+      }
+    }
+
+    /** A request that may change the API's resources invalidates the responses cached from it. */
+    private void invalidateCachedResponses() {
+      if (responseCache != null && !"GET".equals(method) && !"HEAD".equals(method)
+          && !"OPTIONS".equals(method) && !"TRACE".equals(method)) {
+        responseCache.invalidate(scope, api);
+      }
+    }
+  }
+
+  /** The response to a request sent over an {@link HttpURLConnection}. */
+  private static class ConnectionHttpResponse extends LowLevelHttpResponse {
+    private final HttpURLConnection connection;
+    private final int statusCode;
+    private final String reasonPhrase;
+    private final List<String> headerNames = new ArrayList<>();
+    private final List<String> headerValues = new ArrayList<>();
+
+    private ConnectionHttpResponse(HttpURLConnection connection) throws IOException {
+      this.connection = connection;
+      int code = connection.getResponseCode();
+      statusCode = code == -1 ? 0 : code;
+      reasonPhrase = connection.getResponseMessage();
+      for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+        // the null key holds the status line
+        if (header.getKey() != null) {
+          for (String value : header.getValue()) {
+            if (value != null) {
+              headerNames.add(header.getKey());
+              headerValues.add(value);
+            }
+          }
+        }
+      }
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+      try {
+        return connection.getInputStream();
+      } catch (IOException ex) {
+        // error responses carry their content in the error stream
+        return connection.getErrorStream();
+      }
+    }
+
+    @Override
+    public String getContentEncoding() {
+      return connection.getContentEncoding();
+    }
+
+    @Override
+    public long getContentLength() {
+      return connection.getContentLengthLong();
+    }
+
+    @Override
+    public String getContentType() {
+      return connection.getHeaderField("Content-Type");
+    }
+
+    @Override
+    public String getStatusLine() {
+      String statusLine = connection.getHeaderField(0);
+      return statusLine != null && statusLine.startsWith("HTTP/1.") ? statusLine : null;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return statusCode;
+    }
+
+    @Override
+    public String getReasonPhrase() {
+      return reasonPhrase;
+    }
+
+    @Override
+    public int getHeaderCount() {
+      return headerNames.size();
+    }
+
+    @Override
+    public String getHeaderName(int index) {
+      return headerNames.get(index);
+    }
+
+    @Override
+    public String getHeaderValue(int index) {
+      return headerValues.get(index);
+    }
+
+    @Override
+    public void disconnect() {
+      connection.disconnect();
+    }
+  }
+
+  /**
+   * Serves a {@code GET} request from the response cache while the cached response is fresh, and
+   * otherwise revalidates it with {@code If-None-Match} when the cached response has an {@code
+   * ETag}. Requests that carry their own conditional or cache-control headers bypass the cache.
+   */
+  private class CachingHttpRequest extends LowLevelHttpRequest {
+    private final String url;
+    private final GovernedHttpRequest request;
+    private boolean bypassCache;
+
+    private CachingHttpRequest(String url, GovernedHttpRequest request) {
+      this.url = url;
+      this.request = request;
+    }
+
+    @Override
+    public void addHeader(String name, String value) throws IOException {
+      String lowerCaseName = name.toLowerCase(Locale.US);
+      if (lowerCaseName.startsWith("if-") || "cache-control".equals(lowerCaseName)
+          || "pragma".equals(lowerCaseName)) {
+        bypassCache = true;
+      }
+      request.addHeader(name, value);
+    }
+
+    @Override
+    public void setTimeout(int connectTimeout, int readTimeout) throws IOException {
+      request.setTimeout(connectTimeout, readTimeout);
+    }
+
+    @Override
+    public LowLevelHttpResponse execute() throws IOException {
+      request.setStreamingContent(getStreamingContent());
+      request.setContentType(getContentType());
+      request.setContentEncoding(getContentEncoding());
+      request.setContentLength(getContentLength());
+      if (bypassCache) {
+        return request.execute();
+      }
+
+      CachedResponse cached = responseCache.get(scope, api, url);
+      if (cached != null && responseCache.isFresh(cached)) {
+        return new BufferedHttpResponse(cached.getStatusCode(), cached.getReasonPhrase(),
+            cached.getHeaderNames(), cached.getHeaderValues(), cached.getContent());
+      }
+      String etag = cached == null ? null : cached.getHeader("ETag");
+      if (etag != null) {
+        request.addHeader("If-None-Match", etag);
+      }
+
+      LowLevelHttpResponse response = request.execute();
+      int statusCode = response.getStatusCode();
+      if (etag != null && statusCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+        discardContent(response);
+        responseCache.revalidated(scope, api, url);
+        return new BufferedHttpResponse(cached.getStatusCode(), cached.getReasonPhrase(),
+            cached.getHeaderNames(), cached.getHeaderValues(), cached.getContent());
+      }
+      if (statusCode != HttpURLConnection.HTTP_OK || isNoStore(response)) {
+        return response;
+      }
+
+      List<String> headerNames = new ArrayList<>();
+      List<String> headerValues = new ArrayList<>();
+      for (int i = 0; i < response.getHeaderCount(); i++) {
+        headerNames.add(response.getHeaderName(i));
+        headerValues.add(response.getHeaderValue(i));
+      }
+      byte[] content = readContent(response);
+      if (content.length <= ResponseCache.MAXIMUM_CONTENT_BYTES) {
+        responseCache.put(scope, api, url, statusCode, response.getReasonPhrase(), headerNames,
+            headerValues, content);
+      }
+      return new BufferedHttpResponse(statusCode, response.getReasonPhrase(), headerNames,
+          headerValues, content);
+    }
+  }
+
+  private static boolean isNoStore(LowLevelHttpResponse response) throws IOException {
+    for (int i = 0; i < response.getHeaderCount(); i++) {
+      if ("Cache-Control".equalsIgnoreCase(response.getHeaderName(i))
+          && response.getHeaderValue(i).toLowerCase(Locale.US).contains("no-store")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] readContent(LowLevelHttpResponse response) throws IOException {
+    InputStream in = response.getContent();
+    if (in == null) {
+      return new byte[0];
+    }
+    try (InputStream content = in) {
+      return ByteStreams.toByteArray(content);
+    }
+  }
+
+  private static void discardContent(LowLevelHttpResponse response) throws IOException {
+    InputStream in = response.getContent();
+    if (in != null) {
+      try (InputStream content = in) {
+        ByteStreams.exhaust(content);
+      }
+    }
+  }
+
+  /** A response whose content has been read in full, or that was served from the cache. */
+  private static class BufferedHttpResponse extends LowLevelHttpResponse {
+    private final int statusCode;
+    private final String reasonPhrase;
+    private final List<String> headerNames;
+    private final List<String> headerValues;
+    private final byte[] content;
+
+    private BufferedHttpResponse(int statusCode, String reasonPhrase, List<String> headerNames,
+        List<String> headerValues, byte[] content) {
+      this.statusCode = statusCode;
+      this.reasonPhrase = reasonPhrase;
+      this.headerNames = headerNames;
+      this.headerValues = headerValues;
+      this.content = content;
+    }
+
+    @Override
+    public InputStream getContent() {
+      return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public String getContentEncoding() {
+      return getHeader("Content-Encoding");
+    }
+
+    @Override
+    public long getContentLength() {
+      return content.length;
+    }
+
+    @Override
+    public String getContentType() {
+      return getHeader("Content-Type");
+    }
+
+    @Override
+    public String getStatusLine() {
+      return "HTTP/1.1 " + statusCode + (reasonPhrase == null ? "" : " " + reasonPhrase);
+    }
+
+    @Override
+    public int getStatusCode() {
+      return statusCode;
+    }
+
+    @Override
+    public String getReasonPhrase() {
+      return reasonPhrase;
+    }
+
+    @Override
+    public int getHeaderCount() {
+      return headerNames.size();
+    }
+
+    @Override
+    public String getHeaderName(int index) {
+      return headerNames.get(index);
+    }
+
+    @Override
+    public String getHeaderValue(int index) {
+      return headerValues.get(index);
+    }
+
+    private String getHeader(String name) {
+      for (int i = 0; i < headerNames.size(); i++) {
+        if (headerNames.get(i).equalsIgnoreCase(name)) {
+          return headerValues.get(i);
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Governs the HTTP requests made by the {@link GovernedHttpTransport}s of a {@link
+ * GoogleApiFactory}. The sockets themselves are pooled by the JDK's keep-alive cache; this class
+ * bounds the number of concurrent requests to each host that are awaiting their response, raises
+ * the read timeouts for hosts whose observed latencies exceed them, and collects {@link
+ * ConnectionStatistics}.
+ */
+class RequestGovernor {
+
+  /** Matches the JDK's default for {@code http.maxConnections}. */
+  @VisibleForTesting
+  static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 5;
+
+  /** The upper bounds of the latency histogram buckets, in milliseconds. */
+  @VisibleForTesting
+  static final long[] LATENCY_BUCKETS_MS =
+      {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, Long.MAX_VALUE};
+
+  /** The adaptive timeouts never raise a requested timeout above this. */
+  @VisibleForTesting static final int MAXIMUM_TIMEOUT_MS = 60000;
+
+  private final int maxConnectionsPerHost;
+  private final Ticker ticker;
+  private final ConcurrentMap<String, HostState> hosts = new ConcurrentHashMap<>();
+
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS_MS.length);
+
+  RequestGovernor() {
+    this(DEFAULT_MAX_CONNECTIONS_PER_HOST, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  RequestGovernor(int maxConnectionsPerHost, Ticker ticker) {
+    Preconditions.checkArgument(maxConnectionsPerHost > 0, "maxConnectionsPerHost must be > 0");
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.ticker = Preconditions.checkNotNull(ticker);
+  }
+
+  /**
+   * Start an exchange with the host of the given URL, waiting up to {@code timeoutMs} for one of
+   * the host's connections to become available. A timeout of 0 waits indefinitely. The exchange
+   * must be {@link Exchange#release() released} once its response has been received or it failed.
+   *
+   * @throws IOException if no connection became available in time
+   */
+  Exchange acquire(URL url, long timeoutMs) throws IOException {
+    HostState host = hosts.computeIfAbsent(hostKey(url), key -> new HostState());
+    try {
+      if (timeoutMs > 0) {
+        if (!host.permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+          failed.incrementAndGet();
+          throw new IOException("Timed out waiting for a connection to " + url.getHost());
+        }
+      } else {
+        host.permits.acquire();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted waiting for a connection to " + url.getHost(), ex);
+    }
+    return new Exchange(host);
+  }
+
+  private static String hostKey(URL url) {
+    int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+    return url.getProtocol() + "://" + url.getHost() + ":" + port;
+  }
+
+  /** Return a snapshot of the statistics of this governor. */
+  ConnectionStatistics getStatistics() {
+    int active = 0;
+    for (HostState host : hosts.values()) {
+      active += maxConnectionsPerHost - host.permits.availablePermits();
+    }
+    long[] histogram = new long[LATENCY_BUCKETS_MS.length];
+    for (int i = 0; i < histogram.length; i++) {
+      histogram[i] = latencyHistogram.get(i);
+    }
+    return new ConnectionStatistics(active, failed.get(), LATENCY_BUCKETS_MS, histogram);
+  }
+
+  private void recordLatency(long latencyMs) {
+    for (int i = 0; i < LATENCY_BUCKETS_MS.length; i++) {
+      if (latencyMs <= LATENCY_BUCKETS_MS[i]) {
+        latencyHistogram.incrementAndGet(i);
+        return;
+      }
+    }
+  }
+
+  /** A single request to one of the hosts, until its response is received. */
+  class Exchange {
+    private final HostState host;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private long startNanos;
+
+    private Exchange(HostState host) {
+      this.host = host;
+    }
+
+    /** Return the read timeout to use, given the timeout requested by the caller. */
+    int getReadTimeout(int requestedMs) {
+      return host.readTimeout.getTimeout(requestedMs);
+    }
+
+    /** Note that the request is about to be sent. */
+    void started() {
+      startNanos = ticker.read();
+    }
+
+    /** Note that the response headers were received. */
+    void responded() {
+      long latencyMs = TimeUnit.NANOSECONDS.toMillis(ticker.read() - startNanos);
+      host.readTimeout.record(latencyMs);
+      recordLatency(latencyMs);
+    }
+
+    /** Note that the exchange failed, such as from a timeout. */
+    void failed(boolean timedOut) {
+      failed.incrementAndGet();
+      if (timedOut) {
+        host.readTimeout.backOff();
+      }
+    }
+
+    /** Release the connection; has no effect if already released. */
+    void release() {
+      if (released.compareAndSet(false, true)) {
+        host.permits.release();
+      }
+    }
+  }
+
+  private class HostState {
+    private final Semaphore permits = new Semaphore(maxConnectionsPerHost, true);
+    private final AdaptiveTimeout readTimeout = new AdaptiveTimeout(MAXIMUM_TIMEOUT_MS);
+  }
+
+  /**
+   * Estimates a timeout from the observed latencies in the manner of TCP's retransmission timeout
+   * (RFC 6298): the smoothed latency plus four times its variation, doubled after each timeout.
+   * The estimate only ever raises the timeout requested by the caller, and never above the
+   * maximum; a requested timeout of 0, meaning no timeout, is kept.
+   */
+  @VisibleForTesting
+  static class AdaptiveTimeout {
+    private static final int MAXIMUM_BACKOFF = 8;
+
+    private final int maximumMs;
+    private boolean sampled;
+    private double smoothedMs;
+    private double variationMs;
+    private int backoff = 1;
+
+    AdaptiveTimeout(int maximumMs) {
+      this.maximumMs = maximumMs;
+    }
+
+    synchronized void record(long latencyMs) {
+      if (!sampled) {
+        smoothedMs = latencyMs;
+        variationMs = latencyMs / 2.0;
+        sampled = true;
+      } else {
+        variationMs = 0.75 * variationMs + 0.25 * Math.abs(smoothedMs - latencyMs);
+        smoothedMs = 0.875 * smoothedMs + 0.125 * latencyMs;
+      }
+      backoff = 1;
+    }
+
+    synchronized void backOff() {
+      backoff = Math.min(backoff * 2, MAXIMUM_BACKOFF);
+    }
+
+    /** Return the timeout to use, which is never below the requested timeout. */
+    synchronized int getTimeout(int requestedMs) {
+      if (!sampled || requestedMs == 0 || requestedMs >= maximumMs) {
+        return requestedMs;
+      }
+      long estimate = (long) ((smoothedMs + 4 * variationMs) * backoff);
+      return (int) Math.max(requestedMs, Math.min(estimate, maximumMs));
+    }
+  }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.googleapis.internal;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Caches the successful responses to {@code GET} requests made to the Google Cloud Platform APIs,
+ * so that dialogs and tabs that fetch the same lists need not go back to the server every time
+ * they open. Responses are cached per API and per credential scope (a hash of the account), and
+ * are served without a round trip for the API's time-to-live; after that they are revalidated
+ * with {@code If-None-Match} when the server provided an {@code ETag}. The cache is optionally
+ * persisted to disk between sessions.
+ */
+class ResponseCache {
+  private static final Logger logger = Logger.getLogger(ResponseCache.class.getName());
+
+  /** The time-to-live of cached responses for each API; other APIs are not cached. */
+  static final ImmutableMap<GoogleApi, Duration> DEFAULT_TTLS = ImmutableMap.of(
+      GoogleApi.CLOUDRESOURCE_MANAGER_API, Duration.ofMinutes(5),
+      GoogleApi.APPENGINE_ADMIN_API, Duration.ofMinutes(5),
+      GoogleApi.SERVICE_MANAGEMENT_API, Duration.ofMinutes(5),
+      GoogleApi.CLOUD_STORAGE_API, Duration.ofMinutes(1));
+
+  @VisibleForTesting static final int MAXIMUM_ENTRIES = 500;
+  @VisibleForTesting static final int MAXIMUM_CONTENT_BYTES = 1024 * 1024;
+  /** The bound on the total size of the cached content, beyond which the eldest are evicted. */
+  @VisibleForTesting static final long MAXIMUM_TOTAL_BYTES = 16 * 1024 * 1024;
+
+  private static final long SAVE_DELAY_MS = 10000;
+
+  private final ImmutableMap<GoogleApi, Duration> ttls;
+  private final Path persistenceFile;
+  private final Clock clock;
+  private final Job saveJob;
+
+  // guarded by this
+  private final LinkedHashMap<String, CachedResponse> entries =
+      new LinkedHashMap<>(16, 0.75f, true /* accessOrder */);
+  private long totalBytes;
+  private boolean loaded;
+  // incremented when the cache is cleared, so that a save started before then is discarded
+  private long generation;
+
+  /**
+   * @param persistenceFile the file in which to persist the cache, or {@code null} to keep the
+   *     cache in memory only
+   */
+  ResponseCache(Map<GoogleApi, Duration> ttls, Path persistenceFile, Clock clock) {
+    this.ttls = ImmutableMap.copyOf(ttls);
+    this.persistenceFile = persistenceFile;
+    this.clock = Preconditions.checkNotNull(clock);
+    loaded = persistenceFile == null;
+    saveJob = new Job("Saving Google Cloud API response cache") {
+      @Override
+      protected IStatus run(IProgressMonitor monitor) {
+        save();
+        return Status.OK_STATUS;
+      }
+    };
+    saveJob.setSystem(true);
+  }
+
+  /** Return a stable, non-identifying scope for the given account identity. */
+  static String scopeOf(String identity) {
+    return Hashing.sha256().hashString(identity, StandardCharsets.UTF_8).toString();
+  }
+
+  /** Return {@code true} if responses from the given API are cached. */
+  boolean isCached(GoogleApi api) {
+    return ttls.containsKey(api);
+  }
+
+  /** Return the cached response for the given URL, fresh or not, or {@code null} if none. */
+  synchronized CachedResponse get(String scope, GoogleApi api, String url) {
+    ensureLoaded();
+    return entries.get(key(scope, api, url));
+  }
+
+  /** Return {@code true} if the response can be served without revalidation. */
+  boolean isFresh(CachedResponse response) {
+    Duration ttl = ttls.get(response.api);
+    return ttl != null && clock.millis() - response.storedAt < ttl.toMillis();
+  }
+
+  /** Cache the response for the given URL. */
+  synchronized void put(String scope, GoogleApi api, String url, int statusCode,
+      String reasonPhrase, List<String> headerNames, List<String> headerValues, byte[] content) {
+    Preconditions.checkArgument(content.length <= MAXIMUM_CONTENT_BYTES, "content too large");
+    ensureLoaded();
+    putEntry(key(scope, api, url), new CachedResponse(scope, api, clock.millis(), statusCode,
+        reasonPhrase, headerNames, headerValues, content));
+    changed();
+  }
+
+  /** Mark the response as fresh again after successful revalidation. */
+  synchronized void revalidated(String scope, GoogleApi api, String url) {
+    String key = key(scope, api, url);
+    CachedResponse response = entries.get(key);
+    if (response != null) {
+      putEntry(key, response.storedAt(clock.millis()));
+      changed();
+    }
+  }
+
+  /** Discard the responses cached from the given API for the given scope. */
+  synchronized void invalidate(String scope, GoogleApi api) {
+    ensureLoaded();
+    removeIf(response -> response.scope.equals(scope) && response.api == api);
+  }
+
+  /** Discard the responses cached from the given API for all scopes. */
+  synchronized void invalidate(GoogleApi api) {
+    ensureLoaded();
+    removeIf(response -> response.api == api);
+  }
+
+  /**
+   * Discard all cached responses, and delete the persisted ones at once rather than on the next
+   * save, as they may hold the data of an account that is no longer signed in.
+   */
+  synchronized void clear() {
+    entries.clear();
+    totalBytes = 0;
+    loaded = true;
+    generation++;
+    saveJob.cancel();
+    if (persistenceFile != null) {
+      try {
+        Files.deleteIfExists(persistenceFile);
+      } catch (IOException ex) {
+        logger.log(Level.WARNING, "Unable to delete API response cache", ex);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int size() {
+    ensureLoaded();
+    return entries.size();
+  }
+
+  @VisibleForTesting
+  synchronized long getTotalBytes() {
+    ensureLoaded();
+    return totalBytes;
+  }
+
+  /** Add or replace an entry, then evict the least recently used entries beyond the bounds. */
+  private void putEntry(String key, CachedResponse response) {
+    CachedResponse previous = entries.put(key, response);
+    if (previous != null) {
+      totalBytes -= previous.content.length;
+    }
+    totalBytes += response.content.length;
+    Iterator<CachedResponse> eldest = entries.values().iterator();
+    while (entries.size() > MAXIMUM_ENTRIES || totalBytes > MAXIMUM_TOTAL_BYTES) {
+      totalBytes -= eldest.next().content.length;
+      eldest.remove();
+    }
+  }
+
+  private void removeIf(Predicate<CachedResponse> predicate) {
+    boolean removed = false;
+    for (Iterator<CachedResponse> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+      CachedResponse response = iterator.next();
+      if (predicate.test(response)) {
+        totalBytes -= response.content.length;
+        iterator.remove();
+        removed = true;
+      }
+    }
+    if (removed) {
+      changed();
+    }
+  }
+
+  private static String key(String scope, GoogleApi api, String url) {
+    return scope + ' ' + api.name() + ' ' + url;
+  }
+
+  private void changed() {
+    if (persistenceFile != null) {
+      saveJob.schedule(SAVE_DELAY_MS);
+    }
+  }
+
+  /**
+   * Write the cached responses to the persistence file, if any. The responses are copied while
+   * holding the lock but written without it, so that requests are not blocked by the disk.
+   */
+  void save() {
+    if (persistenceFile == null) {
+      return;
+    }
+    List<PersistedResponse> persisted = new ArrayList<>();
+    long savedGeneration;
+    synchronized (this) {
+      for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+        persisted.add(new PersistedResponse(entry.getKey(), entry.getValue()));
+      }
+      savedGeneration = generation;
+    }
+    try {
+      Files.createDirectories(persistenceFile.getParent());
+      Path temporary = Files.createTempFile(persistenceFile.getParent(), "responses", ".tmp");
+      try {
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+          new Gson().toJson(persisted, writer);
+        }
+        synchronized (this) {
+          // do not resurrect responses that were cleared while they were being written
+          if (savedGeneration == generation) {
+            Files.move(temporary, persistenceFile, StandardCopyOption.REPLACE_EXISTING);
+          }
+        }
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to save API response cache", ex);
+    }
+  }
+
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+    loaded = true;
+    try (Reader reader = Files.newBufferedReader(persistenceFile, StandardCharsets.UTF_8)) {
+      List<PersistedResponse> persisted =
+          new Gson().fromJson(reader, new TypeToken<List<PersistedResponse>>() {}.getType());
+      if (persisted != null) {
+        for (PersistedResponse response : persisted) {
+          CachedResponse cached = response.toCachedResponse();
+          if (cached != null && ttls.containsKey(cached.api)) {
+            putEntry(response.key, cached);
+          }
+        }
+      }
+    } catch (NoSuchFileException ex) {
+      // nothing persisted yet
+    } catch (IOException | JsonParseException | IllegalArgumentException ex) {
+      logger.log(Level.WARNING, "Discarding unreadable API response cache", ex);
+      entries.clear();
+      totalBytes = 0;
+    }
+  }
+
+  /** A cached response. Instances are immutable. */
+  static class CachedResponse {
+    private final String scope;
+    private final GoogleApi api;
+    private final long storedAt;
+    private final int statusCode;
+    private final String reasonPhrase;
+    private final ImmutableList<String> headerNames;
+    private final ImmutableList<String> headerValues;
+    private final byte[] content;
+
+    private CachedResponse(String scope, GoogleApi api, long storedAt, int statusCode,
+        String reasonPhrase, List<String> headerNames, List<String> headerValues,
+        byte[] content) {
+      Preconditions.checkArgument(headerNames.size() == headerValues.size());
+      this.scope = scope;
+      this.api = api;
+      this.storedAt = storedAt;
+      this.statusCode = statusCode;
+      this.reasonPhrase = reasonPhrase;
+      this.headerNames = ImmutableList.copyOf(headerNames);
+      this.headerValues = ImmutableList.copyOf(headerValues);
+      this.content = content;
+    }
+
+    private CachedResponse storedAt(long time) {
+      return new CachedResponse(scope, api, time, statusCode, reasonPhrase, headerNames,
+          headerValues, content);
+    }
+
+    int getStatusCode() {
+      return statusCode;
+    }
+
+    String getReasonPhrase() {
+      return reasonPhrase;
+    }
+
+    ImmutableList<String> getHeaderNames() {
+      return headerNames;
+    }
+
+    ImmutableList<String> getHeaderValues() {
+      return headerValues;
+    }
+
+    /** Return the value of the first header with the given name, or {@code null} if none. */
+    String getHeader(String name) {
+      for (int i = 0; i < headerNames.size(); i++) {
+        if (headerNames.get(i).equalsIgnoreCase(name)) {
+          return headerValues.get(i);
+        }
+      }
+      return null;
+    }
+
+    /** Return the raw content, which may be compressed as per its {@code Content-Encoding}. */
+    byte[] getContent() {
+      return content.clone();
+    }
+  }
+
+  /** The persisted form of a {@link CachedResponse}. */
+  private static class PersistedResponse {
+    private String key;
+    private String scope;
+    private String api;
+    private long storedAt;
+    private int statusCode;
+    private String reasonPhrase;
+    private List<String> headerNames;
+    private List<String> headerValues;
+    private String content;
+
+    private PersistedResponse(String key, CachedResponse response) {
+      this.key = key;
+      scope = response.scope;
+      api = response.api.name();
+      storedAt = response.storedAt;
+      statusCode = response.statusCode;
+      reasonPhrase = response.reasonPhrase;
+      headerNames = response.headerNames;
+      headerValues = response.headerValues;
+      content = BaseEncoding.base64().encode(response.content);
+    }
+
+    /** Return the response, or {@code null} if it is incomplete. */
+    private CachedResponse toCachedResponse() {
+      if (key == null || scope == null || api == null || headerNames == null
+          || headerValues == null || content == null) {
+        return null;
+      }
+      return new CachedResponse(scope, GoogleApi.valueOf(api), storedAt, statusCode,
+          reasonPhrase, headerNames, headerValues, BaseEncoding.base64().decode(content));
+    }
+  }
+}
@@ -18,15 +18,20 @@ package com.google.cloud.tools.eclipse.googleapis.internal;
 
 import com.google.api.client.http.HttpTransport;
 import com.google.api.client.http.javanet.ConnectionFactory;
-import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.common.cache.CacheLoader;
 
 class TransportCacheLoader extends CacheLoader<GoogleApi, HttpTransport> {
 
   private final ProxyFactory proxyFactory;
+  private final RequestGovernor requestGovernor;
 
   TransportCacheLoader(ProxyFactory proxyFactory) {
+    this(proxyFactory, new RequestGovernor());
+  }
+
+  TransportCacheLoader(ProxyFactory proxyFactory, RequestGovernor requestGovernor) {
     this.proxyFactory = proxyFactory;
+    this.requestGovernor = requestGovernor;
   }
 
   // Should not throw any checked exception, as cache clients use "getUnchecked()" instead of
@@ -35,6 +40,6 @@ class TransportCacheLoader extends CacheLoader<GoogleApi, HttpTransport> {
   public HttpTransport load(GoogleApi url) {
     ConnectionFactory connectionFactory =
         new TimeoutAwareConnectionFactory(proxyFactory.createProxy(url.toUri()));
-    return new NetHttpTransport.Builder().setConnectionFactory(connectionFactory).build();
+    return new GovernedHttpTransport(connectionFactory, requestGovernor);
   }
 }
\ No newline at end of file
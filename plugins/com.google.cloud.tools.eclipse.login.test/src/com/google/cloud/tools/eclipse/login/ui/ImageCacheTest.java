@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.login.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Clock;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.junit.Test;
+
+public class ImageCacheTest {
+
+  private final ImageCache cache = new ImageCache(null, Clock.systemUTC());
+
+  @Test
+  public void testPutAndGet() {
+    assertTrue(cache.isEmpty());
+    ImageData imageData = newImageData();
+    cache.put("http://example.com/a.png", imageData);
+
+    assertEquals(1, cache.size());
+    assertSame(imageData, cache.get("http://example.com/a.png"));
+    assertNull(cache.get("http://example.com/b.png"));
+    assertEquals(1, cache.getMemoryHitCount());
+    assertEquals(4096, cache.getMemoryBytes());
+  }
+
+  @Test
+  public void testPut_replacingImageKeepsSizeAccurate() {
+    cache.put("http://example.com/a.png", newImageData());
+    cache.put("http://example.com/a.png", newImageData());
+    assertEquals(1, cache.size());
+    assertEquals(4096, cache.getMemoryBytes());
+  }
+
+  @Test
+  public void testMemoryBoundedUnderManyDistinctUrls() {
+    for (int i = 0; i < 5000; i++) {
+      cache.put("http://example.com/" + i + ".png", newImageData());
+      assertTrue(cache.getMemoryBytes() <= ImageCache.MAXIMUM_MEMORY_BYTES);
+    }
+    assertEquals(ImageCache.MAXIMUM_MEMORY_BYTES / 4096, cache.size());
+    // the most recent images are kept
+    assertNotNull(cache.get("http://example.com/4999.png"));
+    assertNull(cache.get("http://example.com/0.png"));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEvictedFirst() {
+    int capacity = (int) (ImageCache.MAXIMUM_MEMORY_BYTES / 4096);
+    for (int i = 0; i < capacity; i++) {
+      cache.put("http://example.com/" + i + ".png", newImageData());
+    }
+    assertNotNull(cache.get("http://example.com/0.png"));
+
+    cache.put("http://example.com/new.png", newImageData());
+    assertNotNull(cache.get("http://example.com/0.png"));
+    assertNull(cache.get("http://example.com/1.png"));
+  }
+
+  @Test
+  public void testClear() {
+    cache.put("http://example.com/a.png", newImageData());
+    cache.clear();
+    assertTrue(cache.isEmpty());
+    assertEquals(0, cache.getMemoryBytes());
+  }
+
+  /** Return a 64x64 image of 8 bits per pixel, so of 4096 bytes. */
+  private static ImageData newImageData() {
+    return new ImageData(64, 64, 8, new PaletteData(0xff, 0xff, 0xff));
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.login.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.eclipse.swt.graphics.ImageData;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests {@link ImageCache} against a local stand-in for an image server. */
+public class ImageCacheWithServerTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+  @Rule public TestHttpServer server =
+      new TestHttpServer("sample.gif", LabelImageLoaderTest.someImageBytes)
+          .allowMultipleRequests().withETag("\"v1\"");
+
+  private final FakeClock clock = new FakeClock();
+  private Path directory;
+  private ImageCache cache;
+  private String url;
+
+  @Before
+  public void setUp() {
+    directory = tempFolder.getRoot().toPath().resolve("avatars");
+    cache = new ImageCache(directory, clock);
+    url = server.getAddress() + "sample.gif";
+  }
+
+  @Test
+  public void testLoad_downloadsOnceThenHitsMemory() throws IOException {
+    ImageData imageData = cache.load(url);
+    assertNotNull(imageData);
+    assertSame(imageData, cache.load(url));
+
+    assertEquals(1, server.getRequestRemotePorts().size());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getMemoryHitCount());
+    assertEquals(0, cache.getDiskHitCount());
+  }
+
+  @Test
+  public void testLoad_laterSessionHitsDisk() throws IOException {
+    cache.load(url);
+
+    ImageCache laterSession = new ImageCache(directory, clock);
+    assertNotNull(laterSession.load(url));
+    assertEquals(1, server.getRequestRemotePorts().size());
+    assertEquals(1, laterSession.getDiskHitCount());
+    assertEquals(0, laterSession.getMissCount());
+  }
+
+  @Test
+  public void testLoad_staleEntryRevalidated() throws IOException {
+    cache.load(url);
+
+    clock.advance(ImageCache.REVALIDATION_AGE.plusMinutes(1));
+    ImageCache laterSession = new ImageCache(directory, clock);
+    assertNotNull(laterSession.load(url));
+    assertEquals(2, server.getRequestRemotePorts().size());
+    assertEquals("\"v1\"", server.getRequestHeaders().get("If-None-Match"));
+    assertEquals(1, laterSession.getRevalidationCount());
+    assertEquals(0, laterSession.getMissCount());
+
+    // revalidated entries are fresh again
+    assertNotNull(new ImageCache(directory, clock).load(url));
+    assertEquals(2, server.getRequestRemotePorts().size());
+  }
+
+  @Test
+  public void testLoad_concurrentLoadsShareDownload() throws Exception {
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<ImageData>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return cache.load(url);
+        }));
+      }
+      start.countDown();
+      ImageData first = results.get(0).get();
+      for (Future<ImageData> result : results) {
+        assertSame(first, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, server.getRequestRemotePorts().size());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(threads - 1, cache.getSharedLoadCount() + cache.getMemoryHitCount());
+  }
+
+  @Test
+  public void testLoad_boundedUnderManyDistinctUrls() throws IOException {
+    for (int i = 0; i < 2000; i++) {
+      assertNotNull(cache.load(url + "?n=" + i));
+      assertTrue(cache.getMemoryBytes() <= ImageCache.MAXIMUM_MEMORY_BYTES);
+    }
+    assertEquals(2000, cache.getMissCount());
+    assertEquals(2000, server.getRequestRemotePorts().size());
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(2 * 2000, files.count());  // image and metadata
+    }
+  }
+
+  @Test
+  public void testLoad_httpErrorThrows() throws IOException {
+    cache.load(url);
+    try {
+      cache.load(server.getAddress() + "missing.gif");
+      fail();
+    } catch (IOException ex) {
+      assertNull(cache.get(server.getAddress() + "missing.gif"));
+    }
+  }
+
+  @Test
+  public void testClear_removesDiskEntries() throws IOException {
+    cache.load(url);
+    cache.clear();
+    assertTrue(cache.isEmpty());
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  private static class FakeClock extends Clock {
+    private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+  }
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.login.ui;
+
+import com.google.cloud.tools.eclipse.util.CloudToolsInfo;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * A two-tier cache of the images (such as account avatars) downloaded from URLs. Decoded images
+ * are kept in memory, least recently used first out once their total size exceeds {@link
+ * #MAXIMUM_MEMORY_BYTES}. Downloaded images are also kept on disk, where they are found in later
+ * sessions, and are revalidated with {@code If-None-Match} or {@code If-Modified-Since} once older
+ * than {@link #REVALIDATION_AGE}. Concurrent loads of the same URL share a single download.
+ */
+class ImageCache {
+  private static final Logger logger = Logger.getLogger(ImageCache.class.getName());
+
+  @VisibleForTesting static final long MAXIMUM_MEMORY_BYTES = 4 * 1024 * 1024;
+  @VisibleForTesting static final long MAXIMUM_DISK_BYTES = 16 * 1024 * 1024;
+  @VisibleForTesting static final Duration REVALIDATION_AGE = Duration.ofDays(1);
+
+  private static final int MAXIMUM_IMAGE_BYTES = 1024 * 1024;
+  private static final int CONNECT_TIMEOUT_MS = 5000;
+  private static final int READ_TIMEOUT_MS = 5000;
+
+  private final Path directory;
+  private final Clock clock;
+
+  // guarded by itself
+  private final LinkedHashMap<String, ImageData> memory =
+      new LinkedHashMap<>(16, 0.75f, true /* accessOrder */);
+  private long memoryBytes;
+
+  private final ConcurrentHashMap<String, CompletableFuture<ImageData>> loading =
+      new ConcurrentHashMap<>();
+
+  private final AtomicLong memoryHits = new AtomicLong();
+  private final AtomicLong diskHits = new AtomicLong();
+  private final AtomicLong revalidations = new AtomicLong();
+  private final AtomicLong downloads = new AtomicLong();
+  private final AtomicLong sharedLoads = new AtomicLong();
+
+  /**
+   * @param directory the directory in which to keep downloaded images, or {@code null} to keep
+   *     them in memory only
+   */
+  ImageCache(Path directory, Clock clock) {
+    this.directory = directory;
+    this.clock = Preconditions.checkNotNull(clock);
+  }
+
+  /** Return the image if it is in memory, or {@code null}. */
+  ImageData get(String url) {
+    synchronized (memory) {
+      ImageData imageData = memory.get(url);
+      if (imageData != null) {
+        memoryHits.incrementAndGet();
+      }
+      return imageData;
+    }
+  }
+
+  /** Keep the image in memory. */
+  void put(String url, ImageData imageData) {
+    synchronized (memory) {
+      ImageData previous = memory.put(url, imageData);
+      if (previous != null) {
+        memoryBytes -= sizeOf(previous);
+      }
+      memoryBytes += sizeOf(imageData);
+      // evict the least recently used images, but keep the latest however large
+      for (Iterator<ImageData> iterator = memory.values().iterator();
+          memoryBytes > MAXIMUM_MEMORY_BYTES && memory.size() > 1; ) {
+        memoryBytes -= sizeOf(iterator.next());
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Return the image at the URL, from memory, from disk or else downloaded. May block, so must
+   * not be called in the UI thread.
+   *
+   * @throws IOException if the image cannot be downloaded or decoded
+   */
+  ImageData load(String url) throws IOException {
+    ImageData imageData = get(url);
+    if (imageData != null) {
+      return imageData;
+    }
+    CompletableFuture<ImageData> future = new CompletableFuture<>();
+    CompletableFuture<ImageData> existing = loading.putIfAbsent(url, future);
+    if (existing != null) {
+      sharedLoads.incrementAndGet();
+      return await(existing);
+    }
+    try {
+      imageData = decode(fetch(url));
+      put(url, imageData);
+      future.complete(imageData);
+      return imageData;
+    } catch (IOException | RuntimeException ex) {
+      future.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      loading.remove(url, future);
+    }
+  }
+
+  /** Discard all cached images, in memory and on disk. */
+  void clear() {
+    synchronized (memory) {
+      memory.clear();
+      memoryBytes = 0;
+    }
+    if (directory != null) {
+      for (Path file : listFiles()) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException ex) {
+          logger.log(Level.WARNING, "Unable to delete cached image", ex);
+        }
+      }
+    }
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /** Return the number of images in memory. */
+  int size() {
+    synchronized (memory) {
+      return memory.size();
+    }
+  }
+
+  @VisibleForTesting
+  long getMemoryBytes() {
+    synchronized (memory) {
+      return memoryBytes;
+    }
+  }
+
+  long getMemoryHitCount() {
+    return memoryHits.get();
+  }
+
+  long getDiskHitCount() {
+    return diskHits.get();
+  }
+
+  long getRevalidationCount() {
+    return revalidations.get();
+  }
+
+  /** Return the number of images downloaded, that is, not found in memory or on disk. */
+  long getMissCount() {
+    return downloads.get();
+  }
+
+  long getSharedLoadCount() {
+    return sharedLoads.get();
+  }
+
+  @Override
+  public String toString() {
+    return "ImageCache[memoryHits=" + memoryHits + ", diskHits=" + diskHits + ", revalidations="
+        + revalidations + ", misses=" + downloads + ", sharedLoads=" + sharedLoads + "]";
+  }
+
+  /** Return the image's bytes, from disk if fresh or still valid, or else downloaded. */
+  private byte[] fetch(String url) throws IOException {
+    DiskEntry entry = readDiskEntry(url);
+    if (entry != null && entry.isFresh()) {
+      diskHits.incrementAndGet();
+      touch(entry.contentFile);
+      return entry.content;
+    }
+
+    URLConnection urlConnection = new URL(url).openConnection();
+    if (!(urlConnection instanceof HttpURLConnection)) {
+      // e.g., a local file, which there is no point keeping another copy of
+      downloads.incrementAndGet();
+      try (InputStream input = urlConnection.getInputStream()) {
+        return readLimited(input, url);
+      }
+    }
+    HttpURLConnection connection = (HttpURLConnection) urlConnection;
+    connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+    connection.setReadTimeout(READ_TIMEOUT_MS);
+    connection.setRequestProperty("User-Agent", CloudToolsInfo.USER_AGENT);
+    if (entry != null) {
+      if (entry.etag != null) {
+        connection.setRequestProperty("If-None-Match", entry.etag);
+      }
+      if (entry.lastModified != null) {
+        connection.setRequestProperty("If-Modified-Since", entry.lastModified);
+      }
+    }
+    try {
+      int responseCode = connection.getResponseCode();
+      if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null) {
+        revalidations.incrementAndGet();
+        writeDiskEntry(url, entry.content, entry.etag, entry.lastModified);
+        return entry.content;
+      }
+      if (responseCode != HttpURLConnection.HTTP_OK) {
+        throw new IOException("Unable to download " + url + ": HTTP " + responseCode);
+      }
+      byte[] content;
+      try (InputStream input = connection.getInputStream()) {
+        content = readLimited(input, url);
+      }
+      downloads.incrementAndGet();
+      writeDiskEntry(url, content, connection.getHeaderField("ETag"),
+          connection.getHeaderField("Last-Modified"));
+      return content;
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  private static byte[] readLimited(InputStream input, String url) throws IOException {
+    byte[] content = ByteStreams.toByteArray(ByteStreams.limit(input, MAXIMUM_IMAGE_BYTES + 1));
+    if (content.length > MAXIMUM_IMAGE_BYTES) {
+      throw new IOException("Image too large: " + url);
+    }
+    return content;
+  }
+
+  private static ImageData decode(byte[] content) throws IOException {
+    try {
+      return new ImageData(new ByteArrayInputStream(content));
+    } catch (SWTException ex) {
+      throw new IOException("Unable to decode image", ex);
+    }
+  }
+
+  private static ImageData await(CompletableFuture<ImageData> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while loading image", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException) {
+        throw (IOException) ex.getCause();
+      }
+      throw new IOException(ex.getCause());
+    }
+  }
+
+  private static long sizeOf(ImageData imageData) {
+    long size = imageData.data == null ? 0 : imageData.data.length;
+    if (imageData.alphaData != null) {
+      size += imageData.alphaData.length;
+    }
+    return size + (imageData.maskData == null ? 0 : imageData.maskData.length);
+  }
+
+  private Path getContentFile(String url) {
+    String hash = Hashing.sha256().hashString(url, StandardCharsets.UTF_8).toString();
+    return directory.resolve(hash + ".img");
+  }
+
+  private static Path getPropertiesFile(Path contentFile) {
+    String name = contentFile.getFileName().toString();
+    return contentFile.resolveSibling(name.substring(0, name.length() - 4) + ".properties");
+  }
+
+  private DiskEntry readDiskEntry(String url) {
+    if (directory == null) {
+      return null;
+    }
+    Path contentFile = getContentFile(url);
+    Properties properties = new Properties();
+    try (Reader reader =
+        Files.newBufferedReader(getPropertiesFile(contentFile), StandardCharsets.UTF_8)) {
+      properties.load(reader);
+      if (!url.equals(properties.getProperty("url"))) {
+        return null;
+      }
+      return new DiskEntry(contentFile, Files.readAllBytes(contentFile),
+          properties.getProperty("etag"), properties.getProperty("lastModified"),
+          Long.parseLong(properties.getProperty("storedAt", "0")));
+    } catch (NoSuchFileException ex) {
+      return null;
+    } catch (IOException | IllegalArgumentException ex) {
+      logger.log(Level.FINE, "Ignoring unreadable cached image", ex);
+      return null;
+    }
+  }
+
+  private void writeDiskEntry(String url, byte[] content, String etag, String lastModified) {
+    if (directory == null) {
+      return;
+    }
+    Path contentFile = getContentFile(url);
+    Properties properties = new Properties();
+    properties.setProperty("url", url);
+    properties.setProperty("storedAt", Long.toString(clock.millis()));
+    if (etag != null) {
+      properties.setProperty("etag", etag);
+    }
+    if (lastModified != null) {
+      properties.setProperty("lastModified", lastModified);
+    }
+    try {
+      Files.createDirectories(directory);
+      Path temporary = Files.createTempFile(directory, "image", ".tmp");
+      Files.write(temporary, content);
+      Files.move(temporary, contentFile, StandardCopyOption.REPLACE_EXISTING);
+      temporary = Files.createTempFile(directory, "image", ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+        properties.store(writer, null);
+      }
+      Files.move(temporary, getPropertiesFile(contentFile), StandardCopyOption.REPLACE_EXISTING);
+      touch(contentFile);
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to cache image", ex);
+      return;
+    }
+    evictFromDisk();
+  }
+
+  /** Mark the image as recently used, so that it is evicted last. */
+  private void touch(Path contentFile) {
+    try {
+      Files.setLastModifiedTime(contentFile, FileTime.fromMillis(clock.millis()));
+    } catch (IOException ex) {
+      logger.log(Level.FINE, "Unable to touch cached image", ex);
+    }
+  }
+
+  /** Delete the least recently used images once their total size exceeds the limit. */
+  private synchronized void evictFromDisk() {
+    List<Path> contentFiles = new ArrayList<>();
+    Map<Path, long[]> attributes = new LinkedHashMap<>();  // last used and size
+    long totalBytes = 0;
+    for (Path file : listFiles()) {
+      if (file.getFileName().toString().endsWith(".img")) {
+        try {
+          long size = Files.size(file);
+          attributes.put(file, new long[] {Files.getLastModifiedTime(file).toMillis(), size});
+          contentFiles.add(file);
+          totalBytes += size;
+        } catch (IOException ex) {
+          // deleted concurrently
+        }
+      }
+    }
+    if (totalBytes <= MAXIMUM_DISK_BYTES) {
+      return;
+    }
+    contentFiles.sort((a, b) -> Long.compare(attributes.get(a)[0], attributes.get(b)[0]));
+    for (Path file : contentFiles) {
+      if (totalBytes <= MAXIMUM_DISK_BYTES) {
+        break;
+      }
+      try {
+        Files.deleteIfExists(getPropertiesFile(file));
+        Files.deleteIfExists(file);
+        totalBytes -= attributes.get(file)[1];
+      } catch (IOException ex) {
+        logger.log(Level.FINE, "Unable to evict cached image", ex);
+      }
+    }
+  }
+
+  private List<Path> listFiles() {
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+      stream.forEach(files::add);
+    } catch (NoSuchFileException ex) {
+      // nothing cached yet
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to list cached images", ex);
+    }
+    return files;
+  }
+
+  /** An image stored on disk. */
+  private class DiskEntry {
+    private final Path contentFile;
+    private final byte[] content;
+    private final String etag;
+    private final String lastModified;
+    private final long storedAt;
+
+    private DiskEntry(Path contentFile, byte[] content, String etag, String lastModified,
+        long storedAt) {
+      this.contentFile = contentFile;
+      this.content = content;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.storedAt = storedAt;
+    }
+
+    private boolean isFresh() {
+      return clock.millis() - storedAt < REVALIDATION_AGE.toMillis();
+    }
+  }
+}
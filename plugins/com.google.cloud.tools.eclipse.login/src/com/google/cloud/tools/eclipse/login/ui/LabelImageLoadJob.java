@@ -17,19 +17,22 @@
 package com.google.cloud.tools.eclipse.login.ui;
 
 import com.google.common.base.Preconditions;
+import java.io.IOException;
 import java.net.URL;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDisposer;
-import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 
 class LabelImageLoadJob extends Job {
+  private static final Logger logger = Logger.getLogger(LabelImageLoadJob.class.getName());
 
   private final URL imageUrl;
   private final Label label;
@@ -46,11 +49,11 @@ class LabelImageLoadJob extends Job {
 
   @Override
   protected IStatus run(IProgressMonitor monitor) {
-    ImageDescriptor descriptor = ImageDescriptor.createFromURL(imageUrl);
-    imageData = descriptor.getImageData();
-    if (imageData != null) {
-      LabelImageLoader.storeInCache(imageUrl.toString(), imageData);
+    try {
+      imageData = LabelImageLoader.cache.load(imageUrl.toString());
       display.syncExec(new SetImageRunnable());
+    } catch (IOException ex) {
+      logger.log(Level.FINE, "Unable to load image: " + imageUrl, ex);
     }
     return Status.OK_STATUS;
   }
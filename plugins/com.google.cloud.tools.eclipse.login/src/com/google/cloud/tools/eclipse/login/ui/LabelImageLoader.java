@@ -20,18 +20,22 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.file.Path;
+import java.time.Clock;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDisposer;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.widgets.Label;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 
 @VisibleForTesting
 public class LabelImageLoader {
 
   @VisibleForTesting
-  final static ConcurrentHashMap<String, ImageData> cache = new ConcurrentHashMap<>();
+  final static ImageCache cache = new ImageCache(getCacheDirectory(), Clock.systemUTC());
 
   @VisibleForTesting
   Job loadJob;
@@ -60,4 +64,13 @@ public class LabelImageLoader {
   static void storeInCache(String imageUrl, ImageData imageData) {
     cache.put(imageUrl, imageData);
   }
+
+  /** Return the directory in which to keep downloaded images, or {@code null} if none. */
+  private static Path getCacheDirectory() {
+    Bundle bundle = FrameworkUtil.getBundle(LabelImageLoader.class);
+    if (bundle == null) {
+      return null;
+    }
+    return Platform.getStateLocation(bundle).toFile().toPath().resolve("avatars");
+  }
 }
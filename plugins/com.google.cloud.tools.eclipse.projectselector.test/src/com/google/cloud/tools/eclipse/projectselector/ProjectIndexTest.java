@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.projectselector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class ProjectIndexTest {
+
+  private final ProjectIndex index = new ProjectIndex();
+
+  private final GcpProject alpha = new GcpProject("Alpha Project", "alpha-123");
+  private final GcpProject beta = new GcpProject("Beta", "beta-456");
+  private final GcpProject gamma = new GcpProject(null, "gamma-alpha");
+
+  @Test
+  public void testAddAll_ignoresDuplicates() {
+    assertEquals(Arrays.asList(alpha, beta), index.addAll(Arrays.asList(alpha, beta)));
+    assertEquals(Collections.singletonList(gamma),
+        index.addAll(Arrays.asList(new GcpProject("other", "beta-456"), gamma)));
+    assertEquals(3, index.size());
+    assertSame(beta, index.getProject("beta-456"));
+    assertNull(index.getProject("missing"));
+    assertNull(index.getProject(null));
+  }
+
+  @Test
+  public void testSearch() {
+    index.addAll(Arrays.asList(alpha, beta, gamma));
+
+    assertEquals(Arrays.asList(alpha, gamma), index.search("alpha"));
+    assertEquals(Arrays.asList(alpha), index.search("Alpha"));
+    assertEquals(Arrays.asList(beta), index.search("ta"));
+    assertEquals(Arrays.asList(alpha), index.search("Pro 123"));
+    assertEquals(Collections.emptyList(), index.search("alphabet"));
+  }
+
+  @Test
+  public void testSearch_incremental() {
+    index.addAll(Arrays.asList(alpha, beta, gamma));
+
+    assertEquals(Arrays.asList(alpha, beta, gamma), index.search("a"));
+    assertEquals(Arrays.asList(alpha, gamma), index.search("al"));
+    assertEquals(Arrays.asList(alpha, gamma), index.search("alp"));
+    assertEquals(Arrays.asList(alpha), index.search("alp 1"));
+    // a search that does not extend the previous one starts afresh
+    assertEquals(Arrays.asList(beta), index.search("ta"));
+  }
+
+  @Test
+  public void testSearch_afterAdd() {
+    index.addAll(Arrays.asList(alpha));
+    assertEquals(Arrays.asList(alpha), index.search("alpha"));
+
+    index.addAll(Arrays.asList(gamma));
+    assertEquals(Arrays.asList(alpha, gamma), index.search("alpha"));
+  }
+
+  @Test
+  public void testFilter() {
+    index.addAll(Arrays.asList(alpha, beta, gamma));
+
+    Object[] elements = {gamma, beta, alpha, new GcpProject("alpha", "not-indexed"), "alpha"};
+    assertArrayEquals(new Object[] {gamma, alpha}, index.filter(elements, "alpha"));
+  }
+
+  @Test
+  public void testSearch_agreesWithLinearMatching() {
+    Random random = new Random(0);
+    List<GcpProject> projects = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      projects.add(new GcpProject(randomWord(random) + " " + randomWord(random),
+          randomWord(random) + "-" + i));
+    }
+    index.addAll(projects);
+
+    for (int i = 0; i < 200; i++) {
+      String searchText = randomWord(random).substring(0, 1 + random.nextInt(4));
+      if (random.nextBoolean()) {
+        searchText += " " + random.nextInt(10);
+      }
+      List<GcpProject> expected = new ArrayList<>();
+      for (GcpProject project : projects) {
+        if (matchesLinearly(searchText, project)) {
+          expected.add(project);
+        }
+      }
+      assertEquals(searchText, expected, index.search(searchText));
+    }
+  }
+
+  private static boolean matchesLinearly(String searchText, GcpProject project) {
+    for (String term : searchText.split("\\s")) {
+      if (!project.getName().contains(term) && !project.getId().contains(term)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String randomWord(Random random) {
+    StringBuilder word = new StringBuilder();
+    int length = 4 + random.nextInt(6);
+    for (int i = 0; i < length; i++) {
+      word.append((char) ('a' + random.nextInt(6)));
+    }
+    return word.toString();
+  }
+}
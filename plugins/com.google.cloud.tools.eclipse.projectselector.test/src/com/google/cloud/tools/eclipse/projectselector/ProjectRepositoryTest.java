@@ -41,12 +41,16 @@ import com.google.cloud.tools.eclipse.projectselector.model.AppEngine;
 import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
 import com.google.cloud.tools.eclipse.test.util.TestAccountProvider;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -54,6 +58,8 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class ProjectRepositoryTest {
 
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
   @Mock private GoogleApiFactory apiFactory;
   private ProjectRepository repository;
   private Project project = new Project();
@@ -150,6 +156,96 @@ public class ProjectRepositoryTest {
     assertTrue(gcpProjects.isEmpty());
   }
 
+  @Test
+  public void testGetProjects_pagesPassedToConsumer()
+      throws IOException, ProjectRepositoryException {
+    Projects.List list = initializeListRequest();
+    ListProjectsResponse response1 = new ListProjectsResponse();
+    response1.setProjects(Collections.singletonList(project));
+    response1.setNextPageToken("a token");
+    ListProjectsResponse response2 = new ListProjectsResponse();
+    response2.setProjects(
+        Collections.singletonList(new Project().setName("project 2").setProjectId("project_2")));
+    when(list.execute()).thenReturn(response1, response2);
+
+    List<List<GcpProject>> pages = new ArrayList<>();
+    List<GcpProject> gcpProjects = repository.getProjects(pages::add);
+
+    assertThat(pages.size(), is(2));
+    assertThat(pages.get(0), is(gcpProjects.subList(0, 1)));
+    assertThat(pages.get(1), is(gcpProjects.subList(1, 2)));
+  }
+
+  @Test
+  public void testGetCachedProjects() throws IOException, ProjectRepositoryException {
+    repository = new ProjectRepository(new ProjectListStore(tempFolder.getRoot().toPath()));
+    assertTrue(repository.getCachedProjects().isEmpty());
+
+    Projects.List list = initializeListRequest();
+    ListProjectsResponse response = new ListProjectsResponse();
+    response.setProjects(Arrays.asList(project, new Project().setProjectId("unnamed")));
+    when(list.execute()).thenReturn(response);
+    repository.getProjects();
+
+    // a later session
+    repository = new ProjectRepository(new ProjectListStore(tempFolder.getRoot().toPath()));
+    List<GcpProject> cached = repository.getCachedProjects();
+    assertThat(cached.size(), is(2));
+    assertThat(cached.get(0).getName(), is("projectName"));
+    assertThat(cached.get(0).getId(), is("projectId"));
+    assertNull(cached.get(1).getName());
+    assertThat(cached.get(1).getId(), is("unnamed"));
+  }
+
+  @Test
+  public void testGetCachedProjects_perAccount() throws IOException, ProjectRepositoryException {
+    repository = new ProjectRepository(new ProjectListStore(tempFolder.getRoot().toPath()));
+    Projects.List list = initializeListRequest();
+    ListProjectsResponse response = new ListProjectsResponse();
+    response.setProjects(Collections.singletonList(project));
+    when(list.execute()).thenReturn(response);
+    repository.getProjects();
+
+    when(apiFactory.getAccount()).thenReturn(Optional.of(TestAccountProvider.ACCOUNT_2));
+    assertTrue(repository.getCachedProjects().isEmpty());
+    setLoggedOut();
+    assertTrue(repository.getCachedProjects().isEmpty());
+  }
+
+  @Test
+  public void testDiscardOtherAccountsProjects() throws IOException, ProjectRepositoryException {
+    repository = new ProjectRepository(new ProjectListStore(tempFolder.getRoot().toPath()));
+    Projects.List list = initializeListRequest();
+    ListProjectsResponse response = new ListProjectsResponse();
+    response.setProjects(Collections.singletonList(project));
+    when(list.execute()).thenReturn(response);
+    repository.getProjects();
+
+    repository.discardOtherAccountsProjects();
+    assertThat(repository.getCachedProjects().size(), is(1));
+
+    when(apiFactory.getAccount()).thenReturn(Optional.of(TestAccountProvider.ACCOUNT_2));
+    repository.discardOtherAccountsProjects();
+    when(apiFactory.getAccount()).thenReturn(Optional.of(TestAccountProvider.ACCOUNT_1));
+    assertTrue(repository.getCachedProjects().isEmpty());
+    assertThat(tempFolder.getRoot().list().length, is(0));
+  }
+
+  @Test
+  public void testDiscardOtherAccountsProjects_loggedOut()
+      throws IOException, ProjectRepositoryException {
+    repository = new ProjectRepository(new ProjectListStore(tempFolder.getRoot().toPath()));
+    Projects.List list = initializeListRequest();
+    ListProjectsResponse response = new ListProjectsResponse();
+    response.setProjects(Collections.singletonList(project));
+    when(list.execute()).thenReturn(response);
+    repository.getProjects();
+
+    setLoggedOut();
+    repository.discardOtherAccountsProjects();
+    assertThat(tempFolder.getRoot().list().length, is(0));
+  }
+
   @Test
   public void testGetProject_nullCredential() throws ProjectRepositoryException {
     setLoggedOut();
@@ -27,6 +27,7 @@ import static org.mockito.Mockito.when;
 
 import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
 import com.google.cloud.tools.eclipse.test.util.ui.ShellTestResource;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.eclipse.core.databinding.property.value.IValueProperty;
@@ -153,6 +154,73 @@ public class ProjectSelectorTest {
     assertFalse(projectSelector.isProjectIdAvailable(""));
   }
 
+  @Test
+  public void testAddProjects() {
+    List<GcpProject> projects = getUnsortedProjectList();
+    projectSelector.addProjects(projects.subList(0, 2));
+    projectSelector.addProjects(projects.subList(1, 4));
+
+    assertEquals(4, projectSelector.getProjectCount());
+    assertThat(getVisibleProjectAtIndex(0).getName(), is("a"));
+    assertThat(getVisibleProjectAtIndex(3).getName(), is("d"));
+    assertTrue(projectSelector.isProjectIdAvailable("c"));
+  }
+
+  @Test
+  public void testSetFilter() {
+    projectSelector.setProjects(Arrays.asList(new GcpProject("Alpha", "alpha-1"),
+        new GcpProject("Beta", "beta-2"), new GcpProject("Gamma", "alpha-3")));
+
+    projectSelector.setFilter("alpha");
+    assertEquals(2, projectSelector.getViewer().getTable().getItemCount());
+    projectSelector.setFilter("alpha 3");
+    assertEquals(1, projectSelector.getViewer().getTable().getItemCount());
+    assertThat(getVisibleProjectAtIndex(0).getName(), is("Gamma"));
+
+    projectSelector.addProjects(Arrays.asList(new GcpProject("Delta", "alpha-33")));
+    assertEquals(2, projectSelector.getViewer().getTable().getItemCount());
+
+    projectSelector.setFilter(null);
+    assertEquals(4, projectSelector.getViewer().getTable().getItemCount());
+  }
+
+  /**
+   * Streams 50,000 synthetic projects into the selector in pages, as they arrive from the server,
+   * and checks the rows shown after each page and each keystroke of a search.
+   */
+  @Test
+  public void testBenchmark_50000Projects() {
+    List<GcpProject> projects = new ArrayList<>();
+    for (int i = 0; i < 50000; i++) {
+      projects.add(new GcpProject("Project " + i + " of team " + i % 97, "project-" + i));
+    }
+
+    projectSelector.addProjects(projects.subList(0, 100));
+    assertThat(getVisibleProjectAtIndex(0).getName(), is("Project 0 of team 0"));
+    assertEquals(100, projectSelector.getViewer().getTable().getItemCount());
+    for (int page = 100; page < projects.size(); page += 700) {
+      int end = Math.min(page + 700, projects.size());
+      projectSelector.addProjects(projects.subList(page, end));
+      assertEquals(end, projectSelector.getViewer().getTable().getItemCount());
+    }
+    // a page fetched again is already indexed
+    projectSelector.addProjects(projects.subList(0, 100));
+    assertEquals(50000, projectSelector.getViewer().getTable().getItemCount());
+
+    // every ID contains "project-"; each further digit narrows the matches about tenfold
+    int[] expectedMatches = {50000, 50000, 50000, 50000, 50000, 50000, 50000, 50000,
+        11111, 1111, 111, 11};
+    String searchText = "project-4242";
+    for (int i = 1; i <= searchText.length(); i++) {
+      projectSelector.setFilter(searchText.substring(0, i));
+      assertEquals(searchText.substring(0, i),
+          expectedMatches[i - 1], projectSelector.getViewer().getTable().getItemCount());
+    }
+
+    projectSelector.setFilter(null);
+    assertEquals(50000, projectSelector.getViewer().getTable().getItemCount());
+  }
+
   private static List<GcpProject> getUnsortedProjectList() {
     return Arrays.asList(new GcpProject("b", "b"),
                          new GcpProject("a", "a"),
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.projectselector;
+
+import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of projects by the substrings of their names and IDs, so that the projects matching
+ * the search text typed into a {@link ProjectSelector} are found without testing every project.
+ *
+ * <p>Names and IDs are indexed by their trigrams. Each search term of three or more characters
+ * restricts the candidates to the projects containing its rarest trigram, and the candidates are
+ * then verified. As typing usually extends the previous search text, a search that extends the
+ * previous one starts from the previous results. Not thread-safe.
+ */
+class ProjectIndex {
+
+  private static final int GRAM_LENGTH = 3;
+
+  private final List<GcpProject> projects = new ArrayList<>();
+  private final Map<String, Integer> ordinals = new HashMap<>();
+  private final Map<String, Postings> postings = new HashMap<>();
+
+  private String lastSearchText;
+  private BitSet lastResult;
+
+  /** Add the projects not already indexed, and return those. */
+  List<GcpProject> addAll(Collection<GcpProject> newProjects) {
+    List<GcpProject> added = new ArrayList<>(newProjects.size());
+    for (GcpProject project : newProjects) {
+      if (project == null || ordinals.containsKey(project.getId())) {
+        continue;
+      }
+      int ordinal = projects.size();
+      projects.add(project);
+      ordinals.put(project.getId(), ordinal);
+      addGrams(project.getName(), ordinal);
+      addGrams(project.getId(), ordinal);
+      added.add(project);
+    }
+    lastSearchText = null;
+    return added;
+  }
+
+  void clear() {
+    projects.clear();
+    ordinals.clear();
+    postings.clear();
+    lastSearchText = null;
+  }
+
+  int size() {
+    return projects.size();
+  }
+
+  /** Return the project with the given ID, or {@code null} if not indexed. */
+  GcpProject getProject(String projectId) {
+    Integer ordinal = ordinals.get(projectId);
+    return ordinal == null ? null : projects.get(ordinal);
+  }
+
+  /** Return the projects matched by the search text, in the order they were added. */
+  List<GcpProject> search(String searchText) {
+    BitSet result = searchOrdinals(searchText);
+    List<GcpProject> matches = new ArrayList<>(result.cardinality());
+    for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+      matches.add(projects.get(i));
+    }
+    return matches;
+  }
+
+  /** Return those of the given elements that are indexed projects matched by the search text. */
+  Object[] filter(Object[] elements, String searchText) {
+    BitSet result = searchOrdinals(searchText);
+    List<Object> matches = new ArrayList<>(Math.min(elements.length, result.cardinality()));
+    for (Object element : elements) {
+      if (element instanceof GcpProject) {
+        Integer ordinal = ordinals.get(((GcpProject) element).getId());
+        if (ordinal != null && result.get(ordinal)) {
+          matches.add(element);
+        }
+      }
+    }
+    return matches.toArray();
+  }
+
+  private BitSet searchOrdinals(String searchText) {
+    if (searchText.equals(lastSearchText)) {
+      return lastResult;
+    }
+    String[] searchTerms = searchText.split("\\s");
+    BitSet candidates;
+    if (lastSearchText != null && searchText.startsWith(lastSearchText)) {
+      // every term of the extended search contains a term of the previous search
+      candidates = (BitSet) lastResult.clone();
+    } else {
+      candidates = new BitSet(projects.size());
+      candidates.set(0, projects.size());
+    }
+    for (String term : searchTerms) {
+      if (term.length() >= GRAM_LENGTH && !candidates.isEmpty()) {
+        candidates = rarestGram(term).intersect(candidates);
+      }
+    }
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      if (!matches(searchTerms, projects.get(i))) {
+        candidates.clear(i);
+      }
+    }
+    lastSearchText = searchText;
+    lastResult = candidates;
+    return candidates;
+  }
+
+  private Postings rarestGram(String term) {
+    Postings rarest = null;
+    for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+      Postings gramPostings = postings.get(term.substring(i, i + GRAM_LENGTH));
+      if (gramPostings == null) {
+        return Postings.EMPTY;
+      }
+      if (rarest == null || gramPostings.size < rarest.size) {
+        rarest = gramPostings;
+      }
+    }
+    return rarest;
+  }
+
+  private static boolean matches(String[] searchTerms, GcpProject project) {
+    String name = Strings.nullToEmpty(project.getName());
+    String id = Strings.nullToEmpty(project.getId());
+    for (String searchTerm : searchTerms) {
+      if (!name.contains(searchTerm) && !id.contains(searchTerm)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void addGrams(String value, int ordinal) {
+    if (value == null) {
+      return;
+    }
+    for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+      postings.computeIfAbsent(value.substring(i, i + GRAM_LENGTH), gram -> new Postings())
+          .add(ordinal);
+    }
+  }
+
+  /** The ordinals of the projects containing a trigram, in increasing order. */
+  private static class Postings {
+    private static final Postings EMPTY = new Postings();
+
+    private int[] ordinals = new int[2];
+    private int size;
+
+    private void add(int ordinal) {
+      if (size > 0 && ordinals[size - 1] == ordinal) {
+        return;  // the trigram occurs more than once in the project's name and ID
+      }
+      if (size == ordinals.length) {
+        ordinals = Arrays.copyOf(ordinals, size * 2);
+      }
+      ordinals[size++] = ordinal;
+    }
+
+    private BitSet intersect(BitSet candidates) {
+      BitSet result = new BitSet(candidates.size());
+      for (int i = 0; i < size; i++) {
+        if (candidates.get(ordinals[i])) {
+          result.set(ordinals[i]);
+        }
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.projectselector;
+
+import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
+import com.google.common.hash.Hashing;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persists the last project list retrieved for each account, so that it can be shown immediately
+ * in later sessions while the list is refreshed in the background. Each account's list is stored
+ * in a file named by a hash of the account's email, with one {@code id<TAB>name} line per project.
+ */
+class ProjectListStore {
+  private static final Logger logger = Logger.getLogger(ProjectListStore.class.getName());
+
+  private final Path directory;
+
+  /** @param directory the directory in which to store the lists, or {@code null} for none */
+  ProjectListStore(Path directory) {
+    this.directory = directory;
+  }
+
+  /** Return the projects last stored for the account, or an empty list if none. */
+  synchronized List<GcpProject> load(String accountEmail) {
+    if (directory == null) {
+      return Collections.emptyList();
+    }
+    List<GcpProject> projects = new ArrayList<>();
+    try (BufferedReader reader =
+        Files.newBufferedReader(getFile(accountEmail), StandardCharsets.UTF_8)) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        int tab = line.indexOf('\t');
+        if (tab > 0) {
+          projects.add(new GcpProject(line.substring(tab + 1), line.substring(0, tab)));
+        } else if (!line.isEmpty()) {
+          projects.add(new GcpProject(null, line));
+        }
+      }
+      return projects;
+    } catch (NoSuchFileException ex) {
+      return Collections.emptyList();
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to read stored project list", ex);
+      return Collections.emptyList();
+    }
+  }
+
+  /** Replace the projects stored for the account. */
+  synchronized void save(String accountEmail, List<GcpProject> projects) {
+    if (directory == null) {
+      return;
+    }
+    try {
+      Files.createDirectories(directory);
+      Path temporary = Files.createTempFile(directory, "projects", ".tmp");
+      try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+        for (GcpProject project : projects) {
+          writer.write(project.getId());
+          if (project.getName() != null) {
+            // project names cannot contain tabs or line breaks
+            writer.write('\t');
+            writer.write(project.getName());
+          }
+          writer.newLine();
+        }
+      }
+      Files.move(temporary, getFile(accountEmail), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to store project list", ex);
+    }
+  }
+
+  /**
+   * Delete the projects stored for every account other than the given one, such as after a
+   * logout.
+   *
+   * @param accountEmail the account whose projects are kept, or {@code null} to delete all
+   */
+  synchronized void retainOnly(String accountEmail) {
+    if (directory == null) {
+      return;
+    }
+    Path kept = accountEmail == null ? null : getFile(accountEmail);
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "projects-*.txt")) {
+      for (Path file : files) {
+        if (!file.equals(kept)) {
+          Files.deleteIfExists(file);
+        }
+      }
+    } catch (NoSuchFileException ex) {
+      // nothing stored yet
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to delete stored project lists", ex);
+    }
+  }
+
+  private Path getFile(String accountEmail) {
+    String hash = Hashing.sha256().hashString(accountEmail, StandardCharsets.UTF_8).toString();
+    return directory.resolve("projects-" + hash + ".txt");
+  }
+}
@@ -22,6 +22,8 @@ import com.google.api.services.appengine.v1.model.Application;
 import com.google.api.services.cloudresourcemanager.CloudResourceManager.Projects;
 import com.google.api.services.cloudresourcemanager.model.ListProjectsResponse;
 import com.google.api.services.cloudresourcemanager.model.Project;
+import com.google.cloud.tools.eclipse.googleapis.Account;
+import com.google.cloud.tools.eclipse.googleapis.internal.GoogleApi;
 import com.google.cloud.tools.eclipse.googleapis.internal.GoogleApiFactory;
 import com.google.cloud.tools.eclipse.projectselector.model.AppEngine;
 import com.google.cloud.tools.eclipse.projectselector.model.GcpProject;
@@ -29,8 +31,15 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 
 /**
  * Wrapper for the GCP Cloud Resource Manager API.
@@ -40,11 +49,22 @@ public class ProjectRepository {
   // API may return fewer than 700 results in one request, but 600 and change is the
   // most we've seen in any one account to date.
   private static final int PROJECT_LIST_PAGESIZE = 700;
+  // a small first page, so that the first projects can be shown sooner
+  private static final int PROJECT_LIST_FIRST_PAGESIZE = 100;
   
   private static final String PROJECT_DELETE_REQUESTED = "DELETE_REQUESTED";
 
+  private static final ProjectListStore sharedStore = createSharedStore();
+
+  private final ProjectListStore store;
 
   public ProjectRepository() {
+    this(sharedStore);
+  }
+
+  @VisibleForTesting
+  ProjectRepository(ProjectListStore store) {
+    this.store = Preconditions.checkNotNull(store);
   }
 
   /**
@@ -52,32 +72,95 @@ public class ProjectRepository {
    * @throws ProjectRepositoryException if an error happens while communicating with the backend
    */
   public List<GcpProject> getProjects() throws ProjectRepositoryException {
+    return getProjects(page -> {});
+  }
+
+  /**
+   * Retrieves all active projects the current account has access to, passing each page of
+   * projects to {@code pageConsumer} as it arrives. The complete list is remembered for {@link
+   * #getCachedProjects()}.
+   *
+   * @return all active projects the current account has access to
+   * @throws ProjectRepositoryException if an error happens while communicating with the backend
+   */
+  public List<GcpProject> getProjects(Consumer<List<GcpProject>> pageConsumer)
+      throws ProjectRepositoryException {
     Preconditions.checkState(GoogleApiFactory.INSTANCE.getCredential().isPresent());
-    // TODO cache results https://github.com/GoogleCloudPlatform/google-cloud-eclipse/issues/1374
+    Optional<Account> account = GoogleApiFactory.INSTANCE.getAccount();
     try {
       Projects projects = GoogleApiFactory.INSTANCE.newProjectsApi();
       
       String token = null;
-      List<Project> projectList = new ArrayList<>();
+      List<GcpProject> gcpProjects = new ArrayList<>();
       do {
-        Projects.List listRequest = projects.list().setPageSize(PROJECT_LIST_PAGESIZE);
+        int pageSize = token == null ? PROJECT_LIST_FIRST_PAGESIZE : PROJECT_LIST_PAGESIZE;
+        Projects.List listRequest = projects.list().setPageSize(pageSize);
         if (token != null) {
           listRequest = listRequest.setPageToken(token); 
         }
         ListProjectsResponse response = listRequest.execute();
-        List<Project> responseProjects = response.getProjects();
-        if (responseProjects != null) {
-          projectList.addAll(responseProjects);
+        List<GcpProject> page = convertToGcpProjects(response.getProjects());
+        if (!page.isEmpty()) {
+          gcpProjects.addAll(page);
+          pageConsumer.accept(page);
         }
         token = response.getNextPageToken();
       } while (token != null);
-      List<GcpProject> gcpProjects = convertToGcpProjects(projectList);
+      if (account.isPresent()) {
+        store.save(account.get().getEmail(), gcpProjects);
+      }
       return gcpProjects;
     } catch (IOException ex) {
       throw new ProjectRepositoryException(ex);
     }
   }
 
+  /**
+   * Discard the API responses cached for the project list, so that the next {@link
+   * #getProjects(Consumer)} retrieves projects created elsewhere, such as in the Cloud Console.
+   */
+  public void invalidateCachedProjects() {
+    GoogleApiFactory.INSTANCE.invalidateCachedResponses(GoogleApi.CLOUDRESOURCE_MANAGER_API);
+  }
+
+  /**
+   * @return the projects last retrieved for the current account, possibly in an earlier session,
+   *     or an empty list if none; the list may be out of date
+   */
+  public List<GcpProject> getCachedProjects() {
+    Optional<Account> account = GoogleApiFactory.INSTANCE.getAccount();
+    if (!account.isPresent()) {
+      return Collections.emptyList();
+    }
+    return store.load(account.get().getEmail());
+  }
+
+  /**
+   * Delete the project lists stored for accounts other than the current account, so that no
+   * account's projects remain on disk after it is signed out.
+   */
+  @VisibleForTesting
+  void discardOtherAccountsProjects() {
+    Optional<Account> account = GoogleApiFactory.INSTANCE.getAccount();
+    store.retainOnly(account.isPresent() ? account.get().getEmail() : null);
+  }
+
+  private static ProjectListStore createSharedStore() {
+    ProjectListStore store = new ProjectListStore(getStoreDirectory());
+    // on logout or a switch of account, delete the previous account's projects
+    GoogleApiFactory.INSTANCE.addCredentialChangeListener(
+        () -> new ProjectRepository(store).discardOtherAccountsProjects());
+    return store;
+  }
+
+  private static Path getStoreDirectory() {
+    Bundle bundle = FrameworkUtil.getBundle(ProjectRepository.class);
+    if (bundle == null) {
+      return null;  // not running in OSGi
+    }
+    return Platform.getStateLocation(bundle).toFile().toPath();
+  }
+
   /**
    * @return a project if the projectId identifies an existing project and the account identified by
    *     {@code credential} has access to the project
@@ -51,6 +51,9 @@ public class ProjectSelector extends Composite implements ISelectionProvider {
 
   private final TableViewer viewer;
   private final WritableList<GcpProject> input;
+  private final ProjectIndex index = new ProjectIndex();
+  private final ViewerFilter searchFilter = new SearchFilter();
+  private String searchText;
   private Link statusLink;
   private IBeanValueProperty[] projectProperties;
 
@@ -62,7 +65,9 @@ public class ProjectSelector extends Composite implements ISelectionProvider {
     TableColumnLayout tableColumnLayout = new TableColumnLayout();
     tableComposite.setLayout(tableColumnLayout);
     GridDataFactory.fillDefaults().grab(true, true).applyTo(tableComposite);
-    viewer = new TableViewer(tableComposite, SWT.SINGLE | SWT.BORDER | SWT.FULL_SELECTION);
+    // virtual, so that rows are only created as they are shown
+    viewer = new TableViewer(tableComposite,
+        SWT.SINGLE | SWT.BORDER | SWT.FULL_SELECTION | SWT.VIRTUAL);
     createColumns(tableColumnLayout);
     viewer.getTable().setHeaderVisible(true);
     viewer.getTable().setLinesVisible(false);
@@ -112,13 +117,7 @@ public class ProjectSelector extends Composite implements ISelectionProvider {
   }
 
   public boolean isProjectIdAvailable(String projectId) {
-    for (Object o : input) {
-      GcpProject gcpProject = (GcpProject) o;
-      if (gcpProject.getId().equals(projectId)) {
-        return true;
-      }
-    }
-    return false;
+    return index.getProject(projectId) != null;
   }
 
   /**
@@ -128,11 +127,10 @@ public class ProjectSelector extends Composite implements ISelectionProvider {
    * @return true if selected; false otherwise
    */
   public boolean selectProjectId(String projectId) {
-    for (GcpProject gcpProject : getProjects()) {
-      if (gcpProject.getId().equals(projectId)) {
-        setSelection(new StructuredSelection(gcpProject));
-        return true;
-      }
+    GcpProject gcpProject = index.getProject(projectId);
+    if (gcpProject != null) {
+      setSelection(new StructuredSelection(gcpProject));
+      return true;
     }
 
     setSelection(StructuredSelection.EMPTY);
@@ -154,30 +152,50 @@ public class ProjectSelector extends Composite implements ISelectionProvider {
   public void setProjects(List<GcpProject> projects) {
     ISelection selection = viewer.getSelection();
     input.clear();
+    index.clear();
     clearStatusLink(); // otherwise revealing selection is off sometimes
     if (projects != null) {
-      input.addAll(projects);
+      input.addAll(index.addAll(projects));
     }
     viewer.setSelection(selection);
   }
 
+  /**
+   * Adds projects to the list, such as a page of projects as it arrives from the server. Projects
+   * already in the list are ignored.
+   */
+  public void addProjects(List<GcpProject> projects) {
+    List<GcpProject> added = index.addAll(projects);
+    if (!added.isEmpty()) {
+      input.addAll(added);
+    }
+  }
+
   /**
    * Set a search filter on the list. If empty or {@code null}, then removes any existing filters.
    */
-  public void setFilter(final String searchText) {
+  public void setFilter(String searchText) {
     if (Strings.isNullOrEmpty(searchText)) {
+      this.searchText = null;
       viewer.resetFilters();
       return;
     }
-    ViewerFilter filter = new ViewerFilter() {
-      @Override
-      public boolean select(Viewer unused, Object parentElement, Object element) {
-        String[] searchTerms = searchText.split("\\s");
-        return matches(searchTerms, element, projectProperties);
-      }
-    };
+    this.searchText = searchText;
+    viewer.setFilters(new ViewerFilter[] {searchFilter});
+  }
 
-    viewer.setFilters(new ViewerFilter[] {filter});
+  /** Filters the projects through the {@link ProjectIndex} rather than testing each project. */
+  private class SearchFilter extends ViewerFilter {
+    @Override
+    public Object[] filter(Viewer unused, Object parent, Object[] elements) {
+      return searchText == null ? elements : index.filter(elements, searchText);
+    }
+
+    @Override
+    public boolean select(Viewer unused, Object parentElement, Object element) {
+      return searchText == null
+          || matches(searchText.split("\\s"), element, projectProperties);
+    }
   }
 
 
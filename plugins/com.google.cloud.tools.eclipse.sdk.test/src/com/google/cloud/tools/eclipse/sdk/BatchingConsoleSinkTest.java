@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.ui.console.MessageConsoleStream;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchingConsoleSinkTest {
+  private static final String NL = System.lineSeparator();
+  private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+  @Mock private MessageConsoleStream consoleStream;
+
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+  private final List<String> batches = Collections.synchronizedList(new ArrayList<>());
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testClose_writesQueuedOutputInOneBatch() {
+    BatchingConsoleSink sink = new BatchingConsoleSink(batches::add, 16, 1024, NEVER, executor);
+    sink.onOutputLine("first");
+    sink.console("raw ");
+    sink.onOutputLine("second");
+    assertTrue(batches.isEmpty());
+
+    sink.close();
+    assertEquals(Collections.singletonList("first" + NL + "raw second" + NL), batches);
+    assertEquals(2, sink.getLinesWritten());
+    assertEquals(1, sink.getBatchesWritten());
+  }
+
+  @Test
+  public void testFlush_nothingQueued() {
+    BatchingConsoleSink sink = new BatchingConsoleSink(batches::add, 16, 1024, NEVER, executor);
+    sink.flush();
+    assertTrue(batches.isEmpty());
+    assertEquals(0, sink.getBatchesWritten());
+  }
+
+  @Test
+  public void testWrittenAfterDelay() throws InterruptedException {
+    CountDownLatch written = new CountDownLatch(1);
+    BatchingConsoleSink sink = new BatchingConsoleSink(batch -> {
+      batches.add(batch);
+      written.countDown();
+    }, 16, 1024, 10, executor);
+    sink.onOutputLine("a line");
+
+    assertTrue(written.await(10, TimeUnit.SECONDS));
+    assertEquals(Collections.singletonList("a line" + NL), batches);
+  }
+
+  @Test
+  public void testWrittenOnceBatchSizeReached() throws InterruptedException {
+    CountDownLatch written = new CountDownLatch(1);
+    BatchingConsoleSink sink = new BatchingConsoleSink(batch -> {
+      batches.add(batch);
+      written.countDown();
+    }, 16, 10, NEVER, executor);
+    sink.onOutputLine("0123456789");
+
+    assertTrue(written.await(10, TimeUnit.SECONDS));
+    assertEquals(Collections.singletonList("0123456789" + NL), batches);
+  }
+
+  @Test
+  public void testDropsWhenFull() {
+    CountDownLatch release = new CountDownLatch(1);
+    // occupy the flusher, as would a console that cannot keep up
+    executor.execute(() -> awaitUninterruptibly(release));
+    BatchingConsoleSink sink = new BatchingConsoleSink(batches::add, 4, 1024, NEVER, executor);
+    for (int i = 0; i < 10; i++) {
+      sink.onOutputLine("line " + i);
+    }
+    assertEquals(6, sink.getLinesDropped());
+
+    release.countDown();
+    sink.close();
+    String output = String.join("", batches);
+    assertEquals("line 0" + NL + "line 1" + NL + "line 2" + NL + "line 3" + NL
+        + "[" + Messages.getString("console.output.dropped", 6) + "]" + NL, output);
+    assertEquals(4, sink.getLinesWritten());
+  }
+
+  @Test
+  public void testMessageConsoleStream() {
+    BatchingConsoleSink sink = new BatchingConsoleSink(consoleStream);
+    sink.onOutputLine("a message");
+    sink.close();
+    verify(consoleStream).print("a message" + NL);
+  }
+
+  /**
+   * Feeds a million mixed lines of {@code gcloud} output through the sink and the error collector,
+   * as deploys do with {@code gcloud}'s stderr, and checks that they reach the console in large
+   * batches.
+   */
+  @Test
+  public void testMillionLines_writtenInLargeBatches() {
+    int lineCount = 1_000_000;
+    String[] lines = generateLines(lineCount);
+    AtomicInteger batchCount = new AtomicInteger();
+    BatchingConsoleSink sink = new BatchingConsoleSink(batch -> batchCount.incrementAndGet(),
+        BatchingConsoleSink.DEFAULT_CAPACITY, BatchingConsoleSink.DEFAULT_MAX_BATCH_CHARS,
+        BatchingConsoleSink.DEFAULT_MAX_DELAY_MILLIS, executor);
+    GcloudStructuredLogErrorMessageCollector collector =
+        new GcloudStructuredLogErrorMessageCollector();
+
+    for (String line : lines) {
+      sink.onOutputLine(line);
+      collector.onOutputLine(line);
+    }
+    sink.close();
+
+    assertEquals(lineCount, sink.getLinesWritten() + sink.getLinesDropped());
+    assertEquals(lineCount / 100, collector.getErrorMessages().size());
+    assertEquals(batchCount.get(), sink.getBatchesWritten());
+    // each line is written as part of a batch of hundreds, not on its own
+    assertTrue(batchCount.get() < sink.getLinesWritten() / 100);
+  }
+
+  /** Returns lines of plain output, structured logs, and stack traces, 1% of them errors. */
+  private static String[] generateLines(int count) {
+    String[] lines = new String[count];
+    for (int i = 0; i < count; i++) {
+      switch (i % 10) {
+        case 0:
+          lines[i] = i % 100 == 0
+              ? "{\"verbosity\": \"ERROR\", \"message\": \"failed step " + i + "\"}"
+              : "{\"verbosity\": \"INFO\", \"message\": \"step " + i + "\"}";
+          break;
+        case 1:
+        case 2:
+          lines[i] = "\tat com.example.Servlet.doGet(Servlet.java:" + i + ")";
+          break;
+        default:
+          lines[i] = "INFO: Uploading file " + i + " of " + count + " to Google Cloud Storage";
+          break;
+      }
+    }
+    return lines;
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
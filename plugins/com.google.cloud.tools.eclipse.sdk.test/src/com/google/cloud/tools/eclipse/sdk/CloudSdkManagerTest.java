@@ -21,13 +21,24 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import com.google.cloud.tools.eclipse.sdk.CloudSdkManager.LockWaitMetrics;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkModifyJob;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.console.MessageConsoleStream;
@@ -41,7 +52,8 @@ public class CloudSdkManagerTest {
   @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
 
   private final ReadWriteLock modifyLock = new ReentrantReadWriteLock();
-  private final CloudSdkManager fixture = new CloudSdkManager(modifyLock);
+  private final CloudSdkManager fixture =
+      new CloudSdkManager(modifyLock, ManagedSdkState.ABSENT);
 
   @After
   public void tearDown() {
@@ -174,6 +186,126 @@ public class CloudSdkManagerTest {
     }
   }
 
+  @Test
+  public void testPreventModifyingSdk_concurrentDeploysWaitForUpdate() throws Exception {
+    BlockingModifyJob updateJob = new BlockingModifyJob(Status.OK_STATUS);
+    fixture.track(updateJob, ManagedSdkState.UPDATING);
+    updateJob.schedule();
+    assertTrue(updateJob.started.await(30, TimeUnit.SECONDS));
+    assertEquals(ManagedSdkState.UPDATING, fixture.getSdkState());
+
+    int deployCount = 40;
+    CountDownLatch deploysStarted = new CountDownLatch(deployCount);
+    AtomicInteger usedDuringUpdate = new AtomicInteger();
+    ExecutorService deploys = Executors.newFixedThreadPool(deployCount);
+    try {
+      List<Future<Void>> results = new ArrayList<>();
+      for (int i = 0; i < deployCount; i++) {
+        results.add(deploys.submit(() -> {
+          deploysStarted.countDown();
+          fixture.preventModifyingSdk();
+          try {
+            if (updateJob.modifying) {
+              usedDuringUpdate.incrementAndGet();
+            }
+            Thread.sleep(1);
+          } finally {
+            fixture.allowModifyingSdk();
+          }
+          return null;
+        }));
+      }
+      assertTrue(deploysStarted.await(30, TimeUnit.SECONDS));
+      assertEquals(0, fixture.getLockWaitMetrics().getAcquisitions());
+
+      updateJob.release.countDown();
+      for (Future<Void> result : results) {
+        result.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      deploys.shutdownNow();
+    }
+    updateJob.join();
+
+    assertEquals(0, usedDuringUpdate.get());
+    assertEquals(ManagedSdkState.READY, fixture.getSdkState());
+    LockWaitMetrics metrics = fixture.getLockWaitMetrics();
+    assertEquals(deployCount, metrics.getAcquisitions());
+    assertEquals(deployCount, metrics.getContendedAcquisitions());
+    assertTrue(metrics.getMaximumWait().compareTo(metrics.getTotalWait()) <= 0);
+  }
+
+  @Test
+  public void testPreventModifyingSdk_uncontended() throws InterruptedException {
+    fixture.preventModifyingSdk();
+    fixture.allowModifyingSdk();
+
+    assertEquals(1, fixture.getLockWaitMetrics().getAcquisitions());
+    assertEquals(0, fixture.getLockWaitMetrics().getContendedAcquisitions());
+  }
+
+  @Test
+  public void testPreventModifyingSdk_cancelledWhileInstalling() throws Exception {
+    BlockingModifyJob installJob = new BlockingModifyJob(Status.OK_STATUS);
+    fixture.track(installJob, ManagedSdkState.INSTALLING);
+    installJob.schedule();
+    IProgressMonitor monitor = new NullProgressMonitor();
+    monitor.setCanceled(true);
+
+    assertFalse(fixture.preventModifyingSdk(monitor));
+    assertEquals(0, fixture.getLockWaitMetrics().getAcquisitions());
+    installJob.release.countDown();
+    installJob.join();
+    assertTrue(installJob.getResult().isOK());
+  }
+
+  @Test
+  public void testPreventModifyingSdk_waitsForInstall() throws Exception {
+    BlockingModifyJob installJob = new BlockingModifyJob(Status.OK_STATUS);
+    fixture.track(installJob, ManagedSdkState.INSTALLING);
+    installJob.schedule();
+    assertTrue(installJob.started.await(30, TimeUnit.SECONDS));
+    installJob.release.countDown();
+
+    assertTrue(fixture.preventModifyingSdk(new NullProgressMonitor()));
+    try {
+      assertFalse(installJob.modifying);
+      assertEquals(ManagedSdkState.READY, fixture.getSdkState());
+    } finally {
+      fixture.allowModifyingSdk();
+    }
+    installJob.join();
+  }
+
+  @Test
+  public void testWhenSdkSettled_installFailed() throws Exception {
+    IStatus error = StatusUtil.error(this, "install error in unit test");
+    BlockingModifyJob installJob = new BlockingModifyJob(error);
+    fixture.track(installJob, ManagedSdkState.INSTALLING);
+    installJob.schedule();
+    CompletableFuture<ManagedSdkState> settled = fixture.whenSdkSettled();
+    assertEquals(ManagedSdkState.INSTALLING, fixture.getSdkState());
+
+    installJob.release.countDown();
+    assertEquals(ManagedSdkState.ABSENT, settled.get(30, TimeUnit.SECONDS));
+    installJob.join();
+  }
+
+  @Test
+  public void testWhenSdkSettled_cancelledWaitLeavesInstallRunning() throws Exception {
+    BlockingModifyJob installJob = new BlockingModifyJob(Status.OK_STATUS);
+    fixture.track(installJob, ManagedSdkState.INSTALLING);
+    installJob.schedule();
+    CompletableFuture<ManagedSdkState> cancelled = fixture.whenSdkSettled();
+    CompletableFuture<ManagedSdkState> awaited = fixture.whenSdkSettled();
+
+    assertTrue(cancelled.cancel(true));
+    installJob.release.countDown();
+    assertEquals(ManagedSdkState.READY, awaited.get(30, TimeUnit.SECONDS));
+    installJob.join();
+    assertTrue(installJob.getResult().isOK());
+  }
+
   private class FakeModifyJob extends CloudSdkModifyJob {
 
     private final IStatus result;
@@ -188,4 +320,32 @@ public class CloudSdkManagerTest {
       return result;
     } 
   }
+
+  /** Modifies the SDK once released, returning the given result. */
+  private class BlockingModifyJob extends CloudSdkModifyJob {
+
+    private final IStatus result;
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean modifying;
+
+    private BlockingModifyJob(IStatus result) {
+      super(mock(MessageConsoleStream.class), modifyLock);
+      this.result = result;
+    }
+
+    @Override
+    protected IStatus modifySdk(IProgressMonitor monitor) {
+      modifying = true;
+      started.countDown();
+      try {
+        release.await();
+        return result;
+      } catch (InterruptedException ex) {
+        return Status.CANCEL_STATUS;
+      } finally {
+        modifying = false;
+      }
+    }
+  }
 }
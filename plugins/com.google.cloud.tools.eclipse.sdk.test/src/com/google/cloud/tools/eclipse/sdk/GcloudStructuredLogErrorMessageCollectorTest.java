@@ -18,7 +18,9 @@ package com.google.cloud.tools.eclipse.sdk;
 
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import org.junit.Test;
@@ -71,6 +73,22 @@ public class GcloudStructuredLogErrorMessageCollectorTest {
     assertThat(errorMessageCollector.getErrorMessages(), empty());
   }
 
+  @Test
+  public void testLeadingWhitespace() {
+    errorMessageCollector.onOutputLine("  \t{ 'verbosity': 'error', 'message': 'indented' }");
+    assertThat(errorMessageCollector.getErrorMessages(), equalTo(Arrays.asList("indented")));
+  }
+
+  @Test
+  public void testMayBeJsonObject() {
+    assertTrue(GcloudStructuredLogErrorMessageCollector.mayBeJsonObject("{}"));
+    assertTrue(GcloudStructuredLogErrorMessageCollector.mayBeJsonObject(" {"));
+    assertFalse(GcloudStructuredLogErrorMessageCollector.mayBeJsonObject(""));
+    assertFalse(GcloudStructuredLogErrorMessageCollector.mayBeJsonObject("   "));
+    assertFalse(GcloudStructuredLogErrorMessageCollector.mayBeJsonObject("INFO: {}"));
+    assertFalse(GcloudStructuredLogErrorMessageCollector.mayBeJsonObject("[{}]"));
+  }
+
   @Test
   public void testMultipleLines() {
     errorMessageCollector.onOutputLine("1st normal output");
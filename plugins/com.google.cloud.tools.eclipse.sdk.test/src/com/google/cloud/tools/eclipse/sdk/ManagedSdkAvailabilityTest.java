@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+
+public class ManagedSdkAvailabilityTest {
+
+  private final ManagedSdkAvailability availability =
+      new ManagedSdkAvailability(ManagedSdkState.ABSENT);
+
+  @Test
+  public void testInitialState() {
+    assertEquals(ManagedSdkState.ABSENT, availability.getState());
+    assertTrue(availability.isSettled());
+    assertEquals(ManagedSdkState.ABSENT, availability.whenSettled().getNow(null));
+  }
+
+  @Test
+  public void testInitialState_installed() {
+    ManagedSdkAvailability installed = new ManagedSdkAvailability(ManagedSdkState.READY);
+    assertEquals(ManagedSdkState.READY, installed.getState());
+    assertEquals(ManagedSdkState.READY, installed.whenSettled().getNow(null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInitialState_modifying() {
+    new ManagedSdkAvailability(ManagedSdkState.UPDATING);
+  }
+
+  @Test
+  public void testInstall() {
+    availability.modificationScheduled(ManagedSdkState.INSTALLING);
+    CompletableFuture<ManagedSdkState> settled = availability.whenSettled();
+    assertEquals(ManagedSdkState.INSTALLING, availability.getState());
+    assertFalse(availability.isSettled());
+    assertFalse(settled.isDone());
+
+    availability.modificationDone(ManagedSdkState.INSTALLING, true);
+    assertEquals(ManagedSdkState.READY, availability.getState());
+    assertEquals(ManagedSdkState.READY, settled.getNow(null));
+  }
+
+  @Test
+  public void testInstall_failed() {
+    availability.modificationScheduled(ManagedSdkState.INSTALLING);
+    availability.modificationDone(ManagedSdkState.INSTALLING, false);
+    assertEquals(ManagedSdkState.ABSENT, availability.getState());
+  }
+
+  @Test
+  public void testUpdate_failedLeavesSdkReady() {
+    availability.modificationScheduled(ManagedSdkState.INSTALLING);
+    availability.modificationDone(ManagedSdkState.INSTALLING, true);
+
+    availability.modificationScheduled(ManagedSdkState.UPDATING);
+    assertEquals(ManagedSdkState.UPDATING, availability.getState());
+    availability.modificationDone(ManagedSdkState.UPDATING, false);
+    assertEquals(ManagedSdkState.READY, availability.getState());
+  }
+
+  @Test
+  public void testOverlappingModifications_settleOnceAllDone() {
+    availability.modificationScheduled(ManagedSdkState.INSTALLING);
+    CompletableFuture<ManagedSdkState> settled = availability.whenSettled();
+    availability.modificationScheduled(ManagedSdkState.UPDATING);
+
+    availability.modificationDone(ManagedSdkState.INSTALLING, true);
+    assertFalse(settled.isDone());
+    assertEquals(ManagedSdkState.UPDATING, availability.getState());
+
+    availability.modificationDone(ManagedSdkState.UPDATING, true);
+    assertEquals(ManagedSdkState.READY, settled.getNow(null));
+  }
+
+  @Test
+  public void testWhenSettled_cancellingDoesNotAffectOthers() {
+    availability.modificationScheduled(ManagedSdkState.INSTALLING);
+    CompletableFuture<ManagedSdkState> cancelled = availability.whenSettled();
+    CompletableFuture<ManagedSdkState> awaited = availability.whenSettled();
+
+    assertTrue(cancelled.cancel(true));
+    availability.modificationDone(ManagedSdkState.INSTALLING, true);
+    assertEquals(ManagedSdkState.READY, awaited.getNow(null));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testModificationDone_notScheduled() {
+    availability.modificationDone(ManagedSdkState.INSTALLING, true);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testModificationScheduled_notModifying() {
+    availability.modificationScheduled(ManagedSdkState.READY);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ArchiveExtractorTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Mock private ProgressListener progress;
+
+  @Test
+  public void testExtract_zip() throws IOException, InterruptedException {
+    Path archive = tempFolder.getRoot().toPath().resolve("sdk.zip");
+    writeZip(archive, "google-cloud-sdk/", "google-cloud-sdk/bin/gcloud.cmd");
+    Path destination = tempFolder.getRoot().toPath().resolve("LATEST");
+
+    ArchiveExtractor.extract(archive, destination, progress);
+
+    Path gcloud = destination.resolve("google-cloud-sdk/bin/gcloud.cmd");
+    assertEquals("google-cloud-sdk/bin/gcloud.cmd",
+        new String(Files.readAllBytes(gcloud), StandardCharsets.UTF_8));
+    verify(progress).start("Extracting sdk.zip", 2);
+    verify(progress, times(2)).update(1);
+    verify(progress).done();
+  }
+
+  @Test
+  public void testExtract_zipEntryOutsideDestination() throws IOException, InterruptedException {
+    Path archive = tempFolder.getRoot().toPath().resolve("sdk.zip");
+    writeZip(archive, "../outside");
+    Path destination = tempFolder.getRoot().toPath().resolve("LATEST");
+
+    try {
+      ArchiveExtractor.extract(archive, destination, progress);
+      fail("entry outside of the destination should have been rejected");
+    } catch (IOException ex) {
+      assertEquals("Archive entry outside of destination: ../outside", ex.getMessage());
+    }
+    assertFalse(Files.exists(tempFolder.getRoot().toPath().resolve("outside")));
+  }
+
+  @Test
+  public void testExtract_tarGz() throws IOException, InterruptedException {
+    Assume.assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+    Path source = tempFolder.newFolder("source").toPath();
+    Files.createDirectories(source.resolve("google-cloud-sdk/bin"));
+    Path script = Files.write(source.resolve("google-cloud-sdk/bin/gcloud"),
+        "#!/bin/sh\n".getBytes(StandardCharsets.UTF_8));
+    assertTrue(script.toFile().setExecutable(true));
+    Path archive = tempFolder.getRoot().toPath().resolve("sdk.tar.gz");
+    Process tar = new ProcessBuilder("tar", "-czf", archive.toString(),
+        "-C", source.toString(), "google-cloud-sdk").start();
+    assertEquals(0, tar.waitFor());
+    Path destination = tempFolder.getRoot().toPath().resolve("LATEST");
+
+    ArchiveExtractor.extract(archive, destination, progress);
+
+    assertTrue(Files.isExecutable(destination.resolve("google-cloud-sdk/bin/gcloud")));
+    verify(progress).done();
+  }
+
+  @Test
+  public void testExtract_corruptTarGz() throws IOException, InterruptedException {
+    Assume.assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+    Path archive = Files.write(tempFolder.getRoot().toPath().resolve("sdk.tar.gz"),
+        new byte[] {1, 2, 3});
+
+    try {
+      ArchiveExtractor.extract(archive, tempFolder.getRoot().toPath().resolve("LATEST"),
+          progress);
+      fail("corrupt archive should not have been extracted");
+    } catch (IOException ex) {
+      assertTrue(ex.getMessage().startsWith("Unable to extract " + archive));
+    }
+  }
+
+  @Test
+  public void testExtract_unknownType() throws IOException, InterruptedException {
+    Path archive = tempFolder.newFile("sdk.rar").toPath();
+    try {
+      ArchiveExtractor.extract(archive, tempFolder.getRoot().toPath().resolve("LATEST"),
+          progress);
+      fail("unknown archive type should not have been extracted");
+    } catch (IOException ex) {
+      assertEquals("Unknown archive type: " + archive, ex.getMessage());
+    }
+  }
+
+  /** Write a zip whose files contain their own names. */
+  private static void writeZip(Path archive, String... entries) throws IOException {
+    try (OutputStream output = Files.newOutputStream(archive);
+        ZipOutputStream zip = new ZipOutputStream(output)) {
+      for (String entry : entries) {
+        zip.putNextEntry(new ZipEntry(entry));
+        if (!entry.endsWith("/")) {
+          zip.write(entry.getBytes(StandardCharsets.UTF_8));
+        }
+        zip.closeEntry();
+      }
+    }
+  }
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,7 +35,6 @@ import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponentInstaller;
-import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
 import java.io.IOException;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -52,14 +52,13 @@ public class CloudSdkInstallJobTest {
 
   @Mock private MessageConsoleStream consoleStream;
   @Mock private ManagedCloudSdk managedCloudSdk;
-  @Mock private SdkInstaller sdkInstaller;
+  @Mock private ManagedSdkInstaller sdkInstaller;
   @Mock private SdkComponentInstaller componentInstaller;
 
   @Before
   public void setUp() throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException {
     when(managedCloudSdk.isInstalled()).thenReturn(true);
     when(managedCloudSdk.hasComponent(any(SdkComponent.class))).thenReturn(true);
-    when(managedCloudSdk.newInstaller()).thenReturn(sdkInstaller);
     when(managedCloudSdk.newComponentInstaller()).thenReturn(componentInstaller);
   }
 
@@ -109,9 +108,9 @@ public class CloudSdkInstallJobTest {
     job.join();
 
     assertTrue(job.getResult().isOK());
-    verify(managedCloudSdk).newInstaller();
     verify(managedCloudSdk).newComponentInstaller();
-    verify(sdkInstaller).install(any(ProgressListener.class), any(ConsoleListener.class));
+    verify(sdkInstaller).install(anyListOf(SdkComponent.class), any(ProgressWrapper.class),
+        any(ConsoleListener.class));
     verify(componentInstaller)
         .installComponent(
             any(SdkComponent.class), any(ProgressListener.class), any(ConsoleListener.class));
@@ -125,9 +124,8 @@ public class CloudSdkInstallJobTest {
     when(managedCloudSdk.isInstalled()).thenReturn(false);
     when(managedCloudSdk.hasComponent(any(SdkComponent.class))).thenReturn(false);
     SdkInstallerException installerException = new SdkInstallerException("unsupported");
-    when(managedCloudSdk.newInstaller()).thenReturn(sdkInstaller);
-    when(sdkInstaller.install(any(ProgressWrapper.class), any(ConsoleListener.class)))
-        .thenThrow(installerException);
+    when(sdkInstaller.install(anyListOf(SdkComponent.class), any(ProgressWrapper.class),
+        any(ConsoleListener.class))).thenThrow(installerException);
 
     CloudSdkInstallJob job = newCloudSdkInstallJob();
     job.schedule();
@@ -151,7 +149,8 @@ public class CloudSdkInstallJobTest {
     job.join();
 
     assertTrue(job.getResult().isOK());
-    verify(managedCloudSdk, never()).newInstaller();
+    verify(sdkInstaller, never()).install(anyListOf(SdkComponent.class),
+        any(ProgressWrapper.class), any(ConsoleListener.class));
     verify(managedCloudSdk).newComponentInstaller();
     verify(componentInstaller)
         .installComponent(
@@ -170,7 +169,8 @@ public class CloudSdkInstallJobTest {
     job.join();
 
     assertTrue(job.getResult().isOK());
-    verify(managedCloudSdk, never()).newInstaller();
+    verify(sdkInstaller, never()).install(anyListOf(SdkComponent.class),
+        any(ProgressWrapper.class), any(ConsoleListener.class));
     verify(managedCloudSdk, never()).newComponentInstaller();
   }
 
@@ -188,6 +188,11 @@ public class CloudSdkInstallJobTest {
       protected ManagedCloudSdk getManagedCloudSdk() throws UnsupportedOsException {
         return managedCloudSdk;
       }
+
+      @Override
+      ManagedSdkInstaller newInstaller(ManagedCloudSdk managedSdk) {
+        return sdkInstaller;
+      }
     };
   }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.CloudSdkVersion;
+import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkMetadataCache.SdkProbe;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CloudSdkMetadataCacheTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Mock private ManagedCloudSdk managedSdk;
+
+  private final CountingProbe probe = new CountingProbe();
+  private final CloudSdkMetadataCache cache = new CloudSdkMetadataCache(probe);
+  private Path sdkHome;
+
+  @Before
+  public void setUp() throws Exception {
+    sdkHome = tempFolder.newFolder("google-cloud-sdk").toPath();
+    Files.createDirectories(sdkHome.resolve("bin"));
+    Files.createDirectories(sdkHome.resolve(".install"));
+    writeVersion("300.0.0");
+    when(managedSdk.getSdkHome()).thenReturn(sdkHome);
+  }
+
+  @Test
+  public void testGetVersion_cached() throws AppEngineException {
+    assertEquals("300.0.0", cache.getVersion(sdkHome).toString());
+    assertEquals("300.0.0", cache.getVersion(sdkHome).toString());
+
+    assertEquals(1, probe.versionReads);
+    assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  public void testGetVersion_rereadWhenSdkUpdated() throws AppEngineException, IOException {
+    assertEquals("300.0.0", cache.getVersion(sdkHome).toString());
+    writeVersion("301.0.0");
+
+    assertEquals("301.0.0", cache.getVersion(sdkHome).toString());
+    assertEquals(2, probe.versionReads);
+  }
+
+  @Test
+  public void testHasComponent_cached() throws Exception {
+    assertTrue(cache.hasComponent(managedSdk, SdkComponent.APP_ENGINE_JAVA));
+    assertTrue(cache.hasComponent(managedSdk, SdkComponent.APP_ENGINE_JAVA));
+
+    assertEquals(1, probe.componentChecks);
+  }
+
+  @Test
+  public void testHasComponent_probedAgainWhenComponentsChange() throws Exception {
+    cache.hasComponent(managedSdk, SdkComponent.APP_ENGINE_JAVA);
+    addComponent("app-engine-java");
+    cache.hasComponent(managedSdk, SdkComponent.APP_ENGINE_JAVA);
+
+    assertEquals(2, probe.componentChecks);
+  }
+
+  @Test
+  public void testIsInstalled_probedAgainAfterInvalidate() throws Exception {
+    assertTrue(cache.isInstalled(managedSdk));
+    assertTrue(cache.isInstalled(managedSdk));
+    cache.invalidate();
+    assertTrue(cache.isInstalled(managedSdk));
+
+    assertEquals(2, probe.installationChecks);
+  }
+
+  @Test
+  public void testNoSdkHome_notCached() throws Exception {
+    when(managedSdk.getSdkHome()).thenReturn(null);
+    cache.hasComponent(managedSdk, SdkComponent.APP_ENGINE_JAVA);
+    cache.hasComponent(managedSdk, SdkComponent.APP_ENGINE_JAVA);
+
+    assertEquals(2, probe.componentChecks);
+  }
+
+  @Test
+  public void testFingerprint() throws IOException {
+    List<String> original = CloudSdkMetadataCache.fingerprint(sdkHome);
+    assertEquals(original, CloudSdkMetadataCache.fingerprint(sdkHome));
+
+    addComponent("app-engine-java");
+    assertNotEquals(original, CloudSdkMetadataCache.fingerprint(sdkHome));
+  }
+
+  /**
+   * Counts the probes of the SDK over a sequence of deploys and local launches. Each checks the
+   * installation, as {@link CloudSdkInstallJob} does, and shows the SDK version, as the local
+   * server's description does. Without the cache, each would read files twice and run {@code
+   * gcloud} once.
+   */
+  @Test
+  public void testDeployAndLaunchSequence() throws Exception {
+    int deploysAndLaunches = 100;
+    for (int i = 0; i < deploysAndLaunches; i++) {
+      checkInstallationAndVersion();
+    }
+    assertEquals(1, probe.installationChecks);
+    assertEquals(1, probe.componentChecks);
+    assertEquals(1, probe.versionReads);
+    assertEquals(3 * deploysAndLaunches - 3, cache.getHits());
+
+    // installing a component changes the fingerprint, so the SDK is probed once more
+    addComponent("cloud-datastore-emulator");
+    for (int i = 0; i < deploysAndLaunches; i++) {
+      checkInstallationAndVersion();
+    }
+    assertEquals(2, probe.installationChecks);
+    assertEquals(2, probe.componentChecks);
+    assertEquals(2, probe.versionReads);
+  }
+
+  private void checkInstallationAndVersion() throws Exception {
+    assertTrue(cache.isInstalled(managedSdk));
+    assertTrue(cache.hasComponent(managedSdk, SdkComponent.APP_ENGINE_JAVA));
+    assertEquals("300.0.0", cache.getVersion(sdkHome).toString());
+  }
+
+  private void writeVersion(String version) throws IOException {
+    Path versionFile = sdkHome.resolve("VERSION");
+    FileTime previous = Files.exists(versionFile) ? Files.getLastModifiedTime(versionFile) : null;
+    Files.write(versionFile, version.getBytes(StandardCharsets.UTF_8));
+    touchAfter(versionFile, previous);
+  }
+
+  private void addComponent(String id) throws IOException {
+    Path installState = sdkHome.resolve(".install");
+    FileTime previous = Files.getLastModifiedTime(installState);
+    Files.createFile(installState.resolve(id + ".manifest"));
+    touchAfter(installState, previous);
+  }
+
+  /** Ensure the modification time changes despite the file system's timestamp resolution. */
+  private static void touchAfter(Path path, FileTime previous) throws IOException {
+    if (previous != null) {
+      Files.setLastModifiedTime(path, FileTime.fromMillis(previous.toMillis() + 2000));
+    }
+  }
+
+  /** Reads the version file, reports everything installed, and counts each probe. */
+  private static class CountingProbe implements SdkProbe {
+    private int versionReads;
+    private int installationChecks;
+    private int componentChecks;
+
+    @Override
+    public CloudSdkVersion readVersion(Path sdkHome) throws CloudSdkVersionFileException {
+      versionReads++;
+      try {
+        byte[] version = Files.readAllBytes(sdkHome.resolve("VERSION"));
+        return new CloudSdkVersion(new String(version, StandardCharsets.UTF_8).trim());
+      } catch (IOException ex) {
+        throw new CloudSdkVersionFileException(ex);
+      }
+    }
+
+    @Override
+    public boolean isInstalled(ManagedCloudSdk managedSdk) {
+      installationChecks++;
+      return true;
+    }
+
+    @Override
+    public boolean hasComponent(ManagedCloudSdk managedSdk, SdkComponent component) {
+      componentChecks++;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.tools.eclipse.test.util.http.TestArchiveServer;
+import com.google.cloud.tools.managedcloudsdk.OsInfo;
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComponentMirrorTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+  @Rule public TestArchiveServer server = new TestArchiveServer();
+
+  @Mock private ProgressListener progress;
+
+  private final byte[] javaArchive = "app-engine-java".getBytes(StandardCharsets.UTF_8);
+  private final byte[] toolsArchive = "java-tools".getBytes(StandardCharsets.UTF_8);
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+  private Path directory;
+  private ComponentMirror mirror;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = tempFolder.getRoot().toPath().resolve("components");
+    // the snapshot has no checksum of its own, and is verified against the server's
+    server.withGoogleHashes();
+    mirror = newMirror("amd64");
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testFetch() throws IOException, InterruptedException, URISyntaxException {
+    serveSnapshot(sha256(javaArchive));
+    // the component archives arrive over an unreliable connection
+    server.dropConnections(2, 4);
+
+    URL mirroredSnapshot = mirror.fetch(Collections.singleton("app-engine-java"), progress);
+
+    Map<String, String> sources = readSources(Paths.get(mirroredSnapshot.toURI()));
+    Path mirroredJava = Paths.get(new URL(sources.get("app-engine-java")).toURI());
+    Path mirroredTools = Paths.get(new URL(sources.get("java-tools")).toURI());
+    assertArrayEquals(javaArchive, Files.readAllBytes(mirroredJava));
+    assertArrayEquals(toolsArchive, Files.readAllBytes(mirroredTools));
+    // the SDK archive includes core, and the Windows component does not apply
+    assertEquals(server.getAddress() + "components/core.tar.gz", sources.get("core"));
+    assertEquals(server.getAddress() + "components/windows-only.tar.gz",
+        sources.get("windows-only"));
+    assertFalse(server.getRequestPaths().contains("components/core.tar.gz"));
+    assertFalse(server.getRequestPaths().contains("components/windows-only.tar.gz"));
+  }
+
+  @Test
+  public void testFetch_checksumMismatch() throws IOException, InterruptedException {
+    serveSnapshot(sha256(toolsArchive));
+
+    try {
+      mirror.fetch(Collections.singleton("app-engine-java"), progress);
+      fail("mismatched component archive should not have been mirrored");
+    } catch (ResumableDownloader.ChecksumMismatchException ex) {
+      // expected
+    }
+    assertFalse(Files.exists(directory.resolve("components-2.json")));
+  }
+
+  @Test
+  public void testFetch_reusesMirroredArchives() throws IOException, InterruptedException {
+    serveSnapshot(sha256(javaArchive));
+    mirror.fetch(Collections.singleton("app-engine-java"), progress);
+    mirror.fetch(Collections.singleton("app-engine-java"), progress);
+
+    assertEquals(2, Collections.frequency(server.getRequestPaths(), "components-2.json"));
+    assertEquals(1, Collections.frequency(server.getRequestPaths(),
+        "components/app-engine-java.tar.gz"));
+    assertEquals(1, Collections.frequency(server.getRequestPaths(),
+        "components/java-tools.tar.gz"));
+  }
+
+  @Test
+  public void testFetch_arm64() throws IOException, InterruptedException, URISyntaxException {
+    server.serve("components-2.json", "{ 'components': ["
+        + "{ 'id': 'tools-arm', 'dependencies': [],"
+        + "  'platform': { 'architectures': ['arm'] },"
+        + "  'data': { 'source': 'components/tools-arm.tar.gz',"
+        + "            'checksum': '" + sha256(toolsArchive) + "' } },"
+        + "{ 'id': 'tools-x86_64', 'dependencies': [],"
+        + "  'platform': { 'architectures': ['x86_64'] },"
+        + "  'data': { 'source': 'components/tools-x86_64.tar.gz' } }"
+        + "] }");
+    server.serve("components/tools-arm.tar.gz", toolsArchive);
+
+    URL mirroredSnapshot = newMirror("aarch64").fetch(
+        Arrays.asList("tools-arm", "tools-x86_64"), progress);
+
+    Map<String, String> sources = readSources(Paths.get(mirroredSnapshot.toURI()));
+    Path mirroredTools = Paths.get(new URL(sources.get("tools-arm")).toURI());
+    assertArrayEquals(toolsArchive, Files.readAllBytes(mirroredTools));
+    assertFalse(server.getRequestPaths().contains("components/tools-x86_64.tar.gz"));
+  }
+
+  @Test
+  public void testFetch_unsupportedArchitecture() throws InterruptedException {
+    serveSnapshot(sha256(javaArchive));
+
+    try {
+      newMirror("s390x").fetch(Collections.singleton("app-engine-java"), progress);
+      fail("components should not have been mirrored for an unknown architecture");
+    } catch (IOException ex) {
+      assertEquals("Cloud SDK components are not available for s390x", ex.getMessage());
+    }
+    assertTrue(server.getRequestPaths().isEmpty());
+  }
+
+  private ComponentMirror newMirror(String systemArchitecture) throws MalformedURLException {
+    return new ComponentMirror(new URL(server.getAddress() + "components-2.json"), directory,
+        new OsInfo(OsInfo.Name.LINUX, OsInfo.Architecture.X86_64), systemArchitecture,
+        new ResumableDownloader("test", 1), executor);
+  }
+
+  private void serveSnapshot(String javaChecksum) {
+    server.serve("components-2.json", "{ 'components': ["
+        + "{ 'id': 'core', 'dependencies': [],"
+        + "  'data': { 'source': 'components/core.tar.gz' } },"
+        + "{ 'id': 'app-engine-java', 'dependencies': ['core', 'java-tools', 'windows-only'],"
+        + "  'data': { 'source': 'components/app-engine-java.tar.gz',"
+        + "            'checksum': '" + javaChecksum + "' } },"
+        + "{ 'id': 'java-tools', 'dependencies': ['core'],"
+        + "  'data': { 'source': 'components/java-tools.tar.gz',"
+        + "            'checksum': '" + sha256(toolsArchive) + "' } },"
+        + "{ 'id': 'windows-only', 'dependencies': [],"
+        + "  'platform': { 'operating_systems': ['WINDOWS'] },"
+        + "  'data': { 'source': 'components/windows-only.tar.gz' } }"
+        + "] }");
+    server.serve("components/app-engine-java.tar.gz", javaArchive);
+    server.serve("components/java-tools.tar.gz", toolsArchive);
+  }
+
+  private static Map<String, String> readSources(Path snapshot) throws IOException {
+    Map<String, String> sources = new HashMap<>();
+    try (Reader reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)) {
+      JsonObject json = new JsonParser().parse(reader).getAsJsonObject();
+      json.getAsJsonArray("components").forEach(element -> {
+        JsonObject component = element.getAsJsonObject();
+        sources.put(component.get("id").getAsString(),
+            component.getAsJsonObject("data").get("source").getAsString());
+      });
+    }
+    return sources;
+  }
+
+  private static String sha256(byte[] bytes) {
+    return Hashing.sha256().hashBytes(bytes).toString();
+  }
+}
@@ -17,12 +17,17 @@
 package com.google.cloud.tools.eclipse.sdk.internal;
 
 import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 import org.junit.Before;
@@ -70,4 +75,24 @@ public class ProgressWrapperTest {
     wrapper.start("testNewChild", 100);
     assertThat(wrapper.newChild(10), instanceOf(ProgressListener.class));
   }
+
+  @Test
+  public void testPhaseTiming() {
+    Map<String, Duration> phases = new LinkedHashMap<>();
+    ProgressWrapper timed =
+        new ProgressWrapper(SubMonitor.convert(monitor, 100), phases::put);
+
+    timed.start("install", 100);
+    ProgressWrapper child = timed.newChild(50);
+    child.start("download", 10);
+    child.done();
+    ProgressWrapper detached = timed.newDetachedChild();
+    detached.start("components", 10);
+    detached.done();
+    timed.done();
+
+    assertEquals(3, phases.size());
+    assertEquals("[download, components, install]", phases.keySet().toString());
+    assertTrue(phases.values().stream().noneMatch(Duration::isNegative));
+  }
 }
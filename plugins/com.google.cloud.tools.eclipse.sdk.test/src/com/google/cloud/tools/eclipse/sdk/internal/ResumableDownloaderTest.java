@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.tools.eclipse.sdk.internal.ResumableDownloader.ChecksumMismatchException;
+import com.google.cloud.tools.eclipse.test.util.http.TestArchiveServer;
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResumableDownloaderTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+  @Rule public TestArchiveServer server = new TestArchiveServer();
+
+  @Mock private ProgressListener progress;
+
+  private final byte[] content = new byte[10000];
+  private final ResumableDownloader downloader = new ResumableDownloader("test", 1);
+  private Path destination;
+
+  @Before
+  public void setUp() {
+    new Random(0).nextBytes(content);
+    server.serve("sdk.tar.gz", content);
+    destination = tempFolder.getRoot().toPath().resolve("downloads/sdk.tar.gz");
+  }
+
+  @Test
+  public void testDownload() throws IOException, InterruptedException {
+    downloader.download(getUrl(), destination, sha256(content), progress);
+
+    assertArrayEquals(content, Files.readAllBytes(destination));
+    assertEquals(Collections.singletonList(""), server.getRequestRanges());
+    assertNoPartFiles();
+  }
+
+  @Test
+  public void testDownload_resumesAfterDroppedConnections()
+      throws IOException, InterruptedException {
+    server.dropConnections(2, 3000);
+
+    downloader.download(getUrl(), destination, sha256(content), progress);
+
+    assertArrayEquals(content, Files.readAllBytes(destination));
+    assertEquals(Arrays.asList("", "bytes=3000-", "bytes=6000-"), server.getRequestRanges());
+    assertNoPartFiles();
+  }
+
+  @Test
+  public void testDownload_restartsWhenRangesUnsupported()
+      throws IOException, InterruptedException {
+    server.withoutRanges().dropConnections(1, 3000);
+
+    downloader.download(getUrl(), destination, sha256(content), progress);
+
+    assertArrayEquals(content, Files.readAllBytes(destination));
+    assertEquals(Arrays.asList("", "bytes=3000-"), server.getRequestRanges());
+  }
+
+  @Test
+  public void testDownload_resumesInLaterSession() throws IOException, InterruptedException {
+    server.dropConnections(ResumableDownloader.MAXIMUM_ATTEMPTS, 1000);
+    try {
+      downloader.download(getUrl(), destination, sha256(content), progress);
+      fail("download should have run out of attempts");
+    } catch (IOException ex) {
+      // expected
+    }
+    assertFalse(Files.exists(destination));
+
+    new ResumableDownloader("test", 1).download(getUrl(), destination, sha256(content), progress);
+
+    assertArrayEquals(content, Files.readAllBytes(destination));
+    assertEquals("bytes=5000-", server.getRequestRanges().get(5));
+  }
+
+  @Test
+  public void testDownload_restartsWhenContentChanges() throws IOException, InterruptedException {
+    server.dropConnections(ResumableDownloader.MAXIMUM_ATTEMPTS, 1000);
+    try {
+      downloader.download(getUrl(), destination, sha256(content), progress);
+      fail("download should have run out of attempts");
+    } catch (IOException ex) {
+      // expected
+    }
+
+    byte[] newContent = Arrays.copyOf(content, 12000);
+    server.serve("sdk.tar.gz", newContent);
+    downloader.download(getUrl(), destination, sha256(newContent), progress);
+
+    assertArrayEquals(newContent, Files.readAllBytes(destination));
+    // the resumption asked for the rest of the old content, but received the new in full
+    assertEquals("bytes=5000-", server.getRequestRanges().get(5));
+  }
+
+  @Test
+  public void testDownload_verifiesGoogleHash() throws IOException, InterruptedException {
+    server.withGoogleHashes().dropConnections(1, 3000);
+
+    downloader.download(getUrl(), destination, null, progress);
+
+    assertArrayEquals(content, Files.readAllBytes(destination));
+  }
+
+  @Test
+  public void testDownload_checksumMismatch() throws IOException, InterruptedException {
+    try {
+      downloader.download(getUrl(), destination, sha256(new byte[1]), progress);
+      fail("download should not have matched the checksum");
+    } catch (ChecksumMismatchException ex) {
+      // every attempt starts over, as the bytes received may be corrupt
+      assertEquals(ResumableDownloader.MAXIMUM_ATTEMPTS, server.getRequestRanges().size());
+      for (String range : server.getRequestRanges()) {
+        assertEquals("", range);
+      }
+    }
+    assertFalse(Files.exists(destination));
+  }
+
+  @Test
+  public void testDownload_noChecksum() throws IOException, InterruptedException {
+    try {
+      downloader.download(getUrl(), destination, null, progress);
+      fail("download without a checksum should not have been accepted");
+    } catch (IOException ex) {
+      assertEquals("No checksum to verify sdk.tar.gz.part against", ex.getMessage());
+    }
+    assertEquals(1, server.getRequestRanges().size());
+    assertFalse(Files.exists(destination));
+    assertFalse(Files.exists(destination.resolveSibling("sdk.tar.gz.part")));
+  }
+
+  @Test
+  public void testDownload_reusesVerifiedDestination() throws IOException, InterruptedException {
+    downloader.download(getUrl(), destination, sha256(content), progress);
+    downloader.download(getUrl(), destination, sha256(content), progress);
+
+    assertEquals(1, server.getRequestRanges().size());
+    assertArrayEquals(content, Files.readAllBytes(destination));
+  }
+
+  @Test
+  public void testDownload_replacesUnverifiedDestination()
+      throws IOException, InterruptedException {
+    Files.createDirectories(destination.getParent());
+    Files.write(destination, new byte[1]);
+    downloader.download(getUrl(), destination, sha256(content), progress);
+
+    assertEquals(1, server.getRequestRanges().size());
+    assertArrayEquals(content, Files.readAllBytes(destination));
+  }
+
+  @Test
+  public void testDownload_notFound() throws IOException, InterruptedException {
+    try {
+      downloader.download(new URL(server.getAddress() + "missing.zip"), destination, null,
+          progress);
+      fail("download should have failed");
+    } catch (IOException ex) {
+      assertEquals("Unable to download " + server.getAddress() + "missing.zip: HTTP 404",
+          ex.getMessage());
+    }
+    assertFalse(Files.exists(destination));
+  }
+
+  private URL getUrl() throws IOException {
+    return new URL(server.getAddress() + "sdk.tar.gz");
+  }
+
+  private void assertNoPartFiles() throws IOException {
+    assertEquals(1, Files.list(destination.getParent()).count());
+  }
+
+  private static String sha256(byte[] bytes) {
+    return Hashing.sha256().hashBytes(bytes).toString();
+  }
+}
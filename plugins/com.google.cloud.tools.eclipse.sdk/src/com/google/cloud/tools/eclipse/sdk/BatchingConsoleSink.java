@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessOutputLineListener;
+import com.google.cloud.tools.managedcloudsdk.ConsoleListener;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.eclipse.ui.console.MessageConsoleStream;
+
+/**
+ * A {@link ProcessOutputLineListener} and {@link ConsoleListener} that writes output to a {@link
+ * MessageConsoleStream} in batches, for processes like {@code gcloud} and the development server
+ * that can produce output faster than the console document can take it line by line. Output is
+ * queued in a bounded ring buffer and written out as a single string once {@link
+ * #DEFAULT_MAX_DELAY_MILLIS} has passed or {@link #DEFAULT_MAX_BATCH_CHARS} have been queued,
+ * whichever comes first. The process reader threads never wait for the console: when the buffer
+ * is full, lines are dropped and counted, and a note of how many were dropped is written in their
+ * place.
+ *
+ * <p>Call {@link #close()} once the process has exited to write out any remaining output.
+ */
+public class BatchingConsoleSink implements ProcessOutputLineListener, ConsoleListener {
+  private static final Logger logger = Logger.getLogger(BatchingConsoleSink.class.getName());
+
+  @VisibleForTesting
+  static final int DEFAULT_CAPACITY = 8192;
+  @VisibleForTesting
+  static final int DEFAULT_MAX_BATCH_CHARS = 64 * 1024;
+  @VisibleForTesting
+  static final long DEFAULT_MAX_DELAY_MILLIS = 50;
+
+  /** Writes the batches of all sinks; a single thread keeps each sink's batches in order. */
+  private static final ScheduledExecutorService flusher =
+      Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("console-sink-flusher").setDaemon(true).build()); //$NON-NLS-1$
+
+  private final Consumer<String> console;
+  private final int maxBatchChars;
+  private final long maxDelayMillis;
+  private final ScheduledExecutorService executor;
+
+  /** Guards the ring buffer and the flush flags; never held while writing to the console. */
+  private final Object bufferLock = new Object();
+  /** Held while draining and writing a batch, so that batches reach the console in order. */
+  private final Object writeLock = new Object();
+
+  private final String[] ring;
+  /** Whether the text at the same index is a line to be terminated, rather than raw output. */
+  private final boolean[] lineTerminated;
+  private int head;
+  private int size;
+  private int queuedChars;
+  private long droppedSinceFlush;
+  private boolean delayedFlushScheduled;
+  private boolean immediateFlushScheduled;
+  private boolean closed;
+
+  private final AtomicLong linesWritten = new AtomicLong();
+  private final AtomicLong linesDropped = new AtomicLong();
+  private final AtomicLong batchesWritten = new AtomicLong();
+
+  public BatchingConsoleSink(MessageConsoleStream stream) {
+    this(text -> {
+      if (stream != null && !stream.isClosed()) {
+        // there's still a small chance that the stream will be closed and the error will be
+        // logged by the ConsolePlugin
+        stream.print(text);
+      }
+    }, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_CHARS, DEFAULT_MAX_DELAY_MILLIS, flusher);
+  }
+
+  @VisibleForTesting
+  BatchingConsoleSink(Consumer<String> console, int capacity, int maxBatchChars,
+      long maxDelayMillis, ScheduledExecutorService executor) {
+    Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+    this.console = console;
+    this.maxBatchChars = maxBatchChars;
+    this.maxDelayMillis = maxDelayMillis;
+    this.executor = executor;
+    ring = new String[capacity];
+    lineTerminated = new boolean[capacity];
+  }
+
+  @Override
+  public void onOutputLine(String line) {
+    enqueue(line, true);
+  }
+
+  @Override
+  public void console(String rawString) {
+    enqueue(rawString, false);
+  }
+
+  private void enqueue(String text, boolean terminated) {
+    boolean scheduleDelayed = false;
+    boolean scheduleImmediate = false;
+    synchronized (bufferLock) {
+      if (size == ring.length) {
+        droppedSinceFlush++;
+        linesDropped.incrementAndGet();
+        scheduleImmediate = !immediateFlushScheduled;
+        immediateFlushScheduled = true;
+      } else {
+        int tail = (head + size) % ring.length;
+        ring[tail] = text;
+        lineTerminated[tail] = terminated;
+        size++;
+        queuedChars += text.length() + 1;
+        if (closed || queuedChars >= maxBatchChars || size > ring.length / 2) {
+          scheduleImmediate = !immediateFlushScheduled;
+          immediateFlushScheduled = true;
+        } else if (!delayedFlushScheduled) {
+          scheduleDelayed = true;
+          delayedFlushScheduled = true;
+        }
+      }
+    }
+    if (scheduleImmediate) {
+      executor.execute(() -> flush(true));
+    } else if (scheduleDelayed) {
+      executor.schedule(() -> flush(false), maxDelayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /** Writes out all queued output before returning. */
+  public void flush() {
+    synchronized (writeLock) {
+      String batch = drain();
+      if (batch != null) {
+        write(batch);
+      }
+    }
+  }
+
+  /**
+   * Writes out all queued output. Output received afterwards, which is unexpected once the process
+   * has exited, is still written but no longer waits for a delayed batch.
+   */
+  public void close() {
+    synchronized (bufferLock) {
+      closed = true;
+    }
+    flush();
+  }
+
+  private void flush(boolean immediate) {
+    synchronized (bufferLock) {
+      if (immediate) {
+        immediateFlushScheduled = false;
+      } else {
+        delayedFlushScheduled = false;
+      }
+    }
+    try {
+      flush();
+    } catch (RuntimeException ex) {
+      // the flusher thread is shared by all sinks, so do not let a failing console end it
+      logger.log(Level.WARNING, "Could not write to console", ex); //$NON-NLS-1$
+    }
+  }
+
+  /** Removes all queued output and returns it as a single string, or {@code null} if none. */
+  private String drain() {
+    synchronized (bufferLock) {
+      if (size == 0 && droppedSinceFlush == 0) {
+        return null;
+      }
+      StringBuilder batch = new StringBuilder(queuedChars + 64);
+      int lines = 0;
+      for (; size > 0; size--) {
+        batch.append(ring[head]);
+        if (lineTerminated[head]) {
+          batch.append(System.lineSeparator());
+          lines++;
+        }
+        ring[head] = null;
+        head = (head + 1) % ring.length;
+      }
+      if (droppedSinceFlush > 0) {
+        batch.append("[") //$NON-NLS-1$
+            .append(Messages.getString("console.output.dropped", droppedSinceFlush))
+            .append("]").append(System.lineSeparator()); //$NON-NLS-1$
+        droppedSinceFlush = 0;
+      }
+      head = 0;
+      queuedChars = 0;
+      linesWritten.addAndGet(lines);
+      return batch.toString();
+    }
+  }
+
+  private void write(String batch) {
+    batchesWritten.incrementAndGet();
+    console.accept(batch);
+  }
+
+  /** Returns the number of lines written to the console. */
+  public long getLinesWritten() {
+    return linesWritten.get();
+  }
+
+  /** Returns the number of lines dropped because the buffer was full. */
+  public long getLinesDropped() {
+    return linesDropped.get();
+  }
+
+  public long getBatchesWritten() {
+    return batchesWritten.get();
+  }
+
+  @Override
+  public String toString() {
+    return "BatchingConsoleSink[linesWritten=" + linesWritten + ", linesDropped=" + linesDropped
+        + ", batchesWritten=" + batchesWritten + "]";
+  }
+}
@@ -17,38 +17,72 @@
 package com.google.cloud.tools.eclipse.sdk;
 
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkInstallJob;
+import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkMetadataCache;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkModifyJob;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkPreferences;
 import com.google.cloud.tools.eclipse.sdk.internal.CloudSdkUpdateJob;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVerificationException;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVersionMismatchException;
+import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
 import com.google.common.annotations.VisibleForTesting;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.ui.console.MessageConsoleStream;
 
 public class CloudSdkManager {
 
+  private static final Logger logger = Logger.getLogger(CloudSdkManager.class.getName());
+
+  private static final long CANCELLATION_CHECK_INTERVAL_MS = 100;
+
   private static CloudSdkManager instance;
 
   // readers = using SDK, writers = modifying SDK
   private final ReadWriteLock modifyLock;
+  private final ManagedSdkAvailability availability;
+  private final LockWaitMetrics lockWaitMetrics = new LockWaitMetrics();
 
   public static synchronized CloudSdkManager getInstance() {
     if (instance == null) {
-      instance = new CloudSdkManager(new ReentrantReadWriteLock());
+      instance = new CloudSdkManager(new ReentrantReadWriteLock(), probeManagedSdk());
     }
     return instance;
   }
 
   @VisibleForTesting
-  CloudSdkManager(ReadWriteLock modifyLock) {
+  CloudSdkManager(ReadWriteLock modifyLock, ManagedSdkState installedState) {
     this.modifyLock = modifyLock;
+    availability = new ManagedSdkAvailability(installedState);
+  }
+
+  /** Returns whether the managed Cloud SDK is installed, as {@code READY} or {@code ABSENT}. */
+  private static ManagedSdkState probeManagedSdk() {
+    try {
+      boolean installed =
+          CloudSdkMetadataCache.getInstance().isInstalled(ManagedCloudSdk.newManagedSdk());
+      return installed ? ManagedSdkState.READY : ManagedSdkState.ABSENT;
+    } catch (UnsupportedOsException | ManagedSdkVerificationException
+        | ManagedSdkVersionMismatchException ex) {
+      logger.log(Level.FINE, "Unable to check managed Cloud SDK installation", ex);
+      return ManagedSdkState.ABSENT;
+    }
   }
 
   /**
@@ -58,18 +92,74 @@ public class CloudSdkManager {
    * Any callers that intend to use {@code CloudSdk} must always call this before staring work, even
    * if the Cloud SDK preferences are configured not to auto-managed the SDK.
    *
-   * <p>Must not be called from the UI thread, because the method can block.
+   * <p>Must not be called from the UI thread, because the method can block. Jobs should rather
+   * call {@link #preventModifyingSdk(IProgressMonitor)}, which can be cancelled.
    *
    * @see CloudSdkManager#allowModifyingSdk
    */
   public void preventModifyingSdk() throws InterruptedException {
-    do {
-      IJobManager jobManager = Job.getJobManager();
-      // The join is to improve UI reporting of blocked jobs. Most of the waiting should be here.
-      jobManager.join(CloudSdkModifyJob.CLOUD_SDK_MODIFY_JOB_FAMILY, null /* no monitor */);
-    } while (!modifyLock.readLock().tryLock(10, TimeUnit.MILLISECONDS));
+    long start = System.nanoTime();
+    boolean contended = !availability.isSettled();
+    try {
+      // Most of the waiting should be here, for the scheduled install or update jobs to complete.
+      availability.whenSettled().get();
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("never completed exceptionally", ex); // $NON-NLS-1$
+    }
+    // A modification scheduled since holds (or waits for) the write lock, so block behind it.
+    if (!modifyLock.readLock().tryLock()) {
+      contended = true;
+      modifyLock.readLock().lockInterruptibly();
+    }
     // We have acquired the read lock; all further install/update should be blocked, while others
     // can still grab a read lock and use the Cloud SDK.
+    lockWaitMetrics.record(contended, System.nanoTime() - start);
+  }
+
+  /**
+   * Like {@link #preventModifyingSdk()}, but gives up waiting for a scheduled install or update
+   * to complete if {@code monitor} is cancelled.
+   *
+   * @return {@code true} if modifications are now prevented, and {@link #allowModifyingSdk} must
+   *     be called eventually; {@code false} if cancelled
+   */
+  public boolean preventModifyingSdk(IProgressMonitor monitor) throws InterruptedException {
+    CompletableFuture<ManagedSdkState> settled = whenSdkSettled();
+    while (true) {
+      try {
+        settled.get(CANCELLATION_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        break;
+      } catch (TimeoutException ex) {
+        if (monitor != null && monitor.isCanceled()) {
+          settled.cancel(false);
+          return false;
+        }
+      } catch (ExecutionException ex) {
+        throw new IllegalStateException("never completed exceptionally", ex); // $NON-NLS-1$
+      }
+    }
+    preventModifyingSdk();
+    return true;
+  }
+
+  /**
+   * Returns a future that completes with the state of the managed Cloud SDK once no install or
+   * update is scheduled or running. Each caller gets its own future, which it may cancel to give
+   * up waiting. The SDK must still be reserved with {@link #preventModifyingSdk} before use, as
+   * a modification may be scheduled again at any time.
+   */
+  CompletableFuture<ManagedSdkState> whenSdkSettled() {
+    return availability.whenSettled();
+  }
+
+  @VisibleForTesting
+  ManagedSdkState getSdkState() {
+    return availability.getState();
+  }
+
+  @VisibleForTesting
+  LockWaitMetrics getLockWaitMetrics() {
+    return lockWaitMetrics;
   }
 
   /**
@@ -89,7 +179,9 @@ public class CloudSdkManager {
   public void installManagedSdkAsync() {
     if (CloudSdkPreferences.isAutoManaging()) {
       // Keep installation failure as ERROR so that failures are reported
-      Job installJob = new CloudSdkInstallJob(null /* no console output */, modifyLock);
+      CloudSdkModifyJob installJob =
+          new CloudSdkInstallJob(null /* no console output */, modifyLock);
+      track(installJob, ManagedSdkState.INSTALLING);
       installJob.setUser(false);
       installJob.schedule();
     }
@@ -111,6 +203,7 @@ public class CloudSdkManager {
       // overly helpful Eclipse UI ProgressManager
       CloudSdkInstallJob installJob = new CloudSdkInstallJob(
           consoleStream, modifyLock, IStatus.WARNING);
+      track(installJob, ManagedSdkState.INSTALLING);
 
       IStatus result = runInstallJob(consoleStream, installJob, monitor);
       if (!result.isOK()) {
@@ -133,12 +226,30 @@ public class CloudSdkManager {
   public void updateManagedSdkAsync() {
     if (CloudSdkPreferences.isAutoManaging()) {
       // Keep installation failure as ERROR so that failures are reported
-      Job updateJob = new CloudSdkUpdateJob(null /* create new message console */, modifyLock);
+      CloudSdkModifyJob updateJob =
+          new CloudSdkUpdateJob(null /* create new message console */, modifyLock);
+      track(updateJob, ManagedSdkState.UPDATING);
       updateJob.setUser(false);
       updateJob.schedule();
     }
   }
 
+  /**
+   * Records {@code job} as a modification of the SDK until it is done. Must be called before the
+   * job is scheduled.
+   */
+  @VisibleForTesting
+  void track(CloudSdkModifyJob job, ManagedSdkState modification) {
+    availability.modificationScheduled(modification);
+    job.addJobChangeListener(new JobChangeAdapter() {
+      @Override
+      public void done(IJobChangeEvent event) {
+        job.removeJobChangeListener(this);
+        availability.modificationDone(modification, event.getResult().isOK());
+      }
+    });
+  }
+
   @VisibleForTesting
   static IStatus runInstallJob(
       MessageConsoleStream consoleStream,
@@ -158,4 +269,47 @@ public class CloudSdkManager {
       return Status.CANCEL_STATUS;
     }
   }
+
+  /** Statistics of waiting for the managed Cloud SDK in {@link #preventModifyingSdk}. */
+  @VisibleForTesting
+  static class LockWaitMetrics {
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contendedAcquisitions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maximumWaitNanos = new AtomicLong();
+
+    private void record(boolean contended, long waitNanos) {
+      acquisitions.increment();
+      totalWaitNanos.add(waitNanos);
+      maximumWaitNanos.accumulateAndGet(waitNanos, Math::max);
+      if (contended) {
+        contendedAcquisitions.increment();
+        logger.fine("Waited " + Duration.ofNanos(waitNanos) + " for the Cloud SDK");
+      }
+    }
+
+    /** Returns the number of times the SDK was reserved. */
+    long getAcquisitions() {
+      return acquisitions.sum();
+    }
+
+    /** Returns the number of times the SDK was reserved after waiting for a modification. */
+    long getContendedAcquisitions() {
+      return contendedAcquisitions.sum();
+    }
+
+    Duration getTotalWait() {
+      return Duration.ofNanos(totalWaitNanos.sum());
+    }
+
+    Duration getMaximumWait() {
+      return Duration.ofNanos(maximumWaitNanos.get());
+    }
+
+    @Override
+    public String toString() {
+      return "acquisitions=" + getAcquisitions() + ", contended=" + getContendedAcquisitions()
+          + ", totalWait=" + getTotalWait() + ", maximumWait=" + getMaximumWait();
+    }
+  }
 }
@@ -19,6 +19,7 @@ package com.google.cloud.tools.eclipse.sdk;
 import com.google.cloud.tools.appengine.operations.cloudsdk.JsonParseException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessOutputLineListener;
 import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.GcloudStructuredLog;
+import com.google.common.annotations.VisibleForTesting;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -26,7 +27,8 @@ import java.util.Locale;
 /**
  * A {@link ProcessOutputLineListener} that extracts error messages from gcloud structured logs.
  * Should listen to stderr. If an output line is a structured JSON log whose {@code verbosity}
- * property is {@code "ERROR"}, its {@code message} property is extracted and collected.
+ * property is {@code "ERROR"}, its {@code message} property is extracted and collected. Lines
+ * that cannot be JSON objects, which are most of the output, are skipped without parsing.
  */
 public class GcloudStructuredLogErrorMessageCollector implements ProcessOutputLineListener {
 
@@ -34,6 +36,9 @@ public class GcloudStructuredLogErrorMessageCollector implements ProcessOutputLi
 
   @Override
   public void onOutputLine(String line) {
+    if (!mayBeJsonObject(line)) {
+      return;
+    }
     try {
       GcloudStructuredLog log = GcloudStructuredLog.parse(line);
       if (log != null) {
@@ -51,6 +56,18 @@ public class GcloudStructuredLogErrorMessageCollector implements ProcessOutputLi
     }
   }
 
+  /** Returns {@code true} if the first non-whitespace character of {@code line} is a brace. */
+  @VisibleForTesting
+  static boolean mayBeJsonObject(String line) {
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (!Character.isWhitespace(c)) {
+        return c == '{';
+      }
+    }
+    return false;
+  }
+
   public List<String> getErrorMessages() {
     return new ArrayList<>(errorMessages);
   }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks the {@link ManagedSdkState} of the managed Cloud SDK as modifications are scheduled and
+ * complete, and signals when no modification remains through a future, so that users of the SDK
+ * can wait for it without polling. Transitions are made by swapping immutable snapshots, so
+ * neither readers nor the modify jobs block on each other here.
+ */
+class ManagedSdkAvailability {
+
+  /** An immutable state of the SDK. */
+  private static final class Snapshot {
+    /** The state once modifications complete: {@link ManagedSdkState#ABSENT} or {@code READY}. */
+    private final ManagedSdkState settledState;
+    /** The latest modification scheduled, if any are pending. */
+    private final ManagedSdkState modification;
+    private final int pendingModifications;
+    /** Completed with the settled state when no modifications are pending. */
+    private final CompletableFuture<ManagedSdkState> settled;
+
+    private Snapshot(ManagedSdkState settledState, ManagedSdkState modification,
+        int pendingModifications, CompletableFuture<ManagedSdkState> settled) {
+      this.settledState = settledState;
+      this.modification = modification;
+      this.pendingModifications = pendingModifications;
+      this.settled = settled;
+    }
+
+    private static Snapshot settled(ManagedSdkState state) {
+      return new Snapshot(state, null, 0, CompletableFuture.completedFuture(state));
+    }
+
+    private ManagedSdkState getState() {
+      return pendingModifications > 0 ? modification : settledState;
+    }
+  }
+
+  private final AtomicReference<Snapshot> snapshot;
+
+  /** @param installedState whether the SDK is installed: {@code READY} or {@code ABSENT} */
+  ManagedSdkAvailability(ManagedSdkState installedState) {
+    Preconditions.checkArgument(!installedState.isModifying());
+    snapshot = new AtomicReference<>(Snapshot.settled(installedState));
+  }
+
+  ManagedSdkState getState() {
+    return snapshot.get().getState();
+  }
+
+  /**
+   * Returns a future that completes with the settled state once no modification is scheduled or
+   * running. Each caller receives its own future, which can be cancelled without affecting others.
+   */
+  CompletableFuture<ManagedSdkState> whenSettled() {
+    return snapshot.get().settled.thenApply(state -> state);
+  }
+
+  /** Returns {@code true} if no modification is scheduled or running. */
+  boolean isSettled() {
+    return snapshot.get().pendingModifications == 0;
+  }
+
+  /**
+   * Records that a modification has been scheduled.
+   *
+   * @param modification {@link ManagedSdkState#INSTALLING} or {@link ManagedSdkState#UPDATING}
+   */
+  void modificationScheduled(ManagedSdkState modification) {
+    Preconditions.checkArgument(modification.isModifying());
+    snapshot.updateAndGet(current -> new Snapshot(current.settledState, modification,
+        current.pendingModifications + 1,
+        current.pendingModifications == 0 ? new CompletableFuture<>() : current.settled));
+  }
+
+  /**
+   * Records that a modification has completed, completing the settled future if it was the last.
+   *
+   * @param modification as given to {@link #modificationScheduled}
+   * @param succeeded whether the SDK was left installed; a failed update leaves the SDK as it was
+   */
+  void modificationDone(ManagedSdkState modification, boolean succeeded) {
+    Snapshot previous;
+    Snapshot next;
+    do {
+      previous = snapshot.get();
+      Preconditions.checkState(previous.pendingModifications > 0, "no modification scheduled");
+      ManagedSdkState settledState;
+      if (succeeded) {
+        settledState = ManagedSdkState.READY;
+      } else if (modification == ManagedSdkState.UPDATING) {
+        settledState = previous.settledState;
+      } else {
+        settledState = ManagedSdkState.ABSENT;
+      }
+      next = new Snapshot(settledState, previous.modification,
+          previous.pendingModifications - 1, previous.settled);
+    } while (!snapshot.compareAndSet(previous, next));
+
+    if (next.pendingModifications == 0) {
+      // outside of the update, as completion runs dependent actions
+      next.settled.complete(next.settledState);
+    }
+  }
+}
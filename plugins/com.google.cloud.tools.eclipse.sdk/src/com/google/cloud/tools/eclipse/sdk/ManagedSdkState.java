@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk;
+
+/**
+ * The state of the managed Cloud SDK, as far as {@link CloudSdkManager} knows from the install
+ * and update jobs it has run.
+ */
+public enum ManagedSdkState {
+  /** Not installed, or not yet known to be installed. */
+  ABSENT,
+  /** Being installed; not to be used until the installation completes. */
+  INSTALLING,
+  /** Installed and not being modified. */
+  READY,
+  /** Being updated; not to be used until the update completes. */
+  UPDATING;
+
+  /** Returns {@code true} if the SDK is being modified. */
+  public boolean isModifying() {
+    return this == INSTALLING || this == UPDATING;
+  }
+}
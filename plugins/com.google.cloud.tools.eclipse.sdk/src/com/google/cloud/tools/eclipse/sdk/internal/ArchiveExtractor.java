@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts the Cloud SDK archives: {@code .zip} archives (for Windows) in-process, and {@code
+ * .tar.gz} archives (for Linux and macOS) with the system {@code tar}, which preserves the file
+ * modes and symbolic links that the SDK relies on.
+ */
+class ArchiveExtractor {
+
+  private ArchiveExtractor() {}
+
+  static void extract(Path archive, Path destination, ProgressListener progress)
+      throws IOException, InterruptedException {
+    Files.createDirectories(destination);
+    String name = archive.getFileName().toString();
+    if (name.endsWith(".zip")) {
+      extractZip(archive, destination, progress);
+    } else if (name.endsWith(".tar.gz")) {
+      extractTarGz(archive, destination, progress);
+    } else {
+      throw new IOException("Unknown archive type: " + archive);
+    }
+  }
+
+  private static void extractZip(Path archive, Path destination, ProgressListener progress)
+      throws IOException, InterruptedException {
+    Path root = destination.toAbsolutePath().normalize();
+    try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+      progress.start("Extracting " + archive.getFileName(), zipFile.size());
+      for (Enumeration<? extends ZipEntry> entries = zipFile.entries();
+          entries.hasMoreElements(); ) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException("Extraction interrupted");
+        }
+        ZipEntry entry = entries.nextElement();
+        Path target = root.resolve(entry.getName()).normalize();
+        if (!target.startsWith(root)) {
+          throw new IOException("Archive entry outside of destination: " + entry.getName());
+        }
+        if (entry.isDirectory()) {
+          Files.createDirectories(target);
+        } else {
+          Files.createDirectories(target.getParent());
+          try (InputStream input = zipFile.getInputStream(entry)) {
+            Files.copy(input, target);
+          }
+        }
+        progress.update(1);
+      }
+    }
+    progress.done();
+  }
+
+  private static void extractTarGz(Path archive, Path destination, ProgressListener progress)
+      throws IOException, InterruptedException {
+    progress.start("Extracting " + archive.getFileName(), ProgressListener.UNKNOWN);
+    Process process = new ProcessBuilder("tar", "-xzf", archive.toAbsolutePath().toString(),
+        "-C", destination.toAbsolutePath().toString())
+        .redirectErrorStream(true)
+        .start();
+    try {
+      String output;
+      try (InputStream input = process.getInputStream()) {
+        output = new String(ByteStreams.toByteArray(input), Charset.defaultCharset());
+      }
+      int exitCode = process.waitFor();
+      if (exitCode != 0) {
+        throw new IOException("Unable to extract " + archive + " (exit code " + exitCode + "): "
+            + output.trim());
+      }
+    } finally {
+      process.destroy();
+    }
+    progress.done();
+  }
+}
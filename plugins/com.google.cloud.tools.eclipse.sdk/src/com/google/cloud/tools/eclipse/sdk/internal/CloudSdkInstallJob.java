@@ -26,15 +26,18 @@ import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
 import com.google.cloud.tools.managedcloudsdk.ManagedSdkVerificationException;
 import com.google.cloud.tools.managedcloudsdk.ManagedSdkVersionMismatchException;
+import com.google.cloud.tools.managedcloudsdk.OsInfo;
 import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponentInstaller;
-import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
+import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
 import java.nio.channels.ClosedByInterruptException;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -68,24 +71,26 @@ public class CloudSdkInstallJob extends CloudSdkModifyJob {
 
     try {
       ManagedCloudSdk managedSdk = getManagedCloudSdk();
-      if (!managedSdk.isInstalled()) {
+      CloudSdkMetadataCache metadata = CloudSdkMetadataCache.getInstance();
+      if (!metadata.isInstalled(managedSdk)) {
         subTask(progress, Messages.getString("installing.cloud.sdk")); // $NON-NLS-1$
-        SdkInstaller installer = managedSdk.newInstaller();
+        ManagedSdkInstaller installer = newInstaller(managedSdk);
         installer.install(
-            new ProgressWrapper(progress.split(10)),
+            Collections.singletonList(SdkComponent.APP_ENGINE_JAVA),
+            new ProgressWrapper(progress.split(10), this::reportPhaseTiming),
             new MessageConsoleWriterListener(consoleStream));
         String version = getVersion(managedSdk.getSdkHome());
         AnalyticsPingManager.getInstance().sendPing(AnalyticsEvents.CLOUD_SDK_INSTALL_SUCCESS);
         logger.info("Installed Google Cloud SDK version " + version);
       }
 
-      if (!managedSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)) {
+      if (!metadata.hasComponent(managedSdk, SdkComponent.APP_ENGINE_JAVA)) {
         subTask(
             progress, Messages.getString("installing.cloud.sdk.app.engine.java")); // $NON-NLS-1$
         SdkComponentInstaller componentInstaller = managedSdk.newComponentInstaller();
         componentInstaller.installComponent(
             SdkComponent.APP_ENGINE_JAVA,
-            new ProgressWrapper(progress.split(10)),
+            new ProgressWrapper(progress.split(10), this::reportPhaseTiming),
             new MessageConsoleWriterListener(consoleStream));
         AnalyticsPingManager.getInstance().sendPing(
             AnalyticsEvents.CLOUD_SDK_COMPONENT_INSTALL_SUCCESS);
@@ -123,4 +128,16 @@ public class CloudSdkInstallJob extends CloudSdkModifyJob {
       return status;
     }
   }
+
+  @VisibleForTesting
+  ManagedSdkInstaller newInstaller(ManagedCloudSdk managedSdk)
+      throws UnsupportedOsException, IOException {
+    return new ManagedSdkInstaller(managedSdk.getSdkHome(), OsInfo.getSystemOsInfo());
+  }
+
+  private void reportPhaseTiming(String phase, Duration duration) {
+    String timing = String.format("%s: %.1f s", phase, duration.toMillis() / 1000.0);
+    consoleStream.println(timing);
+    logger.info(timing);
+  }
 }
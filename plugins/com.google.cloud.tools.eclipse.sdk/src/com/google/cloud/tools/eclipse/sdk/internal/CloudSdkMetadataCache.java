@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import com.google.cloud.tools.appengine.operations.CloudSdk;
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.CloudSdkVersion;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVerificationException;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVersionMismatchException;
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Caches what is known of Cloud SDK installations: their version, whether they are installed, and
+ * which components they have. Finding these out reads files and, for components, runs {@code
+ * gcloud}. Each installation is fingerprinted by the modification times and sizes of the files
+ * and directories that installing, updating, or adding components changes, which costs only a few
+ * file attribute reads; the cached metadata is discarded when the fingerprint changes.
+ */
+public class CloudSdkMetadataCache {
+  private static final Logger logger = Logger.getLogger(CloudSdkMetadataCache.class.getName());
+
+  /** Paths, relative to the SDK home, whose attributes make up the fingerprint. */
+  private static final String[] FINGERPRINTED_PATHS = {"", "VERSION", "bin", ".install"};
+
+  private static final CloudSdkMetadataCache instance =
+      new CloudSdkMetadataCache(new InstallationProbe());
+
+  private final SdkProbe probe;
+  private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public static CloudSdkMetadataCache getInstance() {
+    return instance;
+  }
+
+  @VisibleForTesting
+  CloudSdkMetadataCache(SdkProbe probe) {
+    this.probe = probe;
+  }
+
+  /** Returns the version of the Cloud SDK at {@code sdkHome}. */
+  public CloudSdkVersion getVersion(Path sdkHome)
+      throws CloudSdkVersionFileException, CloudSdkNotFoundException {
+    if (sdkHome == null) {
+      misses.incrementAndGet();
+      return probe.readVersion(null);  // the SDK is found anew by the resolvers each time
+    }
+    Entry entry = getEntry(sdkHome);
+    CloudSdkVersion version = entry.version;
+    if (version != null) {
+      hits.incrementAndGet();
+      return version;
+    }
+    misses.incrementAndGet();
+    version = probe.readVersion(sdkHome);
+    entry.version = version;
+    return version;
+  }
+
+  /** Returns {@link ManagedCloudSdk#isInstalled()}, which reads the SDK's version file. */
+  public boolean isInstalled(ManagedCloudSdk managedSdk)
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException {
+    Path sdkHome = managedSdk.getSdkHome();
+    Entry entry = sdkHome == null ? new Entry(null) : getEntry(sdkHome);
+    Boolean installed = entry.installed;
+    if (installed != null) {
+      hits.incrementAndGet();
+      return installed;
+    }
+    misses.incrementAndGet();
+    installed = probe.isInstalled(managedSdk);
+    entry.installed = installed;
+    return installed;
+  }
+
+  /** Returns {@link ManagedCloudSdk#hasComponent}, which runs {@code gcloud components list}. */
+  public boolean hasComponent(ManagedCloudSdk managedSdk, SdkComponent component)
+      throws ManagedSdkVerificationException {
+    Path sdkHome = managedSdk.getSdkHome();
+    Entry entry = sdkHome == null ? new Entry(null) : getEntry(sdkHome);
+    Boolean present = entry.components.get(component);
+    if (present != null) {
+      hits.incrementAndGet();
+      return present;
+    }
+    misses.incrementAndGet();
+    present = probe.hasComponent(managedSdk, component);
+    entry.components.put(component, present);
+    return present;
+  }
+
+  /**
+   * Discards everything cached, for when an SDK has been modified in a way that its fingerprint
+   * may not reflect, such as twice within the file system's timestamp resolution.
+   */
+  public void invalidate() {
+    invalidations.incrementAndGet();
+    entries.clear();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of times that an SDK was probed for want of cached metadata. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  @Override
+  public String toString() {
+    return "CloudSdkMetadataCache[hits=" + hits + ", misses=" + misses + ", invalidations="
+        + invalidations + "]";
+  }
+
+  /** Returns the entry for the SDK at {@code sdkHome}, replacing it if the SDK has changed. */
+  private Entry getEntry(Path sdkHome) {
+    List<String> fingerprint = fingerprint(sdkHome);
+    return entries.compute(sdkHome, (path, entry) -> {
+      if (entry != null && entry.fingerprint.equals(fingerprint)) {
+        return entry;
+      }
+      if (entry != null) {
+        logger.fine("Cloud SDK at " + sdkHome + " has changed");
+      }
+      return new Entry(fingerprint);
+    });
+  }
+
+  @VisibleForTesting
+  static List<String> fingerprint(Path sdkHome) {
+    List<String> fingerprint = new ArrayList<>(FINGERPRINTED_PATHS.length);
+    for (String relativePath : FINGERPRINTED_PATHS) {
+      try {
+        BasicFileAttributes attributes =
+            Files.readAttributes(sdkHome.resolve(relativePath), BasicFileAttributes.class);
+        fingerprint.add(attributes.lastModifiedTime().toMillis() + ":" + attributes.size());
+      } catch (NoSuchFileException ex) {
+        fingerprint.add("absent");
+      } catch (IOException ex) {
+        fingerprint.add("unreadable");
+      }
+    }
+    return fingerprint;
+  }
+
+  /** Finds out the metadata of an SDK installation, at the cost that the cache saves. */
+  @VisibleForTesting
+  interface SdkProbe {
+    /** Reads the SDK's version file. */
+    CloudSdkVersion readVersion(Path sdkHome)
+        throws CloudSdkVersionFileException, CloudSdkNotFoundException;
+
+    /** Reads the SDK's version file to check that it is installed. */
+    boolean isInstalled(ManagedCloudSdk managedSdk)
+        throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException;
+
+    /** Runs {@code gcloud components list}. */
+    boolean hasComponent(ManagedCloudSdk managedSdk, SdkComponent component)
+        throws ManagedSdkVerificationException;
+  }
+
+  /** Probes the installations on disk. */
+  private static class InstallationProbe implements SdkProbe {
+    @Override
+    public CloudSdkVersion readVersion(Path sdkHome)
+        throws CloudSdkVersionFileException, CloudSdkNotFoundException {
+      return new CloudSdk.Builder().sdkPath(sdkHome).build().getVersion();
+    }
+
+    @Override
+    public boolean isInstalled(ManagedCloudSdk managedSdk)
+        throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException {
+      return managedSdk.isInstalled();
+    }
+
+    @Override
+    public boolean hasComponent(ManagedCloudSdk managedSdk, SdkComponent component)
+        throws ManagedSdkVerificationException {
+      return managedSdk.hasComponent(component);
+    }
+  }
+
+  /** The metadata known of an SDK installation with a particular fingerprint. */
+  private static class Entry {
+    private final List<String> fingerprint;
+    private volatile CloudSdkVersion version;
+    private volatile Boolean installed;
+    private final Map<SdkComponent, Boolean> components = new ConcurrentHashMap<>();
+
+    private Entry(List<String> fingerprint) {
+      this.fingerprint = fingerprint;
+    }
+  }
+}
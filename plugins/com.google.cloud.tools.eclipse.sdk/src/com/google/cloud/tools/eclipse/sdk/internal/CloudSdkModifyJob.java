@@ -16,7 +16,6 @@
 
 package com.google.cloud.tools.eclipse.sdk.internal;
 
-import com.google.cloud.tools.appengine.operations.CloudSdk;
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
 import com.google.cloud.tools.eclipse.sdk.Messages;
@@ -102,6 +101,7 @@ public abstract class CloudSdkModifyJob extends Job {
     try {
       return modifySdk(monitor);
     } finally {
+      CloudSdkMetadataCache.getInstance().invalidate();
       cloudSdkLock.writeLock().unlock();
     }
   }
@@ -111,8 +111,7 @@ public abstract class CloudSdkModifyJob extends Job {
   /** Retrieve the version of the Cloud SDK at the provided location. */
   protected static String getVersion(Path sdkPath) 
       throws CloudSdkVersionFileException, CloudSdkNotFoundException {
-    CloudSdk sdk = new CloudSdk.Builder().sdkPath(sdkPath).build();
-    return sdk.getVersion().toString();
+    return CloudSdkMetadataCache.getInstance().getVersion(sdkPath).toString();
   }
 
   @VisibleForTesting
@@ -71,6 +71,7 @@ public class CloudSdkUpdateJob extends CloudSdkModifyJob {
         SdkUpdater updater = managedSdk.newUpdater();
         updater.update(new ProgressWrapper(subMonitor.split(10)),
             new MessageConsoleWriterListener(consoleStream));
+        CloudSdkMetadataCache.getInstance().invalidate();
         String newVersion = getVersion(managedSdk.getSdkHome());
         logger.info(
             "Managed Google Cloud SDK updated from " //$NON-NLS-1$
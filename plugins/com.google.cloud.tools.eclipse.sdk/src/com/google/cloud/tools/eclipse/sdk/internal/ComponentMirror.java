@@ -0,0 +1,265 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import com.google.cloud.tools.managedcloudsdk.OsInfo;
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Fetches the archives of Cloud SDK components into a local mirror of the component snapshot (the
+ * {@code components-2.json} manifest that {@code gcloud} installs components from). Pointing
+ * {@code gcloud} at the mirror with the {@code component_manager/snapshot_url} property then
+ * installs the components without downloading them again, so that they can be fetched before the
+ * SDK itself is ready. The archives are fetched in parallel, and verified against the checksums
+ * in the snapshot; archives already mirrored with a matching checksum are not fetched again.
+ */
+class ComponentMirror {
+
+  static final String SNAPSHOT_URL =
+      "https://dl.google.com/dl/cloudsdk/channels/rapid/components-2.json";
+
+  /** The component that the SDK archive installs, along with its dependencies. */
+  private static final String CORE = "core";
+
+  private final URL snapshotUrl;
+  private final Path directory;
+  private final OsInfo osInfo;
+  private final String systemArchitecture;
+  private final ResumableDownloader downloader;
+  private final ExecutorService executor;
+
+  ComponentMirror(URL snapshotUrl, Path directory, OsInfo osInfo, ResumableDownloader downloader,
+      ExecutorService executor) {
+    this(snapshotUrl, directory, osInfo, System.getProperty("os.arch"), downloader, executor);
+  }
+
+  /**
+   * @param systemArchitecture the {@code os.arch} of the JVM, which unlike {@link OsInfo}
+   *     distinguishes ARM from x86
+   */
+  @VisibleForTesting
+  ComponentMirror(URL snapshotUrl, Path directory, OsInfo osInfo, String systemArchitecture,
+      ResumableDownloader downloader, ExecutorService executor) {
+    this.snapshotUrl = snapshotUrl;
+    this.directory = directory;
+    this.osInfo = osInfo;
+    this.systemArchitecture = systemArchitecture;
+    this.downloader = downloader;
+    this.executor = executor;
+  }
+
+  /**
+   * Fetch the components and their dependencies, other than those that come with the SDK archive.
+   *
+   * @return the URL of the mirrored snapshot
+   */
+  URL fetch(Collection<String> componentIds, ProgressListener progress)
+      throws IOException, InterruptedException {
+    String architecture = getArchitecture();
+    progress.start("Fetching Cloud SDK components", ProgressListener.UNKNOWN);
+    Path originalSnapshot = directory.resolve("components-2.original.json");
+    downloader.download(snapshotUrl, originalSnapshot, null, new NullProgressListener());
+    JsonObject snapshot;
+    try (Reader reader = Files.newBufferedReader(originalSnapshot, StandardCharsets.UTF_8)) {
+      snapshot = new JsonParser().parse(reader).getAsJsonObject();
+    } catch (JsonParseException | IllegalStateException ex) {
+      throw new IOException("Invalid component snapshot: " + snapshotUrl, ex);
+    }
+
+    Map<String, JsonObject> components = new LinkedHashMap<>();
+    for (JsonElement element : getArray(snapshot, "components")) {
+      JsonObject component = element.getAsJsonObject();
+      components.put(component.get("id").getAsString(), component);
+    }
+    Set<String> toFetch = resolve(components, componentIds, architecture);
+    toFetch.removeAll(resolve(components, Collections.singleton(CORE), architecture));
+
+    // fetch in parallel, keeping the calling thread for progress reporting
+    Map<String, Future<Path>> fetches = new LinkedHashMap<>();
+    for (String id : toFetch) {
+      JsonObject data = components.get(id).getAsJsonObject("data");
+      if (data == null || !data.has("source")) {
+        continue;  // a component with no content of its own
+      }
+      URL source = new URL(snapshotUrl, data.get("source").getAsString());
+      String checksum = data.has("checksum") ? data.get("checksum").getAsString() : null;
+      String fileName = source.getPath().substring(source.getPath().lastIndexOf('/') + 1);
+      Path archive = directory.resolve(fileName);
+      fetches.put(id, executor.submit(() -> {
+        downloader.download(source, archive, checksum, new NullProgressListener());
+        return archive;
+      }));
+    }
+    Map<String, Path> archives = new LinkedHashMap<>();
+    try {
+      for (Map.Entry<String, Future<Path>> fetch : fetches.entrySet()) {
+        archives.put(fetch.getKey(), fetch.getValue().get());
+        progress.update("Fetched " + fetch.getKey());
+      }
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException) {
+        throw (IOException) ex.getCause();
+      } else if (ex.getCause() instanceof InterruptedException) {
+        throw (InterruptedException) ex.getCause();
+      }
+      throw new IOException(ex.getCause());
+    } finally {
+      fetches.values().forEach(future -> future.cancel(true));
+    }
+
+    // point the mirrored components at their archives, and the others at the original location
+    for (Map.Entry<String, JsonObject> entry : components.entrySet()) {
+      JsonObject data = entry.getValue().getAsJsonObject("data");
+      if (data != null && data.has("source")) {
+        Path archive = archives.get(entry.getKey());
+        String source = archive != null ? archive.toUri().toString()
+            : new URL(snapshotUrl, data.get("source").getAsString()).toString();
+        data.addProperty("source", source);
+      }
+    }
+    Path mirroredSnapshot = directory.resolve("components-2.json");
+    try (Writer writer = Files.newBufferedWriter(mirroredSnapshot, StandardCharsets.UTF_8)) {
+      new Gson().toJson(snapshot, writer);
+    }
+    progress.done();
+    return mirroredSnapshot.toUri().toURL();
+  }
+
+  /** Return the components and their dependencies, that apply to this platform. */
+  private Set<String> resolve(Map<String, JsonObject> components, Collection<String> componentIds,
+      String architecture) {
+    Set<String> resolved = new LinkedHashSet<>();
+    Deque<String> pending = new ArrayDeque<>(componentIds);
+    while (!pending.isEmpty()) {
+      String id = pending.removeFirst();
+      JsonObject component = components.get(id);
+      if (component == null || !appliesToPlatform(component, architecture)
+          || !resolved.add(id)) {
+        continue;
+      }
+      for (JsonElement dependency : getArray(component, "dependencies")) {
+        pending.addLast(dependency.getAsString());
+      }
+    }
+    return resolved;
+  }
+
+  private boolean appliesToPlatform(JsonObject component, String architecture) {
+    JsonObject platform = component.getAsJsonObject("platform");
+    if (platform == null) {
+      return true;
+    }
+    return matches(getArray(platform, "operating_systems"), getOperatingSystem())
+        && matches(getArray(platform, "architectures"), architecture);
+  }
+
+  private static boolean matches(JsonArray values, String value) {
+    if (values.size() == 0) {
+      return true;
+    }
+    for (JsonElement element : values) {
+      if (element.getAsString().equalsIgnoreCase(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String getOperatingSystem() {
+    switch (osInfo.name()) {
+      case WINDOWS:
+        return "WINDOWS";
+      case MAC:
+        return "MACOSX";
+      case LINUX:
+      default:
+        return "LINUX";
+    }
+  }
+
+  /** Return the architecture as the snapshot names it. */
+  private String getArchitecture() throws IOException {
+    String architecture = String.valueOf(systemArchitecture).toLowerCase(Locale.ROOT);
+    switch (architecture) {
+      case "amd64":
+      case "x86_64":
+        return "x86_64";
+      case "x86":
+      case "i386":
+      case "i486":
+      case "i586":
+      case "i686":
+        return "x86";
+      case "aarch64":
+      case "arm64":
+        return "arm";
+      default:
+        throw new IOException("Cloud SDK components are not available for " + systemArchitecture);
+    }
+  }
+
+  private static JsonArray getArray(JsonObject object, String member) {
+    JsonElement element = object.get(member);
+    return element != null && element.isJsonArray() ? element.getAsJsonArray() : new JsonArray();
+  }
+
+  /** Discards the progress of individual downloads, which is reported per component instead. */
+  private static class NullProgressListener implements ProgressListener {
+    @Override
+    public void start(String message, long totalWork) {}
+
+    @Override
+    public void update(long workDone) {}
+
+    @Override
+    public void update(String message) {}
+
+    @Override
+    public void done() {}
+
+    @Override
+    public ProgressListener newChild(long allocation) {
+      return this;
+    }
+  }
+}
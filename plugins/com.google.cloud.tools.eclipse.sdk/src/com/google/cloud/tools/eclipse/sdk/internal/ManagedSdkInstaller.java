@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import com.google.cloud.tools.managedcloudsdk.ConsoleListener;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.OsInfo;
+import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandRunner;
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponentInstaller;
+import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Installs the managed Google Cloud SDK and the given components. Unlike {@code SdkInstaller},
+ * which downloads the SDK archive afresh each time, the archive is downloaded with a {@link
+ * ResumableDownloader}, so that an interrupted installation resumes where it stopped, and is
+ * verified before extraction. The component archives are fetched into a {@link ComponentMirror}
+ * while the SDK archive is downloaded and extracted, and then installed from the mirror by the
+ * SDK's install script. Each phase is timed through the {@link ProgressWrapper}.
+ */
+class ManagedSdkInstaller {
+  private static final Logger logger = Logger.getLogger(ManagedSdkInstaller.class.getName());
+
+  private static final String LATEST_BASE_URL = "https://dl.google.com/dl/cloudsdk/channels/rapid/";
+  private static final int COMPONENT_FETCH_THREADS = 4;
+
+  private final Path sdkHome;
+  private final OsInfo osInfo;
+  private final URL archiveUrl;
+  private final URL snapshotUrl;
+  private final ResumableDownloader downloader;
+
+  /** @param sdkHome the home of the managed SDK, as {@link ManagedCloudSdk#getSdkHome} */
+  ManagedSdkInstaller(Path sdkHome, OsInfo osInfo) throws MalformedURLException {
+    this(sdkHome, osInfo, new URL(LATEST_BASE_URL + getArchiveName(osInfo)),
+        new URL(ComponentMirror.SNAPSHOT_URL),
+        new ResumableDownloader(ManagedCloudSdk.USER_AGENT_STRING));
+  }
+
+  @VisibleForTesting
+  ManagedSdkInstaller(Path sdkHome, OsInfo osInfo, URL archiveUrl, URL snapshotUrl,
+      ResumableDownloader downloader) {
+    this.sdkHome = sdkHome;
+    this.osInfo = osInfo;
+    this.archiveUrl = archiveUrl;
+    this.snapshotUrl = snapshotUrl;
+    this.downloader = downloader;
+  }
+
+  /**
+   * Install the SDK and components, replacing any partial installation.
+   *
+   * @return the path to the {@code gcloud} executable
+   */
+  Path install(List<SdkComponent> components, ProgressWrapper progress, ConsoleListener console)
+      throws IOException, InterruptedException, SdkInstallerException, CommandExecutionException,
+      CommandExitException {
+    Path extractionDirectory = sdkHome.getParent();
+    // beside the managed SDK installations, where SdkInstaller also keeps its downloads
+    Path downloadDirectory = extractionDirectory.getParent().resolve("downloads");
+    Path archive = downloadDirectory.resolve(getArchiveName(osInfo));
+    if (Files.exists(extractionDirectory)) {
+      logger.info("Removing stale install: " + extractionDirectory);
+      MoreFiles.deleteRecursively(extractionDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+
+    progress.start("Installing Cloud SDK", 400);
+    List<String> componentIds =
+        components.stream().map(SdkComponent::toString).collect(Collectors.toList());
+    ExecutorService executor = Executors.newFixedThreadPool(COMPONENT_FETCH_THREADS,
+        new ThreadFactoryBuilder().setNameFormat("cloud-sdk-install-%d").setDaemon(true).build());
+    try {
+      ComponentMirror mirror = new ComponentMirror(snapshotUrl,
+          downloadDirectory.resolve("components"), osInfo, downloader, executor);
+      ProgressWrapper mirrorProgress = progress.newDetachedChild();
+      Future<URL> mirrorSnapshot = componentIds.isEmpty() ? null
+          : executor.submit(() -> mirror.fetch(componentIds, mirrorProgress));
+
+      downloader.download(archiveUrl, archive, null, progress.newChild(100));
+      ArchiveExtractor.extract(archive, extractionDirectory, progress.newChild(100));
+      if (!Files.isDirectory(sdkHome)) {
+        throw new SdkInstallerException(
+            "Extraction succeeded but valid sdk home not found at " + sdkHome);
+      }
+      Files.deleteIfExists(archive);
+
+      URL mirroredSnapshot = awaitMirror(mirrorSnapshot, progress.newChild(100));
+      runInstallScript(componentIds, mirroredSnapshot, progress.newChild(100), console);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Path gcloud = sdkHome.resolve("bin").resolve(getGcloudName(osInfo));
+    if (!Files.isRegularFile(gcloud)) {
+      throw new SdkInstallerException(
+          "Installation succeeded but gcloud executable not found at " + gcloud);
+    }
+    if (!componentIds.isEmpty() && !hasComponents(components)) {
+      // the install script may have failed to install them, for example from a stale mirror
+      logger.warning("Installing components " + componentIds + " again, without the mirror");
+      SdkComponentInstaller.newComponentInstaller(osInfo.name(), gcloud)
+          .installComponents(components, progress.newChild(0), console);
+    }
+    progress.done();
+    return gcloud;
+  }
+
+  /** Wait for the component mirror, returning {@code null} if it could not be fetched. */
+  private static URL awaitMirror(Future<URL> mirrorSnapshot, ProgressWrapper progress)
+      throws InterruptedException {
+    progress.start("Waiting for Cloud SDK components", 1);
+    try {
+      return mirrorSnapshot == null ? null : mirrorSnapshot.get();
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof InterruptedException) {
+        throw (InterruptedException) ex.getCause();
+      }
+      // gcloud downloads the components itself instead
+      logger.log(Level.WARNING, "Unable to fetch Cloud SDK components", ex.getCause());
+      return null;
+    } finally {
+      progress.done();
+    }
+  }
+
+  private void runInstallScript(List<String> componentIds, URL mirroredSnapshot,
+      ProgressWrapper progress, ConsoleListener console)
+      throws InterruptedException, CommandExitException, CommandExecutionException {
+    progress.start("Running Cloud SDK install script", 1);
+    List<String> command = new ArrayList<>();
+    Map<String, String> environment = new HashMap<>();
+    if (osInfo.name() == OsInfo.Name.WINDOWS) {
+      command.add("cmd.exe");
+      command.add("/c");
+      command.add(sdkHome.resolve("install.bat").toString());
+      environment.put("CLOUDSDK_CORE_DISABLE_PROMPTS", "1");
+    } else {
+      command.add(sdkHome.resolve("install.sh").toString());
+    }
+    command.add("--path-update=false");
+    command.add("--command-completion=false");
+    command.add("--quiet");
+    command.add("--usage-reporting=false");
+    if (!componentIds.isEmpty()) {
+      command.add("--additional-components");
+      command.addAll(componentIds);
+    }
+    if (mirroredSnapshot != null) {
+      environment.put("CLOUDSDK_COMPONENT_MANAGER_SNAPSHOT_URL", mirroredSnapshot.toString());
+    }
+    CommandRunner.newRunner().run(command, sdkHome, environment, console);
+    progress.done();
+  }
+
+  /** Return {@code true} if the install state of the SDK records all of the components. */
+  private boolean hasComponents(List<SdkComponent> components) {
+    Path installState = sdkHome.resolve(".install");
+    for (SdkComponent component : components) {
+      if (!Files.exists(installState.resolve(component + ".manifest"))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @VisibleForTesting
+  static String getArchiveName(OsInfo osInfo) {
+    if (osInfo.name() == OsInfo.Name.WINDOWS) {
+      return "google-cloud-sdk-windows"
+          + (osInfo.arch() == OsInfo.Architecture.X86_64 ? "-x86_64-" : "-")
+          + "bundled-python.zip";
+    }
+    return "google-cloud-sdk.tar.gz";
+  }
+
+  private static String getGcloudName(OsInfo osInfo) {
+    return osInfo.name() == OsInfo.Name.WINDOWS ? "gcloud.cmd" : "gcloud";
+  }
+}
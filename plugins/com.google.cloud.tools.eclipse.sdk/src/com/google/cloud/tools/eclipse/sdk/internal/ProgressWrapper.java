@@ -17,23 +17,43 @@
 package com.google.cloud.tools.eclipse.sdk.internal;
 
 import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import java.time.Duration;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 
 /**
  * Wraps an {@link IProgressMonitor}. Assume that {@code totalWork} fits within an int which should
  * be safe as it seems unlikely that {@code appengine-plugins-core} will download anything &gt; 2gb.
+ * Each task started is timed from {@link #start} to {@link #done}, and reported to the optional
+ * {@link PhaseTimingListener}, including the tasks of children.
  */
 class ProgressWrapper implements ProgressListener {
 
+  /** Receives the duration of each task (phase) of a Cloud SDK modification. */
+  interface PhaseTimingListener {
+    void phaseCompleted(String phase, Duration duration);
+  }
+
   private final SubMonitor progress;
+  private final PhaseTimingListener timingListener;
+
+  private String phase;
+  private long phaseStart;
 
   ProgressWrapper(SubMonitor progress) {
+    this(progress, null);
+  }
+
+  ProgressWrapper(SubMonitor progress, PhaseTimingListener timingListener) {
     this.progress = progress;
+    this.timingListener = timingListener;
   }
 
   @Override
   public void start(String message, long totalWork) {
+    phase = message;
+    phaseStart = System.nanoTime();
     progress.beginTask(message, (int) totalWork);
   }
 
@@ -50,10 +70,22 @@ class ProgressWrapper implements ProgressListener {
   @Override
   public void done() {
     progress.done();
+    if (timingListener != null && phase != null) {
+      timingListener.phaseCompleted(phase, Duration.ofNanos(System.nanoTime() - phaseStart));
+      phase = null;
+    }
   }
 
   @Override
-  public ProgressListener newChild(long allocation) {
-    return new ProgressWrapper(progress.split((int) allocation));
+  public ProgressWrapper newChild(long allocation) {
+    return new ProgressWrapper(progress.split((int) allocation), timingListener);
+  }
+
+  /**
+   * Returns a wrapper for work done concurrently in another thread. As progress monitors are not
+   * thread-safe, its progress is not shown, but its task timings are still reported.
+   */
+  ProgressWrapper newDetachedChild() {
+    return new ProgressWrapper(SubMonitor.convert(new NullProgressMonitor()), timingListener);
   }
 }
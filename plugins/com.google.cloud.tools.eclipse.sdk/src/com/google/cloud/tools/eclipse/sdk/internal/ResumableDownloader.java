@@ -0,0 +1,364 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.sdk.internal;
+
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Downloads files, resuming interrupted downloads where they stopped. The bytes received are kept
+ * in a {@code .part} file beside the destination, along with the validator ({@code ETag} or
+ * {@code Last-Modified}) of the content, so that a later attempt, including one in a later
+ * session, asks only for the remaining bytes with a {@code Range} request conditional on the
+ * content being unchanged ({@code If-Range}). Completed downloads are verified against the
+ * expected SHA-256 checksum, or else the MD5 checksum that Google Cloud Storage reports in the
+ * {@code x-goog-hash} header, before being moved to their destination; a download with neither
+ * fails. A destination that already matches the expected SHA-256 checksum is not downloaded again.
+ */
+class ResumableDownloader {
+  private static final Logger logger = Logger.getLogger(ResumableDownloader.class.getName());
+
+  @VisibleForTesting static final int MAXIMUM_ATTEMPTS = 5;
+  private static final long INITIAL_RETRY_DELAY_MS = 1000;
+  private static final int CONNECT_TIMEOUT_MS = 30000;
+  private static final int READ_TIMEOUT_MS = 60000;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-\\d+/(\\d+|\\*)");
+
+  private final String userAgent;
+  private final long initialRetryDelayMs;
+
+  ResumableDownloader(String userAgent) {
+    this(userAgent, INITIAL_RETRY_DELAY_MS);
+  }
+
+  @VisibleForTesting
+  ResumableDownloader(String userAgent, long initialRetryDelayMs) {
+    this.userAgent = userAgent;
+    this.initialRetryDelayMs = initialRetryDelayMs;
+  }
+
+  /**
+   * Download {@code source} to {@code destination}, retrying failed attempts with backoff.
+   *
+   * @param expectedSha256 the hex-encoded SHA-256 checksum of the content, or {@code null} to
+   *     verify against the server-reported MD5 checksum
+   * @throws IOException if the content cannot be downloaded, has no checksum, or fails
+   *     verification
+   * @throws InterruptedException if interrupted, leaving the bytes received so far for resumption
+   */
+  void download(URL source, Path destination, String expectedSha256, ProgressListener progress)
+      throws IOException, InterruptedException {
+    Path partFile = destination.resolveSibling(destination.getFileName() + ".part");
+    Path stateFile = destination.resolveSibling(destination.getFileName() + ".part.properties");
+    Files.createDirectories(destination.toAbsolutePath().getParent());
+    if (expectedSha256 != null && Files.exists(destination)
+        && hash(destination, Hashing.sha256()).equals(HashCode.fromString(
+            expectedSha256.toLowerCase()))) {
+      logger.fine(destination + " is already downloaded");
+      progress.start(getTaskName(destination), 0);
+      progress.done();
+      return;
+    }
+    Files.deleteIfExists(destination);
+
+    DownloadState state = DownloadState.load(stateFile);
+    if (!source.toString().equals(state.source)) {
+      // the bytes received, if any, are of something else
+      Files.deleteIfExists(partFile);
+      state = new DownloadState(source.toString());
+    }
+
+    IOException lastFailure = null;
+    for (int attempt = 1; attempt <= MAXIMUM_ATTEMPTS; attempt++) {
+      if (attempt > 1) {
+        long delay = initialRetryDelayMs << Math.min(attempt - 2, 10);
+        logger.log(Level.INFO, "Retrying download of " + source + " in " + delay + " ms",
+            lastFailure);
+        Thread.sleep(delay);
+      }
+      try {
+        fetch(source, partFile, state, stateFile, progress);
+        verify(partFile, state, expectedSha256);
+        Files.move(partFile, destination, StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(stateFile);
+        if (!state.progressStarted) {
+          progress.start(getTaskName(destination), 0);
+        }
+        progress.done();
+        return;
+      } catch (ChecksumMismatchException ex) {
+        // start over, in case the bytes received before an interruption were corrupt
+        Files.deleteIfExists(partFile);
+        state = new DownloadState(source.toString(), state.progressStarted);
+        lastFailure = ex;
+      } catch (PermanentFailureException ex) {
+        throw ex;
+      } catch (IOException ex) {
+        lastFailure = ex;
+      }
+    }
+    // keep the bytes received, for a later attempt to resume
+    throw lastFailure;
+  }
+
+  /** Append the remaining bytes of the content to the {@code .part} file. */
+  private void fetch(URL source, Path partFile, DownloadState state, Path stateFile,
+      ProgressListener progress) throws IOException, InterruptedException {
+    long offset = Files.exists(partFile) ? Files.size(partFile) : 0;
+    if (offset > 0 && state.validator == null) {
+      offset = 0;  // cannot resume safely without knowing the content is unchanged
+    }
+
+    URLConnection urlConnection = source.openConnection();
+    if (!(urlConnection instanceof HttpURLConnection)) {
+      if (!state.progressStarted) {
+        state.progressStarted = true;
+        progress.start(getTaskName(partFile), ProgressListener.UNKNOWN);
+      }
+      try (InputStream input = urlConnection.getInputStream()) {
+        copy(input, partFile, false, progress);
+      }
+      return;
+    }
+    HttpURLConnection connection = (HttpURLConnection) urlConnection;
+    connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+    connection.setReadTimeout(READ_TIMEOUT_MS);
+    connection.setRequestProperty("User-Agent", userAgent);
+    if (offset > 0) {
+      connection.setRequestProperty("Range", "bytes=" + offset + "-");
+      connection.setRequestProperty("If-Range", state.validator);
+    }
+    try {
+      int responseCode = connection.getResponseCode();
+      boolean append;
+      if (responseCode == 206 && offset > 0) {
+        Matcher matcher = CONTENT_RANGE.matcher(
+            Strings.nullToEmpty(connection.getHeaderField("Content-Range")));
+        if (!matcher.matches() || Long.parseLong(matcher.group(1)) != offset) {
+          throw new IOException("Unexpected Content-Range from " + source);
+        }
+        if (!"*".equals(matcher.group(2))) {
+          state.length = Long.parseLong(matcher.group(2));
+        }
+        append = true;
+      } else if (responseCode == HttpURLConnection.HTTP_OK) {
+        // the server ignored the range, or the content changed
+        state.length = connection.getContentLengthLong();
+        state.validator = getValidator(connection);
+        state.md5 = getGoogleMd5(connection);
+        append = false;
+        offset = 0;
+      } else if (responseCode == 416) {
+        Files.deleteIfExists(partFile);
+        throw new IOException("Cannot resume download of " + source + "; starting over");
+      } else if (responseCode >= 500 || responseCode == 408 || responseCode == 429) {
+        throw new IOException("Unable to download " + source + ": HTTP " + responseCode);
+      } else {
+        throw new PermanentFailureException(
+            "Unable to download " + source + ": HTTP " + responseCode);
+      }
+      state.save(stateFile);
+      if (!state.progressStarted) {
+        state.progressStarted = true;
+        progress.start(getTaskName(partFile), state.length >= 0 ? state.length
+            : ProgressListener.UNKNOWN);
+        progress.update(offset);
+      }
+      if (offset > 0) {
+        logger.info("Resuming download of " + source + " from byte " + offset);
+      }
+      try (InputStream input = connection.getInputStream()) {
+        copy(input, partFile, append, progress);
+      }
+      if (state.length >= 0 && Files.size(partFile) != state.length) {
+        throw new IOException("Download of " + source + " ended after " + Files.size(partFile)
+            + " of " + state.length + " bytes");
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  private static String getTaskName(Path file) {
+    String name = file.getFileName().toString();
+    return "Downloading " + (name.endsWith(".part") ? name.substring(0, name.length() - 5) : name);
+  }
+
+  private static void copy(InputStream input, Path file, boolean append, ProgressListener progress)
+      throws IOException, InterruptedException {
+    StandardOpenOption mode = append ? StandardOpenOption.APPEND
+        : StandardOpenOption.TRUNCATE_EXISTING;
+    try (OutputStream output = Files.newOutputStream(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, mode)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException("Download interrupted");
+        }
+        output.write(buffer, 0, read);
+        progress.update(read);
+      }
+    }
+  }
+
+  private static void verify(Path file, DownloadState state, String expectedSha256)
+      throws IOException {
+    HashFunction function;
+    HashCode expected;
+    if (expectedSha256 != null) {
+      function = Hashing.sha256();
+      expected = HashCode.fromString(expectedSha256.toLowerCase());
+    } else if (state.md5 != null) {
+      function = Hashing.md5();
+      expected = HashCode.fromBytes(BaseEncoding.base64().decode(state.md5));
+    } else {
+      // the bytes received cannot be trusted, so a later attempt must not resume from them
+      Files.deleteIfExists(file);
+      throw new PermanentFailureException("No checksum to verify " + file.getFileName()
+          + " against");
+    }
+    HashCode actual = hash(file, function);
+    if (!expected.equals(actual)) {
+      throw new ChecksumMismatchException("Checksum mismatch for " + file.getFileName()
+          + ": expected " + expected + " but was " + actual);
+    }
+  }
+
+  private static HashCode hash(Path file, HashFunction function) throws IOException {
+    return com.google.common.io.Files.asByteSource(file.toFile()).hash(function);
+  }
+
+  private static String getValidator(HttpURLConnection connection) {
+    String etag = connection.getHeaderField("ETag");
+    // weak validators cannot be used with If-Range
+    if (etag != null && !etag.startsWith("W/")) {
+      return etag;
+    }
+    return connection.getHeaderField("Last-Modified");
+  }
+
+  /** Return the base64-encoded MD5 checksum from the {@code x-goog-hash} headers, if any. */
+  @VisibleForTesting
+  static String getGoogleMd5(HttpURLConnection connection) {
+    List<String> headers = connection.getHeaderFields().get("x-goog-hash");
+    if (headers != null) {
+      for (String header : headers) {
+        for (String hash : header.split(",")) {
+          hash = hash.trim();
+          if (hash.startsWith("md5=")) {
+            return hash.substring("md5=".length());
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /** The details of a partial download, persisted beside its {@code .part} file. */
+  private static class DownloadState {
+    private final String source;
+    private String validator;
+    private String md5;
+    private long length = -1;
+    /** Whether the progress listener was started; not persisted. */
+    private boolean progressStarted;
+
+    private DownloadState(String source) {
+      this(source, false);
+    }
+
+    private DownloadState(String source, boolean progressStarted) {
+      this.source = source;
+      this.progressStarted = progressStarted;
+    }
+
+    private static DownloadState load(Path stateFile) throws IOException {
+      Properties properties = new Properties();
+      try (Reader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      } catch (NoSuchFileException ex) {
+        return new DownloadState(null);
+      }
+      DownloadState state = new DownloadState(properties.getProperty("source"));
+      state.validator = properties.getProperty("validator");
+      state.md5 = properties.getProperty("md5");
+      try {
+        state.length = Long.parseLong(properties.getProperty("length", "-1"));
+      } catch (NumberFormatException ex) {
+        return new DownloadState(null);
+      }
+      return state;
+    }
+
+    private void save(Path stateFile) throws IOException {
+      Properties properties = new Properties();
+      properties.setProperty("source", source);
+      properties.setProperty("length", Long.toString(length));
+      if (validator != null) {
+        properties.setProperty("validator", validator);
+      }
+      if (md5 != null) {
+        properties.setProperty("md5", md5);
+      }
+      try (Writer writer = Files.newBufferedWriter(stateFile, StandardCharsets.UTF_8)) {
+        properties.store(writer, null);
+      }
+    }
+  }
+
+  /** The downloaded content does not match its checksum. */
+  @VisibleForTesting
+  static class ChecksumMismatchException extends IOException {
+    private ChecksumMismatchException(String message) {
+      super(message);
+    }
+  }
+
+  /** The download failed in a way that retrying will not fix. */
+  private static class PermanentFailureException extends IOException {
+    private PermanentFailureException(String message) {
+      super(message);
+    }
+  }
+}
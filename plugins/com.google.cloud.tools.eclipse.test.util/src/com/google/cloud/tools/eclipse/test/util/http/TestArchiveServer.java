@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.test.util.http;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.rules.ExternalResource;
+
+/**
+ * Stand-in for a download server such as Google Cloud Storage (wrapping an embedded Jetty server)
+ * that serves files from several paths, listening on a random available port. Files are served
+ * with a strong {@code ETag}, and {@code Range} requests (conditional on {@code If-Range}) are
+ * answered with partial content. The server can be told to drop connections partway through a
+ * response, to simulate an unreliable network.
+ * <p>
+ * Unknown paths are answered with {@code 404 Not Found}.
+ */
+public class TestArchiveServer extends ExternalResource {
+
+  private static final Logger logger = Logger.getLogger(TestArchiveServer.class.getName());
+
+  private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-");
+
+  private Server server;
+
+  private final Map<String, ServedFile> files = new ConcurrentHashMap<>();
+  private boolean googleHashes = false;
+  private boolean rangesSupported = true;
+  private final AtomicInteger connectionsToDrop = new AtomicInteger();
+  private volatile int dropAfterBytes;
+
+  private final List<String> requestPaths = new CopyOnWriteArrayList<>();
+  private final List<String> requestRanges = new CopyOnWriteArrayList<>();
+
+  /** Serve {@code content} at {@code path}, replacing (with a new {@code ETag}) any previous. */
+  public TestArchiveServer serve(String path, byte[] content) {
+    files.put("/" + path, new ServedFile(content));
+    return this;
+  }
+
+  public TestArchiveServer serve(String path, String content) {
+    return serve(path, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Send the MD5 checksum of files in an {@code x-goog-hash} header, as Cloud Storage does. */
+  public TestArchiveServer withGoogleHashes() {
+    googleHashes = true;
+    return this;
+  }
+
+  /** Ignore {@code Range} requests, always sending the whole file. */
+  public TestArchiveServer withoutRanges() {
+    rangesSupported = false;
+    return this;
+  }
+
+  /**
+   * Close the connection of each of the next {@code count} responses after sending {@code
+   * afterBytes} bytes of content.
+   */
+  public TestArchiveServer dropConnections(int count, int afterBytes) {
+    dropAfterBytes = afterBytes;
+    connectionsToDrop.set(count);
+    return this;
+  }
+
+  @Override
+  protected void before() throws Exception {
+    server = new Server(new InetSocketAddress("127.0.0.1", 0));
+    server.setHandler(new RequestHandler());
+    server.start();
+  }
+
+  @Override
+  protected void after() {
+    try {
+      server.stop();
+      server.join();
+    } catch (Exception ex) {
+      // probably should not fail the test, but if it happens it should be visible in the logs
+      logger.log(Level.WARNING, "Error while shutting down Jetty server", ex);
+    }
+  }
+
+  /**
+   * Returns the address that can be used to send requests to the server.
+   * <p>
+   * Initialized only after the server has started.
+   *
+   * @return server address in the form of http://127.0.0.1:&lt;port&gt;/
+   */
+  public String getAddress() {
+    Preconditions.checkNotNull(server, "server isn't started yet");
+    int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+    return "http://127.0.0.1:" + port + "/";
+  }
+
+  /** Returns the path of each request handled, in order, without the leading {@code /}. */
+  public List<String> getRequestPaths() {
+    return new ArrayList<>(requestPaths);
+  }
+
+  /**
+   * Returns the {@code Range} header of each request handled, in order, with an empty string for
+   * requests without one.
+   */
+  public List<String> getRequestRanges() {
+    return new ArrayList<>(requestRanges);
+  }
+
+  private static class ServedFile {
+    private final byte[] content;
+    private final String etag;
+    private final String md5;
+
+    private ServedFile(byte[] content) {
+      this.content = content;
+      byte[] hash = Hashing.md5().hashBytes(content).asBytes();
+      // unique per call, so that replacing a file with the same content still changes the ETag
+      etag = "\"" + BaseEncoding.base16().lowerCase().encode(hash) + "-" + System.nanoTime() + "\"";
+      md5 = BaseEncoding.base64().encode(hash);
+    }
+  }
+
+  private class RequestHandler extends AbstractHandler {
+
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request,
+        HttpServletResponse response) throws IOException, ServletException {
+      ServedFile file = files.get(target);
+      if (file == null) {
+        return;
+      }
+      baseRequest.setHandled(true);
+      String range = request.getHeader("Range");
+      requestPaths.add(target.substring(1));
+      requestRanges.add(range == null ? "" : range);
+
+      response.setHeader("ETag", file.etag);
+      if (googleHashes) {
+        response.setHeader("x-goog-hash", "crc32c=AAAAAA==, md5=" + file.md5);
+      }
+      int length = file.content.length;
+      int start = 0;
+      String ifRange = request.getHeader("If-Range");
+      Matcher matcher = RANGE.matcher(range == null ? "" : range);
+      if (rangesSupported && matcher.matches()
+          && (ifRange == null || ifRange.equals(file.etag))) {
+        start = Integer.parseInt(matcher.group(1));
+        if (start >= length) {
+          response.setHeader("Content-Range", "bytes */" + length);
+          response.setStatus(416);
+          return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader("Content-Range",
+            "bytes " + start + "-" + (length - 1) + "/" + length);
+      } else {
+        response.setStatus(HttpServletResponse.SC_OK);
+      }
+      int remaining = length - start;
+      response.setContentLength(remaining);
+
+      OutputStream output = response.getOutputStream();
+      if (connectionsToDrop.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+        output.write(file.content, start, Math.min(dropAfterBytes, remaining));
+        output.flush();
+        baseRequest.getHttpChannel().getEndPoint().close();
+        return;
+      }
+      output.write(file.content, start, remaining);
+    }
+  }
+}
@@ -24,9 +24,12 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Enumeration;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.servlet.MultipartConfigElement;
@@ -52,11 +55,15 @@ public class TestHttpServer extends ExternalResource {
   private Server server;
 
   private boolean requestHandled = false;
+  private boolean multipleRequestsAllowed = false;
+  private String etag;
+  private final List<Integer> requestRemotePorts = new CopyOnWriteArrayList<>();
+  private final List<String> requestBodies = new CopyOnWriteArrayList<>();
 
   private String requestMethod;
   private Map<String, String[]> requestParameters;
   private String body;
-  private final Map<String, String> requestHeaders = new HashMap<>();
+  private final Map<String, String> requestHeaders = new ConcurrentHashMap<>();
 
   private final String expectedPath;
   private final byte[] responseBytes;
@@ -72,6 +79,24 @@ public class TestHttpServer extends ExternalResource {
     this.responseBytes = responseBytes;
   }
 
+  /**
+   * Allow the server to handle more than one request; the recorded request details are then those
+   * of the most recent request.
+   */
+  public TestHttpServer allowMultipleRequests() {
+    multipleRequestsAllowed = true;
+    return this;
+  }
+
+  /**
+   * Send the given {@code ETag} with responses, and answer requests whose {@code If-None-Match}
+   * matches it with {@code 304 Not Modified}.
+   */
+  public TestHttpServer withETag(String etag) {
+    this.etag = etag;
+    return this;
+  }
+
   @Override
   protected void before() throws Exception {
     runServer();
@@ -140,12 +165,25 @@ public class TestHttpServer extends ExternalResource {
     return requestHeaders;
   }
 
+  /**
+   * Returns the client port of each request handled, in order. Requests sent over the same
+   * (kept-alive) connection have the same port.
+   */
+  public List<Integer> getRequestRemotePorts() {
+    return new ArrayList<>(requestRemotePorts);
+  }
+
+  /** Returns the body of each request handled that was not a form, in order. */
+  public List<String> getRequestBodies() {
+    return new ArrayList<>(requestBodies);
+  }
+
   private class RequestHandler extends AbstractHandler {
 
     @Override
     public void handle(String target, Request baseRequest, HttpServletRequest request,
         HttpServletResponse response) throws IOException, ServletException {
-      Preconditions.checkState(!requestHandled);
+      Preconditions.checkState(multipleRequestsAllowed || !requestHandled);
 
       String contentType = request.getContentType();
       boolean isMultipart = contentType != null && contentType.startsWith("multipart/form-data");
@@ -159,6 +197,7 @@ public class TestHttpServer extends ExternalResource {
 
       if (target.equals("/" + expectedPath)) {
         requestHandled = true;
+        requestRemotePorts.add(request.getRemotePort());
         requestMethod = request.getMethod();
         for (Enumeration<String> headers = request.getHeaderNames(); headers.hasMoreElements(); ) {
           String header = headers.nextElement();
@@ -171,10 +210,18 @@ public class TestHttpServer extends ExternalResource {
         } else {
           try (BufferedReader reader = request.getReader()) {
             body = CharStreams.toString(reader);
+            requestBodies.add(body);
           }
         }
 
         baseRequest.setHandled(true);
+        if (etag != null) {
+          response.setHeader("ETag", etag);
+          if (etag.equals(request.getHeader("If-None-Match"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+          }
+        }
         response.getOutputStream().write(responseBytes);
         response.setStatus(HttpServletResponse.SC_OK);
       }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.tools.eclipse.ui.status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class AdaptivePollingScheduleTest {
+
+  private long idleTime;
+
+  /** A schedule without jitter. */
+  private final AdaptivePollingSchedule schedule =
+      new AdaptivePollingSchedule(() -> idleTime, new Random() {
+        @Override
+        public double nextDouble() {
+          return 0.5;
+        }
+      });
+
+  @Test
+  public void testRegularPolling() {
+    assertEquals(AdaptivePollingSchedule.POLL_TIME, schedule.getNextPollDelay(0));
+  }
+
+  @Test
+  public void testIdlePolling() {
+    idleTime = AdaptivePollingSchedule.IDLE_THRESHOLD;
+    assertEquals(AdaptivePollingSchedule.IDLE_POLL_TIME, schedule.getNextPollDelay(0));
+  }
+
+  @Test
+  public void testExponentialBackoff() {
+    long errorPollTime = AdaptivePollingSchedule.ERROR_POLL_TIME;
+    assertEquals(errorPollTime, schedule.getNextPollDelay(1));
+    assertEquals(2 * errorPollTime, schedule.getNextPollDelay(2));
+    assertEquals(4 * errorPollTime, schedule.getNextPollDelay(3));
+    assertEquals(AdaptivePollingSchedule.POLL_TIME, schedule.getNextPollDelay(4));
+    assertEquals(AdaptivePollingSchedule.POLL_TIME, schedule.getNextPollDelay(1000));
+  }
+
+  @Test
+  public void testBackoffLimitedByIdlePolling() {
+    idleTime = AdaptivePollingSchedule.IDLE_THRESHOLD;
+    assertEquals(AdaptivePollingSchedule.IDLE_POLL_TIME, schedule.getNextPollDelay(1000));
+  }
+
+  @Test
+  public void testJitter() {
+    AdaptivePollingSchedule jittered = new AdaptivePollingSchedule(() -> 0, new Random(0));
+    long poll = AdaptivePollingSchedule.POLL_TIME;
+    double jitter = AdaptivePollingSchedule.JITTER;
+    boolean varied = false;
+    for (int i = 0; i < 100; i++) {
+      long delay = jittered.getNextPollDelay(0);
+      assertTrue(delay >= poll * (1 - jitter) && delay <= poll * (1 + jitter));
+      varied |= delay != jittered.getNextPollDelay(0);
+    }
+    assertTrue(varied);
+  }
+}
@@ -17,7 +17,12 @@
 package com.google.cloud.tools.eclipse.ui.status;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
+import com.google.cloud.tools.eclipse.ui.status.Incident.Severity;
+import com.google.gson.Gson;
+import java.io.StringReader;
+import java.util.Collection;
 import org.junit.Test;
 
 public class GcpStatusTest {
@@ -25,4 +30,26 @@ public class GcpStatusTest {
   public void testToString() {
     assertEquals("OK: All services available", GcpStatus.OK_STATUS.toString());
   }
+
+  @Test
+  public void testEquals_sameIncidentsReadTwice() {
+    GcpStatus first = new GcpStatus(Severity.HIGH, "Compute Engine", readIncidents("high"));
+    GcpStatus second = new GcpStatus(Severity.HIGH, "Compute Engine", readIncidents("high"));
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+  }
+
+  @Test
+  public void testEquals_incidentChanged() {
+    GcpStatus first = new GcpStatus(Severity.HIGH, "Compute Engine", readIncidents("high"));
+    GcpStatus second = new GcpStatus(Severity.HIGH, "Compute Engine", readIncidents("low"));
+    assertFalse(first.equals(second));
+    assertFalse(first.equals(GcpStatus.OK_STATUS));
+  }
+
+  private static Collection<Incident> readIncidents(String severity) {
+    String json = "[{\"number\": 3, \"severity\": \"" + severity + "\","
+        + " \"service_name\": \"Compute Engine\", \"begin\": \"2026-01-25T20:21:00Z\"}]";
+    return PollingStatusServiceImpl.extractIncidentsInProgress(new Gson(), new StringReader(json));
+  }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.tools.eclipse.ui.status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import com.google.cloud.tools.eclipse.ui.status.Incident.Severity;
+import com.google.gson.Gson;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Tests {@link PollingStatusServiceImpl} against a local stand-in for the status page. */
+public class PollingStatusServiceImplTest {
+
+  private static final String INCIDENTS = "["
+      + incident(3, "high", "Compute Engine", false) + ","
+      + incident(2, "low", "Cloud Storage", true) + ","
+      + incident(1, "medium", "App Engine", false) + "]";
+
+  @Rule public TestHttpServer server =
+      new TestHttpServer("incidents.json", INCIDENTS).allowMultipleRequests().withETag("\"v1\"");
+
+  private final FakeClock clock = new FakeClock();
+  private PollingStatusServiceImpl service;
+  private int notifications;
+
+  @Before
+  public void setUp() {
+    service = new PollingStatusServiceImpl(URI.create(server.getAddress() + "incidents.json"),
+        failures -> 0, clock);
+    service.addStatusChangeListener(changed -> notifications++);
+  }
+
+  @Test
+  public void testRefreshStatus() {
+    service.refreshStatus();
+
+    GcpStatus status = service.getCurrentStatus();
+    assertEquals(Severity.HIGH, status.severity);
+    assertEquals(2, status.active.size());
+    assertEquals(1, notifications);
+    assertEquals("bytes=0-" + (PollingStatusServiceImpl.INITIAL_RANGE_BYTES - 1),
+        server.getRequestHeaders().get("Range"));
+  }
+
+  @Test
+  public void testConditionalRequest() {
+    service.refreshStatus();
+    GcpStatus status = service.getCurrentStatus();
+    assertNull(server.getRequestHeaders().get("If-None-Match"));
+
+    service.refreshStatus();
+    assertEquals("\"v1\"", server.getRequestHeaders().get("If-None-Match"));
+    assertSame(status, service.getCurrentStatus());
+    assertEquals(1, notifications);  // unchanged
+  }
+
+  @Test
+  public void testStatistics() {
+    service.refreshStatus();
+    service.refreshStatus();
+    service.refreshStatus();
+
+    PollingStatistics statistics = service.getStatistics();
+    assertEquals(3, statistics.getRequestsPerHour());
+    // the content was transferred once only
+    int contentLength = INCIDENTS.getBytes(StandardCharsets.UTF_8).length;
+    assertEquals(contentLength, statistics.getBytesPerHour());
+
+    clock.advance(Duration.ofMinutes(61));
+    assertEquals(0, statistics.getRequestsPerHour());
+    assertEquals(0, statistics.getBytesPerHour());
+    assertEquals(3, statistics.getTotalRequests());
+    assertEquals(contentLength, statistics.getTotalBytes());
+  }
+
+  @Test
+  public void testExtractIncidentsInProgress_readsWholeRange() {
+    List<String> incidents = new ArrayList<>();
+    incidents.add(incident(100, "low", "Recent", false));
+    for (int i = 0; i < 10; i++) {
+      incidents.add(incident(50 + i, "low", "Resolved", true));
+    }
+    incidents.add(incident(1, "high", "Ancient", false));
+    // the range ends within an incident
+    String json = "[" + String.join(",", incidents) + ", {not json";
+
+    Collection<Incident> active =
+        PollingStatusServiceImpl.extractIncidentsInProgress(new Gson(), new StringReader(json));
+    assertEquals(2, active.size());
+    Iterator<Incident> iterator = active.iterator();
+    assertEquals(100, iterator.next().id);
+    assertEquals(1, iterator.next().id);
+  }
+
+  @Test
+  public void testExtractIncidentsInProgress_truncated() {
+    String json = "[" + incident(2, "low", "Recent", false) + ","
+        + incident(1, "low", "Older", false).substring(0, 20);
+
+    Collection<Incident> active =
+        PollingStatusServiceImpl.extractIncidentsInProgress(new Gson(), new StringReader(json));
+    assertEquals(1, active.size());
+    assertEquals(2, active.iterator().next().id);
+  }
+
+  private static String incident(int number, String severity, String service, boolean resolved) {
+    return "{\"number\": " + number + ", \"severity\": \"" + severity + "\","
+        + " \"service_name\": \"" + service + "\", \"begin\": \"2026-01-25T20:21:00Z\""
+        + (resolved ? ", \"end\": \"2026-01-25T21:18:23Z\"" : "") + "}";
+  }
+
+  private static class FakeClock extends Clock {
+    private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    private void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+  }
+}
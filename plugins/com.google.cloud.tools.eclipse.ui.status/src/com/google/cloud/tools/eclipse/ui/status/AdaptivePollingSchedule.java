@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.ui.status;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Polls every 3 minutes while the user is active, and every 15 minutes once the workbench has
+ * been idle for 10 minutes. Failed polls are retried after 30 seconds, backing off exponentially
+ * up to the regular interval. All delays are randomized by up to 20% so that workbenches started
+ * together do not poll together.
+ */
+class AdaptivePollingSchedule implements PollingSchedule {
+
+  @VisibleForTesting static final long POLL_TIME = TimeUnit.MINUTES.toMillis(3);
+  @VisibleForTesting static final long IDLE_POLL_TIME = TimeUnit.MINUTES.toMillis(15);
+  @VisibleForTesting static final long IDLE_THRESHOLD = TimeUnit.MINUTES.toMillis(10);
+  @VisibleForTesting static final long ERROR_POLL_TIME = TimeUnit.SECONDS.toMillis(30);
+  @VisibleForTesting static final double JITTER = 0.2;
+
+  private final LongSupplier idleTime;
+  private final Random random;
+
+  /**
+   * @param idleTime supplies how long the user has been idle, in milliseconds
+   */
+  AdaptivePollingSchedule(LongSupplier idleTime, Random random) {
+    this.idleTime = idleTime;
+    this.random = random;
+  }
+
+  @Override
+  public long getNextPollDelay(int consecutiveFailures) {
+    long interval = idleTime.getAsLong() >= IDLE_THRESHOLD ? IDLE_POLL_TIME : POLL_TIME;
+    long delay = interval;
+    if (consecutiveFailures > 0) {
+      int doublings = Math.min(consecutiveFailures - 1, 30);
+      delay = Math.min(ERROR_POLL_TIME << doublings, interval);
+    }
+    return (long) (delay * (1 - JITTER + 2 * JITTER * random.nextDouble()));
+  }
+}
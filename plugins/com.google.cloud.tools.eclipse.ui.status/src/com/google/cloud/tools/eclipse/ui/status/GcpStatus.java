@@ -18,6 +18,7 @@ package com.google.cloud.tools.eclipse.ui.status;
 
 import com.google.cloud.tools.eclipse.ui.status.Incident.Severity;
 import java.util.Collection;
+import java.util.Objects;
 
 /** Summary of current Google Cloud Platform status based on accumulated incidents. */
 public class GcpStatus {
@@ -34,6 +35,24 @@ public class GcpStatus {
     this.active = active;
   }
 
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof GcpStatus)) {
+      return false;
+    }
+    GcpStatus status = (GcpStatus) other;
+    return severity == status.severity && Objects.equals(summary, status.summary)
+        && Objects.equals(active, status.active);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(severity, summary, active);
+  }
+
   @Override
   public String toString() {
     return severity + ": " + summary;
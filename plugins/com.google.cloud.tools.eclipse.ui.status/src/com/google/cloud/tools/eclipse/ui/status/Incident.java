@@ -21,6 +21,7 @@ import com.google.gson.annotations.SerializedName;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -82,6 +83,29 @@ public class Incident {
   public Date begin;
   public Date end;
 
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof Incident)) {
+      return false;
+    }
+    Incident incident = (Incident) other;
+    return id == incident.id && severity == incident.severity
+        && Objects.equals(serviceKey, incident.serviceKey)
+        && Objects.equals(serviceName, incident.serviceName)
+        && Objects.equals(description, incident.description)
+        && Objects.equals(uri, incident.uri)
+        && Objects.equals(begin, incident.begin)
+        && Objects.equals(end, incident.end);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, severity, serviceKey, serviceName, description, uri, begin, end);
+  }
+
   @Override
   public String toString() {
     return String.format("Incident %d [%s, %s]: %s", id, severity, serviceName, description);
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.ui.status;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/** Counts the status requests made and the bytes of content transferred over the last hour. */
+class PollingStatistics {
+  private static final long WINDOW = TimeUnit.HOURS.toMillis(1);
+
+  private final Clock clock;
+  /** Time and content length of the requests made within the window, oldest first. */
+  private final Deque<long[]> requests = new ArrayDeque<>();
+  private long totalRequests;
+  private long totalBytes;
+
+  PollingStatistics(Clock clock) {
+    this.clock = clock;
+  }
+
+  /** Record a request that transferred the given number of bytes of content. */
+  synchronized void recordRequest(long bytes) {
+    requests.addLast(new long[] {clock.millis(), bytes});
+    totalRequests++;
+    totalBytes += bytes;
+    expire();
+  }
+
+  synchronized int getRequestsPerHour() {
+    expire();
+    return requests.size();
+  }
+
+  synchronized long getBytesPerHour() {
+    expire();
+    long bytes = 0;
+    for (long[] request : requests) {
+      bytes += request[1];
+    }
+    return bytes;
+  }
+
+  synchronized long getTotalRequests() {
+    return totalRequests;
+  }
+
+  synchronized long getTotalBytes() {
+    return totalBytes;
+  }
+
+  private void expire() {
+    long start = clock.millis() - WINDOW;
+    while (!requests.isEmpty() && requests.peekFirst()[0] <= start) {
+      requests.removeFirst();
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return getRequestsPerHour() + " requests and " + getBytesPerHour() + " bytes in the last hour";
+  }
+}
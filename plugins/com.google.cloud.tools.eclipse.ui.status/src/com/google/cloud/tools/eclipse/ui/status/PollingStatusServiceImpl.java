@@ -17,26 +17,28 @@
 package com.google.cloud.tools.eclipse.ui.status;
 
 import com.google.cloud.tools.eclipse.ui.status.Incident.Severity;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
+import com.google.common.io.CountingInputStream;
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
 import com.google.gson.stream.JsonReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.Proxy.Type;
 import java.net.SocketException;
 import java.net.URI;
-import java.net.URLConnection;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Random;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -59,6 +61,12 @@ import org.osgi.service.component.annotations.ReferencePolicy;
  * status page provides a incident log in JSON, which appears to be ordered from most recent to
  * oldest. We fetch the first N bytes and process the incidents listed. Incidents that are still
  * on-going do not have an "end".
+ *
+ * <p>Polls are conditional on the {@code ETag} and {@code Last-Modified} of the previous
+ * response, so an unchanged log is not transferred again, and the log is parsed as it is read,
+ * stopping once the most recent incidents have been seen. The time between polls is decided by
+ * a {@link PollingSchedule}, which backs off after failures and slows down while the workbench
+ * is idle.
  */
 @Component(name = "polling")
 public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
@@ -73,8 +81,7 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
     protected IStatus run(IProgressMonitor monitor) {
       refreshStatus();
       if (active) {
-        // poll more frequently when having connection errors
-        schedule(currentStatus.severity == Severity.ERROR ? errorPollTime : pollTime);
+        schedule(schedule.getNextPollDelay(consecutiveFailures));
       }
       return Status.OK_STATUS;
     }
@@ -85,14 +92,15 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
   private static final URI STATUS_JSON_URI =
       URI.create("https://status.cloud.google.com/incidents.json"); //$NON-NLS-1$
 
-  private Job pollingJob = new PollJob();
-
+  /** The initial and maximum number of bytes of the log requested. */
+  @VisibleForTesting static final int INITIAL_RANGE_BYTES = 8 * 1024;
+  @VisibleForTesting static final int MAXIMUM_RANGE_BYTES = 64 * 1024;
 
-  /** Normally polls every 3 minutes. */
-  private final long pollTime = TimeUnit.MINUTES.toMillis(3); // poll every 3 minutes
+  private Job pollingJob = new PollJob();
 
-  /** Shorter poll when encountering connection errors. */
-  private final long errorPollTime = TimeUnit.SECONDS.toMillis(30);
+  private final URI statusUri;
+  private final PollingSchedule schedule;
+  private final PollingStatistics statistics;
 
   private boolean active = false;
   private IProxyService proxyService;
@@ -100,6 +108,25 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
   private Gson gson = new Gson();
 
   private GcpStatus currentStatus = GcpStatus.OK_STATUS;
+  private int consecutiveFailures;
+
+  // validators of the last response, and the size of the range requested
+  private String etag;
+  private long lastModified;
+  private int rangeBytes = INITIAL_RANGE_BYTES;
+
+  public PollingStatusServiceImpl() {
+    this(STATUS_JSON_URI,
+        new AdaptivePollingSchedule(UserActivityMonitor::getIdleTime, new Random()),
+        Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  PollingStatusServiceImpl(URI statusUri, PollingSchedule schedule, Clock clock) {
+    this.statusUri = statusUri;
+    this.schedule = schedule;
+    statistics = new PollingStatistics(clock);
+  }
 
   @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
   public void setProxyService(IProxyService proxyService) {
@@ -129,62 +156,123 @@ public class PollingStatusServiceImpl implements GcpStatusMonitoringService {
     return currentStatus;
   }
 
+  /** Return the counts of the requests made and bytes transferred. */
+  PollingStatistics getStatistics() {
+    return statistics;
+  }
+
   void refreshStatus() {
+    GcpStatus previousStatus = currentStatus;
     try {
       // As of 2018-01-30 the incidents log is 258k! But the incidents appear to be sorted from most
-      // recent to the oldest.  Although fetching with gzip encoding reduces to 36k over the wire,
-      // we can still do better by retrieving only the first 8k.
-      URLConnection connection = STATUS_JSON_URI.toURL().openConnection(getProxy(STATUS_JSON_URI));
-      connection.addRequestProperty("Range", "bytes=0-8192"); //$NON-NLS-1$ //$NON-NLS-2$
-      try (InputStream input = connection.getInputStream()) {
-        InputStreamReader streamReader = new InputStreamReader(input, StandardCharsets.UTF_8);
-        Collection<Incident> activeIncidents = extractIncidentsInProgress(gson, streamReader);
-        if (activeIncidents.isEmpty()) {
-          currentStatus = GcpStatus.OK_STATUS;
-        } else {
-          Severity highestSeverity = Incident.getHighestSeverity(activeIncidents);
-          Collection<String> affectedServices = Incident.getAffectedServiceNames(activeIncidents);
-          currentStatus =
-              new GcpStatus(highestSeverity, Joiner.on(", ").join(affectedServices), activeIncidents); //$NON-NLS-1$
-        }
+      // recent to the oldest, so we retrieve only the first few kilobytes, and nothing at all if
+      // the log is unchanged since the last poll.
+      HttpURLConnection connection =
+          (HttpURLConnection) statusUri.toURL().openConnection(getProxy(statusUri));
+      String range = "bytes=0-" + (rangeBytes - 1); //$NON-NLS-1$
+      connection.addRequestProperty("Range", range); //$NON-NLS-1$
+      if (etag != null) {
+        connection.addRequestProperty("If-None-Match", etag); //$NON-NLS-1$
+      }
+      if (lastModified != 0) {
+        connection.setIfModifiedSince(lastModified);
+      }
+      if (connection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+        statistics.recordRequest(0);
+      } else {
+        readStatus(connection);
       }
+      consecutiveFailures = 0;
     } catch (UnknownHostException | SocketException ex) {
       logger.log(Level.WARNING, "Cannot connect to GCP: " + ex); // $NON-NLS1$
-      currentStatus =
-          new GcpStatus(
-              Severity.ERROR, Messages.getString("cannot.connect.to.gcp"), null); //$NON-NLS1$
+      failed(Messages.getString("cannot.connect.to.gcp")); //$NON-NLS1$
     } catch (IOException ex) {
       // Could be a JSON error
       logger.log(Level.WARNING, "Failure retrieving GCP status", ex); // $NON-NLS1$
+      failed(Messages.getString("failure.retrieving.status")); //$NON-NLS1$
+    }
+    logger.fine("Polled GCP status: " + statistics); //$NON-NLS-1$
+    if (!currentStatus.equals(previousStatus)) {
+      for (Consumer<GcpStatusMonitoringService> listener : listeners) {
+        listener.accept(this);
+      }
+    }
+  }
+
+  private void readStatus(HttpURLConnection connection) throws IOException {
+    IncidentScan scan;
+    try (CountingInputStream input = new CountingInputStream(connection.getInputStream())) {
+      try {
+        scan = scanIncidents(gson, new InputStreamReader(input, StandardCharsets.UTF_8));
+      } finally {
+        statistics.recordRequest(input.getCount());
+      }
+    }
+    if (scan.active.isEmpty()) {
+      currentStatus = GcpStatus.OK_STATUS;
+    } else {
+      Severity highestSeverity = Incident.getHighestSeverity(scan.active);
+      Collection<String> affectedServices = Incident.getAffectedServiceNames(scan.active);
       currentStatus =
-          new GcpStatus(
-              Severity.ERROR, Messages.getString("failure.retrieving.status"), null); //$NON-NLS1$
+          new GcpStatus(highestSeverity, Joiner.on(", ").join(affectedServices), scan.active); //$NON-NLS-1$
     }
-    for (Consumer<GcpStatusMonitoringService> listener : listeners) {
-      listener.accept(this);
+    if (!scan.complete && connection.getResponseCode() == HttpURLConnection.HTTP_PARTIAL
+        && rangeBytes < MAXIMUM_RANGE_BYTES) {
+      // the range ended before any resolved incident was read: request more next time
+      rangeBytes *= 2;
+      etag = null;
+      lastModified = 0;
+    } else {
+      etag = connection.getHeaderField("ETag"); //$NON-NLS-1$
+      lastModified = connection.getLastModified();
     }
   }
 
+  private void failed(String summary) {
+    consecutiveFailures++;
+    etag = null;
+    lastModified = 0;
+    currentStatus = new GcpStatus(Severity.ERROR, summary, null);
+  }
+
   /**
    * Process and accumulate the incidents from the input stream. As the input stream may be
    * incomplete (e.g., partial download), we ignore any JSON exceptions and {@link IOException}s
    * that may occur.
    */
   static Collection<Incident> extractIncidentsInProgress(Gson gson, Reader reader) {
+    return scanIncidents(gson, reader).active;
+  }
+
+  /** Read the incidents in progress from the whole of the input stream. */
+  private static IncidentScan scanIncidents(Gson gson, Reader reader) {
     // Process the individual incident elements. An active incident has no {@code end} element.
-    List<Incident> incidents = new LinkedList<>();
+    IncidentScan scan = new IncidentScan();
     try (JsonReader jsonReader = new JsonReader(reader)) {
       jsonReader.beginArray();
       while (jsonReader.hasNext()) {
         Incident incident = gson.fromJson(jsonReader, Incident.class);
         if (incident.end == null) {
-          incidents.add(incident);
+          scan.active.add(incident);
+        } else {
+          scan.complete = true;
         }
       }
+      scan.complete = true;
     } catch (JsonParseException | IOException ex) {
       // ignore this since we don't request all of the data
     }
-    return incidents;
+    return scan;
+  }
+
+  /** The incidents in progress read from the log. */
+  private static class IncidentScan {
+    private final List<Incident> active = new LinkedList<>();
+    /**
+     * Whether the end of the log or a resolved incident was read: the log is sorted from the most
+     * recent incident, so an incident older than a resolved one has most likely been resolved too.
+     */
+    private boolean complete;
   }
 
   private Proxy getProxy(URI uri) {
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.ui.status;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Listener;
+
+/** Tracks the time of the user's last keyboard or mouse input to the workbench. */
+class UserActivityMonitor {
+  private static volatile long lastActivity = System.currentTimeMillis();
+
+  private static final Listener inputFilter = event -> lastActivity = System.currentTimeMillis();
+
+  /** Start tracking the input to the display. Must be called in the display thread. */
+  static void install(Display display) {
+    display.addFilter(SWT.KeyDown, inputFilter);
+    display.addFilter(SWT.MouseDown, inputFilter);
+  }
+
+  /** Return how long the user has been idle, in milliseconds. */
+  static long getIdleTime() {
+    return System.currentTimeMillis() - lastActivity;
+  }
+}
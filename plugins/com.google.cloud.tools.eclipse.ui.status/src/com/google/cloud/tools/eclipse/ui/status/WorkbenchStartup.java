@@ -26,6 +26,8 @@ public class WorkbenchStartup implements IStartup {
   @Override
   public void earlyStartup() {
     final IWorkbench workbench = PlatformUI.getWorkbench();
+    // lets the status polling slow down while the workbench is idle
+    workbench.getDisplay().asyncExec(() -> UserActivityMonitor.install(workbench.getDisplay()));
     GcpStatusMonitoringService service = workbench.getService(GcpStatusMonitoringService.class);
     if (service != null) {
       service.addStatusChangeListener(
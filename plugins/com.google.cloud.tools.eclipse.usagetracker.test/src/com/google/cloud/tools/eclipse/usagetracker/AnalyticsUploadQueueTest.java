@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.tools.eclipse.usagetracker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.usagetracker.AnalyticsUploadQueue.Outcome;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AnalyticsUploadQueueTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final List<List<String>> batches = new ArrayList<>();
+  private Outcome outcome = Outcome.SENT;
+  private Path logFile;
+
+  @Before
+  public void setUp() {
+    logFile = tempFolder.getRoot().toPath().resolve("events.log");
+  }
+
+  @Test
+  public void testUploadPending() {
+    AnalyticsUploadQueue queue = newQueue();
+    queue.add(event(1));
+    queue.add(event(2));
+    assertTrue(Files.exists(logFile));
+
+    assertEquals(0, queue.uploadPending());
+    assertEquals(Arrays.asList(Arrays.asList(event(1), event(2))), batches);
+    assertEquals(0, queue.size());
+    assertFalse(Files.exists(logFile));
+  }
+
+  @Test
+  public void testBatchSizeLimited() {
+    AnalyticsUploadQueue queue = newQueue();
+    String padding = new String(new char[1000]).replace('\0', 'x');
+    int count = 3 * AnalyticsUploadQueue.MAXIMUM_BATCH_BYTES / 1000;
+    for (int i = 0; i < count; i++) {
+      queue.add("{\"n\": " + i + ", \"padding\": \"" + padding + "\"}");
+    }
+
+    assertEquals(0, queue.uploadPending());
+    assertTrue(batches.size() > 3);
+    int uploaded = 0;
+    for (List<String> batch : batches) {
+      int bytes = 0;
+      for (String event : batch) {
+        assertTrue(event.startsWith("{\"n\": " + uploaded++ + ","));
+        bytes += event.length();
+      }
+      assertTrue(bytes <= AnalyticsUploadQueue.MAXIMUM_BATCH_BYTES);
+    }
+    assertEquals(count, uploaded);
+  }
+
+  @Test
+  public void testRetryWithBackoff() {
+    outcome = Outcome.RETRY;
+    AnalyticsUploadQueue queue = newQueue();
+    queue.add(event(1));
+
+    long initialDelay = AnalyticsUploadQueue.INITIAL_RETRY_DELAY;
+    long delay = queue.uploadPending();
+    assertTrue(delay >= initialDelay && delay <= initialDelay * 5 / 4);
+    delay = queue.uploadPending();
+    assertTrue(delay >= 2 * initialDelay && delay <= 2 * initialDelay * 5 / 4);
+    for (int i = 0; i < 30; i++) {
+      delay = queue.uploadPending();
+    }
+    assertTrue(delay <= AnalyticsUploadQueue.MAXIMUM_RETRY_DELAY * 5 / 4);
+    assertEquals(1, queue.size());
+
+    outcome = Outcome.SENT;
+    assertEquals(0, queue.uploadPending());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testRejectedEventsDiscarded() {
+    outcome = Outcome.REJECTED;
+    AnalyticsUploadQueue queue = newQueue();
+    queue.add(event(1));
+
+    assertEquals(0, queue.uploadPending());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testSenderFailureRetried() {
+    AnalyticsUploadQueue queue = new AnalyticsUploadQueue(logFile, events -> {
+      throw new IOException("network is down");
+    });
+    queue.add(event(1));
+
+    assertTrue(queue.uploadPending() > 0);
+    assertEquals(1, queue.size());
+  }
+
+  @Test
+  public void testEventsSurviveRestart() {
+    outcome = Outcome.RETRY;
+    AnalyticsUploadQueue queue = newQueue();
+    queue.add(event(1));
+    queue.add(event(2));
+    queue.uploadPending();
+
+    outcome = Outcome.SENT;
+    batches.clear();
+    AnalyticsUploadQueue restarted = newQueue();
+    assertEquals(2, restarted.size());
+    assertEquals(0, restarted.uploadPending());
+    assertEquals(Arrays.asList(Arrays.asList(event(1), event(2))), batches);
+  }
+
+  @Test
+  public void testIncompleteEventIgnored() throws IOException {
+    String log = event(1) + "\n" + event(2) + "\n{\"n\": 3, \"pay";
+    Files.write(logFile, log.getBytes(StandardCharsets.UTF_8));
+
+    AnalyticsUploadQueue queue = newQueue();
+    assertEquals(2, queue.size());
+    queue.uploadPending();
+    assertEquals(Arrays.asList(Arrays.asList(event(1), event(2))), batches);
+  }
+
+  @Test
+  public void testIncompleteEventRepairedBeforeAppend() throws IOException {
+    String log = event(1) + "\n" + event(2) + "\n{\"n\": 3, \"pay";
+    Files.write(logFile, log.getBytes(StandardCharsets.UTF_8));
+
+    newQueue().add(event(4));
+    assertEquals(Arrays.asList(event(1), event(2), event(4)),
+        Files.readAllLines(logFile, StandardCharsets.UTF_8));
+    assertEquals(3, newQueue().size());
+  }
+
+  @Test
+  public void testOldestEventsTrimmedInBulk() throws IOException {
+    AnalyticsUploadQueue queue = newQueue();
+    for (int i = 0; i <= AnalyticsUploadQueue.MAXIMUM_PENDING_EVENTS; i++) {
+      queue.add(event(i));
+    }
+    assertEquals(AnalyticsUploadQueue.TRIMMED_PENDING_EVENTS, queue.size());
+    List<String> lines = Files.readAllLines(logFile, StandardCharsets.UTF_8);
+    assertEquals(AnalyticsUploadQueue.TRIMMED_PENDING_EVENTS, lines.size());
+    int queued = AnalyticsUploadQueue.MAXIMUM_PENDING_EVENTS + 1;
+    assertEquals(event(queued - AnalyticsUploadQueue.TRIMMED_PENDING_EVENTS), lines.get(0));
+
+    queue.add(event(-1));
+    assertEquals(AnalyticsUploadQueue.TRIMMED_PENDING_EVENTS + 1, queue.size());
+    lines = Files.readAllLines(logFile, StandardCharsets.UTF_8);
+    assertEquals(event(-1), lines.get(lines.size() - 1));
+  }
+
+  @Test
+  public void testEventsTrimmedDuringUploadNotLost() {
+    int queued = AnalyticsUploadQueue.MAXIMUM_PENDING_EVENTS + 1;
+    List<AnalyticsUploadQueue> queueHolder = new ArrayList<>();
+    AnalyticsUploadQueue queue = new AnalyticsUploadQueue(logFile, events -> {
+      if (batches.isEmpty()) {
+        // the oldest events, including this batch, are trimmed while it is uploaded
+        for (int i = 1; i < queued; i++) {
+          queueHolder.get(0).add(event(i));
+        }
+      }
+      return send(events);
+    });
+    queueHolder.add(queue);
+    queue.add(event(0));
+
+    outcome = Outcome.SENT;
+    assertEquals(0, queue.uploadPending());
+    assertEquals(Arrays.asList(event(0)), batches.get(0));
+    List<String> uploaded = new ArrayList<>();
+    for (List<String> batch : batches.subList(1, batches.size())) {
+      uploaded.addAll(batch);
+    }
+    assertEquals(AnalyticsUploadQueue.TRIMMED_PENDING_EVENTS, uploaded.size());
+    assertEquals(event(queued - AnalyticsUploadQueue.TRIMMED_PENDING_EVENTS), uploaded.get(0));
+    assertEquals(event(queued - 1), uploaded.get(uploaded.size() - 1));
+  }
+
+  @Test
+  public void testLogRewrittenOncePerUpload() {
+    AnalyticsUploadQueue queue = newQueue();
+    String padding = new String(new char[1000]).replace('\0', 'x');
+    int count = 3 * AnalyticsUploadQueue.MAXIMUM_BATCH_BYTES / 1000;
+    for (int i = 0; i < count; i++) {
+      queue.add("{\"n\": " + i + ", \"padding\": \"" + padding + "\"}");
+    }
+    assertEquals(0, queue.getLogRewrites());
+
+    assertEquals(0, queue.uploadPending());
+    assertTrue(batches.size() > 3);
+    assertEquals(1, queue.getLogRewrites());
+    assertFalse(Files.exists(logFile));
+  }
+
+  @Test
+  public void testLogRewrittenWhenUploadFails() throws IOException {
+    AnalyticsUploadQueue queue = new AnalyticsUploadQueue(logFile, events -> {
+      Outcome result = send(events);
+      outcome = Outcome.RETRY;
+      return result;
+    });
+    queue.add(event(1));
+    String padding = new String(new char[1000]).replace('\0', 'x');
+    for (int i = 0; i < AnalyticsUploadQueue.MAXIMUM_BATCH_BYTES / 1000; i++) {
+      queue.add("{\"padding\": \"" + padding + "\"}");
+    }
+    queue.add(event(2));
+
+    assertTrue(queue.uploadPending() > 0);
+    assertEquals(1, queue.getLogRewrites());
+    int sent = batches.get(0).size();
+    List<String> lines = Files.readAllLines(logFile, StandardCharsets.UTF_8);
+    assertEquals(queue.size(), lines.size());
+    assertEquals(sent + lines.size(), AnalyticsUploadQueue.MAXIMUM_BATCH_BYTES / 1000 + 2);
+    assertEquals(event(2), lines.get(lines.size() - 1));
+  }
+
+  @Test
+  public void testInMemoryQueue() {
+    AnalyticsUploadQueue queue = new AnalyticsUploadQueue(null, this::send);
+    queue.add(event(1));
+    assertEquals(0, queue.uploadPending());
+    assertEquals(Arrays.asList(Arrays.asList(event(1))), batches);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAdd_multipleLines() {
+    newQueue().add("{\n}");
+  }
+
+  private AnalyticsUploadQueue newQueue() {
+    return new AnalyticsUploadQueue(logFile, this::send);
+  }
+
+  private Outcome send(List<String> logEvents) {
+    if (outcome != Outcome.RETRY) {
+      batches.add(new ArrayList<>(logEvents));
+    }
+    return outcome;
+  }
+
+  private static String event(int n) {
+    return "{\"n\": " + n + "}";
+  }
+}
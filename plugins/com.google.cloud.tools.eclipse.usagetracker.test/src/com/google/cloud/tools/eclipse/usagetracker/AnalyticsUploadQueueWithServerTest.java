@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.tools.eclipse.usagetracker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.eclipse.test.util.http.TestHttpServer;
+import com.google.cloud.tools.eclipse.usagetracker.AnalyticsUploadQueue.Outcome;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Uploads events to a local stand-in for the analytics collector. */
+public class AnalyticsUploadQueueWithServerTest {
+  private static final Logger logger =
+      Logger.getLogger(AnalyticsUploadQueueWithServerTest.class.getName());
+
+  private static final int EVENT_COUNT = 2000;
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+  @Rule public TestHttpServer collector = new TestHttpServer("", "").allowMultipleRequests();
+
+  @Test
+  public void testThroughputAndOrdering() {
+    AnalyticsUploadQueue queue = new AnalyticsUploadQueue(getLogFile(), this::post);
+    for (int i = 0; i < EVENT_COUNT; i++) {
+      queue.add(event(i));
+    }
+
+    long start = System.nanoTime();
+    assertEquals(0, queue.uploadPending());
+    long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1000000);
+    int requests = collector.getRequestBodies().size();
+    logger.info(EVENT_COUNT + " events uploaded in " + requests + " requests and " + elapsedMs
+        + " ms (" + EVENT_COUNT * 1000 / elapsedMs + " events/s)");
+
+    assertTrue(requests < EVENT_COUNT / 10);
+    assertEquals(EVENT_COUNT, assertUploadedInOrder());
+  }
+
+  @Test
+  public void testNoLossAcrossRestart() {
+    Path logFile = getLogFile();
+    // the collector is unreachable during the first session
+    AnalyticsUploadQueue queue = new AnalyticsUploadQueue(logFile, events -> {
+      throw new IOException("Network is unreachable");
+    });
+    for (int i = 0; i < EVENT_COUNT / 2; i++) {
+      queue.add(event(i));
+    }
+    assertTrue(queue.uploadPending() > 0);
+
+    AnalyticsUploadQueue restarted = new AnalyticsUploadQueue(logFile, this::post);
+    for (int i = EVENT_COUNT / 2; i < EVENT_COUNT; i++) {
+      restarted.add(event(i));
+    }
+    assertEquals(0, restarted.uploadPending());
+    assertEquals(EVENT_COUNT, assertUploadedInOrder());
+    assertEquals(0, new AnalyticsUploadQueue(logFile, this::post).size());
+  }
+
+  private Outcome post(List<String> logEvents) throws IOException {
+    String request = AnalyticsPingManager.encodeRequest(logEvents);
+    int responseCode = HttpUtil.sendPost(collector.getAddress(), request, "application/json");
+    return responseCode == HttpURLConnection.HTTP_OK ? Outcome.SENT : Outcome.RETRY;
+  }
+
+  /** Return the number of events received, having checked they were received in order. */
+  private int assertUploadedInOrder() {
+    List<Integer> received = new ArrayList<>();
+    for (String body : collector.getRequestBodies()) {
+      JsonObject request = new JsonParser().parse(body).getAsJsonObject();
+      assertEquals("CONCORD", request.get("log_source").getAsString());
+      for (JsonElement logEvent : request.getAsJsonArray("log_event")) {
+        received.add(logEvent.getAsJsonObject().get("sequence_position").getAsInt());
+      }
+    }
+    for (int i = 0; i < received.size(); i++) {
+      assertEquals(i, (int) received.get(i));
+    }
+    return received.size();
+  }
+
+  private Path getLogFile() {
+    return tempFolder.getRoot().toPath().resolve("events.log");
+  }
+
+  private static String event(int sequencePosition) {
+    return "{\"event_time_ms\": 1767225600000, \"sequence_position\": " + sequencePosition
+        + ", \"source_extension_json\": \"{\\\"event_name\\\": \\\"test.event\\\"}\"}";
+  }
+}
@@ -16,13 +16,18 @@
 
 package com.google.cloud.tools.eclipse.usagetracker;
 
+import com.google.cloud.tools.eclipse.usagetracker.AnalyticsUploadQueue.Outcome;
 import com.google.cloud.tools.eclipse.util.CloudToolsInfo;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -44,10 +49,13 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
+import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.prefs.BackingStoreException;
 
 /**
- * Provides methods that report plugin-specific events to Analytics.
+ * Provides methods that report plugin-specific events to Analytics. Events are kept in a durable
+ * {@link AnalyticsUploadQueue} until uploaded, so that they are not lost on shutdown or while the
+ * network is down, and are uploaded in batches.
  */
 public class AnalyticsPingManager {
 
@@ -64,6 +72,8 @@ public class AnalyticsPingManager {
   private final IEclipsePreferences preferences;
 
   private final ConcurrentLinkedQueue<PingEvent> pingEventQueue;
+
+  private final AnalyticsUploadQueue uploadQueue;
   
   @VisibleForTesting
   final Job eventFlushJob = new Job("Analytics Event Submission") {
@@ -72,8 +82,9 @@ public class AnalyticsPingManager {
       while (!pingEventQueue.isEmpty() && !monitor.isCanceled()) {
         PingEvent event = pingEventQueue.poll();
         showOptInDialogIfNeeded(event.shell);
-        sendPing(event);
+        queuePing(event);
       }
+      uploadQueue.scheduleUpload();
       return Status.OK_STATUS;
     }
   };
@@ -83,9 +94,20 @@ public class AnalyticsPingManager {
   @VisibleForTesting
   AnalyticsPingManager(String collectionUrl, IEclipsePreferences preferences,
       ConcurrentLinkedQueue<PingEvent> concurrentLinkedQueue) {
+    this(collectionUrl, preferences, concurrentLinkedQueue, null);
+  }
+
+  /**
+   * @param eventLogFile the file in which to keep the events until they are uploaded, or {@code
+   *     null} to keep them in memory only
+   */
+  @VisibleForTesting
+  AnalyticsPingManager(String collectionUrl, IEclipsePreferences preferences,
+      ConcurrentLinkedQueue<PingEvent> concurrentLinkedQueue, Path eventLogFile) {
     this.collectionUrl = collectionUrl;
     this.preferences = Preconditions.checkNotNull(preferences);
     pingEventQueue = concurrentLinkedQueue;
+    uploadQueue = new AnalyticsUploadQueue(eventLogFile, this::uploadBatch);
   }
 
   public static synchronized AnalyticsPingManager getInstance() {
@@ -94,8 +116,13 @@ public class AnalyticsPingManager {
       if (!Platform.inDevelopmentMode() && !Constants.FIRELOG_API_KEY.startsWith("@")) {
         collectionUrl = FIRELOG_COLLECTION_URL + "?key=" + Constants.FIRELOG_API_KEY;
       }
+      Path eventLogFile = Platform.getStateLocation(FrameworkUtil.getBundle(
+          AnalyticsPingManager.class)).append("events.log").toFile().toPath();
       instance = new AnalyticsPingManager(collectionUrl, AnalyticsPreferences.getPreferenceNode(),
-          new ConcurrentLinkedQueue<PingEvent>());
+          new ConcurrentLinkedQueue<PingEvent>(), eventLogFile);
+      if (collectionUrl != null) {
+        instance.uploadQueue.scheduleUpload();  // events left over from the last session
+      }
     }
     return instance;
   }
@@ -190,23 +217,30 @@ public class AnalyticsPingManager {
     }
   }
 
+  private void queuePing(PingEvent pingEvent) {
+    if (userHasOptedIn()) {
+      uploadQueue.add(encodeLogEvent(pingEvent));
+    }
+  }
+
   /**
    * This is the only method that makes an HTTP connection. Everything else
    * ultimately funnels through here. 
    */
-  private void sendPing(PingEvent pingEvent) {
-    if (userHasOptedIn()) {
-      try {
-        String json = jsonEncode(pingEvent);
-        int resultCode = HttpUtil.sendPost(collectionUrl, json, "application/json");
-        if (resultCode >= 300) {
-          logger.log(Level.FINE, "Failed to POST to Concord with HTTP result " + resultCode);
-        }
-      } catch (IOException ex) {
-        // Don't recover or retry.
-        logger.log(Level.FINE, "Failed to POST to Concord", ex);
-      } 
+  private Outcome uploadBatch(List<String> logEvents) throws IOException {
+    if (!userHasOptedIn()) {
+      return Outcome.REJECTED;  // opted out since the events were queued
+    }
+    int resultCode = HttpUtil.sendPost(collectionUrl, encodeRequest(logEvents), "application/json");
+    if (resultCode < 300) {
+      return Outcome.SENT;
     }
+    logger.log(Level.FINE, "Failed to POST to Concord with HTTP result " + resultCode);
+    if (resultCode == 429 /* Too Many Requests */
+        || resultCode == HttpURLConnection.HTTP_CLIENT_TIMEOUT || resultCode >= 500) {
+      return Outcome.RETRY;
+    }
+    return Outcome.REJECTED;
   }
 
   private static ImmutableMap<String, String> getPlatformInfo() {
@@ -285,15 +319,13 @@ public class AnalyticsPingManager {
 
   @VisibleForTesting
   String jsonEncode(PingEvent event) {
+    return encodeRequest(Collections.singletonList(encodeLogEvent(event)));
+  }
+
+  /** Encode the event as a single-line log event. */
+  private String encodeLogEvent(PingEvent event) {
     Gson gson = new Gson();
 
-    Map<String, String> desktopClientInfo = new HashMap<>();
-    desktopClientInfo.put("os", System.getProperty("os.name"));
-    
-    Map<String, Object> clientInfo = new HashMap<>();
-    clientInfo.put("client_type", "DESKTOP");
-    clientInfo.put("desktop_client_info", desktopClientInfo);
-        
     // logs/proto/cloud/concord/concord_event.proto
     Map<String, Object> sourceExtension = new HashMap<>();
     sourceExtension.put("client_install_id", getAnonymizedClientId());
@@ -318,13 +350,32 @@ public class AnalyticsPingManager {
     logEvent.put("event_time_ms", System.currentTimeMillis());
     logEvent.put("sequence_position", sequencePosition++);  
     logEvent.put("source_extension_json", sourceExtensionJsonString);
+
+    return gson.toJson(logEvent);
+  }
+
+  /** Encode a request uploading the given log events. */
+  @VisibleForTesting
+  static String encodeRequest(List<String> logEvents) {
+    Map<String, String> desktopClientInfo = new HashMap<>();
+    desktopClientInfo.put("os", System.getProperty("os.name"));
     
+    Map<String, Object> clientInfo = new HashMap<>();
+    clientInfo.put("client_type", "DESKTOP");
+    clientInfo.put("desktop_client_info", desktopClientInfo);
+
+    JsonArray logEventArray = new JsonArray();
+    JsonParser parser = new JsonParser();
+    for (String logEvent : logEvents) {
+      logEventArray.add(parser.parse(logEvent));
+    }
+
     Map<String, Object> root = new HashMap<>();
     root.put("log_source", "CONCORD");
     root.put("request_time_ms", System.currentTimeMillis());
     root.put("client_info", clientInfo);
-    root.put("log_event", Collections.singletonList(logEvent));
+    root.put("log_event", logEventArray);
 
-    return gson.toJson(root);
+    return new Gson().toJson(root);
   }
 }
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.usagetracker;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * A durable queue of the analytics log events awaiting upload. Events are appended to a log file
+ * as they are queued, so that they survive shutdown and network outages, and are uploaded oldest
+ * first in batches of up to {@link #MAXIMUM_BATCH_BYTES}. A batch is removed from the queue only
+ * once the collector has accepted or rejected it, and the log is rewritten once the uploads stop;
+ * failed uploads are retried with exponential backoff.
+ */
+class AnalyticsUploadQueue {
+  private static final Logger logger = Logger.getLogger(AnalyticsUploadQueue.class.getName());
+
+  /** The outcome of an upload. */
+  enum Outcome {
+    /** The collector accepted the events. */
+    SENT,
+    /** The events cannot be sent, and are discarded. */
+    REJECTED,
+    /** The events could not be sent now, and should be sent again later. */
+    RETRY
+  }
+
+  /** Uploads a batch of log events to the collector. */
+  interface BatchSender {
+    Outcome send(List<String> logEvents) throws IOException;
+  }
+
+  @VisibleForTesting static final int MAXIMUM_BATCH_BYTES = 64 * 1024;
+  /** The most events kept; the oldest are discarded beyond this, to bound the log's size. */
+  @VisibleForTesting static final int MAXIMUM_PENDING_EVENTS = 10000;
+  /**
+   * The number of events kept when the oldest are discarded, so that the log is rewritten once
+   * per thousand events rather than for every event queued beyond the maximum.
+   */
+  @VisibleForTesting static final int TRIMMED_PENDING_EVENTS = MAXIMUM_PENDING_EVENTS * 9 / 10;
+  @VisibleForTesting static final long INITIAL_RETRY_DELAY = TimeUnit.SECONDS.toMillis(5);
+  @VisibleForTesting static final long MAXIMUM_RETRY_DELAY = TimeUnit.MINUTES.toMillis(30);
+
+  private final Path logFile;
+  private final BatchSender sender;
+  private final Random random = new Random();
+  private final Job uploadJob;
+
+  // guarded by this
+  private final Deque<String> pending = new ArrayDeque<>();
+  // the number of events ever removed from the head of the queue, which is thus the sequence
+  // number of the first pending event
+  private long removedEvents;
+  private int consecutiveFailures;
+  // whether the log may not end with a complete line, and so must be rewritten to append to it
+  private boolean logNeedsRepair;
+  private int logRewrites;
+
+  /**
+   * @param logFile the file in which to keep the events until they are uploaded, or {@code null}
+   *     to keep them in memory only
+   */
+  AnalyticsUploadQueue(Path logFile, BatchSender sender) {
+    this.logFile = logFile;
+    this.sender = Preconditions.checkNotNull(sender);
+    uploadJob = new Job("Analytics Event Upload") {
+      @Override
+      protected IStatus run(IProgressMonitor monitor) {
+        long retryDelay = uploadPending();
+        if (retryDelay > 0) {
+          schedule(retryDelay);
+        }
+        return Status.OK_STATUS;
+      }
+    };
+    uploadJob.setSystem(true);
+    load();
+  }
+
+  /** Queue a log event, which must be a single-line JSON object. */
+  synchronized void add(String logEvent) {
+    Preconditions.checkArgument(logEvent.indexOf('\n') < 0, "log event spans lines");
+    pending.addLast(logEvent);
+    if (pending.size() > MAXIMUM_PENDING_EVENTS) {
+      while (pending.size() > TRIMMED_PENDING_EVENTS) {
+        pending.removeFirst();
+        removedEvents++;
+      }
+      rewriteLog();
+    } else if (logNeedsRepair) {
+      rewriteLog();
+    } else {
+      appendToLog(logEvent);
+    }
+  }
+
+  synchronized int size() {
+    return pending.size();
+  }
+
+  @VisibleForTesting
+  synchronized int getLogRewrites() {
+    return logRewrites;
+  }
+
+  /** Schedule the upload of the pending events, unless waiting to retry a failed upload. */
+  void scheduleUpload() {
+    if (uploadJob.getState() != Job.SLEEPING) {
+      uploadJob.schedule();
+    }
+  }
+
+  /**
+   * Upload the pending events, batch by batch, until none remain or an upload fails.
+   *
+   * @return 0 if all events were uploaded, or else the delay before retrying, in milliseconds
+   */
+  @VisibleForTesting
+  long uploadPending() {
+    boolean uploaded = false;
+    try {
+      while (true) {
+        List<String> batch;
+        long batchEnd;
+        synchronized (this) {
+          batch = nextBatch();
+          batchEnd = removedEvents + batch.size();
+        }
+        if (batch.isEmpty()) {
+          return 0;
+        }
+        Outcome outcome;
+        try {
+          outcome = sender.send(batch);
+        } catch (IOException ex) {
+          logger.log(Level.FINE, "Failed to upload analytics events", ex);
+          outcome = Outcome.RETRY;
+        }
+        synchronized (this) {
+          if (outcome == Outcome.RETRY) {
+            consecutiveFailures++;
+            return getRetryDelay();
+          }
+          if (outcome == Outcome.REJECTED) {
+            logger.log(Level.FINE, "Discarding " + batch.size() + " analytics events");
+          }
+          consecutiveFailures = 0;
+          // the oldest events of the batch may have been trimmed while it was uploaded
+          while (removedEvents < batchEnd) {
+            pending.removeFirst();
+            removedEvents++;
+          }
+          uploaded = true;
+        }
+      }
+    } finally {
+      if (uploaded) {
+        synchronized (this) {
+          rewriteLog();
+        }
+      }
+    }
+  }
+
+  /** Return the oldest pending events, up to the batch size limit but at least one if any. */
+  private synchronized List<String> nextBatch() {
+    List<String> batch = new ArrayList<>();
+    int bytes = 0;
+    for (Iterator<String> iterator = pending.iterator(); iterator.hasNext(); ) {
+      String logEvent = iterator.next();
+      bytes += logEvent.length() + 1;
+      if (!batch.isEmpty() && bytes > MAXIMUM_BATCH_BYTES) {
+        break;
+      }
+      batch.add(logEvent);
+    }
+    return batch;
+  }
+
+  private long getRetryDelay() {
+    int doublings = Math.min(consecutiveFailures - 1, 20);
+    long delay = Math.min(INITIAL_RETRY_DELAY << doublings, MAXIMUM_RETRY_DELAY);
+    // spread retries by up to 25%
+    return delay + (long) (delay * 0.25 * random.nextDouble());
+  }
+
+  private void appendToLog(String logEvent) {
+    if (logFile == null) {
+      return;
+    }
+    try {
+      Files.createDirectories(logFile.getParent());
+      Files.write(logFile, (logEvent + '\n').getBytes(StandardCharsets.UTF_8),
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to log analytics event", ex);
+      logNeedsRepair = true;
+    }
+  }
+
+  private void rewriteLog() {
+    if (logFile == null) {
+      return;
+    }
+    logRewrites++;
+    try {
+      if (pending.isEmpty()) {
+        Files.deleteIfExists(logFile);
+        return;
+      }
+      Path temporary = Files.createTempFile(logFile.getParent(), "events", ".tmp");
+      try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+        for (String logEvent : pending) {
+          writer.write(logEvent);
+          writer.write('\n');
+        }
+      }
+      Files.move(temporary, logFile, StandardCopyOption.REPLACE_EXISTING);
+      logNeedsRepair = false;
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to update analytics event log", ex);
+    }
+  }
+
+  private synchronized void load() {
+    if (logFile == null) {
+      return;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        if (isLogEvent(line)) {
+          pending.addLast(line);
+        } else {
+          logNeedsRepair = true;
+        }
+      }
+      // a crash while appending can leave the last line incomplete, and the next event would
+      // then be appended to it
+      logNeedsRepair |= !endsWithNewline(logFile);
+    } catch (NoSuchFileException ex) {
+      // nothing queued
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Unable to read analytics event log", ex);
+      logNeedsRepair = true;
+    }
+    while (pending.size() > MAXIMUM_PENDING_EVENTS) {
+      pending.removeFirst();
+      removedEvents++;
+      logNeedsRepair = true;
+    }
+    if (logNeedsRepair) {
+      rewriteLog();
+    }
+  }
+
+  private static boolean endsWithNewline(Path file) throws IOException {
+    try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+      if (channel.size() == 0) {
+        return true;
+      }
+      ByteBuffer last = ByteBuffer.allocate(1);
+      channel.position(channel.size() - 1);
+      channel.read(last);
+      return last.get(0) == '\n';
+    }
+  }
+
+  /** Return {@code true} if the line is a complete event, and not cut short by a crash. */
+  private static boolean isLogEvent(String line) {
+    try {
+      return !line.isEmpty() && new JsonParser().parse(line).isJsonObject();
+    } catch (JsonParseException ex) {
+      return false;
+    }
+  }
+}
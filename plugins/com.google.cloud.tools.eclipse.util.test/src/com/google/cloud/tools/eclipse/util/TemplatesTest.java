@@ -19,13 +19,22 @@ package com.google.cloud.tools.eclipse.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -235,6 +244,66 @@ public class TemplatesTest {
     compareToFile("objectifyWebListenerWithoutPackage.txt");
   }
 
+  @Test
+  public void testCreateFileContent_workspaceFile() throws CoreException, IOException {
+    dataMap.put("package", "com.example");
+    dataMap.put("servletVersion", "2.5");
+    IFile file = project.getFile("ObjectifyWebListener.java");
+    Templates.createFileContent(
+        file, Templates.OBJECTIFY_WEB_LISTENER_TEMPLATE, dataMap, monitor);
+
+    Assert.assertTrue(file.exists());
+    Assert.assertTrue(file.isSynchronized(IResource.DEPTH_ZERO));
+    try (InputStream contents = file.getContents()) {
+      Files.copy(contents, Paths.get(fileLocation));
+    }
+    compareToFile("objectifyWebListenerWithPackage.txt");
+  }
+
+  @Test
+  public void testCopyFileContent_workspaceFile() throws CoreException {
+    IFile file = project.getFile("favicon.ico");
+    Templates.copyFileContent(file, "favicon.ico", monitor);
+    Assert.assertTrue(file.exists());
+  }
+
+  @Test(expected = CoreException.class)
+  public void testCopyFileContent_missingResource() throws CoreException {
+    Templates.copyFileContent(project.getFile("missing"), "non-existent", monitor);
+  }
+
+  @Test
+  public void testRender() throws CoreException, IOException {
+    dataMap.put("package", "com.example");
+    dataMap.put("servletVersion", "2.5");
+    String content = Templates.render(Templates.OBJECTIFY_WEB_LISTENER_TEMPLATE, dataMap);
+
+    Files.write(Paths.get(fileLocation), content.getBytes(StandardCharsets.UTF_8));
+    compareToFile("objectifyWebListenerWithPackage.txt");
+  }
+
+  @Test
+  public void testRender_concurrent()
+      throws CoreException, InterruptedException, ExecutionException {
+    dataMap.put("package", "com.example");
+    dataMap.put("servletVersion", "3.1");
+    String expected = Templates.render(Templates.HELLO_APPENGINE_TEMPLATE, dataMap);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        results.add(executor.submit(
+            () -> Templates.render(Templates.HELLO_APPENGINE_TEMPLATE, dataMap)));
+      }
+      for (Future<String> result : results) {
+        Assert.assertEquals(expected, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   private static InputStream getDataFile(String fileName) throws IOException {
     Bundle bundle = FrameworkUtil.getBundle(TemplatesTest.class);
     URL expectedFileUrl = bundle.getResource("/testData/templates/appengine/" + fileName);
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.eclipse.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.cloud.tools.eclipse.test.util.project.TestProjectCreator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.transform.TransformerException;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class XsltTest {
+
+  private static final String STYLESHEET =
+      "<xsl:stylesheet version='1.0' xmlns:xsl='http://www.w3.org/1999/XSL/Transform'>"
+      + "<xsl:output omit-xml-declaration='yes'/>"
+      + "<xsl:template match='/a'><b><xsl:value-of select='.'/></b></xsl:template>"
+      + "</xsl:stylesheet>";
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+  @Rule public TestProjectCreator projectCreator = new TestProjectCreator();
+
+  private URL stylesheet;
+
+  @Before
+  public void setUp() throws IOException {
+    Path path = tempFolder.newFile("rename.xsl").toPath();
+    Files.write(path, STYLESHEET.getBytes(StandardCharsets.UTF_8));
+    stylesheet = path.toUri().toURL();
+  }
+
+  @After
+  public void tearDown() {
+    Xslt.clearTemplatesCache();
+  }
+
+  @Test
+  public void testGetTemplates_cached() throws IOException, TransformerException {
+    assertSame(Xslt.getTemplates(stylesheet), Xslt.getTemplates(stylesheet));
+  }
+
+  @Test
+  public void testApplyXslt_url() throws IOException, TransformerException {
+    try (InputStream result = Xslt.applyXslt(new StringReader("<a>x</a>"), stylesheet)) {
+      assertEquals("<b>x</b>", toString(result));
+    }
+  }
+
+  @Test
+  public void testTransformInPlace_multipleFilesSingleDelta() throws CoreException, IOException {
+    IProject project = projectCreator.getProject();
+    List<IFile> files = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      IFile file = project.getFile("file" + i + ".xml");
+      file.create(new ByteArrayInputStream(("<a>" + i + "</a>").getBytes(StandardCharsets.UTF_8)),
+          true, null);
+      files.add(file);
+    }
+
+    int[] deltaCount = {0};
+    IResourceChangeListener listener = event -> {
+      if (event.getDelta().findMember(files.get(0).getFullPath()) != null) {
+        deltaCount[0]++;
+      }
+    };
+    IWorkspace workspace = ResourcesPlugin.getWorkspace();
+    workspace.addResourceChangeListener(listener, IResourceChangeEvent.POST_CHANGE);
+    try {
+      Xslt.transformInPlace(files, stylesheet, new NullProgressMonitor());
+    } finally {
+      workspace.removeResourceChangeListener(listener);
+    }
+
+    assertEquals(1, deltaCount[0]);
+    for (int i = 0; i < files.size(); i++) {
+      try (InputStream contents = files.get(i).getContents()) {
+        assertEquals("<b>" + i + "</b>", toString(contents));
+      }
+    }
+  }
+
+  private static String toString(InputStream stream) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int read;
+    while ((read = stream.read(buffer)) != -1) {
+      output.write(buffer, 0, read);
+    }
+    return new String(output.toByteArray(), StandardCharsets.UTF_8).trim();
+  }
+}
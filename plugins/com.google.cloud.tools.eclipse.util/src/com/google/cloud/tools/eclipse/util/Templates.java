@@ -19,21 +19,26 @@ package com.google.cloud.tools.eclipse.util;
 import com.google.cloud.tools.eclipse.util.status.StatusUtil;
 import com.google.common.base.Preconditions;
 import com.google.common.io.ByteStreams;
+import freemarker.cache.StrongCacheStorage;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 public class Templates {
   public static final String APPENGINE_WEB_XML_TEMPLATE = "appengine-web.xml.ftl";
@@ -48,7 +53,11 @@ public class Templates {
   public static final String OBJECTIFY_WEB_FILTER_TEMPLATE = "ObjectifyWebFilter.java.ftl";
   public static final String OBJECTIFY_WEB_LISTENER_TEMPLATE = "ObjectifyWebListener.java.ftl";
 
-  private static Configuration configuration;
+  /**
+   * The FreeMarker configuration is thread-safe once set up, and caches parsed templates so that
+   * each template is only compiled once.
+   */
+  private static final Configuration configuration = createConfiguration();
 
   public static void createFileContent(
       String outputFileLocation, String templateName, Map<String, String> dataMap)
@@ -57,15 +66,52 @@ public class Templates {
     Preconditions.checkNotNull(templateName, "template name is null");
     Preconditions.checkNotNull(dataMap, "data map is null");
 
-    if (configuration == null) {
-      configuration = createConfiguration();
-    }
     Path outputFile = Paths.get(outputFileLocation);
     try (Writer writer =
         new OutputStreamWriter(Files.newOutputStream(outputFile), StandardCharsets.UTF_8)) {
+      process(templateName, dataMap, writer);
+    } catch (IOException ex) {
+      throw new CoreException(StatusUtil.error(Templates.class, ex.getMessage()));
+    }
+  }
+
+  /**
+   * Create the given workspace file from the template. Unlike {@link #createFileContent(String,
+   * String, Map)}, the file is created through the workspace and so does not require a later
+   * refresh.
+   */
+  public static void createFileContent(IFile file, String templateName,
+      Map<String, String> dataMap, IProgressMonitor monitor) throws CoreException {
+    Preconditions.checkNotNull(file, "output file is null");
+    byte[] content = render(templateName, dataMap).getBytes(StandardCharsets.UTF_8);
+    file.create(new ByteArrayInputStream(content), true /* force */, monitor);
+  }
+
+  /**
+   * Render the template with the given values.
+   *
+   * @return the rendered content
+   */
+  public static String render(String templateName, Map<String, String> dataMap)
+      throws CoreException {
+    Preconditions.checkNotNull(templateName, "template name is null");
+    Preconditions.checkNotNull(dataMap, "data map is null");
+
+    StringWriter writer = new StringWriter();
+    try {
+      process(templateName, dataMap, writer);
+    } catch (IOException ex) {
+      throw new CoreException(StatusUtil.error(Templates.class, ex.getMessage()));
+    }
+    return writer.toString();
+  }
+
+  private static void process(String templateName, Map<String, String> dataMap, Writer writer)
+      throws IOException, CoreException {
+    try {
       Template template = configuration.getTemplate(templateName);
       template.process(dataMap, writer);
-    } catch (IOException | TemplateException ex) {
+    } catch (TemplateException ex) {
       throw new CoreException(StatusUtil.error(Templates.class, ex.getMessage()));
     }
   }
@@ -85,6 +131,24 @@ public class Templates {
     }
   }
 
+  /** Create the given workspace file from the named resource. */
+  public static void copyFileContent(IFile file, String sourceName, IProgressMonitor monitor)
+      throws CoreException {
+    Preconditions.checkNotNull(file, "output file is null");
+    Preconditions.checkNotNull(sourceName, "source file name is null");
+
+    try (InputStream inputStream = Templates.class
+        .getResourceAsStream("/templates/appengine/" + sourceName)) {
+      if (inputStream == null) {
+        throw new CoreException(
+            StatusUtil.error(Templates.class, "Resource not found: " + sourceName));
+      }
+      file.create(inputStream, true /* force */, monitor);
+    } catch (IOException ex) {
+      throw new CoreException(StatusUtil.error(Templates.class, ex.getMessage()));
+    }
+  }
+
   private Templates() {
   }
 
@@ -94,6 +158,10 @@ public class Templates {
     configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
     configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
     configuration.setLogTemplateExceptions(false);
+    // templates are bundled resources that never change: keep them compiled, and never check
+    // for updates
+    configuration.setCacheStorage(new StrongCacheStorage());
+    configuration.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
     return configuration;
   }
 
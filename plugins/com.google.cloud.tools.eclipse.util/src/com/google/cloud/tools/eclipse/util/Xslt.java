@@ -16,19 +16,36 @@
 
 package com.google.cloud.tools.eclipse.util;
 
+import com.google.cloud.tools.eclipse.util.status.StatusUtil;
+import com.google.common.annotations.VisibleForTesting;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
 
 public class Xslt {
 
@@ -36,11 +53,70 @@ public class Xslt {
 
   private static final TransformerFactory factory = TransformerFactory.newInstance();
 
+  /**
+   * Compiled stylesheets keyed by the external form of their URL. {@link Templates} are
+   * thread-safe, so a single compiled instance is shared by all transformations.
+   */
+  private static final ConcurrentMap<String, Templates> templatesCache =
+      new ConcurrentHashMap<>();
+
   public static void transformInPlace(IFile file, URL xslt)
       throws IOException, CoreException, TransformerException {
+    Templates templates = getTemplates(xslt);
+    transformInPlace(file, templates);
+  }
+
+  /**
+   * Applies the same XSLT stylesheet to each of the given files in place. The stylesheet is
+   * compiled once and all files are modified within a single workspace operation, so that
+   * listeners see one batched resource delta rather than one per file.
+   *
+   * @throws CoreException if the stylesheet cannot be loaded, or if any of the files could not be
+   *     transformed; the remaining files are still transformed
+   */
+  public static void transformInPlace(Collection<IFile> files, URL xslt,
+      IProgressMonitor monitor) throws CoreException {
+    Templates templates;
+    try {
+      templates = getTemplates(xslt);
+    } catch (IOException | TransformerException ex) {
+      throw new CoreException(
+          StatusUtil.error(Xslt.class, "Could not load stylesheet " + xslt, ex));
+    }
+
+    IWorkspace workspace = ResourcesPlugin.getWorkspace();
+    IResourceRuleFactory ruleFactory = workspace.getRuleFactory();
+    List<ISchedulingRule> rules = new ArrayList<>();
+    for (IFile file : files) {
+      rules.add(ruleFactory.modifyRule(file));
+    }
+    ISchedulingRule rule = MultiRule.combine(rules.toArray(new ISchedulingRule[0]));
+
+    MultiStatus status = StatusUtil.multi(Xslt.class, "Could not transform some files");
+    workspace.run(progress -> {
+      SubMonitor subMonitor = SubMonitor.convert(progress, files.size());
+      for (IFile file : files) {
+        subMonitor.checkCanceled();
+        subMonitor.subTask(file.getFullPath().toString());
+        try {
+          transformInPlace(file, templates);
+        } catch (IOException | TransformerException | CoreException ex) {
+          status.add(StatusUtil.error(Xslt.class, file.getFullPath() + ": " + ex.getMessage(),
+              ex));
+        }
+        subMonitor.worked(1);
+      }
+    }, rule, IWorkspace.AVOID_UPDATE, monitor);
+
+    if (status.getSeverity() == IStatus.ERROR) {
+      throw new CoreException(status);
+    }
+  }
+
+  private static void transformInPlace(IFile file, Templates templates)
+      throws IOException, CoreException, TransformerException {
     try (InputStream in = file.getContents();
-        InputStream stylesheetStream = xslt.openStream();
-        InputStream resultStream = applyXslt(in, stylesheetStream)) {
+        InputStream resultStream = applyXslt(new StreamSource(in), templates)) {
       boolean force = true;
       boolean keepHistory = true;
       file.setContents(resultStream, force, keepHistory, null /* monitor */);
@@ -62,6 +138,21 @@ public class Xslt {
     return applyXslt(new StreamSource(document), stylesheet);
   }
 
+  /**
+   * Applies XSLT transformation using a cached, compiled copy of the stylesheet.
+   *
+   * @return the result of transformation as {@link InputStream}
+   */
+  public static InputStream applyXslt(InputStream document, URL stylesheet)
+      throws IOException, TransformerException {
+    return applyXslt(new StreamSource(document), getTemplates(stylesheet));
+  }
+
+  public static InputStream applyXslt(Reader document, URL stylesheet)
+      throws IOException, TransformerException {
+    return applyXslt(new StreamSource(document), getTemplates(stylesheet));
+  }
+
   private static InputStream applyXslt(StreamSource document, InputStream stylesheet)
       throws IOException, TransformerException {
     try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
@@ -72,4 +163,42 @@ public class Xslt {
     }
   }
 
+  private static InputStream applyXslt(StreamSource document, Templates templates)
+      throws IOException, TransformerException {
+    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+      Transformer transformer = templates.newTransformer();
+      transformer.transform(document, new StreamResult(outputStream));
+
+      return new ByteArrayInputStream(outputStream.toByteArray());
+    }
+  }
+
+  /**
+   * Returns the compiled form of the stylesheet at the given URL, compiling and caching it on
+   * first use.
+   */
+  @VisibleForTesting
+  static Templates getTemplates(URL stylesheet) throws IOException, TransformerException {
+    // URL.equals() and hashCode() may resolve host names, so key on the external form
+    String key = stylesheet.toExternalForm();
+    Templates templates = templatesCache.get(key);
+    if (templates == null) {
+      try (InputStream in = stylesheet.openStream()) {
+        // TransformerFactory is not guaranteed to be thread-safe
+        synchronized (factory) {
+          templates = factory.newTemplates(new StreamSource(in, key));
+        }
+      }
+      Templates existing = templatesCache.putIfAbsent(key, templates);
+      if (existing != null) {
+        templates = existing;
+      }
+    }
+    return templates;
+  }
+
+  @VisibleForTesting
+  static void clearTemplatesCache() {
+    templatesCache.clear();
+  }
 }